@@ -36,6 +36,7 @@ public enum CacheComponent implements SubGroupServiceNameFactory {
     EVICTION(EvictionResourceDefinition.PATH),
     EXPIRATION(ExpirationResourceDefinition.PATH),
     LOCKING(LockingResourceDefinition.PATH),
+    MEMORY(MemoryResourceDefinition.PATH),
     PERSISTENCE(StoreResourceDefinition.WILDCARD_PATH),
     STATE_TRANSFER(StateTransferResourceDefinition.PATH),
     PARTITION_HANDLING(PartitionHandlingResourceDefinition.PATH),
@@ -38,6 +38,8 @@ import org.infinispan.configuration.cache.LockingConfiguration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
 import org.infinispan.configuration.cache.TransactionConfiguration;
 import org.infinispan.configuration.cache.VersioningScheme;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.eviction.EvictionType;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.distribution.group.Grouper;
 import org.infinispan.transaction.LockingMode;
@@ -68,6 +70,7 @@ public class CacheConfigurationBuilder implements ResourceServiceBuilder<Configu
     private final InjectedValue<EvictionConfiguration> eviction = new InjectedValue<>();
     private final InjectedValue<ExpirationConfiguration> expiration = new InjectedValue<>();
     private final InjectedValue<LockingConfiguration> locking = new InjectedValue<>();
+    private final InjectedValue<Configuration> memory = new InjectedValue<>();
     private final InjectedValue<PersistenceConfiguration> persistence = new InjectedValue<>();
     private final InjectedValue<TransactionConfiguration> transaction = new InjectedValue<>();
     private final InjectedValue<GlobalConfiguration> global = new InjectedValue<>();
@@ -105,6 +108,7 @@ public class CacheConfigurationBuilder implements ResourceServiceBuilder<Configu
                 .addDependency(CacheComponent.EVICTION.getServiceName(this.containerName, this.cacheName), EvictionConfiguration.class, this.eviction)
                 .addDependency(CacheComponent.EXPIRATION.getServiceName(this.containerName, this.cacheName), ExpirationConfiguration.class, this.expiration)
                 .addDependency(CacheComponent.LOCKING.getServiceName(this.containerName, this.cacheName), LockingConfiguration.class, this.locking)
+                .addDependency(CacheComponent.MEMORY.getServiceName(this.containerName, this.cacheName), Configuration.class, this.memory)
                 .addDependency(CacheComponent.PERSISTENCE.getServiceName(this.containerName, this.cacheName), PersistenceConfiguration.class, this.persistence)
                 .addDependency(CacheComponent.TRANSACTION.getServiceName(this.containerName, this.cacheName), TransactionConfiguration.class, this.transaction)
                 .addDependency(CacheContainerServiceName.CONFIGURATION.getServiceName(this.containerName), GlobalConfiguration.class, this.global)
@@ -127,11 +131,25 @@ public class CacheConfigurationBuilder implements ResourceServiceBuilder<Configu
         builder.eviction().read(this.eviction.getValue());
         builder.expiration().read(this.expiration.getValue());
         builder.locking().read(this.locking.getValue());
+        configureMemory(builder, this.memory.getValue(), this.eviction.getValue());
         builder.persistence().read(this.persistence.getValue());
         builder.transaction().read(this.transaction.getValue());
         builder.jmxStatistics().read(this.statistics);
     }
 
+    /**
+     * Applies the memory configuration of a cache. A memory bound overrides any entry count bound of the eviction
+     * configuration, but retains its eviction strategy, unless memory based eviction does not support it.
+     */
+    static void configureMemory(ConfigurationBuilder builder, Configuration memory, EvictionConfiguration eviction) {
+        builder.storeAsBinary().read(memory.storeAsBinary());
+        if (memory.eviction().type() == EvictionType.MEMORY) {
+            EvictionStrategy strategy = eviction.strategy();
+            boolean supported = strategy.isEnabled() && (strategy != EvictionStrategy.LIRS);
+            builder.eviction().strategy(supported ? strategy : EvictionStrategy.LRU).type(EvictionType.MEMORY).size(memory.eviction().size());
+        }
+    }
+
     private ClassLoader getClassLoader() {
         if (this.module != null) {
             try {
@@ -29,6 +29,7 @@ import org.jboss.as.clustering.controller.AttributeMarshallers;
 import org.jboss.as.clustering.controller.AttributeParsers;
 import org.jboss.as.clustering.controller.ChildResourceDefinition;
 import org.jboss.as.clustering.controller.MetricHandler;
+import org.jboss.as.clustering.controller.transform.RequiredChildResourceDiscardPolicy;
 import org.jboss.as.clustering.controller.validation.EnumValidatorBuilder;
 import org.jboss.as.clustering.controller.validation.ModuleIdentifierValidatorBuilder;
 import org.jboss.as.clustering.controller.validation.ParameterValidatorBuilder;
@@ -137,6 +138,12 @@ public class CacheResourceDefinition extends ChildResourceDefinition {
             NoStoreResourceDefinition.buildTransformation(version, builder);
         }
 
+        if (InfinispanModel.VERSION_4_2_0.requiresTransformation(version)) {
+            builder.addChildResource(MemoryResourceDefinition.PATH, RequiredChildResourceDiscardPolicy.REJECT_AND_WARN);
+        } else {
+            MemoryResourceDefinition.buildTransformation(version, builder);
+        }
+
         if (InfinispanModel.VERSION_3_0_0.requiresTransformation(version)) {
             // Set batching=true if transaction mode=BATCH
             ResourceTransformer batchingTransformer = new ResourceTransformer() {
@@ -200,6 +207,7 @@ public class CacheResourceDefinition extends ChildResourceDefinition {
         new EvictionResourceDefinition(this.allowRuntimeOnlyRegistration).register(registration);
         new ExpirationResourceDefinition().register(registration);
         new LockingResourceDefinition(this.allowRuntimeOnlyRegistration).register(registration);
+        new MemoryResourceDefinition(this.allowRuntimeOnlyRegistration).register(registration);
         new TransactionResourceDefinition(this.allowRuntimeOnlyRegistration).register(registration);
 
         new NoStoreResourceDefinition().register(registration);
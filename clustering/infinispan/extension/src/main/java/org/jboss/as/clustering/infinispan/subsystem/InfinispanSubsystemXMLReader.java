@@ -616,6 +616,13 @@ public class InfinispanSubsystemXMLReader implements XMLElementReader<List<Model
                     break;
                 }
             }
+            case MEMORY: {
+                if (!this.schema.since(InfinispanSchema.VERSION_4_1)) {
+                    throw ParseUtils.unexpectedElement(reader);
+                }
+                this.parseMemory(reader, cacheAddress, operations);
+                break;
+            }
             case INDEXING: {
                 if (this.schema.since(InfinispanSchema.VERSION_1_4) && !this.schema.since(InfinispanSchema.VERSION_4_0)) {
                     this.parseIndexing(reader, cacheAddress, operations);
@@ -936,6 +943,31 @@ public class InfinispanSubsystemXMLReader implements XMLElementReader<List<Model
         ParseUtils.requireNoContent(reader);
     }
 
+    private void parseMemory(XMLExtendedStreamReader reader, PathAddress cacheAddress, Map<PathAddress, ModelNode> operations) throws XMLStreamException {
+
+        PathAddress address = cacheAddress.append(MemoryResourceDefinition.PATH);
+        ModelNode operation = Util.createAddOperation(address);
+        operations.put(address, operation);
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            XMLAttribute attribute = XMLAttribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
+                case STORAGE: {
+                    readAttribute(reader, i, operation, MemoryResourceDefinition.Attribute.STORAGE);
+                    break;
+                }
+                case MAX_SIZE: {
+                    readAttribute(reader, i, operation, MemoryResourceDefinition.Attribute.MAX_SIZE);
+                    break;
+                }
+                default: {
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+                }
+            }
+        }
+        ParseUtils.requireNoContent(reader);
+    }
+
     private void parseExpiration(XMLExtendedStreamReader reader, PathAddress cacheAddress, Map<PathAddress, ModelNode> operations) throws XMLStreamException {
 
         PathAddress address = cacheAddress.append(ExpirationResourceDefinition.PATH);
@@ -188,6 +188,16 @@ public class InfinispanSubsystemXMLWriter implements XMLElementWriter<SubsystemM
             }
         }
 
+        if (cache.hasDefined(MemoryResourceDefinition.PATH.getKeyValuePair())) {
+            ModelNode memory = cache.get(MemoryResourceDefinition.PATH.getKeyValuePair());
+            Set<MemoryResourceDefinition.Attribute> attributes = EnumSet.allOf(MemoryResourceDefinition.Attribute.class);
+            if (hasDefined(memory, attributes)) {
+                writer.writeStartElement(XMLElement.MEMORY.getLocalName());
+                writeAttributes(writer, memory, attributes);
+                writer.writeEndElement();
+            }
+        }
+
         if (cache.hasDefined(ExpirationResourceDefinition.PATH.getKeyValuePair())) {
             ModelNode expiration = cache.get(ExpirationResourceDefinition.PATH.getKeyValuePair());
             Set<ExpirationResourceDefinition.Attribute> attributes = EnumSet.allOf(ExpirationResourceDefinition.Attribute.class);
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import static org.jboss.as.clustering.infinispan.subsystem.MemoryResourceDefinition.Attribute.MAX_SIZE;
+import static org.jboss.as.clustering.infinispan.subsystem.MemoryResourceDefinition.Attribute.STORAGE;
+
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.eviction.EvictionType;
+import org.jboss.as.clustering.controller.ResourceServiceBuilder;
+import org.jboss.as.clustering.dmr.ModelNodes;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.clustering.service.Builder;
+
+/**
+ * Builds the memory configuration of a cache, i.e. its store-as-binary configuration and, if the memory of the cache is
+ * bounded, a memory based eviction configuration.
+ * Memory based eviction requires entries to be held in marshalled form, so a bound implies binary storage.
+ */
+public class MemoryBuilder extends CacheComponentBuilder<Configuration> implements ResourceServiceBuilder<Configuration> {
+
+    private final ConfigurationBuilder builder = new ConfigurationBuilder();
+
+    MemoryBuilder(String containerName, String cacheName) {
+        super(CacheComponent.MEMORY, containerName, cacheName);
+    }
+
+    @Override
+    public Builder<Configuration> configure(OperationContext context, ModelNode model) throws OperationFailedException {
+        StorageType storage = ModelNodes.asEnum(STORAGE.getDefinition().resolveModelAttribute(context, model), StorageType.class);
+        ModelNode maxSize = MAX_SIZE.getDefinition().resolveModelAttribute(context, model);
+        boolean binary = (storage == StorageType.BINARY) || maxSize.isDefined();
+        this.builder.storeAsBinary().enabled(binary).storeKeysAsBinary(binary).storeValuesAsBinary(binary);
+        if (maxSize.isDefined()) {
+            this.builder.eviction().strategy(EvictionStrategy.LRU).type(EvictionType.MEMORY).size(maxSize.asLong());
+        }
+        return this;
+    }
+
+    @Override
+    public Configuration getValue() {
+        return this.builder.build();
+    }
+}
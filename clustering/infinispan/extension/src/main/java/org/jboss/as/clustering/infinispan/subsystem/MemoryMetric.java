@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import org.infinispan.Cache;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.marshall.core.MarshalledValue;
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Enumeration of management metrics for the memory component of a cache.
+ */
+public enum MemoryMetric implements Metric<Cache<?, ?>> {
+
+    MEMORY_USED(MetricKeys.MEMORY_USED, ModelType.LONG, MeasurementUnit.BYTES) {
+        @Override
+        public ModelNode execute(Cache<?, ?> cache) {
+            // Only entries held in marshalled form have a known size
+            if (!cache.getCacheConfiguration().storeAsBinary().enabled()) {
+                return new ModelNode();
+            }
+            DataContainer<?, ?> container = cache.getAdvancedCache().getDataContainer();
+            long bytes = 0;
+            for (InternalCacheEntry<?, ?> entry : container) {
+                bytes += size(entry.getKey()) + size(entry.getValue());
+            }
+            return new ModelNode(bytes);
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    MemoryMetric(String name, ModelType type, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type, true).setMeasurementUnit(unit).setStorageRuntime().build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    static long size(Object value) {
+        if (value instanceof MarshalledValue) {
+            return ((MarshalledValue) value).getRaw().length;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        return 0;
+    }
+}
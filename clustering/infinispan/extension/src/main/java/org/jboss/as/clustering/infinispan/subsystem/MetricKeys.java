@@ -48,6 +48,7 @@ public class MetricKeys {
     public static final String EVICTIONS = "evictions";
     public static final String HIT_RATIO = "hit-ratio";
     public static final String HITS = "hits";
+    public static final String MEMORY_USED = "memory-used";
     public static final String MISSES = "misses";
     public static final String NUMBER_OF_ENTRIES = "number-of-entries";
     public static final String READ_WRITE_RATIO = "read-write-ratio";
@@ -78,6 +78,7 @@ public enum XMLAttribute {
     MACHINE("machine"),
     MAX_ENTRIES(EvictionResourceDefinition.Attribute.MAX_ENTRIES),
     MAX_IDLE(ExpirationResourceDefinition.Attribute.MAX_IDLE),
+    MAX_SIZE(MemoryResourceDefinition.Attribute.MAX_SIZE),
     MAX_THREADS(ThreadPoolResourceDefinition.values()[0].getMaxThreads()),
     MIN_THREADS(ThreadPoolResourceDefinition.values()[0].getMinThreads()),
     MODE(ClusteredCacheResourceDefinition.Attribute.MODE),
@@ -111,6 +112,7 @@ public enum XMLAttribute {
     @Deprecated START(CacheContainerResourceDefinition.DeprecatedAttribute.START),
     STATISTICS_ENABLED(CacheResourceDefinition.Attribute.STATISTICS_ENABLED),
     STOP_TIMEOUT(TransactionResourceDefinition.Attribute.STOP_TIMEOUT),
+    STORAGE(MemoryResourceDefinition.Attribute.STORAGE),
     STRATEGY(EvictionResourceDefinition.Attribute.STRATEGY),
     STRIPING(LockingResourceDefinition.Attribute.STRIPING),
     TAKE_OFFLINE_AFTER_FAILURES(BackupResourceDefinition.TakeOfflineAttribute.AFTER_FAILURES),
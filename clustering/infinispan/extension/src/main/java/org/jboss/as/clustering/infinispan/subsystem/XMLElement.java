@@ -65,6 +65,7 @@ public enum XMLElement {
     @Deprecated INDEXING(CacheResourceDefinition.DeprecatedAttribute.INDEXING),
     LOCAL_CACHE(LocalCacheResourceDefinition.WILDCARD_PATH),
     LOCKING(LockingResourceDefinition.PATH),
+    MEMORY(MemoryResourceDefinition.PATH),
     PARTITION_HANDLING(PartitionHandlingResourceDefinition.PATH),
     PERSISTENCE_THREAD_POOL("persistence-thread-pool"),
     REMOTE_COMMAND_THREAD_POOL("remote-command-thread-pool"),
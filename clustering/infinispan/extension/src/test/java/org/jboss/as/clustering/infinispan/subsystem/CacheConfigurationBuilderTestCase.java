@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.EvictionConfiguration;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.eviction.EvictionType;
+import org.junit.Test;
+
+/**
+ * Tests the application of the memory configuration of a cache by {@link CacheConfigurationBuilder}.
+ */
+public class CacheConfigurationBuilderTestCase {
+
+    private static final long MAX_SIZE = 10485760L;
+
+    @Test
+    public void memoryBoundOverridesEntryCountBound() {
+        Configuration configuration = configure(eviction(EvictionStrategy.FIFO, 20000L), memory(true, MAX_SIZE));
+
+        assertEquals(EvictionStrategy.FIFO, configuration.eviction().strategy());
+        assertEquals(EvictionType.MEMORY, configuration.eviction().type());
+        assertEquals(MAX_SIZE, configuration.eviction().size());
+        assertTrue(configuration.storeAsBinary().enabled());
+    }
+
+    @Test
+    public void memoryBoundReplacesUnsupportedStrategy() {
+        Configuration configuration = configure(eviction(EvictionStrategy.LIRS, 20000L), memory(true, MAX_SIZE));
+
+        assertEquals(EvictionStrategy.LRU, configuration.eviction().strategy());
+        assertEquals(EvictionType.MEMORY, configuration.eviction().type());
+        assertEquals(MAX_SIZE, configuration.eviction().size());
+    }
+
+    @Test
+    public void memoryBoundEnablesEviction() {
+        Configuration configuration = configure(eviction(EvictionStrategy.NONE, -1L), memory(true, MAX_SIZE));
+
+        assertEquals(EvictionStrategy.LRU, configuration.eviction().strategy());
+        assertEquals(EvictionType.MEMORY, configuration.eviction().type());
+        assertEquals(MAX_SIZE, configuration.eviction().size());
+    }
+
+    @Test
+    public void noMemoryBound() {
+        EvictionConfiguration eviction = eviction(EvictionStrategy.LIRS, 20000L);
+        Configuration configuration = configure(eviction, memory(true, null));
+
+        assertEquals(EvictionStrategy.LIRS, configuration.eviction().strategy());
+        assertEquals(EvictionType.COUNT, configuration.eviction().type());
+        assertEquals(20000L, configuration.eviction().size());
+        assertTrue(configuration.storeAsBinary().enabled());
+
+        configuration = configure(eviction, memory(false, null));
+
+        assertFalse(configuration.storeAsBinary().enabled());
+    }
+
+    private static Configuration configure(EvictionConfiguration eviction, Configuration memory) {
+        ConfigurationBuilder builder = new ConfigurationBuilder();
+        builder.eviction().read(eviction);
+        CacheConfigurationBuilder.configureMemory(builder, memory, eviction);
+        return builder.build();
+    }
+
+    private static EvictionConfiguration eviction(EvictionStrategy strategy, long size) {
+        return new ConfigurationBuilder().eviction().strategy(strategy).type(EvictionType.COUNT).size(size).create();
+    }
+
+    private static Configuration memory(boolean binary, Long maxSize) {
+        ConfigurationBuilder builder = new ConfigurationBuilder();
+        builder.storeAsBinary().enabled(binary);
+        if (maxSize != null) {
+            builder.eviction().strategy(EvictionStrategy.LRU).type(EvictionType.MEMORY).size(maxSize);
+        }
+        return builder.build();
+    }
+}
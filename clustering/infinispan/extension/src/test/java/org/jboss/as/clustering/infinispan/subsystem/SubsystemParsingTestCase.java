@@ -73,6 +73,7 @@ public class SubsystemParsingTestCase extends ClusteringSubsystemTest {
             { InfinispanSchema.VERSION_2_0, 42 },
             { InfinispanSchema.VERSION_3_0, 42 },
             { InfinispanSchema.VERSION_4_0, 51 },
+            { InfinispanSchema.VERSION_4_1, 52 },
         };
         return Arrays.asList(data);
     }
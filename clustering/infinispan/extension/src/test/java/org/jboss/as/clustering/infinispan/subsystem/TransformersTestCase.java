@@ -218,6 +218,12 @@ public class TransformersTestCase extends OperationTestCaseBase {
             // Test properties operations
             propertiesMapOperationsTest(services, version);
         }
+
+        if (InfinispanModel.VERSION_4_2_0.requiresTransformation(version)) {
+            // Verify that a memory resource with default attributes is discarded
+            ModelNode cache = transformed.get(InfinispanSubsystemResourceDefinition.PATH.getKeyValuePair()).get(CacheContainerResourceDefinition.pathElement("maximal").getKeyValuePair()).get(LocalCacheResourceDefinition.pathElement("local").getKeyValuePair());
+            Assert.assertFalse(cache.get(MemoryResourceDefinition.PATH.getKeyValuePair()).isDefined());
+        }
     }
 
     private void propertiesMapOperationsTest(KernelServices services, ModelVersion version) throws Exception {
@@ -417,6 +423,12 @@ public class TransformersTestCase extends OperationTestCaseBase {
         PathAddress subsystemAddress = PathAddress.pathAddress(InfinispanSubsystemResourceDefinition.PATH);
         PathAddress containerAddress = subsystemAddress.append(CacheContainerResourceDefinition.WILDCARD_PATH);
 
+        if (InfinispanModel.VERSION_4_2_0.requiresTransformation(version)) {
+            for (PathElement path : Arrays.asList(InvalidationCacheResourceDefinition.WILDCARD_PATH, DistributedCacheResourceDefinition.WILDCARD_PATH)) {
+                config.addFailedAttribute(containerAddress.append(path).append(MemoryResourceDefinition.PATH), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            }
+        }
+
         if (InfinispanModel.VERSION_2_0_0.requiresTransformation(version)) {
             for (PathElement path : Arrays.asList(DistributedCacheResourceDefinition.WILDCARD_PATH, ReplicatedCacheResourceDefinition.WILDCARD_PATH)) {
                 PathAddress cacheAddress = containerAddress.append(path);
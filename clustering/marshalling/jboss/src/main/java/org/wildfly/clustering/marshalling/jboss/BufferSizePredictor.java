@@ -0,0 +1,65 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.jboss;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Predicts the marshalled size of an object from the sizes previously marshalled for its class,
+ * so that buffers can be sized up front rather than grown while marshalling.
+ * The prediction follows an increase of the marshalled size immediately, but only slowly follows a decrease.
+ */
+final class BufferSizePredictor {
+    private static final int INITIAL_SIZE = 512;
+
+    // Unlike a map keyed by class, does not prevent class loaders from being collected
+    private static final ClassValue<AtomicInteger> SIZES = new ClassValue<AtomicInteger>() {
+        @Override
+        protected AtomicInteger computeValue(Class<?> targetClass) {
+            return new AtomicInteger(INITIAL_SIZE);
+        }
+    };
+
+    /**
+     * @return the predicted number of bytes needed to marshal an instance of the specified class
+     */
+    static int predict(Class<?> targetClass) {
+        int size = SIZES.get(targetClass).get();
+        // Leave some headroom
+        return size + (size >> 3);
+    }
+
+    /**
+     * Records the number of bytes needed to marshal an instance of the specified class.
+     */
+    static void record(Class<?> targetClass, int size) {
+        AtomicInteger prediction = SIZES.get(targetClass);
+        int current = prediction.get();
+        // Races between concurrent updates are benign
+        prediction.lazySet((size > current) ? size : current - ((current - size) >> 3));
+    }
+
+    private BufferSizePredictor() {
+        // Hide
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.jboss;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.jboss.marshalling.ByteOutput;
+
+/**
+ * A byte output that writes into a growable buffer, which is reused by subsequent marshalling operations of the same thread.
+ * The contents of the buffer must be consumed, via {@link #writeTo(DataOutput)} or {@link #toByteArray()}, before closing this output,
+ * which returns the buffer to the pool of the current thread.
+ * A nested marshalling operation, e.g. of a marshalled value contained in the object graph being marshalled, uses a buffer of its own.
+ */
+final class PooledByteOutput extends OutputStream implements ByteOutput {
+    // Larger buffers are not retained by the pool
+    private static final int MAX_POOLED_CAPACITY = 256 * 1024;
+    private static final ThreadLocal<PooledByteOutput> POOL = new ThreadLocal<>();
+
+    /**
+     * Obtains an output from the pool of the current thread, or creates a new one if the pooled output is in use.
+     * @param expectedSize the expected number of bytes to be written
+     * @return an empty output
+     */
+    static PooledByteOutput acquire(int expectedSize) {
+        PooledByteOutput output = POOL.get();
+        if (output == null) {
+            return new PooledByteOutput(expectedSize);
+        }
+        POOL.remove();
+        if (expectedSize > output.buffer.length) {
+            // Nothing to preserve, so no need to copy
+            output.buffer = new byte[expectedSize];
+        }
+        return output;
+    }
+
+    private byte[] buffer;
+    private int size = 0;
+
+    private PooledByteOutput(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Writes the contents of this output to the specified output, without copying them.
+     */
+    void writeTo(DataOutput output) throws IOException {
+        output.write(this.buffer, 0, this.size);
+    }
+
+    /**
+     * @return a copy of the contents of this output
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, this.size);
+    }
+
+    @Override
+    public void write(int value) {
+        this.ensureCapacity(this.size + 1);
+        this.buffer[this.size++] = (byte) value;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        this.ensureCapacity(this.size + length);
+        System.arraycopy(bytes, offset, this.buffer, this.size, length);
+        this.size += length;
+    }
+
+    @Override
+    public void close() {
+        this.size = 0;
+        if (this.buffer.length <= MAX_POOLED_CAPACITY) {
+            POOL.set(this);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(capacity, this.buffer.length << 1));
+        }
+    }
+}
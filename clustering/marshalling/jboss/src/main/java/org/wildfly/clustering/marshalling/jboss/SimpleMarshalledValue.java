@@ -23,11 +23,12 @@
 package org.wildfly.clustering.marshalling.jboss;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.jboss.marshalling.Marshaller;
 import org.jboss.marshalling.Marshalling;
@@ -39,10 +40,19 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 /**
  * A marshalled value that is lazily serialized and deserialized on demand.
  * This implementation does not preserve the hash code of its object in serialized form.
+ * <p/>
+ * Objects are marshalled into pooled buffers, sized according to the marshalled size of previous instances of the same class.
+ * When this value is itself externalized or serialized, the buffer is written directly to the target output.
+ * Concurrent callers of {@link #get(MarshallingContext)} may each deserialize the serialized form,
+ * but all of them return the first object published.
  * @author Paul Ferraro
  */
 public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingContext> {
     private static final long serialVersionUID = -8852566958387608376L;
+    // Large enough for the marshalling version, larger writes bypass the buffer
+    private static final int VERSION_BUFFER_SIZE = 16;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<SimpleMarshalledValue, Object> OBJECT_UPDATER = AtomicReferenceFieldUpdater.newUpdater(SimpleMarshalledValue.class, Object.class, "object");
 
     private transient volatile MarshallingContext context;
     private transient volatile T object;
@@ -53,7 +63,11 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         this.object = object;
     }
 
-    SimpleMarshalledValue(byte[] bytes) {
+    /**
+     * Creates a marshalled value from its serialized form.
+     * @param bytes the serialized form of a value, as returned by {@link #getBytes()}
+     */
+    public SimpleMarshalledValue(byte[] bytes) {
         this.bytes = bytes;
     }
 
@@ -62,23 +76,74 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         return this.object;
     }
 
-    byte[] getBytes() throws IOException {
+    /**
+     * Returns the serialized form of this value, serializing its object if necessary.
+     * @return a byte array, or null if this value is null
+     * @throws IOException if the object could not be serialized
+     */
+    public byte[] getBytes() throws IOException {
+        // Read bytes before object, since the object is published before the bytes are released
         byte[] bytes = this.bytes;
         if (bytes != null) return bytes;
-        if (this.object == null) return null;
-        int version = this.context.getCurrentVersion();
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        ClassLoader loader = setThreadContextClassLoader(this.context.getClassLoader());
-        try (SimpleDataOutput data = new SimpleDataOutput(Marshalling.createByteOutput(output))) {
+        T object = this.object;
+        if (object == null) return null;
+        try (PooledByteOutput output = this.marshal(object)) {
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * Writes the size of the serialized form of this value, followed by the serialized form itself, to the specified output.
+     * Unlike {@link #getBytes()}, this does not copy the serialized form of an object.
+     * @param output a data output
+     * @throws IOException if the object could not be serialized
+     */
+    void writeBytes(DataOutput output) throws IOException {
+        byte[] bytes = this.bytes;
+        if (bytes != null) {
+            output.writeInt(bytes.length);
+            output.write(bytes);
+            return;
+        }
+        T object = this.object;
+        if (object == null) {
+            output.writeInt(0);
+            return;
+        }
+        try (PooledByteOutput buffer = this.marshal(object)) {
+            output.writeInt(buffer.size());
+            buffer.writeTo(output);
+        }
+    }
+
+    /**
+     * Marshals the specified object into a pooled buffer, which the caller must close.
+     */
+    private PooledByteOutput marshal(T object) throws IOException {
+        MarshallingContext context = this.context;
+        int version = context.getCurrentVersion();
+        Class<?> targetClass = object.getClass();
+        PooledByteOutput output = PooledByteOutput.acquire(BufferSizePredictor.predict(targetClass));
+        boolean marshalled = false;
+        ClassLoader loader = setThreadContextClassLoader(context.getClassLoader());
+        try {
+            // Not closed, since this would close the pooled output
+            SimpleDataOutput data = new SimpleDataOutput(VERSION_BUFFER_SIZE, output);
             IndexExternalizer.VARIABLE.writeData(data, version);
-            try (Marshaller marshaller = this.context.createMarshaller(version)) {
+            try (Marshaller marshaller = context.createMarshaller(version)) {
                 marshaller.start(data);
-                marshaller.writeObject(this.object);
+                marshaller.writeObject(object);
                 marshaller.finish();
-                return output.toByteArray();
             }
+            data.flush();
+            BufferSizePredictor.record(targetClass, output.size());
+            marshalled = true;
+            return output;
         } finally {
             setThreadContextClassLoader(loader);
+            if (!marshalled) {
+                output.close();
+            }
         }
     }
 
@@ -88,25 +153,30 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
      */
     @SuppressWarnings("unchecked")
     @Override
-    public synchronized T get(MarshallingContext context) throws IOException, ClassNotFoundException {
-        if (this.object == null) {
-            this.context = context;
-            if (this.bytes != null) {
-                ByteArrayInputStream input = new ByteArrayInputStream(this.bytes);
-                ClassLoader loader = setThreadContextClassLoader(this.context.getClassLoader());
-                try (SimpleDataInput data = new SimpleDataInput(Marshalling.createByteInput(input))) {
-                    int version = IndexExternalizer.VARIABLE.readData(data);
-                    try (Unmarshaller unmarshaller = context.createUnmarshaller(version)) {
-                        unmarshaller.start(data);
-                        this.object = (T) unmarshaller.readObject();
-                        unmarshaller.finish();
-                        this.bytes = null; // Free up memory
-                    }
-                } finally {
-                    setThreadContextClassLoader(loader);
-                }
+    public T get(MarshallingContext context) throws IOException, ClassNotFoundException {
+        T object = this.object;
+        if (object != null) return object;
+        byte[] bytes = this.bytes;
+        // If the bytes were already released, the object was published
+        if (bytes == null) return this.object;
+        this.context = context;
+        ByteArrayInputStream input = new ByteArrayInputStream(bytes);
+        ClassLoader loader = setThreadContextClassLoader(context.getClassLoader());
+        try (SimpleDataInput data = new SimpleDataInput(Marshalling.createByteInput(input))) {
+            int version = IndexExternalizer.VARIABLE.readData(data);
+            try (Unmarshaller unmarshaller = context.createUnmarshaller(version)) {
+                unmarshaller.start(data);
+                object = (T) unmarshaller.readObject();
+                unmarshaller.finish();
             }
+        } finally {
+            setThreadContextClassLoader(loader);
         }
+        if (OBJECT_UPDATER.compareAndSet(this, null, object)) {
+            this.bytes = null; // Free up memory
+            return object;
+        }
+        // Another caller published its object first
         return this.object;
     }
 
@@ -147,13 +217,7 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
 
     private void writeObject(ObjectOutputStream out) throws IOException {
         out.defaultWriteObject();
-        byte[] bytes = this.getBytes();
-        if (bytes != null) {
-            out.writeInt(bytes.length);
-            out.write(bytes);
-        } else {
-            out.writeInt(0);
-        }
+        this.writeBytes(out);
     }
 
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -28,7 +28,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.jboss.marshalling.Marshalling;
 import org.jboss.marshalling.MarshallingConfiguration;
@@ -144,6 +151,43 @@ public class SimpleMarshalledValueFactoryTestCase {
         assertEquals(0, mv.hashCode());
     }
 
+    @Test
+    public void getLarge() throws Exception {
+        byte[] bytes = new byte[100000];
+        new Random().nextBytes(bytes);
+        SimpleMarshalledValue<byte[]> mv = this.factory.createMarshalledValue(bytes);
+        byte[] serialized = mv.getBytes();
+        // Subsequent marshalling reuses the pooled buffer
+        for (int i = 0; i < 3; ++i) {
+            SimpleMarshalledValue<byte[]> copy = replicate(mv);
+            assertArrayEquals(serialized, copy.getBytes());
+            assertArrayEquals(bytes, copy.get(this.context));
+        }
+    }
+
+    @Test
+    public void concurrentGet() throws Exception {
+        final SimpleMarshalledValue<UUID> copy = replicate(this.factory.createMarshalledValue(UUID.randomUUID()));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<UUID>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                futures.add(executor.submit(new Callable<UUID>() {
+                    @Override
+                    public UUID call() throws Exception {
+                        return copy.get(SimpleMarshalledValueFactoryTestCase.this.context);
+                    }
+                }));
+            }
+            UUID result = futures.get(0).get();
+            for (Future<UUID> future : futures) {
+                assertSame(result, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     <T> void validateHashCode(T original, SimpleMarshalledValue<T> copy) {
         assertEquals(0, copy.hashCode());
     }
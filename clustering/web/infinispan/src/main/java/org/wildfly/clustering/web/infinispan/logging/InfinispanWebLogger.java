@@ -81,4 +81,11 @@ public interface InfinispanWebLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 10, value = "Failed to activate authentication for single sign on %s")
     void failedToActivateAuthentication(@Cause Throwable cause, String ssoId);
+
+    @LogMessage(level = WARN)
+    @Message(id = 11, value = "Failed to write attributes of session %s")
+    void failedToWriteSessionAttributes(@Cause Throwable cause, String sessionId);
+
+    @Message(id = 12, value = "Write-behind of session attributes requires a transactional cache, but cache %s of deployment %s is not transactional")
+    IllegalStateException attributeWriteBehindRequiresTransactionalCache(String cacheName, String deploymentName);
 }
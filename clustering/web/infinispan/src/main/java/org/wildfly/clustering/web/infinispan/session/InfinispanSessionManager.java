@@ -101,9 +101,11 @@ public class InfinispanSessionManager<MV, AV, L> implements SessionManager<L, Tr
     private final Locality locality;
     private final Recordable<ImmutableSession> recorder;
     private final ServletContext context;
+    private final SessionNearCache nearCache;
 
     private volatile CommandDispatcher<Scheduler> dispatcher;
     private volatile Scheduler scheduler;
+    private volatile SessionExpirationScheduler expirationScheduler;
     private volatile ServiceExecutor executor;
 
     public InfinispanSessionManager(SessionFactory<MV, AV, L> factory, InfinispanSessionManagerConfiguration configuration) {
@@ -119,6 +121,7 @@ public class InfinispanSessionManager<MV, AV, L> implements SessionManager<L, Tr
         this.maxActiveSessions = configuration.getMaxActiveSessions();
         this.recorder = configuration.getInactiveSessionRecorder();
         this.context = configuration.getServletContext();
+        this.nearCache = configuration.getNearCache();
     }
 
     @Override
@@ -129,7 +132,8 @@ public class InfinispanSessionManager<MV, AV, L> implements SessionManager<L, Tr
         }
         this.identifierFactory.start();
         final List<Scheduler> schedulers = new ArrayList<>(2);
-        schedulers.add(new SessionExpirationScheduler(this.batcher, new ExpiredSessionRemover<>(this.factory, this.expirationListener)));
+        this.expirationScheduler = new SessionExpirationScheduler(this.batcher, new ExpiredSessionRemover<>(this.factory, this.expirationListener));
+        schedulers.add(this.expirationScheduler);
         if (this.maxActiveSessions >= 0) {
             schedulers.add(new SessionEvictionScheduler(this.cache.getName() + ".eviction", this.factory, this.dispatcherFactory, this.maxActiveSessions));
         }
@@ -156,6 +160,10 @@ public class InfinispanSessionManager<MV, AV, L> implements SessionManager<L, Tr
         };
         this.dispatcher = this.dispatcherFactory.createCommandDispatcher(this.cache.getName() + ".schedulers", this.scheduler);
         this.cache.addListener(this, this.filter);
+        if (this.nearCache != null) {
+            SessionNearCacheFilterConverter filterConverter = new SessionNearCacheFilterConverter();
+            this.cache.addListener(this.nearCache, filterConverter, filterConverter);
+        }
         this.schedule(this.cache, new SimpleLocality(false), this.locality);
     }
 
@@ -163,6 +171,12 @@ public class InfinispanSessionManager<MV, AV, L> implements SessionManager<L, Tr
     public void stop() {
         this.executor.close(() -> {
             this.cache.removeListener(this);
+            // Complete any asynchronous attribute writes
+            this.factory.getAttributesFactory().close();
+            if (this.nearCache != null) {
+                this.cache.removeListener(this.nearCache);
+                this.nearCache.clear();
+            }
             this.dispatcher.close();
             this.scheduler.close();
             this.identifierFactory.stop();
@@ -293,6 +307,42 @@ public class InfinispanSessionManager<MV, AV, L> implements SessionManager<L, Tr
         return this.getActiveSessions().size();
     }
 
+    @Override
+    public long getExpirationBacklog() {
+        SessionExpirationScheduler scheduler = this.expirationScheduler;
+        return (scheduler != null) ? scheduler.getBacklog() : 0L;
+    }
+
+    @Override
+    public long getReplicatedAttributeDeltaCount() {
+        return this.factory.getAttributesFactory().getReplicatedDeltaCount();
+    }
+
+    @Override
+    public long getReplicatedAttributeDeltaBytes() {
+        return this.factory.getAttributesFactory().getReplicatedDeltaBytes();
+    }
+
+    @Override
+    public long getNearCacheHitCount() {
+        return (this.nearCache != null) ? this.nearCache.getHitCount() : 0L;
+    }
+
+    @Override
+    public long getNearCacheMissCount() {
+        return (this.nearCache != null) ? this.nearCache.getMissCount() : 0L;
+    }
+
+    @Override
+    public long getPendingAttributeWriteCount() {
+        return this.factory.getAttributesFactory().getPendingWriteCount();
+    }
+
+    @Override
+    public long getFailedAttributeWriteCount() {
+        return this.factory.getAttributesFactory().getFailedWriteCount();
+    }
+
     @CacheEntryActivated
     public void activated(CacheEntryActivatedEvent<SessionCreationMetaDataKey, ?> event) {
         if (!event.isPre() && !this.properties.isPersistent()) {
@@ -354,6 +404,10 @@ public class InfinispanSessionManager<MV, AV, L> implements SessionManager<L, Tr
 
     @DataRehashed
     public void dataRehashed(DataRehashedEvent<SessionCreationMetaDataKey, ?> event) {
+        if (this.nearCache != null) {
+            // Writes during a topology change may not have been notified
+            this.nearCache.clear();
+        }
         this.executor.execute(() -> {
             Cache<SessionCreationMetaDataKey, ?> cache = event.getCache();
             Address localAddress = cache.getCacheManager().getAddress();
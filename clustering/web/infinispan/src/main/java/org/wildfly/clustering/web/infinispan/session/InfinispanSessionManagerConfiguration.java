@@ -51,4 +51,11 @@ public interface InfinispanSessionManagerConfiguration {
     NodeFactory<Address> getNodeFactory();
     int getMaxActiveSessions();
     Recordable<ImmutableSession> getInactiveSessionRecorder();
+
+    /**
+     * @return the near cache of the session factory of the session manager, or null if sessions are not near cached
+     */
+    default SessionNearCache getNearCache() {
+        return null;
+    }
 }
@@ -43,6 +43,7 @@ import org.wildfly.clustering.group.NodeFactory;
 import org.wildfly.clustering.infinispan.spi.distribution.Key;
 import org.wildfly.clustering.marshalling.jboss.ExternalizerObjectTable;
 import org.wildfly.clustering.marshalling.jboss.IndexExternalizer;
+import org.wildfly.clustering.marshalling.jboss.MarshalledValue;
 import org.wildfly.clustering.marshalling.jboss.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.jboss.MarshalledValueMarshaller;
 import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
@@ -53,8 +54,12 @@ import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContextFactory;
 import org.wildfly.clustering.web.IdentifierFactory;
 import org.wildfly.clustering.web.LocalContextFactory;
 import org.wildfly.clustering.web.infinispan.AffinityIdentifierFactory;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
 import org.wildfly.clustering.web.infinispan.session.coarse.CoarseSessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.delta.DeltaSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.fine.FineSessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.fine.SessionAttributeKey;
+import org.wildfly.clustering.web.infinispan.session.fine.SessionAttributeWriteBehind;
 import org.wildfly.clustering.web.session.ImmutableSession;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
 import org.wildfly.clustering.web.session.SessionManager;
@@ -107,6 +112,7 @@ public class InfinispanSessionManagerFactory implements SessionManagerFactory<Tr
         final CommandDispatcherFactory dispatcherFactory = this.config.getCommandDispatcherFactory();
         final NodeFactory<Address> nodeFactory = this.config.getNodeFactory();
         final int maxActiveSessions = this.config.getSessionManagerFactoryConfiguration().getMaxActiveSessions();
+        final SessionNearCache nearCache = createNearCache(cache, properties, this.config.getSessionManagerFactoryConfiguration().getNearCacheSize());
         InfinispanSessionManagerConfiguration config = new InfinispanSessionManagerConfiguration() {
             @Override
             public SessionExpirationListener getExpirationListener() {
@@ -157,8 +163,24 @@ public class InfinispanSessionManagerFactory implements SessionManagerFactory<Tr
             public Recordable<ImmutableSession> getInactiveSessionRecorder() {
                 return configuration.getInactiveSessionRecorder();
             }
+
+            @Override
+            public SessionNearCache getNearCache() {
+                return nearCache;
+            }
         };
-        return new InfinispanSessionManager<>(this.createSessionFactory(properties, configuration.getLocalContextFactory()), config);
+        SessionFactory<?, ?, L> sessionFactory = this.createSessionFactory(properties, configuration.getLocalContextFactory());
+        return new InfinispanSessionManager<>((nearCache != null) ? createNearCacheSessionFactory(sessionFactory, nearCache, cache) : sessionFactory, config);
+    }
+
+    private static SessionNearCache createNearCache(Cache<Key<String>, ?> cache, CacheProperties properties, int size) {
+        // Only sessions of a distributed cache may be remote
+        // Reads that lock the session must always go to the session cache
+        return (size > 0) && cache.getCacheConfiguration().clustering().cacheMode().isDistributed() && !properties.isLockOnRead() ? new SessionNearCache(size) : null;
+    }
+
+    private static <MV, AV, L> SessionFactory<MV, AV, L> createNearCacheSessionFactory(SessionFactory<MV, AV, L> factory, SessionNearCache nearCache, Cache<Key<String>, ?> cache) {
+        return new NearCacheSessionFactory<>(factory, nearCache, cache);
     }
 
     private <L> SessionFactory<?, ?, L> createSessionFactory(CacheProperties properties, LocalContextFactory<L> localContextFactory) {
@@ -174,11 +196,20 @@ public class InfinispanSessionManagerFactory implements SessionManagerFactory<Tr
 
         switch (this.config.getSessionManagerFactoryConfiguration().getAttributePersistenceStrategy()) {
             case FINE: {
-                return new FineSessionAttributesFactory(this.config.getCache(), new MarshalledValueMarshaller<>(factory, context), properties);
+                Cache<SessionAttributeKey, MarshalledValue<Object, MarshallingContext>> cache = this.config.getCache();
+                int threads = config.getAttributeWriteBehindThreads();
+                // The writes of a batch must be discarded together on failure
+                if ((threads > 0) && !properties.isTransactional()) {
+                    throw InfinispanWebLogger.ROOT_LOGGER.attributeWriteBehindRequiresTransactionalCache(cache.getName(), config.getDeploymentName());
+                }
+                return new FineSessionAttributesFactory(cache, new MarshalledValueMarshaller<>(factory, context), properties, (threads > 0) ? new SessionAttributeWriteBehind<>(cache, threads) : null);
             }
             case COARSE: {
                 return new CoarseSessionAttributesFactory(this.config.getCache(), new MarshalledValueMarshaller<>(factory, context), properties);
             }
+            case DELTA: {
+                return new DeltaSessionAttributesFactory(this.config.getCache(), context, properties);
+            }
             default: {
                 // Impossible
                 throw new IllegalStateException();
@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.util.Map;
+
+import org.infinispan.Cache;
+import org.wildfly.clustering.infinispan.spi.distribution.ConsistentHashLocality;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.Session;
+
+/**
+ * {@link SessionFactory} decorator that reads sessions for which this node is not the primary owner via a {@link SessionNearCache}.
+ * Sessions owned by this node are always read from the session cache, since such reads are local.
+ */
+public class NearCacheSessionFactory<MV, AV, L> implements SessionFactory<MV, AV, L> {
+
+    private final SessionFactory<MV, AV, L> factory;
+    private final SessionNearCache nearCache;
+    private final Cache<? extends Key<String>, ?> cache;
+
+    public NearCacheSessionFactory(SessionFactory<MV, AV, L> factory, SessionNearCache nearCache, Cache<? extends Key<String>, ?> cache) {
+        this.factory = factory;
+        this.nearCache = nearCache;
+        this.cache = cache;
+    }
+
+    @Override
+    public Map.Entry<MV, AV> createValue(String id, Void context) {
+        return this.factory.createValue(id, context);
+    }
+
+    @Override
+    public Map.Entry<MV, AV> findValue(String id) {
+        if (new ConsistentHashLocality(this.cache).isLocal(new Key<>(id))) {
+            // Drop any copy cached before this node became the owner
+            this.nearCache.invalidate(id);
+            return this.factory.findValue(id);
+        }
+        return this.nearCache.get(id, this.factory::findValue);
+    }
+
+    @Override
+    public Map.Entry<MV, AV> tryValue(String id) {
+        return this.factory.tryValue(id);
+    }
+
+    @Override
+    public boolean remove(String id) {
+        this.nearCache.invalidate(id);
+        return this.factory.remove(id);
+    }
+
+    @Override
+    public void evict(String id) {
+        this.nearCache.invalidate(id);
+        this.factory.evict(id);
+    }
+
+    @Override
+    public SessionMetaDataFactory<MV, L> getMetaDataFactory() {
+        return this.factory.getMetaDataFactory();
+    }
+
+    @Override
+    public SessionAttributesFactory<AV> getAttributesFactory() {
+        return this.factory.getAttributesFactory();
+    }
+
+    @Override
+    public Session<L> createSession(String id, Map.Entry<MV, AV> value) {
+        return this.factory.createSession(id, value);
+    }
+
+    @Override
+    public ImmutableSession createImmutableSession(String id, Map.Entry<MV, AV> value) {
+        return this.factory.createImmutableSession(id, value);
+    }
+}
@@ -34,4 +34,39 @@ import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
 public interface SessionAttributesFactory<V> extends Creator<String, V, Void>, Locator<String, V>, Remover<String>, Evictor<String> {
     SessionAttributes createSessionAttributes(String id, V value);
     ImmutableSessionAttributes createImmutableSessionAttributes(String id, V value);
+
+    /**
+     * @return the number of attribute deltas replicated by this factory, if it replicates deltas
+     */
+    default long getReplicatedDeltaCount() {
+        return 0L;
+    }
+
+    /**
+     * @return the total size, in bytes, of the marshalled attributes of the deltas replicated by this factory, if it replicates deltas
+     */
+    default long getReplicatedDeltaBytes() {
+        return 0L;
+    }
+
+    /**
+     * Waits for any attributes written asynchronously by this factory, and releases the resources used to write them.
+     */
+    default void close() {
+        // Do nothing
+    }
+
+    /**
+     * @return the number of attribute writes not yet written to the cache, if this factory writes attributes asynchronously
+     */
+    default long getPendingWriteCount() {
+        return 0L;
+    }
+
+    /**
+     * @return the number of attribute writes that failed to be written to the cache, if this factory writes attributes asynchronously
+     */
+    default long getFailedWriteCount() {
+        return 0L;
+    }
 }
@@ -25,14 +25,20 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.clustering.ee.Batch;
@@ -46,17 +52,42 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 /**
  * Session expiration scheduler that eagerly expires sessions as soon as they are eligible.
  * If/When Infinispan implements expiration notifications (ISPN-694), this will be obsolete.
+ * <p/>
+ * Sessions are grouped into buckets by the second in which they become eligible for expiration.
+ * Once per second, the sessions of all due buckets are expired in batches of up to {@value #BATCH_SIZE} sessions,
+ * each within a single {@link TransactionBatch}. Batches run concurrently on the number of threads specified by the
+ * {@value #PARALLELISM_PROPERTY} system property, which defaults to 1.
  * @author Paul Ferraro
  */
 public class SessionExpirationScheduler implements Scheduler {
 
-    final Map<String, Future<?>> expirationFutures = new ConcurrentHashMap<>();
+    public static final String PARALLELISM_PROPERTY = "org.wildfly.clustering.web.expiration.threads";
+    static final int BATCH_SIZE = 100;
+
+    // Session identifiers by the second in which they become eligible for expiration
+    final ConcurrentNavigableMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+    // The expiration bucket of each scheduled session
+    final Map<String, Long> expirations = new ConcurrentHashMap<>();
     final Batcher<TransactionBatch> batcher;
     final Remover<String> remover;
     private final ScheduledExecutorService executor;
+    private final Future<?> sweepFuture;
+    // Guarded by itself
+    private final List<Future<?>> expirationFutures = new ArrayList<>();
+    final AtomicLong backlog = new AtomicLong();
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, Remover<String> remover) {
-        this(batcher, remover, createScheduledExecutor(createThreadFactory()));
+        this(batcher, remover, createScheduledExecutor(createThreadFactory(), getParallelism()));
+    }
+
+    private static int getParallelism() {
+        String value = AccessController.doPrivileged(new PrivilegedAction<String>() {
+            @Override
+            public String run() {
+                return System.getProperty(PARALLELISM_PROPERTY);
+            }
+        });
+        return (value != null) ? Math.max(Integer.parseInt(value), 1) : 1;
     }
 
     private static ThreadFactory createThreadFactory() {
@@ -68,8 +99,8 @@ public class SessionExpirationScheduler implements Scheduler {
         });
     }
 
-    private static ScheduledExecutorService createScheduledExecutor(ThreadFactory factory) {
-        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, factory);
+    private static ScheduledExecutorService createScheduledExecutor(ThreadFactory factory, int parallelism) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(parallelism, factory);
         executor.setRemoveOnCancelPolicy(true);
         executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
         return executor;
@@ -79,13 +110,30 @@ public class SessionExpirationScheduler implements Scheduler {
         this.batcher = batcher;
         this.remover = remover;
         this.executor = executor;
+        // Sweep at the start of every second
+        long delay = TimeUnit.SECONDS.toMillis(1) - (System.currentTimeMillis() % TimeUnit.SECONDS.toMillis(1));
+        this.sweepFuture = executor.scheduleAtFixedRate(new SweepTask(), delay, TimeUnit.SECONDS.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the number of sessions that are eligible for expiration, but were not yet expired
+     */
+    public long getBacklog() {
+        long count = this.backlog.get();
+        for (Bucket bucket : this.buckets.headMap(Instant.now().getEpochSecond(), true).values()) {
+            count += bucket.size();
+        }
+        return count;
     }
 
     @Override
     public void cancel(String sessionId) {
-        Future<?> future = this.expirationFutures.remove(sessionId);
-        if (future != null) {
-            future.cancel(false);
+        Long second = this.expirations.remove(sessionId);
+        if (second != null) {
+            Bucket bucket = this.buckets.get(second);
+            if (bucket != null) {
+                bucket.remove(sessionId);
+            }
         }
     }
 
@@ -94,58 +142,158 @@ public class SessionExpirationScheduler implements Scheduler {
         Duration maxInactiveInterval = metaData.getMaxInactiveInterval();
         if (!maxInactiveInterval.isZero()) {
             Instant lastAccessed = metaData.getLastAccessedTime();
-            Duration delay = Duration.between(Instant.now(), lastAccessed.plus(maxInactiveInterval));
-            Runnable task = new ExpirationTask(sessionId);
-            long seconds = !delay.isNegative() ? delay.getSeconds() + 1 : 0;
-            InfinispanWebLogger.ROOT_LOGGER.tracef("Session %s will expire in %d sec", sessionId, seconds);
-            synchronized (task) {
-                this.expirationFutures.put(sessionId, this.executor.schedule(task, seconds, TimeUnit.SECONDS));
-            }
+            Instant expiration = lastAccessed.plus(maxInactiveInterval);
+            // Round up, so that a session never expires early
+            long second = (expiration.getNano() > 0) ? expiration.getEpochSecond() + 1 : expiration.getEpochSecond();
+            InfinispanWebLogger.ROOT_LOGGER.tracef("Session %s will expire in %d sec", sessionId, Math.max(second - Instant.now().getEpochSecond(), 0));
+            this.cancel(sessionId);
+            this.expirations.put(sessionId, second);
+            // A bucket that was concurrently swept no longer accepts sessions, so replace it with a new bucket
+            this.buckets.compute(second, (key, bucket) -> ((bucket != null) && bucket.add(sessionId)) ? bucket : new Bucket(sessionId));
         }
     }
 
     @Override
     public void cancel(Locality locality) {
-        this.expirationFutures.keySet().stream().filter(sessionId -> !locality.isLocal(sessionId)).forEach(sessionId -> this.cancel(sessionId));
+        this.expirations.keySet().stream().filter(sessionId -> !locality.isLocal(sessionId)).forEach(sessionId -> this.cancel(sessionId));
     }
 
     @Override
     public void close() {
+        this.sweepFuture.cancel(false);
         this.executor.shutdown();
-        this.expirationFutures.values().forEach(future -> future.cancel(false));
-        this.expirationFutures.values().stream().filter(future -> !future.isDone()).forEach(future -> {
-            try {
-                future.get();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            } catch (ExecutionException e) {
-                // Ignore
+        List<Future<?>> futures;
+        synchronized (this.expirationFutures) {
+            futures = new ArrayList<>(this.expirationFutures);
+        }
+        futures.forEach(future -> future.cancel(false));
+        try {
+            this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.buckets.clear();
+        this.expirations.clear();
+    }
+
+    private class SweepTask implements Runnable {
+        @Override
+        public void run() {
+            long now = Instant.now().getEpochSecond();
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            Map.Entry<Long, Bucket> entry = SessionExpirationScheduler.this.buckets.firstEntry();
+            while ((entry != null) && (entry.getKey() <= now)) {
+                if (SessionExpirationScheduler.this.buckets.remove(entry.getKey(), entry.getValue())) {
+                    for (String sessionId : entry.getValue().close()) {
+                        // Skip sessions that were canceled or rescheduled in the meantime
+                        if (SessionExpirationScheduler.this.expirations.remove(sessionId, entry.getKey())) {
+                            batch.add(sessionId);
+                            if (batch.size() == BATCH_SIZE) {
+                                this.submit(batch);
+                                batch = new ArrayList<>(BATCH_SIZE);
+                            }
+                        }
+                    }
+                }
+                entry = SessionExpirationScheduler.this.buckets.firstEntry();
             }
-        });
-        this.expirationFutures.clear();
+            if (!batch.isEmpty()) {
+                this.submit(batch);
+            }
+        }
+
+        private void submit(List<String> sessionIds) {
+            SessionExpirationScheduler.this.backlog.addAndGet(sessionIds.size());
+            synchronized (SessionExpirationScheduler.this.expirationFutures) {
+                SessionExpirationScheduler.this.expirationFutures.removeIf(Future::isDone);
+                SessionExpirationScheduler.this.expirationFutures.add(SessionExpirationScheduler.this.executor.submit(new ExpirationTask(sessionIds)));
+            }
+        }
+    }
+
+    /**
+     * The sessions that become eligible for expiration within the same second.
+     */
+    static class Bucket {
+        private final Set<String> sessionIds = new HashSet<>();
+        private boolean closed = false;
+
+        Bucket(String sessionId) {
+            this.sessionIds.add(sessionId);
+        }
+
+        /**
+         * @return false, if this bucket was already swept
+         */
+        synchronized boolean add(String sessionId) {
+            if (this.closed) {
+                return false;
+            }
+            this.sessionIds.add(sessionId);
+            return true;
+        }
+
+        synchronized void remove(String sessionId) {
+            this.sessionIds.remove(sessionId);
+        }
+
+        synchronized int size() {
+            return this.sessionIds.size();
+        }
+
+        /**
+         * Prevents further additions to this bucket.
+         * @return the sessions of this bucket
+         */
+        synchronized List<String> close() {
+            this.closed = true;
+            return new ArrayList<>(this.sessionIds);
+        }
     }
 
     private class ExpirationTask implements Runnable {
-        private final String id;
+        private final List<String> ids;
 
-        public ExpirationTask(String id) {
-            this.id = id;
+        ExpirationTask(List<String> ids) {
+            this.ids = ids;
         }
 
         @Override
         public void run() {
-            InfinispanWebLogger.ROOT_LOGGER.tracef("Expiring session %s", this.id);
+            try {
+                InfinispanWebLogger.ROOT_LOGGER.tracef("Expiring sessions %s", this.ids);
+                Throwable failure = null;
+                try (Batch batch = SessionExpirationScheduler.this.batcher.createBatch()) {
+                    try {
+                        for (String id : this.ids) {
+                            SessionExpirationScheduler.this.remover.remove(id);
+                        }
+                    } catch (Throwable e) {
+                        batch.discard();
+                        failure = e;
+                    }
+                }
+                if (failure != null) {
+                    if (this.ids.size() == 1) {
+                        InfinispanWebLogger.ROOT_LOGGER.failedToExpireSession(failure, this.ids.get(0));
+                    } else {
+                        // Retry each session of the discarded batch separately, so that one failure does not prevent the expiration of the others
+                        this.ids.forEach(this::expire);
+                    }
+                }
+            } finally {
+                SessionExpirationScheduler.this.backlog.addAndGet(-this.ids.size());
+            }
+        }
+
+        private void expire(String id) {
             try (Batch batch = SessionExpirationScheduler.this.batcher.createBatch()) {
                 try {
-                    SessionExpirationScheduler.this.remover.remove(this.id);
+                    SessionExpirationScheduler.this.remover.remove(id);
                 } catch (Throwable e) {
-                    InfinispanWebLogger.ROOT_LOGGER.failedToExpireSession(e, this.id);
+                    InfinispanWebLogger.ROOT_LOGGER.failedToExpireSession(e, id);
                     batch.discard();
                 }
-            } finally {
-                synchronized (this) {
-                    SessionExpirationScheduler.this.expirationFutures.remove(this.id);
-                }
             }
         }
     }
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryExpired;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+
+/**
+ * Node-local cache of the sessions read from a distributed cache, used to avoid repeated remote reads and unmarshalling
+ * of sessions for which this node is not the primary owner.
+ * As a clustered listener, this cache is notified of every write to the session cache, on any node, and invalidates the
+ * session written by any other node.
+ * Since only the key of a written entry is needed, this listener must be registered with a {@link SessionNearCacheFilterConverter},
+ * so that events are sent without the value of the entry.
+ */
+@Listener(clustered = true)
+public class SessionNearCache {
+
+    // Placeholder for a value that is being read, which an invalidation replaces or removes
+    private static class Reservation {
+    }
+
+    private final Map<String, Object> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @SuppressWarnings("serial")
+    public SessionNearCache(final int size) {
+        // Least recently used sessions are evicted first
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return this.size() > size;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached value of the specified session, reading and caching it if absent.
+     * A read value is not cached if the session was invalidated while it was being read.
+     * @param id a session identifier
+     * @param reader reads the value of a session from the session cache
+     * @return the value of the session, or null if no such session exists
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String id, Function<String, V> reader) {
+        Object value = this.entries.get(id);
+        if ((value != null) && !(value instanceof Reservation)) {
+            this.hits.increment();
+            return (V) value;
+        }
+        this.misses.increment();
+        Reservation reservation = new Reservation();
+        boolean reserved = (value == null) && (this.entries.putIfAbsent(id, reservation) == null);
+        V result = reader.apply(id);
+        if (reserved) {
+            if (result != null) {
+                this.entries.replace(id, reservation, result);
+            } else {
+                this.entries.remove(id, reservation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the specified session from this cache.
+     * @param id a session identifier
+     */
+    public void invalidate(String id) {
+        this.entries.remove(id);
+    }
+
+    /**
+     * Removes all sessions from this cache.
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+
+    public int size() {
+        // Exclude reservations
+        synchronized (this.entries) {
+            return (int) this.entries.values().stream().filter(value -> !(value instanceof Reservation)).count();
+        }
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    @CacheEntryCreated
+    @CacheEntryModified
+    @CacheEntryRemoved
+    @CacheEntryExpired
+    public void written(CacheEntryEvent<Key<String>, String> event) {
+        // The local copy of a session written by this node is already current
+        if (!event.isOriginLocal()) {
+            this.invalidate(event.getKey().getValue());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.io.Serializable;
+
+import org.infinispan.metadata.Metadata;
+import org.infinispan.notifications.cachelistener.filter.AbstractCacheEventFilterConverter;
+import org.infinispan.notifications.cachelistener.filter.EventType;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+
+/**
+ * Filters the events of a session cache for the entries of a session, and converts them to the identifier of the session,
+ * so that a clustered {@link SessionNearCache} is not sent the values of written entries.
+ */
+public class SessionNearCacheFilterConverter extends AbstractCacheEventFilterConverter<Object, Object, String> implements Serializable {
+    private static final long serialVersionUID = 2406453911562914837L;
+
+    @Override
+    public String filterAndConvert(Object key, Object oldValue, Metadata oldMetadata, Object newValue, Metadata newMetadata, EventType eventType) {
+        // A null result filters the event
+        return (key instanceof Key) ? ((Key<?>) key).getValue().toString() : null;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.delta;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjLongConsumer;
+
+import org.infinispan.commons.marshall.NotSerializableException;
+import org.infinispan.util.concurrent.ConcurrentHashSet;
+import org.wildfly.clustering.ee.infinispan.CacheProperties;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValue;
+import org.wildfly.clustering.web.infinispan.session.MutableDetector;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributes;
+
+/**
+ * Exposes session attributes for a delta granularity session.
+ * Like a coarse granularity session, all attributes are stored in a single cache entry, but this tracks which attributes were changed,
+ * so that only those are marshalled and replicated when the session is closed.
+ */
+public class DeltaSessionAttributes extends DeltaImmutableSessionAttributes implements SessionAttributes {
+    private final Map<String, SimpleMarshalledValue<Object>> attributes;
+    private final Set<String> updates = new ConcurrentHashSet<>();
+    private final Set<String> removals = new ConcurrentHashSet<>();
+    private final MarshallingContext context;
+    private final CacheProperties properties;
+    private final ObjLongConsumer<SessionAttributesDelta> replicator;
+
+    /**
+     * Creates the attributes of a session.
+     * @param id a session identifier
+     * @param attributes the marshalled attributes of the session
+     * @param context a marshalling context
+     * @param properties the properties of the cache
+     * @param replicator writes a delta, along with its size in bytes
+     */
+    public DeltaSessionAttributes(String id, Map<String, SimpleMarshalledValue<Object>> attributes, MarshallingContext context, CacheProperties properties, ObjLongConsumer<SessionAttributesDelta> replicator) {
+        super(id, attributes, context);
+        this.attributes = attributes;
+        this.context = context;
+        this.properties = properties;
+        this.replicator = replicator;
+    }
+
+    @Override
+    public Object removeAttribute(String name) {
+        SimpleMarshalledValue<Object> value = this.attributes.remove(name);
+        if (value != null) {
+            this.updates.remove(name);
+            this.removals.add(name);
+        }
+        return this.read(name, value);
+    }
+
+    @Override
+    public Object setAttribute(String name, Object attribute) {
+        if (attribute == null) {
+            return this.removeAttribute(name);
+        }
+        if (this.properties.isMarshalling() && !this.context.isMarshallable(attribute)) {
+            throw new IllegalArgumentException(new NotSerializableException(attribute.getClass().getName()));
+        }
+        SimpleMarshalledValue<Object> value = this.attributes.put(name, new SimpleMarshalledValue<>(attribute, this.context));
+        this.removals.remove(name);
+        this.updates.add(name);
+        return this.read(name, value);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        Object attribute = super.getAttribute(name);
+        if (MutableDetector.isMutable(attribute)) {
+            this.updates.add(name);
+        }
+        return attribute;
+    }
+
+    @Override
+    public void close() {
+        if (this.updates.isEmpty() && this.removals.isEmpty()) return;
+        Map<String, SimpleMarshalledValue<Object>> updates = new HashMap<>();
+        Set<String> removals = new HashSet<>(this.removals);
+        long size = 0;
+        for (String name : this.updates) {
+            SimpleMarshalledValue<Object> value = this.attributes.get(name);
+            if (value != null) {
+                // Marshal eagerly, so that the size of the delta is known, and so that the delta is unaffected by subsequent requests
+                try {
+                    byte[] bytes = value.getBytes();
+                    updates.put(name, new SimpleMarshalledValue<>(bytes));
+                    size += bytes.length;
+                } catch (IOException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            } else {
+                removals.add(name);
+            }
+        }
+        this.updates.clear();
+        this.removals.clear();
+        this.replicator.accept(new SessionAttributesDelta(updates, removals), size);
+    }
+}
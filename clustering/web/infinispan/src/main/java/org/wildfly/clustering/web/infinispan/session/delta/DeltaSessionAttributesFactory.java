@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.delta;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.wildfly.clustering.ee.infinispan.CacheProperties;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValue;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributes;
+import org.wildfly.clustering.web.infinispan.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.coarse.SessionAttributesKey;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+
+/**
+ * {@link SessionAttributesFactory} for delta granularity sessions, where all session attributes are stored in a single cache entry,
+ * but only the attributes that changed during a request are replicated.
+ */
+public class DeltaSessionAttributesFactory implements SessionAttributesFactory<SessionAttributesEntry> {
+
+    private final Cache<SessionAttributesKey, SessionAttributesEntry> cache;
+    private final MarshallingContext context;
+    private final CacheProperties properties;
+    private final LongAdder replicatedDeltas = new LongAdder();
+    private final LongAdder replicatedBytes = new LongAdder();
+
+    public DeltaSessionAttributesFactory(Cache<SessionAttributesKey, SessionAttributesEntry> cache, MarshallingContext context, CacheProperties properties) {
+        this.cache = cache;
+        this.context = context;
+        this.properties = properties;
+    }
+
+    @Override
+    public SessionAttributesEntry createValue(String id, Void context) {
+        SessionAttributesKey key = new SessionAttributesKey(id);
+        SessionAttributesEntry entry = this.cache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS).computeIfAbsent(key, k -> new SessionAttributesEntry());
+        if (!this.activate(id, entry)) {
+            this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(key);
+            return this.createValue(id, context);
+        }
+        return entry;
+    }
+
+    @Override
+    public SessionAttributesEntry findValue(String id) {
+        SessionAttributesEntry entry = this.cache.get(new SessionAttributesKey(id));
+        if (entry != null) {
+            if (this.activate(id, entry)) {
+                return entry;
+            }
+            this.remove(id);
+        }
+        return null;
+    }
+
+    /**
+     * Preemptively reads all attributes of the specified entry to detect invalid session attributes.
+     * @return true, if all attributes are valid, false otherwise
+     */
+    private boolean activate(String id, SessionAttributesEntry entry) {
+        for (Map.Entry<String, SimpleMarshalledValue<Object>> attribute : entry.getAttributes().entrySet()) {
+            try {
+                attribute.getValue().get(this.context);
+            } catch (ClassNotFoundException | InvalidClassException | InvalidObjectException e) {
+                InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, attribute.getKey());
+                return false;
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(String id) {
+        this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(new SessionAttributesKey(id));
+        return true;
+    }
+
+    @Override
+    public void evict(String id) {
+        this.cache.evict(new SessionAttributesKey(id));
+    }
+
+    @Override
+    public SessionAttributes createSessionAttributes(String id, SessionAttributesEntry entry) {
+        SessionAttributesKey key = new SessionAttributesKey(id);
+        Map<String, SimpleMarshalledValue<Object>> attributes = entry.getAttributes();
+        // If the entry was created by the current transaction, the entry itself, including any subsequent changes, is replicated on commit
+        boolean created = this.properties.isTransactional() && this.cache.getAdvancedCache().getCacheEntry(key).isCreated();
+        return new DeltaSessionAttributes(id, attributes, this.context, this.properties, (delta, size) -> {
+            if (!created) {
+                // Use FAIL_SILENTLY to prevent mutation from failing locally due to remote exceptions
+                this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY).put(key, new SessionAttributesEntry(attributes, delta));
+                this.replicatedDeltas.increment();
+                this.replicatedBytes.add(size);
+            }
+        });
+    }
+
+    @Override
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, SessionAttributesEntry entry) {
+        return new DeltaImmutableSessionAttributes(id, entry.getAttributes(), this.context);
+    }
+
+    @Override
+    public long getReplicatedDeltaCount() {
+        return this.replicatedDeltas.sum();
+    }
+
+    @Override
+    public long getReplicatedDeltaBytes() {
+        return this.replicatedBytes.sum();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.delta;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.infinispan.atomic.Delta;
+import org.infinispan.atomic.DeltaAware;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValue;
+
+/**
+ * The changes to the attributes of a session made by a single write of a {@link SessionAttributesEntry}.
+ */
+public class SessionAttributesDelta implements Delta {
+
+    private final Map<String, SimpleMarshalledValue<Object>> updates;
+    private final Set<String> removals;
+    private final boolean replace;
+
+    /**
+     * Creates a delta that replaces all attributes of a session.
+     * @param attributes the complete attributes of a session
+     */
+    public SessionAttributesDelta(Map<String, SimpleMarshalledValue<Object>> attributes) {
+        this(new HashMap<>(attributes), Collections.emptySet(), true);
+    }
+
+    /**
+     * Creates a delta that updates and removes the specified attributes of a session.
+     * @param updates the updated attributes
+     * @param removals the names of the removed attributes
+     */
+    public SessionAttributesDelta(Map<String, SimpleMarshalledValue<Object>> updates, Set<String> removals) {
+        this(updates, removals, false);
+    }
+
+    SessionAttributesDelta(Map<String, SimpleMarshalledValue<Object>> updates, Set<String> removals, boolean replace) {
+        this.updates = updates;
+        this.removals = removals;
+        this.replace = replace;
+    }
+
+    public Map<String, SimpleMarshalledValue<Object>> getUpdates() {
+        return this.updates;
+    }
+
+    public Set<String> getRemovals() {
+        return this.removals;
+    }
+
+    /**
+     * @return true, if this delta replaces all attributes of a session, false if it only contains the changed attributes.
+     */
+    public boolean isReplace() {
+        return this.replace;
+    }
+
+    @Override
+    public DeltaAware merge(DeltaAware target) {
+        // If the target entry is unknown, this delta is applied to an empty entry
+        SessionAttributesEntry entry = (target instanceof SessionAttributesEntry) ? (SessionAttributesEntry) target : new SessionAttributesEntry();
+        Map<String, SimpleMarshalledValue<Object>> attributes = entry.getAttributes();
+        if (this.replace) {
+            // Avoid clearing the attributes, so that concurrent readers never observe an empty session
+            attributes.keySet().retainAll(this.updates.keySet());
+        } else {
+            attributes.keySet().removeAll(this.removals);
+        }
+        attributes.putAll(this.updates);
+        return entry;
+    }
+}
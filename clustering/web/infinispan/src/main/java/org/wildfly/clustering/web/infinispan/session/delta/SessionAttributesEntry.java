@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.delta;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.infinispan.atomic.Delta;
+import org.infinispan.atomic.DeltaAware;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValue;
+
+/**
+ * Cache entry containing all attributes of a session, each marshalled separately.
+ * When this entry is written, Infinispan only replicates its {@link #delta()}, which the other owners merge into their copy of this entry.
+ */
+public class SessionAttributesEntry implements DeltaAware {
+
+    private final Map<String, SimpleMarshalledValue<Object>> attributes;
+    private volatile SessionAttributesDelta delta;
+
+    public SessionAttributesEntry() {
+        this(new ConcurrentHashMap<>(), null);
+    }
+
+    public SessionAttributesEntry(Map<String, SimpleMarshalledValue<Object>> attributes, SessionAttributesDelta delta) {
+        this.attributes = attributes;
+        this.delta = delta;
+    }
+
+    public Map<String, SimpleMarshalledValue<Object>> getAttributes() {
+        return this.attributes;
+    }
+
+    @Override
+    public Delta delta() {
+        SessionAttributesDelta delta = this.delta;
+        // If there is no pending delta, e.g. for a new entry, replicate all attributes
+        return (delta != null) ? delta : new SessionAttributesDelta(this.attributes);
+    }
+
+    @Override
+    public void commit() {
+        this.delta = null;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.delta;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.jboss.IndexExternalizer;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValue;
+
+/**
+ * Externalizer for {@link SessionAttributesEntry}, used for state transfer and persistence of the complete entry.
+ */
+public class SessionAttributesEntryExternalizer implements Externalizer<SessionAttributesEntry> {
+
+    @Override
+    public void writeObject(ObjectOutput output, SessionAttributesEntry entry) throws IOException {
+        writeAttributes(output, entry.getAttributes());
+    }
+
+    @Override
+    public SessionAttributesEntry readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+        return new SessionAttributesEntry(readAttributes(input, new ConcurrentHashMap<>()), null);
+    }
+
+    @Override
+    public Class<SessionAttributesEntry> getTargetClass() {
+        return SessionAttributesEntry.class;
+    }
+
+    static void writeAttributes(ObjectOutput output, Map<String, SimpleMarshalledValue<Object>> attributes) throws IOException {
+        // Take a snapshot, since the attributes may be modified concurrently
+        @SuppressWarnings("unchecked")
+        Map.Entry<String, SimpleMarshalledValue<Object>>[] entries = attributes.entrySet().toArray(new Map.Entry[0]);
+        IndexExternalizer.VARIABLE.writeData(output, entries.length);
+        for (Map.Entry<String, SimpleMarshalledValue<Object>> entry : entries) {
+            output.writeUTF(entry.getKey());
+            byte[] bytes = entry.getValue().getBytes();
+            IndexExternalizer.VARIABLE.writeData(output, bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    static Map<String, SimpleMarshalledValue<Object>> readAttributes(ObjectInput input, Map<String, SimpleMarshalledValue<Object>> attributes) throws IOException {
+        int size = IndexExternalizer.VARIABLE.readData(input);
+        for (int i = 0; i < size; ++i) {
+            String name = input.readUTF();
+            byte[] bytes = new byte[IndexExternalizer.VARIABLE.readData(input)];
+            input.readFully(bytes);
+            attributes.put(name, new SimpleMarshalledValue<>(bytes));
+        }
+        return attributes;
+    }
+}
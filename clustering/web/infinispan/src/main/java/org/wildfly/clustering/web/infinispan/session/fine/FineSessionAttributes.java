@@ -21,7 +21,10 @@
  */
 package org.wildfly.clustering.web.infinispan.session.fine;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.infinispan.Cache;
@@ -36,6 +39,8 @@ import org.wildfly.clustering.web.infinispan.session.SessionAttributes;
 
 /**
  * Exposes session attributes for fine granularity sessions.
+ * If configured with a {@link SessionAttributeWriteBehind}, attribute writes are collected until {@link #close()},
+ * and subsequently written to the cache asynchronously.
  * @author Paul Ferraro
  */
 public class FineSessionAttributes<V> extends FineImmutableSessionAttributes<V> implements SessionAttributes {
@@ -43,18 +48,48 @@ public class FineSessionAttributes<V> extends FineImmutableSessionAttributes<V>
     private final Map<SessionAttributeKey, V> mutations;
     private final Marshaller<Object, V, MarshallingContext> marshaller;
     private final CacheProperties properties;
+    private final String id;
+    private final SessionAttributeWriteBehind<V> writeBehind;
+    private final Map<SessionAttributeKey, Optional<V>> writes;
 
     public FineSessionAttributes(String id, Cache<SessionAttributeKey, V> cache, Marshaller<Object, V, MarshallingContext> marshaller, CacheProperties properties) {
+        this(id, cache, marshaller, properties, null);
+    }
+
+    public FineSessionAttributes(String id, Cache<SessionAttributeKey, V> cache, Marshaller<Object, V, MarshallingContext> marshaller, CacheProperties properties, SessionAttributeWriteBehind<V> writeBehind) {
         super(id, cache, marshaller);
+        this.id = id;
         this.cache = cache;
-        this.mutations = !properties.isTransactional() ? new ConcurrentHashMap<>() : null;
+        this.mutations = !properties.isTransactional() && (writeBehind == null) ? new ConcurrentHashMap<>() : null;
         this.marshaller = marshaller;
         this.properties = properties;
+        this.writeBehind = writeBehind;
+        this.writes = (writeBehind != null) ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        Set<String> names = super.getAttributeNames();
+        if ((this.writes == null) || this.writes.isEmpty()) {
+            return names;
+        }
+        Set<String> result = new HashSet<>(names);
+        this.writes.forEach((key, value) -> {
+            if (value.isPresent()) {
+                result.add(key.getAttribute());
+            } else {
+                result.remove(key.getAttribute());
+            }
+        });
+        return result;
     }
 
     @Override
     public Object removeAttribute(String name) {
         SessionAttributeKey key = this.createKey(name);
+        if (this.writes != null) {
+            return this.read(name, this.write(key, Optional.empty()));
+        }
         Object result = this.read(name, this.cache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS).remove(key));
         if (this.mutations != null) {
             this.mutations.remove(key);
@@ -72,6 +107,9 @@ public class FineSessionAttributes<V> extends FineImmutableSessionAttributes<V>
         }
         SessionAttributeKey key = this.createKey(name);
         V value = this.marshaller.write(attribute);
+        if (this.writes != null) {
+            return this.read(name, this.write(key, Optional.of(value)));
+        }
         Object result = this.read(name, this.cache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS).put(key, value));
         if (this.mutations != null) {
             this.mutations.remove(key);
@@ -82,12 +120,15 @@ public class FineSessionAttributes<V> extends FineImmutableSessionAttributes<V>
     @Override
     public Object getAttribute(String name) {
         SessionAttributeKey key = this.createKey(name);
-        V value = this.cache.get(key);
+        Optional<V> pending = (this.writes != null) ? this.writes.get(key) : null;
+        V value = (pending != null) ? pending.orElse(null) : this.cache.get(key);
         Object attribute = this.read(name, value);
         if (attribute != null) {
             // If the object is mutable, we need to indicate that the attribute should be replicated
             if (MutableDetector.isMutable(attribute)) {
-                if (this.mutations != null) {
+                if (this.writes != null) {
+                    this.writes.putIfAbsent(key, Optional.of(value));
+                } else if (this.mutations != null) {
                     this.mutations.put(key, value);
                 } else {
                     new CacheEntryMutator<>(this.cache, key, value).mutate();
@@ -102,5 +143,17 @@ public class FineSessionAttributes<V> extends FineImmutableSessionAttributes<V>
         if (this.mutations != null) {
             this.mutations.entrySet().forEach(entry -> new CacheEntryMutator<>(this.cache, entry).mutate());
         }
+        if ((this.writes != null) && !this.writes.isEmpty()) {
+            this.writeBehind.write(this.id, this.writes);
+        }
+    }
+
+    /**
+     * Records the specified write, to be written to the cache on {@link #close()}.
+     * @return the previous value of the attribute
+     */
+    private V write(SessionAttributeKey key, Optional<V> value) {
+        Optional<V> previous = this.writes.put(key, value);
+        return (previous != null) ? previous.orElse(null) : this.cache.get(key);
     }
 }
@@ -50,11 +50,20 @@ public class FineSessionAttributesFactory implements SessionAttributesFactory<Ob
     private final Marshaller<Object, MarshalledValue<Object, MarshallingContext>, MarshallingContext> marshaller;
     private final Predicate<Map.Entry<SessionAttributeKey, MarshalledValue<Object, MarshallingContext>>> invalidAttribute;
     private final CacheProperties properties;
+    private final SessionAttributeWriteBehind<MarshalledValue<Object, MarshallingContext>> writeBehind;
 
     public FineSessionAttributesFactory(Cache<SessionAttributeKey, MarshalledValue<Object, MarshallingContext>> cache, Marshaller<Object, MarshalledValue<Object, MarshallingContext>, MarshallingContext> marshaller, CacheProperties properties) {
+        this(cache, marshaller, properties, null);
+    }
+
+    /**
+     * @param writeBehind writes attributes asynchronously, or null, if attributes are written synchronously
+     */
+    public FineSessionAttributesFactory(Cache<SessionAttributeKey, MarshalledValue<Object, MarshallingContext>> cache, Marshaller<Object, MarshalledValue<Object, MarshallingContext>, MarshallingContext> marshaller, CacheProperties properties, SessionAttributeWriteBehind<MarshalledValue<Object, MarshallingContext>> writeBehind) {
         this.cache = cache;
         this.marshaller = marshaller;
         this.properties = properties;
+        this.writeBehind = writeBehind;
         this.invalidAttribute = entry -> {
             try {
                 this.marshaller.read(entry.getValue());
@@ -68,6 +77,7 @@ public class FineSessionAttributesFactory implements SessionAttributesFactory<Ob
 
     @Override
     public Object createValue(String id, Void context) {
+        this.awaitWrites(id);
         // Preemptively read all attributes to detect invalid session attributes
         if (this.cache.getAdvancedCache().getGroup(id).entrySet().stream().filter(entry -> ((Map.Entry<?, ?>) entry).getKey() instanceof SessionAttributeKey).anyMatch(this.invalidAttribute)) {
             // If any attributes are invalid - remove them all
@@ -78,6 +88,8 @@ public class FineSessionAttributesFactory implements SessionAttributesFactory<Ob
 
     @Override
     public Object findValue(String id) {
+        // Ensure we read the attributes written by a previous request
+        this.awaitWrites(id);
         // Preemptively read all attributes to detect invalid session attributes
         if (this.cache.getAdvancedCache().getGroup(id).entrySet().stream().filter(entry -> ((Map.Entry<?, ?>) entry).getKey() instanceof SessionAttributeKey).anyMatch(this.invalidAttribute)) {
             // Invalidate
@@ -89,12 +101,16 @@ public class FineSessionAttributesFactory implements SessionAttributesFactory<Ob
 
     @Override
     public boolean remove(String id) {
+        if (this.writeBehind != null) {
+            this.writeBehind.cancel(id);
+        }
         this.cache.getAdvancedCache().removeGroup(id);
         return true;
     }
 
     @Override
     public void evict(String id) {
+        this.awaitWrites(id);
         this.cache.getAdvancedCache().withFlags(Flag.SKIP_CACHE_LOAD).getGroup(id).keySet().stream().filter((Object key) -> key instanceof SessionAttributeKey).forEach(key -> {
             try {
                 this.cache.evict(key);
@@ -106,11 +122,34 @@ public class FineSessionAttributesFactory implements SessionAttributesFactory<Ob
 
     @Override
     public SessionAttributes createSessionAttributes(String id, Object value) {
-        return new FineSessionAttributes<>(id, this.cache, this.marshaller, this.properties);
+        return new FineSessionAttributes<>(id, this.cache, this.marshaller, this.properties, this.writeBehind);
     }
 
     @Override
     public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Object value) {
         return new FineImmutableSessionAttributes<>(id, this.cache, this.marshaller);
     }
+
+    @Override
+    public void close() {
+        if (this.writeBehind != null) {
+            this.writeBehind.close();
+        }
+    }
+
+    @Override
+    public long getPendingWriteCount() {
+        return (this.writeBehind != null) ? this.writeBehind.getPendingWriteCount() : 0L;
+    }
+
+    @Override
+    public long getFailedWriteCount() {
+        return (this.writeBehind != null) ? this.writeBehind.getFailedWriteCount() : 0L;
+    }
+
+    private void awaitWrites(String id) {
+        if (this.writeBehind != null) {
+            this.writeBehind.await(id);
+        }
+    }
 }
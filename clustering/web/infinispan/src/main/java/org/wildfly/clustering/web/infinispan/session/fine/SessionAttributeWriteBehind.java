@@ -0,0 +1,225 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.fine;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.clustering.ee.Batch;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.infinispan.InfinispanBatcher;
+import org.wildfly.clustering.ee.infinispan.TransactionBatch;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+
+/**
+ * Writes the attributes of fine granularity sessions to the cache asynchronously, so that requests need not wait for their replication.
+ * The writes of a given session are applied in order, in a batch per session.
+ * Writes queued while a previous batch of the same session is being written are coalesced into its next batch.
+ * Requires a transactional cache, so that the writes of a failed batch are discarded together.
+ */
+public class SessionAttributeWriteBehind<V> {
+
+    private static ExecutorService createExecutor(int threads) {
+        ThreadFactory factory = AccessController.doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            @Override
+            public ThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup(SessionAttributeWriteBehind.class.getSimpleName()), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        // Do not retain idle threads, e.g. following undeployment
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    // The queued writes of a session, where an empty value indicates the removal of an attribute
+    private class SessionWrites {
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+        Map<SessionAttributeKey, Optional<V>> queued = new HashMap<>();
+        Map<SessionAttributeKey, Optional<V>> drained;
+
+        void queue(Map<SessionAttributeKey, Optional<V>> writes) {
+            for (Map.Entry<SessionAttributeKey, Optional<V>> write : writes.entrySet()) {
+                if (this.queued.put(write.getKey(), write.getValue()) == null) {
+                    SessionAttributeWriteBehind.this.pending.incrementAndGet();
+                }
+            }
+        }
+
+        boolean drain() {
+            if (this.queued.isEmpty()) return false;
+            this.drained = this.queued;
+            this.queued = new HashMap<>();
+            return true;
+        }
+
+        void clear() {
+            SessionAttributeWriteBehind.this.pending.addAndGet(-this.queued.size());
+            this.queued.clear();
+        }
+    }
+
+    private final Cache<SessionAttributeKey, V> cache;
+    private final Batcher<TransactionBatch> batcher;
+    private final ExecutorService executor;
+    private final ConcurrentMap<String, SessionWrites> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAdder failed = new LongAdder();
+
+    public SessionAttributeWriteBehind(Cache<SessionAttributeKey, V> cache, int threads) {
+        this(cache, new InfinispanBatcher(cache), createExecutor(threads));
+    }
+
+    SessionAttributeWriteBehind(Cache<SessionAttributeKey, V> cache, Batcher<TransactionBatch> batcher, ExecutorService executor) {
+        this.cache = cache;
+        this.batcher = batcher;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the specified attribute writes of a session.
+     * @param id a session identifier
+     * @param writes the attribute values to write, by key, where an empty value indicates the removal of an attribute
+     */
+    public void write(String id, Map<SessionAttributeKey, Optional<V>> writes) {
+        if (writes.isEmpty()) return;
+        SessionWrites newWrites = new SessionWrites();
+        SessionWrites sessionWrites = this.sessions.compute(id, (key, existing) -> {
+            SessionWrites result = (existing != null) ? existing : newWrites;
+            result.queue(writes);
+            return result;
+        });
+        // Only one task writes a given session at a time
+        if (sessionWrites == newWrites) {
+            this.executor.execute(() -> this.flush(id, newWrites));
+        }
+    }
+
+    /**
+     * Waits until the queued writes of the specified session were written to the cache.
+     * @param id a session identifier
+     */
+    public void await(String id) {
+        SessionWrites writes = this.sessions.get(id);
+        if (writes != null) {
+            writes.written.join();
+        }
+    }
+
+    /**
+     * Discards the queued writes of the specified session, and waits for any writes already in progress.
+     * @param id a session identifier
+     */
+    public void cancel(String id) {
+        SessionWrites writes = this.sessions.computeIfPresent(id, (key, existing) -> {
+            existing.clear();
+            return existing;
+        });
+        if (writes != null) {
+            writes.written.join();
+        }
+    }
+
+    /**
+     * Waits until the queued writes of all sessions were written to the cache.
+     */
+    public void flush() {
+        this.sessions.values().forEach(writes -> writes.written.join());
+    }
+
+    /**
+     * Waits until the queued writes of all sessions were written to the cache, and stops the threads writing attributes.
+     */
+    public void close() {
+        this.flush();
+        this.executor.shutdown();
+    }
+
+    /**
+     * @return the number of attribute writes not yet written to the cache
+     */
+    public long getPendingWriteCount() {
+        return this.pending.get();
+    }
+
+    /**
+     * @return the number of attribute writes that could not be written to the cache
+     */
+    public long getFailedWriteCount() {
+        return this.failed.sum();
+    }
+
+    private void flush(String id, SessionWrites writes) {
+        try {
+            // Removes the session writes once drained, such that subsequent writes schedule a new task
+            while (this.sessions.computeIfPresent(id, (key, existing) -> existing.drain() ? existing : null) != null) {
+                Map<SessionAttributeKey, Optional<V>> batch = writes.drained;
+                try {
+                    this.apply(id, batch);
+                } finally {
+                    this.pending.addAndGet(-batch.size());
+                }
+            }
+        } finally {
+            writes.written.complete(null);
+        }
+    }
+
+    private void apply(String id, Map<SessionAttributeKey, Optional<V>> writes) {
+        try (Batch batch = this.batcher.createBatch()) {
+            try {
+                for (Map.Entry<SessionAttributeKey, Optional<V>> write : writes.entrySet()) {
+                    SessionAttributeKey key = write.getKey();
+                    Optional<V> value = write.getValue();
+                    if (value.isPresent()) {
+                        this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).put(key, value.get());
+                    } else {
+                        this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).remove(key);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                batch.discard();
+                throw e;
+            }
+        } catch (Throwable e) {
+            // Includes a failure to commit the batch
+            this.failed.add(writes.size());
+            InfinispanWebLogger.ROOT_LOGGER.failedToWriteSessionAttributes(e, id);
+        }
+    }
+}
@@ -21,16 +21,31 @@
  */
 package org.wildfly.clustering.web.infinispan.session;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.infinispan.Remover;
 import org.wildfly.clustering.ee.infinispan.TransactionBatch;
@@ -80,4 +95,99 @@ public class SessionExpirationSchedulerTestCase {
         verify(batch).close();
     }
 
+    @Test
+    public void bucketedExpiration() {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        Remover<String> remover = mock(Remover.class);
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        ArgumentCaptor<Runnable> capturedSweep = ArgumentCaptor.forClass(Runnable.class);
+
+        when(batcher.createBatch()).thenReturn(batch);
+        doReturn(mock(ScheduledFuture.class)).when(executor).scheduleAtFixedRate(capturedSweep.capture(), anyLong(), anyLong(), same(TimeUnit.MILLISECONDS));
+        // Run expiration tasks in the sweeping thread
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return mock(Future.class);
+        }).when(executor).submit(any(Runnable.class));
+
+        Instant now = Instant.now();
+        ImmutableSessionMetaData expiredSessionMetaData = mock(ImmutableSessionMetaData.class);
+        ImmutableSessionMetaData activeSessionMetaData = mock(ImmutableSessionMetaData.class);
+        when(expiredSessionMetaData.getMaxInactiveInterval()).thenReturn(Duration.ofMinutes(1L));
+        when(expiredSessionMetaData.getLastAccessedTime()).thenReturn(now.minus(Duration.ofMinutes(10L)));
+        when(activeSessionMetaData.getMaxInactiveInterval()).thenReturn(Duration.ofMinutes(1L));
+        when(activeSessionMetaData.getLastAccessedTime()).thenReturn(now);
+
+        // Enough expired sessions for 3 batches
+        List<String> expiredSessionIds = new ArrayList<>();
+        for (int i = 0; i < (2 * SessionExpirationScheduler.BATCH_SIZE) + 50; ++i) {
+            expiredSessionIds.add("expired-" + i);
+        }
+        String activeSessionId = "active";
+        String rescheduledSessionId = "rescheduled";
+        String canceledSessionId = "canceled";
+
+        try (SessionExpirationScheduler scheduler = new SessionExpirationScheduler(batcher, remover, executor)) {
+            expiredSessionIds.forEach(id -> scheduler.schedule(id, expiredSessionMetaData));
+            scheduler.schedule(activeSessionId, activeSessionMetaData);
+            scheduler.schedule(rescheduledSessionId, expiredSessionMetaData);
+            scheduler.schedule(rescheduledSessionId, activeSessionMetaData);
+            scheduler.schedule(canceledSessionId, expiredSessionMetaData);
+            scheduler.cancel(canceledSessionId);
+
+            assertEquals(expiredSessionIds.size(), scheduler.getBacklog());
+
+            capturedSweep.getValue().run();
+
+            assertEquals(0L, scheduler.getBacklog());
+        }
+
+        expiredSessionIds.forEach(id -> verify(remover).remove(id));
+        verify(remover, never()).remove(activeSessionId);
+        verify(remover, never()).remove(rescheduledSessionId);
+        verify(remover, never()).remove(canceledSessionId);
+        verify(batcher, times(3)).createBatch();
+        verify(batch, times(3)).close();
+        verify(batch, never()).discard();
+    }
+
+    @Test
+    public void failedBatchExpiration() {
+        Batcher<TransactionBatch> batcher = mock(Batcher.class);
+        TransactionBatch batch = mock(TransactionBatch.class);
+        Remover<String> remover = mock(Remover.class);
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        ArgumentCaptor<Runnable> capturedSweep = ArgumentCaptor.forClass(Runnable.class);
+
+        when(batcher.createBatch()).thenReturn(batch);
+        doReturn(mock(ScheduledFuture.class)).when(executor).scheduleAtFixedRate(capturedSweep.capture(), anyLong(), anyLong(), same(TimeUnit.MILLISECONDS));
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return mock(Future.class);
+        }).when(executor).submit(any(Runnable.class));
+
+        ImmutableSessionMetaData expiredSessionMetaData = mock(ImmutableSessionMetaData.class);
+        when(expiredSessionMetaData.getMaxInactiveInterval()).thenReturn(Duration.ofMinutes(1L));
+        when(expiredSessionMetaData.getLastAccessedTime()).thenReturn(Instant.now().minus(Duration.ofMinutes(10L)));
+
+        String failingSessionId = "failing";
+        String expiredSessionId = "expired";
+        doThrow(new IllegalStateException()).when(remover).remove(failingSessionId);
+
+        try (SessionExpirationScheduler scheduler = new SessionExpirationScheduler(batcher, remover, executor)) {
+            scheduler.schedule(failingSessionId, expiredSessionMetaData);
+            scheduler.schedule(expiredSessionId, expiredSessionMetaData);
+
+            capturedSweep.getValue().run();
+
+            assertEquals(0L, scheduler.getBacklog());
+        }
+
+        // The discarded batch is retried one session at a time, of which only the failing session is discarded again
+        verify(batcher, times(3)).createBatch();
+        verify(batch, times(2)).discard();
+        verify(remover, times(2)).remove(failingSessionId);
+        verify(remover, atLeastOnce()).remove(expiredSessionId);
+    }
 }
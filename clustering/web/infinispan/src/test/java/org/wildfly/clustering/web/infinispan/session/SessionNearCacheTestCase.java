@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.junit.Test;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+
+/**
+ * Unit test for {@link SessionNearCache}.
+ */
+public class SessionNearCacheTestCase {
+
+    @Test
+    public void get() {
+        SessionNearCache cache = new SessionNearCache(10);
+        Object value = new Object();
+        AtomicInteger reads = new AtomicInteger();
+
+        assertSame(value, cache.get("id", id -> {
+            reads.incrementAndGet();
+            return value;
+        }));
+        assertSame(value, cache.get("id", id -> {
+            reads.incrementAndGet();
+            return new Object();
+        }));
+        assertEquals(1, reads.get());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+
+        // Missing sessions are not cached
+        assertNull(cache.get("missing", id -> null));
+        assertNull(cache.get("missing", id -> null));
+        assertEquals(1, cache.size());
+        assertEquals(3L, cache.getMissCount());
+    }
+
+    @Test
+    public void invalidateDuringRead() {
+        SessionNearCache cache = new SessionNearCache(10);
+        Object stale = new Object();
+        Object current = new Object();
+
+        assertSame(stale, cache.get("id", id -> {
+            // Session is written by another node while being read
+            cache.invalidate(id);
+            return stale;
+        }));
+        assertEquals(0, cache.size());
+        assertSame(current, cache.get("id", id -> current));
+        assertSame(current, cache.get("id", id -> stale));
+    }
+
+    @Test
+    public void evict() {
+        SessionNearCache cache = new SessionNearCache(2);
+        Object value = new Object();
+        cache.get("a", id -> value);
+        cache.get("b", id -> value);
+        // Make "b" the least recently used session
+        cache.get("a", id -> value);
+        cache.get("c", id -> value);
+        assertEquals(2, cache.size());
+
+        long misses = cache.getMissCount();
+        cache.get("a", id -> value);
+        cache.get("c", id -> value);
+        assertEquals(misses, cache.getMissCount());
+        cache.get("b", id -> value);
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    public void written() {
+        SessionNearCache cache = new SessionNearCache(10);
+        Object value = new Object();
+        cache.get("local", id -> value);
+        cache.get("remote", id -> value);
+
+        CacheEntryEvent<Key<String>, String> localEvent = mock(CacheEntryEvent.class);
+        when(localEvent.isOriginLocal()).thenReturn(true);
+        when(localEvent.getKey()).thenReturn(new SessionAccessMetaDataKey("local"));
+        CacheEntryEvent<Key<String>, String> remoteEvent = mock(CacheEntryEvent.class);
+        when(remoteEvent.isOriginLocal()).thenReturn(false);
+        when(remoteEvent.getKey()).thenReturn(new SessionAccessMetaDataKey("remote"));
+
+        cache.written(localEvent);
+        cache.written(remoteEvent);
+
+        assertEquals(1, cache.size());
+        assertSame(value, cache.get("local", id -> null));
+        assertNull(cache.get("remote", id -> null));
+    }
+
+    @Test
+    public void cache() {
+        EmbeddedCacheManager manager = new DefaultCacheManager();
+        try {
+            Cache<Object, Object> cache = manager.getCache();
+            SessionNearCache nearCache = new SessionNearCache(10);
+            WrittenSessions written = new WrittenSessions();
+            SessionNearCacheFilterConverter filterConverter = new SessionNearCacheFilterConverter();
+            cache.addListener(nearCache, filterConverter, filterConverter);
+            cache.addListener(written, filterConverter, filterConverter);
+
+            Object value = new Object();
+            cache.put(new SessionAccessMetaDataKey("id"), value);
+            assertSame(value, nearCache.get("id", id -> cache.get(new SessionAccessMetaDataKey(id))));
+
+            // Entries of sessions are notified by session identifier, without their value
+            cache.put(new SessionAccessMetaDataKey("id"), new Object());
+            cache.put("other", value);
+            assertEquals(1, written.sessions.size());
+            assertEquals("id", written.sessions.get(new SessionAccessMetaDataKey("id")));
+
+            // The copy of a session written by this node is kept
+            assertSame(value, nearCache.get("id", id -> null));
+            assertEquals(1L, nearCache.getHitCount());
+
+            cache.removeListener(written);
+            cache.removeListener(nearCache);
+        } finally {
+            manager.stop();
+        }
+    }
+
+    @Listener(clustered = true)
+    public static class WrittenSessions {
+        final Map<Key<String>, String> sessions = new ConcurrentHashMap<>();
+
+        @CacheEntryCreated
+        @CacheEntryModified
+        public void written(CacheEntryEvent<Key<String>, String> event) {
+            if (!event.isPre()) {
+                this.sessions.put(event.getKey(), event.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.delta;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValue;
+
+/**
+ * Unit test for {@link SessionAttributesDelta}.
+ */
+public class SessionAttributesDeltaTestCase {
+
+    @Test
+    public void merge() throws IOException {
+        SessionAttributesEntry entry = new SessionAttributesEntry();
+        entry.getAttributes().put("a", value(1));
+        entry.getAttributes().put("b", value(2));
+        entry.getAttributes().put("c", value(3));
+
+        Map<String, SimpleMarshalledValue<Object>> updates = new HashMap<>();
+        updates.put("b", value(4));
+        updates.put("d", value(5));
+        SessionAttributesDelta delta = replicate(new SessionAttributesEntry(new HashMap<>(), new SessionAttributesDelta(updates, Collections.singleton("c"))));
+
+        assertSame(entry, delta.merge(entry));
+        Map<String, SimpleMarshalledValue<Object>> attributes = entry.getAttributes();
+        assertEquals(3, attributes.size());
+        assertArrayEquals(new byte[] { 1 }, attributes.get("a").getBytes());
+        assertArrayEquals(new byte[] { 4 }, attributes.get("b").getBytes());
+        assertFalse(attributes.containsKey("c"));
+        assertArrayEquals(new byte[] { 5 }, attributes.get("d").getBytes());
+    }
+
+    @Test
+    public void replace() throws IOException {
+        SessionAttributesEntry source = new SessionAttributesEntry();
+        source.getAttributes().put("a", value(1));
+        source.getAttributes().put("b", value(2));
+        // Without a pending delta, all attributes are replicated
+        SessionAttributesDelta delta = replicate(source);
+        assertTrue(delta.isReplace());
+
+        SessionAttributesEntry target = new SessionAttributesEntry();
+        target.getAttributes().put("b", value(3));
+        target.getAttributes().put("c", value(4));
+        delta.merge(target);
+        assertEquals(2, target.getAttributes().size());
+        assertArrayEquals(new byte[] { 1 }, target.getAttributes().get("a").getBytes());
+        assertArrayEquals(new byte[] { 2 }, target.getAttributes().get("b").getBytes());
+
+        // An unknown target is created
+        SessionAttributesEntry created = (SessionAttributesEntry) delta.merge(null);
+        assertEquals(2, created.getAttributes().size());
+    }
+
+    @Test
+    public void entry() throws IOException, ClassNotFoundException {
+        SessionAttributesEntry entry = new SessionAttributesEntry();
+        entry.getAttributes().put("a", value(1));
+        entry.getAttributes().put("b", value(2, 3));
+        SessionAttributesEntry result = roundTrip(new SessionAttributesEntryExternalizer(), entry);
+        assertEquals(2, result.getAttributes().size());
+        assertArrayEquals(new byte[] { 1 }, result.getAttributes().get("a").getBytes());
+        assertArrayEquals(new byte[] { 2, 3 }, result.getAttributes().get("b").getBytes());
+    }
+
+    private static SessionAttributesDelta replicate(SessionAttributesEntry entry) throws IOException {
+        try {
+            return roundTrip(new SessionAttributesDeltaExternalizer(), (SessionAttributesDelta) entry.delta());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T roundTrip(Externalizer<T> externalizer, T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            externalizer.writeObject(output, object);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return externalizer.readObject(input);
+        }
+    }
+
+    private static SimpleMarshalledValue<Object> value(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            bytes[i] = (byte) values[i];
+        }
+        return new SimpleMarshalledValue<>(bytes);
+    }
+}
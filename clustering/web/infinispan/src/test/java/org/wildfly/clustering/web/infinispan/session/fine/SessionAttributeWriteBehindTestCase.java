@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.fine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.infinispan.TransactionBatch;
+
+/**
+ * Unit test for {@link SessionAttributeWriteBehind}.
+ */
+public class SessionAttributeWriteBehindTestCase {
+
+    private final Cache<SessionAttributeKey, Object> cache = mock(Cache.class);
+    private final AdvancedCache<SessionAttributeKey, Object> advancedCache = mock(AdvancedCache.class);
+    private final Batcher<TransactionBatch> batcher = mock(Batcher.class);
+    private final TransactionBatch batch = mock(TransactionBatch.class);
+    private final Queue<Runnable> tasks = new LinkedList<>();
+    private final ExecutorService executor = mock(ExecutorService.class);
+    private final SessionAttributeWriteBehind<Object> writeBehind = new SessionAttributeWriteBehind<>(this.cache, this.batcher, this.executor);
+
+    @Before
+    public void init() {
+        // Queues tasks, to be run by the test
+        doAnswer(invocation -> this.tasks.add((Runnable) invocation.getArguments()[0])).when(this.executor).execute(any(Runnable.class));
+        when(this.cache.getAdvancedCache()).thenReturn(this.advancedCache);
+        when(this.advancedCache.withFlags(Flag.IGNORE_RETURN_VALUES)).thenReturn(this.advancedCache);
+        when(this.batcher.createBatch()).thenReturn(this.batch);
+    }
+
+    @Test
+    public void write() {
+        SessionAttributeKey setKey = new SessionAttributeKey("id", "set");
+        SessionAttributeKey removeKey = new SessionAttributeKey("id", "remove");
+        Object staleValue = new Object();
+        Object value = new Object();
+
+        Map<SessionAttributeKey, Optional<Object>> writes = new HashMap<>();
+        writes.put(setKey, Optional.of(staleValue));
+        writes.put(removeKey, Optional.of(staleValue));
+        this.writeBehind.write("id", writes);
+
+        assertEquals(1, this.tasks.size());
+        assertEquals(2L, this.writeBehind.getPendingWriteCount());
+
+        // Subsequent writes of the same session are coalesced into the pending writes
+        writes = new HashMap<>();
+        writes.put(setKey, Optional.of(value));
+        writes.put(removeKey, Optional.empty());
+        this.writeBehind.write("id", writes);
+
+        assertEquals(1, this.tasks.size());
+        assertEquals(2L, this.writeBehind.getPendingWriteCount());
+
+        this.tasks.remove().run();
+
+        verify(this.advancedCache).put(setKey, value);
+        verify(this.advancedCache).remove(removeKey);
+        verify(this.advancedCache, never()).put(setKey, staleValue);
+        verify(this.batch).close();
+        assertEquals(0L, this.writeBehind.getPendingWriteCount());
+        assertEquals(0L, this.writeBehind.getFailedWriteCount());
+
+        // Writes were completed, so these must not block
+        this.writeBehind.await("id");
+        this.writeBehind.flush();
+
+        // Once written, subsequent writes schedule a new task
+        this.writeBehind.write("id", writes);
+        assertEquals(1, this.tasks.size());
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        SessionAttributeKey key = new SessionAttributeKey("id", "attribute");
+        Object value = new Object();
+
+        this.writeBehind.write("id", Collections.singletonMap(key, Optional.of(value)));
+        assertEquals(1L, this.writeBehind.getPendingWriteCount());
+
+        Thread thread = new Thread(() -> this.writeBehind.cancel("id"));
+        thread.start();
+        // Cancellation discards the pending writes, then waits for the task
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+        assertEquals(0L, this.writeBehind.getPendingWriteCount());
+
+        this.tasks.remove().run();
+        thread.join();
+
+        verify(this.advancedCache, never()).put(key, value);
+        assertTrue(this.tasks.isEmpty());
+    }
+
+    @Test
+    public void failure() {
+        SessionAttributeKey key = new SessionAttributeKey("id", "attribute");
+        Object value = new Object();
+        when(this.advancedCache.put(key, value)).thenThrow(new IllegalStateException());
+
+        this.writeBehind.write("id", Collections.singletonMap(key, Optional.of(value)));
+        this.tasks.remove().run();
+
+        verify(this.batch).discard();
+        verify(this.batch).close();
+        assertEquals(0L, this.writeBehind.getPendingWriteCount());
+        assertEquals(1L, this.writeBehind.getFailedWriteCount());
+        assertTrue(this.tasks.isEmpty());
+    }
+
+    @Test
+    public void commitFailure() {
+        SessionAttributeKey key = new SessionAttributeKey("id", "attribute");
+        Object value = new Object();
+        doThrow(new IllegalStateException()).when(this.batch).close();
+
+        this.writeBehind.write("id", Collections.singletonMap(key, Optional.of(value)));
+        this.tasks.remove().run();
+
+        verify(this.advancedCache).put(key, value);
+        verify(this.batch, never()).discard();
+        assertEquals(0L, this.writeBehind.getPendingWriteCount());
+        assertEquals(1L, this.writeBehind.getFailedWriteCount());
+
+        // Subsequent writes of the session are still scheduled
+        this.writeBehind.write("id", Collections.singletonMap(key, Optional.of(value)));
+        assertEquals(1, this.tasks.size());
+    }
+
+    @Test
+    public void close() {
+        SessionAttributeKey key = new SessionAttributeKey("id", "attribute");
+        this.writeBehind.write("id", Collections.singletonMap(key, Optional.of(new Object())));
+        this.tasks.remove().run();
+
+        this.writeBehind.close();
+
+        verify(this.executor).shutdown();
+    }
+}
@@ -36,4 +36,53 @@ public interface ActiveSessionStatistics {
      * @return The number of active sessions
      */
     long getActiveSessionCount();
+
+    /**
+     * @return The number of sessions that are eligible for expiration, but were not yet expired
+     */
+    default long getExpirationBacklog() {
+        return 0L;
+    }
+
+    /**
+     * @return The number of session attribute deltas replicated by this session manager
+     */
+    default long getReplicatedAttributeDeltaCount() {
+        return 0L;
+    }
+
+    /**
+     * @return The total size, in bytes, of the marshalled attributes of the session attribute deltas replicated by this session manager
+     */
+    default long getReplicatedAttributeDeltaBytes() {
+        return 0L;
+    }
+
+    /**
+     * @return The number of session reads served by the node-local near cache of this session manager
+     */
+    default long getNearCacheHitCount() {
+        return 0L;
+    }
+
+    /**
+     * @return The number of session reads that missed the node-local near cache of this session manager
+     */
+    default long getNearCacheMissCount() {
+        return 0L;
+    }
+
+    /**
+     * @return The number of session attribute writes of this session manager not yet written to the cache
+     */
+    default long getPendingAttributeWriteCount() {
+        return 0L;
+    }
+
+    /**
+     * @return The number of asynchronous session attribute writes of this session manager that failed
+     */
+    default long getFailedAttributeWriteCount() {
+        return 0L;
+    }
 }
@@ -28,7 +28,7 @@ import org.jboss.modules.Module;
  * @author Paul Ferraro
  */
 public interface SessionManagerFactoryConfiguration {
-    enum SessionAttributePersistenceStrategy { COARSE, FINE }
+    enum SessionAttributePersistenceStrategy { COARSE, FINE, DELTA }
 
     int getMaxActiveSessions();
 
@@ -39,4 +39,14 @@ public interface SessionManagerFactoryConfiguration {
     Module getModule();
 
     String getCacheName();
+
+    /**
+     * @return the maximum number of sessions owned by other nodes to cache locally, or 0 if such sessions are not cached
+     */
+    int getNearCacheSize();
+
+    /**
+     * @return the number of threads writing the attributes of fine granularity sessions asynchronously, or 0 if such attributes are written synchronously
+     */
+    int getAttributeWriteBehindThreads();
 }
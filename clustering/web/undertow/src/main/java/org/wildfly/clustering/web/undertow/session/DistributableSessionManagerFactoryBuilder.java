@@ -52,6 +52,8 @@ public class DistributableSessionManagerFactoryBuilder implements org.wildfly.ex
     static {
         strategies.put(ReplicationGranularity.SESSION, SessionManagerFactoryConfiguration.SessionAttributePersistenceStrategy.COARSE);
         strategies.put(ReplicationGranularity.ATTRIBUTE, SessionManagerFactoryConfiguration.SessionAttributePersistenceStrategy.FINE);
+        // The granularities of jboss-web.xml cannot be extended, so FIELD granularity replicates only the changed attributes of a session
+        strategies.put(ReplicationGranularity.FIELD, SessionManagerFactoryConfiguration.SessionAttributePersistenceStrategy.DELTA);
     }
 
     private static SessionManagerFactoryBuilderProvider<Batch> load() {
@@ -100,6 +102,16 @@ public class DistributableSessionManagerFactoryBuilder implements org.wildfly.ex
             public String getCacheName() {
                 return config.getCacheName();
             }
+
+            @Override
+            public int getNearCacheSize() {
+                return config.getNearCacheSize();
+            }
+
+            @Override
+            public int getAttributeWriteBehindThreads() {
+                return config.getAttributeWriteBehindThreads();
+            }
         };
         Builder<org.wildfly.clustering.web.session.SessionManagerFactory<Batch>> builder = this.provider.getBuilder(configuration);
         builder.build(target).install();
@@ -71,6 +71,48 @@ public class DistributableSessionManagerStatistics implements RecordableSessionM
         return this.activeSessionStatistics.getActiveSessionCount();
     }
 
+    @Override
+    public long getExpirationBacklog() {
+        return this.activeSessionStatistics.getExpirationBacklog();
+    }
+
+    @Override
+    public long getReplicatedAttributeDeltaCount() {
+        return this.activeSessionStatistics.getReplicatedAttributeDeltaCount();
+    }
+
+    @Override
+    public long getReplicatedAttributeDeltaBytes() {
+        return this.activeSessionStatistics.getReplicatedAttributeDeltaBytes();
+    }
+
+    @Override
+    public long getNearCacheHitCount() {
+        return this.activeSessionStatistics.getNearCacheHitCount();
+    }
+
+    @Override
+    public long getNearCacheMissCount() {
+        return this.activeSessionStatistics.getNearCacheMissCount();
+    }
+
+    @Override
+    public double getNearCacheHitRatio() {
+        long hits = this.getNearCacheHitCount();
+        long reads = hits + this.getNearCacheMissCount();
+        return (reads > 0) ? (double) hits / reads : 0d;
+    }
+
+    @Override
+    public long getPendingAttributeWriteCount() {
+        return this.activeSessionStatistics.getPendingAttributeWriteCount();
+    }
+
+    @Override
+    public long getFailedAttributeWriteCount() {
+        return this.activeSessionStatistics.getFailedAttributeWriteCount();
+    }
+
     @Override
     public long getExpiredSessionCount() {
         return this.inactiveSessionStatistics.getExpiredSessionCount();
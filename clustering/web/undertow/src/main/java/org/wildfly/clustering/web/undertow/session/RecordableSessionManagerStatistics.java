@@ -22,12 +22,12 @@
 package org.wildfly.clustering.web.undertow.session;
 
 import org.wildfly.clustering.ee.Recordable;
+import org.wildfly.extension.undertow.session.DistributableSessionStatistics;
 
 import io.undertow.server.session.Session;
-import io.undertow.server.session.SessionManagerStatistics;
 
 /**
  * @author Paul Ferraro
  */
-public interface RecordableSessionManagerStatistics extends SessionManagerStatistics, Recordable<Session> {
+public interface RecordableSessionManagerStatistics extends DistributableSessionStatistics, Recordable<Session> {
 }
@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.invocation.Interceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of local view invocations through {@link ProxyInvocationHandler}, with an interceptor
+ * which reads the private and context data of the invocation.
+ * Invocations of a view instance still under construction create their interceptor context from scratch, and serve
+ * as a baseline for the invocations of a constructed view instance, whose interceptor context is copied from a template.
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ProxyInvocationHandlerBenchmark {
+
+    private static final Interceptor INTERCEPTOR = context -> {
+        context.getContextData().get("key");
+        return context.getPrivateData("key");
+    };
+
+    private final Object proxy = new Object();
+    private final Object[] parameters = new Object[0];
+    private Method method;
+    private ProxyInvocationHandler constructedHandler;
+    private ProxyInvocationHandler constructingHandler;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        this.method = Callable.class.getMethod("call");
+        Component component = createProxy(Component.class, null);
+        ComponentView view = createProxy(ComponentView.class, component);
+        this.constructedHandler = this.createHandler(view, true);
+        this.constructingHandler = this.createHandler(view, false);
+    }
+
+    @Benchmark
+    public Object invoke() throws Throwable {
+        return this.constructedHandler.invoke(this.proxy, this.method, this.parameters);
+    }
+
+    @Benchmark
+    public Object invokeDuringConstruction() throws Throwable {
+        return this.constructingHandler.invoke(this.proxy, this.method, this.parameters);
+    }
+
+    private ProxyInvocationHandler createHandler(ComponentView view, boolean constructed) {
+        ComponentClientInstance instance = new ComponentClientInstance();
+        instance.setViewInstanceData("key", "value");
+        if (constructed) {
+            instance.constructionComplete();
+        }
+        return new ProxyInvocationHandler(Collections.singletonMap(this.method, INTERCEPTOR), instance, view);
+    }
+
+    private static <T> T createProxy(Class<T> targetClass, Object component) {
+        return targetClass.cast(Proxy.newProxyInstance(targetClass.getClassLoader(), new Class<?>[] { targetClass }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getComponent":
+                    return component;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return targetClass.getSimpleName();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+}
@@ -48,4 +48,8 @@ public class ComponentClientInstance implements Serializable {
         constructionComplete = true;
     }
 
+    boolean isConstructionComplete() {
+        return constructionComplete;
+    }
+
 }
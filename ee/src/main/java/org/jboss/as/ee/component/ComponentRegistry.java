@@ -87,6 +87,14 @@ public class ComponentRegistry {
         return factory.getReference(instance);
     }
 
+    /**
+     * Indicates whether references created by {@link #createInstanceFactory(Class)} or {@link #createInstance(Object)}
+     * for the given class need to be released. Component instances always do.
+     */
+    public boolean requiresRelease(final Class<?> componentClass) {
+        return componentsByClass.containsKey(componentClass) || classIntrospectorInjectedValue.getValue().requiresRelease(componentClass);
+    }
+
     public InjectedValue<EEClassIntrospector> getClassIntrospectorInjectedValue() {
         return classIntrospectorInjectedValue;
     }
@@ -13,4 +13,16 @@ public interface EEClassIntrospector {
     ManagedReferenceFactory createFactory(final Class<?> clazz);
 
     ManagedReference createInstance(Object instance);
+
+    /**
+     * Indicates whether references to instances of the given class, as created by {@link #createFactory(Class)} or
+     * {@link #createInstance(Object)}, need to be released once the instance is no longer used. Callers may skip tracking
+     * instances of classes that declare neither pre-destroy callbacks nor injection.
+     *
+     * @param clazz the class of the instances
+     * @return {@code true} if references must be released, {@code false} otherwise
+     */
+    default boolean requiresRelease(final Class<?> clazz) {
+        return true;
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Context data of an invocation whose backing map is only allocated once an entry is added, as most invocations never
+ * write context data.
+ */
+final class LazyContextData extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = -2411253489562516371L;
+
+    private Map<String, Object> map;
+
+    private Map<String, Object> current() {
+        final Map<String, Object> map = this.map;
+        return (map != null) ? map : Collections.<String, Object>emptyMap();
+    }
+
+    @Override
+    public Object put(final String key, final Object value) {
+        Map<String, Object> map = this.map;
+        if (map == null) {
+            map = new HashMap<>();
+            this.map = map;
+        }
+        return map.put(key, value);
+    }
+
+    @Override
+    public Object get(final Object key) {
+        return current().get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return current().containsKey(key);
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        return current().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        current().clear();
+    }
+
+    @Override
+    public int size() {
+        return current().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return current().isEmpty();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return current().entrySet().iterator();
+            }
+
+            @Override
+            public int size() {
+                return current().size();
+            }
+        };
+    }
+}
@@ -24,7 +24,6 @@ package org.jboss.as.ee.component;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
 
 import org.jboss.invocation.Interceptor;
@@ -32,6 +31,9 @@ import org.jboss.invocation.InterceptorContext;
 
 /**
  * An invocation handler for a component proxy.
+ * <p/>
+ * Once the view instance is constructed, the private data common to all invocations is prepared once in a template
+ * interceptor context, which is copied for each invocation.
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
@@ -40,6 +42,7 @@ public final class ProxyInvocationHandler implements InvocationHandler {
     private final Map<Method, Interceptor> interceptors;
     private final ComponentView componentView;
     private final ComponentClientInstance instance;
+    private volatile InterceptorContext template;
 
     /**
      * Construct a new instance.
@@ -60,16 +63,30 @@ public final class ProxyInvocationHandler implements InvocationHandler {
         if (interceptor == null) {
             throw new NoSuchMethodError(method.toString());
         }
-        final InterceptorContext context = new InterceptorContext();
+        final InterceptorContext context = createInterceptorContext();
         // special location for original proxy
         context.putPrivateData(Object.class, proxy);
-        context.putPrivateData(Component.class, componentView.getComponent());
-        context.putPrivateData(ComponentView.class, componentView);
-        instance.prepareInterceptorContext(context);
         context.setParameters(args);
         context.setMethod(method);
-        // setup the public context data
-        context.setContextData(new HashMap<String, Object>());
+        // setup the public context data, allocated on first write
+        context.setContextData(new LazyContextData());
         return interceptor.processInvocation(context);
     }
+
+    private InterceptorContext createInterceptorContext() {
+        InterceptorContext template = this.template;
+        if (template == null) {
+            // Read before the instance data, which can no longer change once construction is complete
+            final boolean constructionComplete = instance.isConstructionComplete();
+            template = new InterceptorContext();
+            template.putPrivateData(Component.class, componentView.getComponent());
+            template.putPrivateData(ComponentView.class, componentView);
+            instance.prepareInterceptorContext(template);
+            if (!constructionComplete) {
+                return template;
+            }
+            this.template = template;
+        }
+        return template.clone();
+    }
 }
@@ -66,6 +66,12 @@ public class ReflectiveClassIntrospector implements EEClassIntrospector, Service
         return null;
     }
 
+    @Override
+    public boolean requiresRelease(Class<?> clazz) {
+        // Instances are neither injected nor destroyed
+        return false;
+    }
+
     @Override
     public void start(StartContext startContext) throws StartException {
     }
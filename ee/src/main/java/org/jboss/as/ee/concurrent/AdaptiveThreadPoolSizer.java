@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import org.jboss.as.ee.concurrent.ControlPointUtils.ControlledManagedCallable;
+import org.jboss.as.ee.concurrent.ControlPointUtils.ControlledManagedRunnable;
+
+import javax.enterprise.concurrent.ManagedTask;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapts the core pool size of a {@link ThreadPoolExecutor}, between its initial core pool size and its maximum pool size,
+ * so that tasks wait in the executor's queue, on average, no longer than a target time.
+ * <p/>
+ * Tasks are wrapped to record the time they spent queued. At most once per sampling period, on task submission or
+ * start, the average wait of the period is compared against the target: the core pool size grows by a quarter while the
+ * target is exceeded, and shrinks gradually while tasks wait for less than half of it and the queue is empty. Threads above
+ * the core pool size then expire after the executor's keep-alive time.
+ */
+class AdaptiveThreadPoolSizer {
+
+    private final ThreadPoolExecutor executor;
+    private final int minCorePoolSize;
+    private final long targetWaitTime;
+    private final long samplingPeriod;
+    private final LongAdder waitTime = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final AtomicLong nextSampling;
+
+    AdaptiveThreadPoolSizer(ThreadPoolExecutor executor, long targetWaitTime, TimeUnit unit) {
+        this(executor, targetWaitTime, unit, unit.convert(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * @param executor the executor to resize, whose current core pool size is the lower bound of its adapted size
+     * @param targetWaitTime the target queue wait time
+     * @param unit the unit of the target queue wait time and of the sampling period
+     * @param samplingPeriod the minimum time between two adaptations of the core pool size
+     */
+    AdaptiveThreadPoolSizer(ThreadPoolExecutor executor, long targetWaitTime, TimeUnit unit, long samplingPeriod) {
+        this.executor = executor;
+        this.minCorePoolSize = executor.getCorePoolSize();
+        this.targetWaitTime = unit.toNanos(targetWaitTime);
+        this.samplingPeriod = unit.toNanos(samplingPeriod);
+        this.nextSampling = new AtomicLong(System.nanoTime() + this.samplingPeriod);
+    }
+
+    Runnable wrap(final Runnable task) {
+        if (task == null) {
+            return null;
+        }
+        final long submitted = this.submitted();
+        final Runnable timedTask = () -> {
+            this.started(submitted);
+            task.run();
+        };
+        return task instanceof ManagedTask ? new ControlledManagedRunnable(timedTask, (ManagedTask) task) : timedTask;
+    }
+
+    <T> Callable<T> wrap(final Callable<T> task) {
+        if (task == null) {
+            return null;
+        }
+        final long submitted = this.submitted();
+        final Callable<T> timedTask = () -> {
+            this.started(submitted);
+            return task.call();
+        };
+        return task instanceof ManagedTask ? new ControlledManagedCallable<>(timedTask, (ManagedTask) task) : timedTask;
+    }
+
+    private long submitted() {
+        final long now = System.nanoTime();
+        this.sample(now);
+        return now;
+    }
+
+    private void started(long submitted) {
+        final long now = System.nanoTime();
+        this.waitTime.add(now - submitted);
+        this.waitCount.increment();
+        this.sample(now);
+    }
+
+    private void sample(long now) {
+        final long next = this.nextSampling.get();
+        if ((now - next < 0) || !this.nextSampling.compareAndSet(next, now + this.samplingPeriod)) {
+            return;
+        }
+        final long count = this.waitCount.sumThenReset();
+        final long total = this.waitTime.sumThenReset();
+        final boolean backlog = !this.executor.getQueue().isEmpty();
+        // No task started during a whole period while tasks are queued: every thread is busy
+        final boolean saturated = (count == 0) && backlog;
+        final long averageWaitTime = (count > 0) ? total / count : 0;
+        final int corePoolSize = this.executor.getCorePoolSize();
+        final int maxPoolSize = this.executor.getMaximumPoolSize();
+        if ((saturated || (averageWaitTime > this.targetWaitTime)) && (corePoolSize < maxPoolSize)) {
+            this.executor.setCorePoolSize(Math.min(maxPoolSize, corePoolSize + Math.max(1, corePoolSize / 4)));
+        } else if (!backlog && (averageWaitTime < this.targetWaitTime / 2) && (corePoolSize > this.minCorePoolSize)) {
+            this.executor.setCorePoolSize(Math.max(this.minCorePoolSize, corePoolSize - Math.max(1, (corePoolSize - this.minCorePoolSize) / 4)));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+/**
+ * Runtime statistics of a managed executor service.
+ */
+public interface ManagedExecutorRuntimeStats {
+
+    /**
+     * @return the current number of threads in the executor's pool
+     */
+    int getThreadsCount();
+
+    /**
+     * @return the approximate number of threads that are actively executing tasks
+     */
+    int getActiveThreadsCount();
+
+    /**
+     * @return the largest number of threads that have ever simultaneously been in the pool
+     */
+    int getLargestThreadsCount();
+
+    /**
+     * @return the number of threads executing a task for longer than the hung task threshold
+     */
+    int getHungThreadsCount();
+
+    /**
+     * @return the approximate total number of tasks that have ever been scheduled for execution
+     */
+    long getTaskCount();
+
+    /**
+     * @return the approximate total number of tasks that have completed execution
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * @return the number of tasks waiting in the executor's queue
+     */
+    int getQueueSize();
+
+    /**
+     * @return the number of tasks rejected by the executor
+     */
+    long getRejectedTaskCount();
+}
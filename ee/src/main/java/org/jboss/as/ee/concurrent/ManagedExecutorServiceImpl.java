@@ -26,47 +26,131 @@ import org.glassfish.enterprise.concurrent.ContextServiceImpl;
 import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
 import org.wildfly.extension.requestcontroller.ControlPoint;
 
+import java.util.Collection;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static org.jboss.as.ee.concurrent.ControlPointUtils.doWrap;
 
 /**
  * @author Stuart Douglas
  */
-public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl {
+public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl implements ManagedExecutorRuntimeStats {
 
     private final ControlPoint controlPoint;
+    private final LongAdder rejectedTaskCount = new LongAdder();
+    private final AdaptiveThreadPoolSizer sizer;
 
     public ManagedExecutorServiceImpl(String name, ManagedThreadFactoryImpl managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, ContextServiceImpl contextService, RejectPolicy rejectPolicy, BlockingQueue<Runnable> queue, ControlPoint controlPoint) {
         super(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, contextService, rejectPolicy, queue);
         this.controlPoint = controlPoint;
+        this.sizer = null;
     }
 
     public ManagedExecutorServiceImpl(String name, ManagedThreadFactoryImpl managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, ContextServiceImpl contextService, RejectPolicy rejectPolicy, ControlPoint controlPoint) {
+        this(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService, rejectPolicy, controlPoint, 0L);
+    }
+
+    /**
+     * @param targetQueueWaitTime if greater than 0, the time in milliseconds that tasks should on average wait in the queue,
+     *                            with the core pool size adapted between {@code corePoolSize} and {@code maxPoolSize} to meet it
+     */
+    public ManagedExecutorServiceImpl(String name, ManagedThreadFactoryImpl managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, ContextServiceImpl contextService, RejectPolicy rejectPolicy, ControlPoint controlPoint, long targetQueueWaitTime) {
         super(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService, rejectPolicy);
         this.controlPoint = controlPoint;
+        this.sizer = (targetQueueWaitTime > 0) ? new AdaptiveThreadPoolSizer(this.getPool(), targetQueueWaitTime, TimeUnit.MILLISECONDS) : null;
     }
 
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return super.submit(doWrap(task, controlPoint));
+        return this.countRejection(() -> super.submit(doWrap(this.adapt(task), controlPoint)));
     }
 
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return super.submit(doWrap(task, controlPoint), result);
+        return this.countRejection(() -> super.submit(doWrap(this.adapt(task), controlPoint), result));
     }
 
     @Override
     public Future<?> submit(Runnable task) {
-        return super.submit(doWrap(task, controlPoint));
+        return this.countRejection(() -> super.submit(doWrap(this.adapt(task), controlPoint)));
     }
 
     @Override
     public void execute(Runnable command) {
-        super.execute(doWrap(command, controlPoint));
+        try {
+            super.execute(doWrap(this.adapt(command), controlPoint));
+        } catch (RejectedExecutionException e) {
+            this.rejectedTaskCount.increment();
+            throw e;
+        }
+    }
+
+    private <R> R countRejection(Supplier<R> submission) {
+        try {
+            return submission.get();
+        } catch (RejectedExecutionException e) {
+            this.rejectedTaskCount.increment();
+            throw e;
+        }
+    }
+
+    private Runnable adapt(Runnable task) {
+        return (this.sizer != null) ? this.sizer.wrap(task) : task;
+    }
+
+    private <T> Callable<T> adapt(Callable<T> task) {
+        return (this.sizer != null) ? this.sizer.wrap(task) : task;
+    }
+
+    private ThreadPoolExecutor getPool() {
+        return (ThreadPoolExecutor) this.getThreadPoolExecutor();
+    }
+
+    @Override
+    public int getThreadsCount() {
+        return this.getPool().getPoolSize();
+    }
+
+    @Override
+    public int getActiveThreadsCount() {
+        return this.getPool().getActiveCount();
+    }
+
+    @Override
+    public int getLargestThreadsCount() {
+        return this.getPool().getLargestPoolSize();
+    }
+
+    @Override
+    public int getHungThreadsCount() {
+        final Collection<?> hungThreads = this.getHungThreads();
+        return (hungThreads != null) ? hungThreads.size() : 0;
+    }
+
+    @Override
+    public long getTaskCount() {
+        return this.getPool().getTaskCount();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return this.getPool().getCompletedTaskCount();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return this.getPool().getQueue().size();
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return this.rejectedTaskCount.sum();
     }
 }
@@ -27,11 +27,16 @@ import org.wildfly.extension.requestcontroller.ControlPoint;
 
 import javax.enterprise.concurrent.LastExecution;
 import javax.enterprise.concurrent.Trigger;
+import java.util.Collection;
 import java.util.Date;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static org.jboss.as.ee.concurrent.ControlPointUtils.doScheduledWrap;
 import static org.jboss.as.ee.concurrent.ControlPointUtils.doWrap;
@@ -41,9 +46,10 @@ import static org.jboss.as.ee.concurrent.ControlPointUtils.doWrap;
  *
  * @author Eduardo Martins
  */
-public class ManagedScheduledExecutorServiceImpl extends org.glassfish.enterprise.concurrent.ManagedScheduledExecutorServiceImpl {
+public class ManagedScheduledExecutorServiceImpl extends org.glassfish.enterprise.concurrent.ManagedScheduledExecutorServiceImpl implements ManagedExecutorRuntimeStats {
 
     private final ControlPoint controlPoint;
+    private final LongAdder rejectedTaskCount = new LongAdder();
 
     public ManagedScheduledExecutorServiceImpl(String name, ManagedThreadFactoryImpl managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, ContextServiceImpl contextService, RejectPolicy rejectPolicy, ControlPoint controlPoint) {
         super(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, contextService, rejectPolicy);
@@ -52,56 +58,115 @@ public class ManagedScheduledExecutorServiceImpl extends org.glassfish.enterpris
 
     @Override
     public void execute(Runnable command) {
-        super.execute(doWrap(command, controlPoint));
+        try {
+            super.execute(doWrap(command, controlPoint));
+        } catch (RejectedExecutionException e) {
+            this.rejectedTaskCount.increment();
+            throw e;
+        }
     }
 
     @Override
     public Future<?> submit(Runnable task) {
-        return super.submit(doWrap(task, controlPoint));
+        return this.countRejection(() -> super.submit(doWrap(task, controlPoint)));
     }
 
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return super.submit(doWrap(task, controlPoint), result);
+        return this.countRejection(() -> super.submit(doWrap(task, controlPoint), result));
     }
 
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return super.submit(doWrap(task, controlPoint));
+        return this.countRejection(() -> super.submit(doWrap(task, controlPoint)));
     }
 
     @Override
     public ScheduledFuture<?> schedule(Runnable command, Trigger trigger) {
         final CancellableTrigger ctrigger = new CancellableTrigger(trigger);
-        ctrigger.future = super.schedule(doScheduledWrap(command, controlPoint), ctrigger);
+        ctrigger.future = this.countRejection(() -> super.schedule(doScheduledWrap(command, controlPoint), ctrigger));
         return ctrigger.future;
     }
 
     @Override
     public <V> ScheduledFuture<V> schedule(Callable<V> callable, Trigger trigger) {
         final CancellableTrigger ctrigger = new CancellableTrigger(trigger);
-        ctrigger.future = super.schedule(doScheduledWrap(callable, controlPoint), ctrigger);
+        ctrigger.future = this.countRejection(() -> super.schedule(doScheduledWrap(callable, controlPoint), ctrigger));
         return ctrigger.future;
     }
 
     @Override
     public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
-        return super.schedule(doScheduledWrap(command, controlPoint), delay, unit);
+        return this.countRejection(() -> super.schedule(doScheduledWrap(command, controlPoint), delay, unit));
     }
 
     @Override
     public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
-        return super.schedule(doScheduledWrap(callable, controlPoint), delay, unit);
+        return this.countRejection(() -> super.schedule(doScheduledWrap(callable, controlPoint), delay, unit));
     }
 
     @Override
     public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
-        return super.scheduleAtFixedRate(doScheduledWrap(command, controlPoint), initialDelay, period, unit);
+        return this.countRejection(() -> super.scheduleAtFixedRate(doScheduledWrap(command, controlPoint), initialDelay, period, unit));
     }
 
     @Override
     public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
-        return super.scheduleWithFixedDelay(doScheduledWrap(command, controlPoint), initialDelay, delay, unit);
+        return this.countRejection(() -> super.scheduleWithFixedDelay(doScheduledWrap(command, controlPoint), initialDelay, delay, unit));
+    }
+
+    private <R> R countRejection(Supplier<R> submission) {
+        try {
+            return submission.get();
+        } catch (RejectedExecutionException e) {
+            this.rejectedTaskCount.increment();
+            throw e;
+        }
+    }
+
+    private ThreadPoolExecutor getPool() {
+        return (ThreadPoolExecutor) this.getThreadPoolExecutor();
+    }
+
+    @Override
+    public int getThreadsCount() {
+        return this.getPool().getPoolSize();
+    }
+
+    @Override
+    public int getActiveThreadsCount() {
+        return this.getPool().getActiveCount();
+    }
+
+    @Override
+    public int getLargestThreadsCount() {
+        return this.getPool().getLargestPoolSize();
+    }
+
+    @Override
+    public int getHungThreadsCount() {
+        final Collection<?> hungThreads = this.getHungThreads();
+        return (hungThreads != null) ? hungThreads.size() : 0;
+    }
+
+    @Override
+    public long getTaskCount() {
+        return this.getPool().getTaskCount();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return this.getPool().getCompletedTaskCount();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return this.getPool().getQueue().size();
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return this.rejectedTaskCount.sum();
     }
 
     /**
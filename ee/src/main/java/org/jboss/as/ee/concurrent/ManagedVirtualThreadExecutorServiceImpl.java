@@ -0,0 +1,274 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import static org.jboss.as.ee.concurrent.ControlPointUtils.doWrap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.concurrent.ManagedTask;
+import javax.enterprise.concurrent.ManagedTaskListener;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
+import org.jboss.as.ee.logging.EeLogger;
+import org.wildfly.common.cpu.ProcessorInfo;
+import org.wildfly.extension.requestcontroller.ControlPoint;
+
+/**
+ * A managed executor service which runs each task on a virtual thread, propagating the context of the submitter through
+ * the context service, if any.
+ * <p/>
+ * If the JVM does not support virtual threads, tasks are executed by a pool of platform threads instead, bounded by the
+ * max threads, or by twice the number of processors if unbounded.
+ * <p/>
+ * As with the executor's adapters of the Java EE RI, lifecycle related invocations are not allowed, the executor is
+ * terminated by {@link #terminate()}.
+ */
+public class ManagedVirtualThreadExecutorServiceImpl extends AbstractExecutorService implements ManagedExecutorService, ManagedExecutorRuntimeStats {
+
+    private static final long PLATFORM_THREADS_KEEPALIVE_TIME = TimeUnit.SECONDS.toMillis(60);
+
+    private final ContextServiceImpl contextService;
+    private final ControlPoint controlPoint;
+    private final ManagedThreadFactoryImpl platformThreadFactory;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejectedTaskCount = new LongAdder();
+
+    /**
+     * @param name the name of the executor
+     * @param maxThreads the maximum number of concurrently running tasks, unbounded if 0
+     * @param contextService the context service which propagates the context of the submitter, may be null
+     * @param controlPoint the request control point, may be null
+     */
+    public ManagedVirtualThreadExecutorServiceImpl(String name, int maxThreads, ContextServiceImpl contextService, ControlPoint controlPoint) {
+        this.contextService = contextService;
+        this.controlPoint = controlPoint;
+        final ThreadFactory virtualThreadFactory = VirtualThreads.createThreadFactory("EE-ManagedVirtualThreadExecutorService-" + name + "-");
+        if (virtualThreadFactory != null) {
+            this.platformThreadFactory = null;
+            if (maxThreads > 0) {
+                // Idle virtual threads are worthless, let them terminate right away
+                this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 1, TimeUnit.NANOSECONDS, new LinkedBlockingQueue<>(), virtualThreadFactory);
+                this.executor.allowCoreThreadTimeOut(true);
+            } else {
+                // A thread per task
+                this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.NANOSECONDS, new SynchronousQueue<>(), virtualThreadFactory);
+            }
+        } else {
+            EeLogger.ROOT_LOGGER.virtualThreadsNotSupported(name);
+            this.platformThreadFactory = new ManagedThreadFactoryImpl("EE-ManagedVirtualThreadExecutorService-" + name, null, Thread.NORM_PRIORITY);
+            final int poolSize = (maxThreads > 0) ? maxThreads : ProcessorInfo.availableProcessors() * 2;
+            this.executor = new ThreadPoolExecutor(poolSize, poolSize, PLATFORM_THREADS_KEEPALIVE_TIME, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), this.platformThreadFactory);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * @return true if tasks are executed by virtual threads, false if by platform threads
+     */
+    public boolean isVirtual() {
+        return this.platformThreadFactory == null;
+    }
+
+    /**
+     * Terminates the executor, interrupting the running tasks, and cancelling the queued ones.
+     */
+    public void terminate() {
+        for (Runnable task : this.executor.shutdownNow()) {
+            ((Future<?>) task).cancel(false);
+        }
+        if (this.platformThreadFactory != null) {
+            this.platformThreadFactory.stop();
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return this.createTask(runnable, Executors.callable(runnable, value));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return this.createTask(callable, callable);
+    }
+
+    private <T> Task<T> createTask(Object task, Callable<T> callable) {
+        final Map<String, String> executionProperties = (task instanceof ManagedTask) ? ((ManagedTask) task).getExecutionProperties() : null;
+        @SuppressWarnings("unchecked")
+        final Callable<T> contextualCallable = (this.contextService != null) ? this.contextService.createContextualProxy(callable, executionProperties, Callable.class) : callable;
+        return new Task<>(this, task, doWrap(contextualCallable, this.controlPoint));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        final Task<?> task = ((command instanceof Task) && (((Task<?>) command).executor == this)) ? (Task<?>) command : this.createTask(command, Executors.callable(command));
+        task.submitted();
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            this.rejectedTaskCount.increment();
+            task.rejected(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        throw EeLogger.ROOT_LOGGER.lifecycleOperationNotSupported();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        throw EeLogger.ROOT_LOGGER.lifecycleOperationNotSupported();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        throw EeLogger.ROOT_LOGGER.lifecycleOperationNotSupported();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        throw EeLogger.ROOT_LOGGER.lifecycleOperationNotSupported();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        throw EeLogger.ROOT_LOGGER.lifecycleOperationNotSupported();
+    }
+
+    @Override
+    public int getThreadsCount() {
+        return this.executor.getPoolSize();
+    }
+
+    @Override
+    public int getActiveThreadsCount() {
+        return this.executor.getActiveCount();
+    }
+
+    @Override
+    public int getLargestThreadsCount() {
+        return this.executor.getLargestPoolSize();
+    }
+
+    @Override
+    public int getHungThreadsCount() {
+        // Hung tasks are not tracked, since a blocked virtual thread does not hold a platform thread
+        return 0;
+    }
+
+    @Override
+    public long getTaskCount() {
+        return this.executor.getTaskCount();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return this.executor.getCompletedTaskCount();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return this.executor.getQueue().size();
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return this.rejectedTaskCount.sum();
+    }
+
+    /**
+     * A future notifying the {@link ManagedTaskListener} of a {@link ManagedTask}.
+     */
+    private static class Task<T> extends FutureTask<T> {
+
+        final ManagedVirtualThreadExecutorServiceImpl executor;
+        private final Object task;
+        private final ManagedTaskListener listener;
+
+        Task(ManagedVirtualThreadExecutorServiceImpl executor, Object task, Callable<T> callable) {
+            super(callable);
+            this.executor = executor;
+            this.task = task;
+            this.listener = (task instanceof ManagedTask) ? ((ManagedTask) task).getManagedTaskListener() : null;
+        }
+
+        void submitted() {
+            if (this.listener != null) {
+                this.listener.taskSubmitted(this, this.executor, this.task);
+            }
+        }
+
+        void rejected(RejectedExecutionException exception) {
+            if (this.listener != null) {
+                this.listener.taskAborted(this, this.executor, this.task, exception);
+                this.listener.taskDone(this, this.executor, this.task, exception);
+            }
+        }
+
+        @Override
+        public void run() {
+            if ((this.listener != null) && !this.isDone()) {
+                this.listener.taskStarting(this, this.executor, this.task);
+            }
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            if (this.listener != null) {
+                Throwable exception = null;
+                try {
+                    this.get();
+                } catch (CancellationException e) {
+                    exception = e;
+                    this.listener.taskAborted(this, this.executor, this.task, e);
+                } catch (ExecutionException e) {
+                    exception = e.getCause();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                this.listener.taskDone(this, this.executor, this.task, exception);
+            }
+        }
+    }
+}
@@ -45,6 +45,8 @@ public class ConcurrentServiceNames {
 
     private static final ServiceName MANAGED_SCHEDULED_EXECUTOR_SERVICE_BASE_SERVICE_NAME = BASE_SERVICE_NAME.append("scheduledexecutor");
 
+    private static final ServiceName MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE_BASE_SERVICE_NAME = BASE_SERVICE_NAME.append("virtualthreadexecutor");
+
     public static final ServiceName TRANSACTION_SETUP_PROVIDER_SERVICE_NAME = BASE_SERVICE_NAME.append("tsp");
 
     public static final ServiceName CONCURRENT_CONTEXT_BASE_SERVICE_NAME = CONTEXT_BASE_SERVICE_NAME.append("config");
@@ -65,6 +67,10 @@ public class ConcurrentServiceNames {
         return MANAGED_SCHEDULED_EXECUTOR_SERVICE_BASE_SERVICE_NAME.append(name);
     }
 
+    public static ServiceName getManagedVirtualThreadExecutorServiceServiceName(String name) {
+        return MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE_BASE_SERVICE_NAME.append(name);
+    }
+
     public static ServiceName getConcurrentContextServiceName(String app, String module, String component) {
         final ServiceName moduleServiceName = CONCURRENT_CONTEXT_BASE_SERVICE_NAME.append(app).append(module);
         if(component == null) {
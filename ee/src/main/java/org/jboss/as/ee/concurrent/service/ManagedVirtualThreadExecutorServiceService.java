@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent.service;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.jboss.as.ee.concurrent.ManagedExecutorRuntimeStats;
+import org.jboss.as.ee.concurrent.ManagedVirtualThreadExecutorServiceImpl;
+import org.jboss.as.ee.logging.EeLogger;
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.wildfly.extension.requestcontroller.ControlPoint;
+import org.wildfly.extension.requestcontroller.RequestController;
+
+/**
+ * Service responsible for creating, starting and stopping a ManagedVirtualThreadExecutorServiceImpl.
+ */
+public class ManagedVirtualThreadExecutorServiceService extends EEConcurrentAbstractService<ManagedExecutorService> {
+
+    private volatile ManagedVirtualThreadExecutorServiceImpl executorService;
+
+    private final String name;
+    private final int maxThreads;
+    private final InjectedValue<ContextServiceImpl> contextService = new InjectedValue<>();
+    private final InjectedValue<RequestController> requestController = new InjectedValue<>();
+    private ControlPoint controlPoint;
+
+    /**
+     * @param name
+     * @param jndiName
+     * @param maxThreads
+     * @see ManagedVirtualThreadExecutorServiceImpl#ManagedVirtualThreadExecutorServiceImpl(String, int, org.glassfish.enterprise.concurrent.ContextServiceImpl, org.wildfly.extension.requestcontroller.ControlPoint)
+     */
+    public ManagedVirtualThreadExecutorServiceService(String name, String jndiName, int maxThreads) {
+        super(jndiName);
+        this.name = name;
+        this.maxThreads = maxThreads;
+    }
+
+    @Override
+    void startValue(StartContext context) throws StartException {
+        if (requestController.getOptionalValue() != null) {
+            controlPoint = requestController.getValue().getControlPoint(name, "managed-virtual-thread-executor-service");
+        }
+        executorService = new ManagedVirtualThreadExecutorServiceImpl(name, maxThreads, contextService.getOptionalValue(), controlPoint);
+    }
+
+    @Override
+    void stopValue(StopContext context) {
+        if (executorService != null) {
+            executorService.terminate();
+            this.executorService = null;
+        }
+        if (controlPoint != null) {
+            requestController.getValue().removeControlPoint(controlPoint);
+        }
+    }
+
+    public ManagedExecutorService getValue() throws IllegalStateException {
+        if (executorService == null) {
+            throw EeLogger.ROOT_LOGGER.concurrentServiceValueUninitialized();
+        }
+        return executorService;
+    }
+
+    /**
+     * @return the runtime statistics of the executor, or null if the service is not started
+     */
+    public ManagedExecutorRuntimeStats getRuntimeStats() {
+        return executorService;
+    }
+
+    public Injector<ContextServiceImpl> getContextServiceInjector() {
+        return contextService;
+    }
+
+    public InjectedValue<RequestController> getRequestController() {
+        return requestController;
+    }
+}
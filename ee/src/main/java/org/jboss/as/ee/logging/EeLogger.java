@@ -25,6 +25,7 @@ package org.jboss.as.ee.logging;
 import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.WARN;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -1104,4 +1105,31 @@ public interface EeLogger extends BasicLogger {
      */
     @Message(id = 113, value = "The max-threads value %d cannot be less than the core-threads value %d.")
     OperationFailedException invalidMaxThreads(int maxThreads, int coreThreads);
+
+    /**
+     * Creates an exception indicating a lifecycle method was invoked on a managed executor service.
+     *
+     * @return an {@link IllegalStateException} for the error
+     */
+    @Message(id = 114, value = "Lifecycle operations are not supported by managed executor services")
+    IllegalStateException lifecycleOperationNotSupported();
+
+    /**
+     * Logs a warning message indicating the JVM does not support virtual threads, and that platform threads are used instead.
+     *
+     * @param executorName the name of the managed executor service
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 115, value = "Virtual threads are not supported by this JVM, managed executor service %s will use platform threads")
+    void virtualThreadsNotSupported(String executorName);
+
+    /**
+     * Logs a warning message indicating the annotation index of a resource root could not be stored in the annotation index cache.
+     *
+     * @param cause the cause of the error
+     * @param file  the cache file
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 116, value = "Failed to store the annotation index in %s")
+    void failedToStoreAnnotationIndex(@Cause Throwable cause, File file);
 }
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.structure;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.jboss.as.ee.logging.EeLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+
+/**
+ * A directory of Jandex indexes, each stored under the fingerprint of the classes it was built from.
+ * Reading an index back is much cheaper than building it again, so unchanged archives are not rescanned when they are
+ * redeployed or when the server restarts.
+ * <p>
+ * Indexes that were not used recently are evicted once the directory holds more than a given number of them.
+ */
+class AnnotationIndexCache {
+
+    private static final String SUFFIX = ".idx";
+
+    private final File directory;
+    private final int maxEntries;
+
+    AnnotationIndexCache(File directory, int maxEntries) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Reads the index stored under the given fingerprint.
+     *
+     * @param fingerprint the fingerprint of the indexed classes
+     * @return the index, or null if none was stored, or if it can no longer be read
+     */
+    Index get(String fingerprint) {
+        final File file = new File(this.directory, fingerprint + SUFFIX);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+            final Index index = new IndexReader(input).read();
+            // Mark the index as recently used
+            file.setLastModified(System.currentTimeMillis());
+            return index;
+        } catch (IOException | RuntimeException e) {
+            // Truncated, or written by an incompatible version of Jandex
+            EeLogger.ROOT_LOGGER.debugf(e, "Discarding unreadable annotation index %s", file);
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Stores an index under the given fingerprint. The index is written to a temporary file first, so that a concurrent
+     * or interrupted write never leaves a partial index behind.
+     *
+     * @param fingerprint the fingerprint of the indexed classes
+     * @param index the index
+     */
+    void put(String fingerprint, Index index) {
+        final File file = new File(this.directory, fingerprint + SUFFIX);
+        File temp = null;
+        try {
+            Files.createDirectories(this.directory.toPath());
+            temp = File.createTempFile(fingerprint + SUFFIX, ".tmp", this.directory);
+            try (OutputStream output = new BufferedOutputStream(new FileOutputStream(temp))) {
+                new IndexWriter(output).write(index);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            EeLogger.ROOT_LOGGER.failedToStoreAnnotationIndex(e, file);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used indexes in excess of the maximum number of entries.
+     */
+    void evict() {
+        final File[] files = this.directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if ((files != null) && (files.length > this.maxEntries)) {
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            for (int i = 0; i < files.length - this.maxEntries; ++i) {
+                files[i].delete();
+            }
+        }
+    }
+}
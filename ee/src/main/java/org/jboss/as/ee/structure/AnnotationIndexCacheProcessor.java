@@ -0,0 +1,263 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.structure;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ee.logging.EeLogger;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.ServerEnvironmentService;
+import org.jboss.as.server.Services;
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
+import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.deployment.Phase;
+import org.jboss.as.server.deployment.SubDeploymentMarker;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.jboss.msc.service.ServiceRegistry;
+import org.jboss.vfs.VirtualFile;
+import org.jboss.vfs.VisitorAttributes;
+import org.jboss.vfs.util.SuffixMatchFilter;
+
+/**
+ * {@link DeploymentUnitProcessor} that builds the annotation indexes of the resource roots of a deployment unit before the
+ * server's annotation index processor runs, which then keeps them as they are.
+ * <p>
+ * Resource roots are indexed concurrently on the server executor, with at most one thread per processor. Each index is
+ * stored in the server data directory under a digest of the names and contents of the indexed classes, so a resource
+ * root whose classes did not change is read back from there rather than being parsed again. Sizes and modification
+ * times are not trusted, since reproducible builds give every archive entry the same timestamp.
+ * <p>
+ * Resource roots that ship a {@code META-INF/jandex.idx} file, or that are not meant to be indexed, are left alone.
+ * A resource root that fails to be indexed here is left to the server's annotation index processor, which reports the
+ * error.
+ */
+public class AnnotationIndexCacheProcessor implements DeploymentUnitProcessor {
+
+    public static final Phase PHASE = Phase.STRUCTURE;
+    // Just before the annotation index processor
+    public static final int PRIORITY = Phase.STRUCTURE_ANNOTATION_INDEX - 1;
+
+    static final String DIRECTORY = "annotation-index";
+    private static final String JANDEX_INDEX = "META-INF/jandex.idx";
+    private static final int MAX_ENTRIES = 1024;
+
+    private volatile boolean annotationIndexCache = false;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder indexingTime = new LongAdder();
+
+    @Override
+    public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+        if (!this.annotationIndexCache) {
+            return;
+        }
+        final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        final List<ResourceRoot> resourceRoots = new ArrayList<>();
+        for (ResourceRoot resourceRoot : deploymentUnit.getAttachmentList(Attachments.RESOURCE_ROOTS)) {
+            // sub deployments index their own resource roots
+            if (!SubDeploymentMarker.isSubDeployment(resourceRoot) && isIndexable(resourceRoot)) {
+                resourceRoots.add(resourceRoot);
+            }
+        }
+        final ResourceRoot deploymentRoot = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        if (isIndexable(deploymentRoot)) {
+            resourceRoots.add(deploymentRoot);
+        }
+        if (resourceRoots.isEmpty()) {
+            return;
+        }
+
+        final ServiceRegistry registry = phaseContext.getServiceRegistry();
+        final ServerEnvironment environment = (ServerEnvironment) registry.getRequiredService(ServerEnvironmentService.SERVICE_NAME).getValue();
+        final ExecutorService executor = (ExecutorService) registry.getRequiredService(Services.JBOSS_SERVER_EXECUTOR).getValue();
+        final AnnotationIndexCache cache = new AnnotationIndexCache(new File(environment.getServerDataDir(), DIRECTORY), MAX_ENTRIES);
+
+        final long start = System.nanoTime();
+        final Queue<ResourceRoot> queue = new ConcurrentLinkedQueue<>(resourceRoots);
+        final CountDownLatch latch = new CountDownLatch(resourceRoots.size());
+        final AtomicInteger hits = new AtomicInteger();
+        final Runnable task = () -> {
+            ResourceRoot resourceRoot = queue.poll();
+            while (resourceRoot != null) {
+                try {
+                    if (this.index(resourceRoot, cache)) {
+                        hits.incrementAndGet();
+                    }
+                } finally {
+                    latch.countDown();
+                }
+                resourceRoot = queue.poll();
+            }
+        };
+        final int workers = Math.min(resourceRoots.size(), Runtime.getRuntime().availableProcessors());
+        try {
+            for (int i = 1; i < workers; ++i) {
+                executor.execute(task);
+            }
+        } catch (RejectedExecutionException e) {
+            // The remaining resource roots are indexed by this thread
+        }
+        // This thread indexes as well, so the latch never waits on a worker that the executor did not start
+        task.run();
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            // Resource roots not indexed yet are left to the annotation index processor
+            Thread.currentThread().interrupt();
+        }
+        final long elapsed = System.nanoTime() - start;
+        this.indexingTime.add(elapsed);
+        if (hits.get() < resourceRoots.size()) {
+            cache.evict();
+        }
+        EeLogger.ROOT_LOGGER.debugf("Indexed %d resource roots of %s in %d ms, %d of them from the annotation index cache", resourceRoots.size(), deploymentUnit.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), hits.get());
+    }
+
+    @Override
+    public void undeploy(DeploymentUnit context) {
+    }
+
+    public void setAnnotationIndexCache(boolean annotationIndexCache) {
+        this.annotationIndexCache = annotationIndexCache;
+    }
+
+    /**
+     * @return the number of resource roots whose annotation index was read from the cache
+     */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * @return the number of resource roots that were indexed because the cache held no index for their classes
+     */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * @return the total time in milliseconds that deployments waited for their resource roots to be indexed
+     */
+    public long getIndexingTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.indexingTime.sum());
+    }
+
+    /**
+     * Attaches the annotation index of a resource root, reading it from the cache, or building and caching it.
+     *
+     * @return true if the index was read from the cache, false otherwise
+     */
+    private boolean index(ResourceRoot resourceRoot, AnnotationIndexCache cache) {
+        final VirtualFile root = resourceRoot.getRoot();
+        final List<String> ignorePaths = resourceRoot.getAttachmentList(Attachments.INDEX_IGNORE_PATHS);
+        try {
+            final VisitorAttributes visitorAttributes = new VisitorAttributes();
+            visitorAttributes.setLeavesOnly(true);
+            visitorAttributes.setRecurseFilter(file -> !ignorePaths.contains(file.getPathNameRelativeTo(root)));
+            final List<VirtualFile> classFiles = new ArrayList<>(root.getChildren(new SuffixMatchFilter(".class", visitorAttributes)));
+            Collections.sort(classFiles, Comparator.comparing(file -> file.getPathNameRelativeTo(root)));
+
+            final String fingerprint = fingerprint(root, classFiles);
+            Index index = cache.get(fingerprint);
+            final boolean hit = (index != null);
+            if (!hit) {
+                final Indexer indexer = new Indexer();
+                for (VirtualFile classFile : classFiles) {
+                    try (InputStream input = classFile.openStream()) {
+                        indexer.index(input);
+                    }
+                }
+                index = indexer.complete();
+                cache.put(fingerprint, index);
+                this.missCount.increment();
+            } else {
+                this.hitCount.increment();
+            }
+            resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
+            return hit;
+        } catch (IOException | RuntimeException e) {
+            EeLogger.ROOT_LOGGER.debugf(e, "Leaving %s to be indexed by the annotation index processor", root);
+            return false;
+        }
+    }
+
+    private static String fingerprint(VirtualFile root, List<VirtualFile> classFiles) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] buffer = new byte[8192];
+        for (VirtualFile classFile : classFiles) {
+            digest.update(classFile.getPathNameRelativeTo(root).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            long size = 0;
+            try (InputStream input = classFile.openStream()) {
+                int length = input.read(buffer);
+                while (length >= 0) {
+                    digest.update(buffer, 0, length);
+                    size += length;
+                    length = input.read(buffer);
+                }
+            }
+            // Delimits the contents from the name of the next class
+            digest.update(ByteBuffer.allocate(Long.BYTES).putLong(size).array());
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static boolean isIndexable(ResourceRoot resourceRoot) {
+        return (resourceRoot != null) && !resourceRoot.hasAttachment(Attachments.ANNOTATION_INDEX)
+                && !Boolean.FALSE.equals(resourceRoot.getAttachment(Attachments.INDEX_RESOURCE_ROOT))
+                && !resourceRoot.getRoot().getChild(JANDEX_INDEX).exists();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.subsystem;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ee.structure.AnnotationIndexCacheProcessor;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Reads the statistics of the annotation indexes built by the {@link AnnotationIndexCacheProcessor}.
+ */
+class AnnotationIndexCacheMetricsHandler implements OperationStepHandler {
+
+    public static final String ANNOTATION_INDEX_CACHE_HITS = "annotation-index-cache-hits";
+    public static final String ANNOTATION_INDEX_CACHE_MISSES = "annotation-index-cache-misses";
+    public static final String ANNOTATION_INDEXING_TIME = "annotation-indexing-time";
+
+    static final SimpleAttributeDefinition ANNOTATION_INDEX_CACHE_HITS_AD = createMetric(ANNOTATION_INDEX_CACHE_HITS, MeasurementUnit.NONE);
+    static final SimpleAttributeDefinition ANNOTATION_INDEX_CACHE_MISSES_AD = createMetric(ANNOTATION_INDEX_CACHE_MISSES, MeasurementUnit.NONE);
+    static final SimpleAttributeDefinition ANNOTATION_INDEXING_TIME_AD = createMetric(ANNOTATION_INDEXING_TIME, MeasurementUnit.MILLISECONDS);
+
+    static final SimpleAttributeDefinition[] METRICS = {ANNOTATION_INDEX_CACHE_HITS_AD, ANNOTATION_INDEX_CACHE_MISSES_AD, ANNOTATION_INDEXING_TIME_AD};
+
+    private final AnnotationIndexCacheProcessor processor;
+
+    AnnotationIndexCacheMetricsHandler(AnnotationIndexCacheProcessor processor) {
+        this.processor = processor;
+    }
+
+    private static SimpleAttributeDefinition createMetric(String name, MeasurementUnit unit) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L))
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    void registerMetrics(ManagementResourceRegistration resourceRegistration) {
+        for (SimpleAttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, this);
+        }
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+        switch (name) {
+            case ANNOTATION_INDEX_CACHE_HITS:
+                context.getResult().set(this.processor.getHitCount());
+                break;
+            case ANNOTATION_INDEX_CACHE_MISSES:
+                context.getResult().set(this.processor.getMissCount());
+                break;
+            case ANNOTATION_INDEXING_TIME:
+                context.getResult().set(this.processor.getIndexingTime());
+                break;
+        }
+        context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+    }
+}
@@ -34,6 +34,7 @@ public interface EESubsystemModel {
     String SPEC_DESCRIPTOR_PROPERTY_REPLACEMENT = "spec-descriptor-property-replacement";
     String JBOSS_DESCRIPTOR_PROPERTY_REPLACEMENT = "jboss-descriptor-property-replacement";
     String ANNOTATION_PROPERTY_REPLACEMENT = "annotation-property-replacement";
+    String ANNOTATION_INDEX_CACHE = "annotation-index-cache";
 
     String DEFAULT_BINDINGS = "default-bindings";
 
@@ -41,6 +42,7 @@ public interface EESubsystemModel {
     String MANAGED_THREAD_FACTORY = "managed-thread-factory";
     String MANAGED_EXECUTOR_SERVICE = "managed-executor-service";
     String MANAGED_SCHEDULED_EXECUTOR_SERVICE = "managed-scheduled-executor-service";
+    String MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE = "managed-virtual-thread-executor-service";
     String SERVICE = "service";
 
     PathElement DEFAULT_BINDINGS_PATH = PathElement.pathElement(SERVICE,DEFAULT_BINDINGS);
@@ -55,6 +55,7 @@ class EESubsystemXmlPersister implements XMLStreamConstants, XMLElementWriter<Su
         EeSubsystemRootResource.SPEC_DESCRIPTOR_PROPERTY_REPLACEMENT.marshallAsElement(eeSubSystem, writer);
         EeSubsystemRootResource.JBOSS_DESCRIPTOR_PROPERTY_REPLACEMENT.marshallAsElement(eeSubSystem, writer);
         EeSubsystemRootResource.ANNOTATION_PROPERTY_REPLACEMENT.marshallAsElement(eeSubSystem, writer);
+        EeSubsystemRootResource.ANNOTATION_INDEX_CACHE.marshallAsElement(eeSubSystem, writer);
         writeConcurrentElement(writer,eeSubSystem);
         writeDefaultBindingsElement(writer,eeSubSystem);
         writer.writeEndElement();
@@ -88,6 +89,13 @@ class EESubsystemXmlPersister implements XMLStreamConstants, XMLElementWriter<Su
             }
             writeManagedScheduledExecutorServices(writer, eeSubSystem.get(EESubsystemModel.MANAGED_SCHEDULED_EXECUTOR_SERVICE));
         }
+        if (eeSubSystem.hasDefined(EESubsystemModel.MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE)) {
+            if(!started) {
+                writer.writeStartElement(Element.CONCURRENT.getLocalName());
+                started = true;
+            }
+            writeManagedVirtualThreadExecutorServices(writer, eeSubSystem.get(EESubsystemModel.MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE));
+        }
         if(started) {
             writer.writeEndElement();
         }
@@ -145,6 +153,19 @@ class EESubsystemXmlPersister implements XMLStreamConstants, XMLElementWriter<Su
         writer.writeEndElement();
     }
 
+    private void writeManagedVirtualThreadExecutorServices(final XMLExtendedStreamWriter writer, final ModelNode subModel) throws XMLStreamException {
+        writer.writeStartElement(Element.MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICES.getLocalName());
+        for (Property property : subModel.asPropertyList()) {
+            writer.writeStartElement(Element.MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE.getLocalName());
+            writer.writeAttribute(Attribute.NAME.getLocalName(), property.getName());
+            for(SimpleAttributeDefinition ad : ManagedVirtualThreadExecutorServiceResourceDefinition.ATTRIBUTES) {
+                ad.marshallAsAttribute(property.getValue(), writer);
+            }
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
     private void writeDefaultBindingsElement(XMLExtendedStreamWriter writer, ModelNode eeSubSystem) throws XMLStreamException {
         if (eeSubSystem.hasDefined(EESubsystemModel.SERVICE) && eeSubSystem.get(EESubsystemModel.SERVICE).hasDefined(EESubsystemModel.DEFAULT_BINDINGS)) {
             ModelNode defaultBindingsNode = eeSubSystem.get(EESubsystemModel.SERVICE, EESubsystemModel.DEFAULT_BINDINGS);
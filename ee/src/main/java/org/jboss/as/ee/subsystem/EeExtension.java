@@ -64,7 +64,7 @@ public class EeExtension implements Extension {
     public static final String SUBSYSTEM_NAME = "ee";
     private static final String RESOURCE_NAME = EeExtension.class.getPackage().getName() + ".LocalDescriptions";
 
-    private static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(4, 0, 0);
+    private static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(4, 3, 0);
 
     protected static final PathElement PATH_SUBSYSTEM = PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, SUBSYSTEM_NAME);
 
@@ -80,7 +80,8 @@ public class EeExtension implements Extension {
         final SubsystemRegistration subsystem = context.registerSubsystem(SUBSYSTEM_NAME, CURRENT_MODEL_VERSION);
 
         // Register the root subsystem resource.
-        final ManagementResourceRegistration rootResource = subsystem.registerSubsystemModel(EeSubsystemRootResource.create());
+        final EeSubsystemRootResource rootResourceDefinition = EeSubsystemRootResource.create();
+        final ManagementResourceRegistration rootResource = subsystem.registerSubsystemModel(rootResourceDefinition);
 
         // Mandatory describe operation
         rootResource.registerOperationHandler(GenericSubsystemDescribeHandler.DEFINITION, GenericSubsystemDescribeHandler.INSTANCE);
@@ -88,10 +89,18 @@ public class EeExtension implements Extension {
         // register submodels
         rootResource.registerSubModel(ContextServiceResourceDefinition.INSTANCE);
         rootResource.registerSubModel(ManagedThreadFactoryResourceDefinition.INSTANCE);
-        rootResource.registerSubModel(ManagedExecutorServiceResourceDefinition.INSTANCE);
-        rootResource.registerSubModel(ManagedScheduledExecutorServiceResourceDefinition.INSTANCE);
+        final ManagementResourceRegistration managedExecutorService = rootResource.registerSubModel(ManagedExecutorServiceResourceDefinition.INSTANCE);
+        final ManagementResourceRegistration managedScheduledExecutorService = rootResource.registerSubModel(ManagedScheduledExecutorServiceResourceDefinition.INSTANCE);
+        final ManagementResourceRegistration managedVirtualThreadExecutorService = rootResource.registerSubModel(ManagedVirtualThreadExecutorServiceResourceDefinition.INSTANCE);
         rootResource.registerSubModel(new DefaultBindingsResourceDefinition(new DefaultBindingsConfigurationProcessor()));
 
+        if (context.isRuntimeOnlyRegistrationValid()) {
+            rootResourceDefinition.registerMetrics(rootResource);
+            ManagedExecutorServiceMetricsHandler.MANAGED_EXECUTOR_SERVICE.registerMetrics(managedExecutorService);
+            ManagedExecutorServiceMetricsHandler.MANAGED_SCHEDULED_EXECUTOR_SERVICE.registerMetrics(managedScheduledExecutorService);
+            ManagedExecutorServiceMetricsHandler.MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE.registerMetrics(managedVirtualThreadExecutorService);
+        }
+
         subsystem.registerXMLElementWriter(EESubsystemXmlPersister.INSTANCE);
 
         if (context.isRegisterTransformers()) {
@@ -110,6 +119,7 @@ public class EeExtension implements Extension {
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.EE_2_0.getUriString(), EESubsystemParser20.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.EE_3_0.getUriString(), EESubsystemParser20.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.EE_4_0.getUriString(), EESubsystemParser40.INSTANCE);
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.EE_4_1.getUriString(), EESubsystemParser41.INSTANCE);
         context.setProfileParsingCompletionHandler(new BeanValidationProfileParsingCompletionHandler());
     }
 
@@ -117,9 +127,27 @@ public class EeExtension implements Extension {
         final ModelVersion v1_0_0 = ModelVersion.create(1, 0, 0);
         final ModelVersion v1_1_0 = ModelVersion.create(1, 1, 0);
         final ModelVersion v3_0_0 = ModelVersion.create(3, 0, 0);
+        final ModelVersion v4_0_0 = ModelVersion.create(4, 0, 0);
+        final ModelVersion v4_1_0 = ModelVersion.create(4, 1, 0);
+        final ModelVersion v4_2_0 = ModelVersion.create(4, 2, 0);
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(subsystem.getSubsystemVersion());
-        ResourceTransformationDescriptionBuilder builder_3_0 = chainedBuilder.createBuilder(subsystem.getSubsystemVersion(), v3_0_0);
 
+        // 4.3.0 --> 4.2.0
+        ResourceTransformationDescriptionBuilder builder_4_2 = chainedBuilder.createBuilder(subsystem.getSubsystemVersion(), v4_2_0);
+        builder_4_2.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(false)), EeSubsystemRootResource.ANNOTATION_INDEX_CACHE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, EeSubsystemRootResource.ANNOTATION_INDEX_CACHE);
+
+        // 4.2.0 --> 4.1.0
+        ResourceTransformationDescriptionBuilder builder_4_1 = chainedBuilder.createBuilder(v4_2_0, v4_1_0);
+        builder_4_1.rejectChildResource(PathElement.pathElement(EESubsystemModel.MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE));
+
+        // 4.1.0 --> 4.0.0
+        ResourceTransformationDescriptionBuilder builder_4_0 = chainedBuilder.createBuilder(v4_1_0, v4_0_0);
+        ManagedExecutorServiceResourceDefinition.INSTANCE.registerTransformers_4_1(builder_4_0);
+
+        // 4.0.0 --> 3.0.0
+        ResourceTransformationDescriptionBuilder builder_3_0 = chainedBuilder.createBuilder(v4_0_0, v3_0_0);
         ManagedExecutorServiceResourceDefinition.INSTANCE.registerTransformers_4_0(builder_3_0);
         ManagedScheduledExecutorServiceResourceDefinition.INSTANCE.registerTransformers_4_0(builder_3_0);
 
@@ -150,7 +178,10 @@ public class EeExtension implements Extension {
         chainedBuilder.buildAndRegister(subsystem, new ModelVersion[] {
                 v1_0_0,
                 v1_1_0,
-                v3_0_0
+                v3_0_0,
+                v4_0_0,
+                v4_1_0,
+                v4_2_0
         });
     }
 
@@ -28,6 +28,7 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.ee.component.deployers.DefaultEarSubDeploymentsIsolationProcessor;
+import org.jboss.as.ee.structure.AnnotationIndexCacheProcessor;
 import org.jboss.as.ee.structure.AnnotationPropertyReplacementProcessor;
 import org.jboss.as.ee.structure.Attachments;
 import org.jboss.as.ee.structure.DescriptorPropertyReplacementProcessor;
@@ -66,8 +67,15 @@ public class EeSubsystemRootResource extends SimpleResourceDefinition {
                     .setDefaultValue(new ModelNode(false))
                     .build();
 
+    public static final SimpleAttributeDefinition ANNOTATION_INDEX_CACHE =
+            new SimpleAttributeDefinitionBuilder(EESubsystemModel.ANNOTATION_INDEX_CACHE, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setDefaultValue(new ModelNode(false))
+                    .build();
+
     static final AttributeDefinition[] ATTRIBUTES = {GlobalModulesDefinition.INSTANCE, EAR_SUBDEPLOYMENTS_ISOLATED,
-            SPEC_DESCRIPTOR_PROPERTY_REPLACEMENT, JBOSS_DESCRIPTOR_PROPERTY_REPLACEMENT, ANNOTATION_PROPERTY_REPLACEMENT};
+            SPEC_DESCRIPTOR_PROPERTY_REPLACEMENT, JBOSS_DESCRIPTOR_PROPERTY_REPLACEMENT, ANNOTATION_PROPERTY_REPLACEMENT,
+            ANNOTATION_INDEX_CACHE};
 
     // Our different operation handlers manipulate the state of the subsystem's DUPs, so they need to share a ref
     private final DefaultEarSubDeploymentsIsolationProcessor isolationProcessor = new DefaultEarSubDeploymentsIsolationProcessor();
@@ -75,6 +83,7 @@ public class EeSubsystemRootResource extends SimpleResourceDefinition {
     private final DescriptorPropertyReplacementProcessor specDescriptorPropertyReplacementProcessor = new DescriptorPropertyReplacementProcessor(Attachments.SPEC_DESCRIPTOR_PROPERTY_REPLACEMENT);
     private final DescriptorPropertyReplacementProcessor jbossDescriptorPropertyReplacementProcessor = new DescriptorPropertyReplacementProcessor(Attachments.JBOSS_DESCRIPTOR_PROPERTY_REPLACEMENT);
     private final AnnotationPropertyReplacementProcessor annotationPropertyReplacementProcessor = new AnnotationPropertyReplacementProcessor(Attachments.ANNOTATION_PROPERTY_REPLACEMENT);
+    private final AnnotationIndexCacheProcessor annotationIndexCacheProcessor = new AnnotationIndexCacheProcessor();
 
     private EeSubsystemRootResource() {
         super(EeExtension.PATH_SUBSYSTEM,
@@ -87,17 +96,21 @@ public class EeSubsystemRootResource extends SimpleResourceDefinition {
     @Override
     public void registerOperations(final ManagementResourceRegistration rootResourceRegistration) {
         super.registerOperations(rootResourceRegistration);
-        final EeSubsystemAdd subsystemAdd = new EeSubsystemAdd(isolationProcessor, moduleDependencyProcessor, specDescriptorPropertyReplacementProcessor, jbossDescriptorPropertyReplacementProcessor, annotationPropertyReplacementProcessor);
+        final EeSubsystemAdd subsystemAdd = new EeSubsystemAdd(isolationProcessor, moduleDependencyProcessor, specDescriptorPropertyReplacementProcessor, jbossDescriptorPropertyReplacementProcessor, annotationPropertyReplacementProcessor, annotationIndexCacheProcessor);
         registerAddOperation(rootResourceRegistration, subsystemAdd);
     }
 
     @Override
     public void registerAttributes(final ManagementResourceRegistration rootResourceRegistration) {
         EeWriteAttributeHandler writeHandler = new EeWriteAttributeHandler(isolationProcessor, moduleDependencyProcessor,
-                specDescriptorPropertyReplacementProcessor, jbossDescriptorPropertyReplacementProcessor, annotationPropertyReplacementProcessor);
+                specDescriptorPropertyReplacementProcessor, jbossDescriptorPropertyReplacementProcessor, annotationPropertyReplacementProcessor, annotationIndexCacheProcessor);
         writeHandler.registerAttributes(rootResourceRegistration);
     }
 
+    void registerMetrics(final ManagementResourceRegistration rootResourceRegistration) {
+        new AnnotationIndexCacheMetricsHandler(annotationIndexCacheProcessor).registerMetrics(rootResourceRegistration);
+    }
+
     protected static EeSubsystemRootResource create(){
         return new EeSubsystemRootResource();
     }
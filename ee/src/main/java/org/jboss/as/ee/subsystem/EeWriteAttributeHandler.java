@@ -28,6 +28,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.ee.component.deployers.DefaultEarSubDeploymentsIsolationProcessor;
+import org.jboss.as.ee.structure.AnnotationIndexCacheProcessor;
 import org.jboss.as.ee.structure.AnnotationPropertyReplacementProcessor;
 import org.jboss.as.ee.structure.DescriptorPropertyReplacementProcessor;
 import org.jboss.as.ee.structure.GlobalModuleDependencyProcessor;
@@ -45,18 +46,21 @@ public class EeWriteAttributeHandler extends AbstractWriteAttributeHandler<Void>
     private final DescriptorPropertyReplacementProcessor specDescriptorPropertyReplacementProcessor;
     private final DescriptorPropertyReplacementProcessor jbossDescriptorPropertyReplacementProcessor;
     private final AnnotationPropertyReplacementProcessor annotationPropertyReplacementProcessor;
+    private final AnnotationIndexCacheProcessor annotationIndexCacheProcessor;
 
     public EeWriteAttributeHandler(final DefaultEarSubDeploymentsIsolationProcessor isolationProcessor,
                                    final GlobalModuleDependencyProcessor moduleDependencyProcessor,
                                    final DescriptorPropertyReplacementProcessor specDescriptorPropertyReplacementProcessor,
                                    final DescriptorPropertyReplacementProcessor jbossDescriptorPropertyReplacementProcessor,
-                                   final AnnotationPropertyReplacementProcessor annotationPropertyReplacementProcessor) {
+                                   final AnnotationPropertyReplacementProcessor annotationPropertyReplacementProcessor,
+                                   final AnnotationIndexCacheProcessor annotationIndexCacheProcessor) {
         super(EeSubsystemRootResource.ATTRIBUTES);
         this.isolationProcessor = isolationProcessor;
         this.moduleDependencyProcessor = moduleDependencyProcessor;
         this.specDescriptorPropertyReplacementProcessor = specDescriptorPropertyReplacementProcessor;
         this.jbossDescriptorPropertyReplacementProcessor = jbossDescriptorPropertyReplacementProcessor;
         this.annotationPropertyReplacementProcessor = annotationPropertyReplacementProcessor;
+        this.annotationIndexCacheProcessor = annotationIndexCacheProcessor;
     }
 
     public void registerAttributes(final ManagementResourceRegistration registry) {
@@ -95,6 +99,9 @@ public class EeWriteAttributeHandler extends AbstractWriteAttributeHandler<Void>
         } else if(EeSubsystemRootResource.ANNOTATION_PROPERTY_REPLACEMENT.getName().equals(attributeName)){
             boolean enabled = newValue.asBoolean();
             annotationPropertyReplacementProcessor.setDescriptorPropertyReplacement(enabled);
+        } else if (EeSubsystemRootResource.ANNOTATION_INDEX_CACHE.getName().equals(attributeName)) {
+            boolean enabled = newValue.asBoolean();
+            annotationIndexCacheProcessor.setAnnotationIndexCache(enabled);
         }
     }
 }
@@ -42,6 +42,8 @@ enum Element {
 
     ANNOTATION_PROPERTY_REPLACEMENT(EeSubsystemRootResource.ANNOTATION_PROPERTY_REPLACEMENT.getXmlName()),
 
+    ANNOTATION_INDEX_CACHE(EeSubsystemRootResource.ANNOTATION_INDEX_CACHE.getXmlName()),
+
     CONCURRENT("concurrent"),
     CONTEXT_SERVICES("context-services"),
     CONTEXT_SERVICE("context-service"),
@@ -51,6 +53,8 @@ enum Element {
     MANAGED_EXECUTOR_SERVICE("managed-executor-service"),
     MANAGED_SCHEDULED_EXECUTOR_SERVICES("managed-scheduled-executor-services"),
     MANAGED_SCHEDULED_EXECUTOR_SERVICE("managed-scheduled-executor-service"),
+    MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICES("managed-virtual-thread-executor-services"),
+    MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE("managed-virtual-thread-executor-service"),
 
     DEFAULT_BINDINGS("default-bindings"),
 
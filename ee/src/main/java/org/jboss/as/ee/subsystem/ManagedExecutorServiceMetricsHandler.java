@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.subsystem;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ee.concurrent.ManagedExecutorRuntimeStats;
+import org.jboss.as.ee.concurrent.service.ConcurrentServiceNames;
+import org.jboss.as.ee.concurrent.service.ManagedExecutorServiceService;
+import org.jboss.as.ee.concurrent.service.ManagedScheduledExecutorServiceService;
+import org.jboss.as.ee.concurrent.service.ManagedVirtualThreadExecutorServiceService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Reads the runtime statistics of a managed executor service, of a managed scheduled executor service, or of a managed
+ * virtual thread executor service.
+ * Reports 0 if the executor is not started.
+ */
+class ManagedExecutorServiceMetricsHandler implements OperationStepHandler {
+
+    public static final String ACTIVE_THREAD_COUNT = "active-thread-count";
+    public static final String COMPLETED_TASK_COUNT = "completed-task-count";
+    public static final String CURRENT_QUEUE_SIZE = "current-queue-size";
+    public static final String HUNG_THREAD_COUNT = "hung-thread-count";
+    public static final String LARGEST_THREAD_COUNT = "largest-thread-count";
+    public static final String REJECTED_TASK_COUNT = "rejected-task-count";
+    public static final String TASK_COUNT = "task-count";
+    public static final String THREAD_COUNT = "thread-count";
+
+    static final SimpleAttributeDefinition ACTIVE_THREAD_COUNT_AD = createMetric(ACTIVE_THREAD_COUNT, ModelType.INT);
+    static final SimpleAttributeDefinition COMPLETED_TASK_COUNT_AD = createMetric(COMPLETED_TASK_COUNT, ModelType.LONG);
+    static final SimpleAttributeDefinition CURRENT_QUEUE_SIZE_AD = createMetric(CURRENT_QUEUE_SIZE, ModelType.INT);
+    static final SimpleAttributeDefinition HUNG_THREAD_COUNT_AD = createMetric(HUNG_THREAD_COUNT, ModelType.INT);
+    static final SimpleAttributeDefinition LARGEST_THREAD_COUNT_AD = createMetric(LARGEST_THREAD_COUNT, ModelType.INT);
+    static final SimpleAttributeDefinition REJECTED_TASK_COUNT_AD = createMetric(REJECTED_TASK_COUNT, ModelType.LONG);
+    static final SimpleAttributeDefinition TASK_COUNT_AD = createMetric(TASK_COUNT, ModelType.LONG);
+    static final SimpleAttributeDefinition THREAD_COUNT_AD = createMetric(THREAD_COUNT, ModelType.INT);
+
+    static final SimpleAttributeDefinition[] METRICS = {ACTIVE_THREAD_COUNT_AD, COMPLETED_TASK_COUNT_AD, CURRENT_QUEUE_SIZE_AD, HUNG_THREAD_COUNT_AD, LARGEST_THREAD_COUNT_AD, REJECTED_TASK_COUNT_AD, TASK_COUNT_AD, THREAD_COUNT_AD};
+
+    static final ManagedExecutorServiceMetricsHandler MANAGED_EXECUTOR_SERVICE = new ManagedExecutorServiceMetricsHandler(ConcurrentServiceNames::getManagedExecutorServiceServiceName,
+            service -> ((ManagedExecutorServiceService) service).getRuntimeStats());
+
+    static final ManagedExecutorServiceMetricsHandler MANAGED_SCHEDULED_EXECUTOR_SERVICE = new ManagedExecutorServiceMetricsHandler(ConcurrentServiceNames::getManagedScheduledExecutorServiceServiceName,
+            service -> ((ManagedScheduledExecutorServiceService) service).getRuntimeStats());
+
+    static final ManagedExecutorServiceMetricsHandler MANAGED_VIRTUAL_THREAD_EXECUTOR_SERVICE = new ManagedExecutorServiceMetricsHandler(ConcurrentServiceNames::getManagedVirtualThreadExecutorServiceServiceName,
+            service -> ((ManagedVirtualThreadExecutorServiceService) service).getRuntimeStats());
+
+    private final Function<String, ServiceName> serviceNameFactory;
+    private final Function<Service<?>, ManagedExecutorRuntimeStats> statsProvider;
+
+    private ManagedExecutorServiceMetricsHandler(Function<String, ServiceName> serviceNameFactory, Function<Service<?>, ManagedExecutorRuntimeStats> statsProvider) {
+        this.serviceNameFactory = serviceNameFactory;
+        this.statsProvider = statsProvider;
+    }
+
+    private static SimpleAttributeDefinition createMetric(String name, ModelType type) {
+        return new SimpleAttributeDefinitionBuilder(name, type)
+                .setUndefinedMetricValue(new ModelNode(0))
+                .setStorageRuntime()
+                .build();
+    }
+
+    void registerMetrics(ManagementResourceRegistration resourceRegistration) {
+        for (SimpleAttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, this);
+        }
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(this.serviceNameFactory.apply(context.getCurrentAddressValue()));
+        final ManagedExecutorRuntimeStats stats = ((controller != null) && (controller.getState() == ServiceController.State.UP)) ? this.statsProvider.apply(controller.getService()) : null;
+        if (stats != null) {
+            switch (name) {
+                case ACTIVE_THREAD_COUNT:
+                    context.getResult().set(stats.getActiveThreadsCount());
+                    break;
+                case COMPLETED_TASK_COUNT:
+                    context.getResult().set(stats.getCompletedTaskCount());
+                    break;
+                case CURRENT_QUEUE_SIZE:
+                    context.getResult().set(stats.getQueueSize());
+                    break;
+                case HUNG_THREAD_COUNT:
+                    context.getResult().set(stats.getHungThreadsCount());
+                    break;
+                case LARGEST_THREAD_COUNT:
+                    context.getResult().set(stats.getLargestThreadsCount());
+                    break;
+                case REJECTED_TASK_COUNT:
+                    context.getResult().set(stats.getRejectedTaskCount());
+                    break;
+                case TASK_COUNT:
+                    context.getResult().set(stats.getTaskCount());
+                    break;
+                case THREAD_COUNT:
+                    context.getResult().set(stats.getThreadsCount());
+                    break;
+            }
+        }
+        context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.subsystem;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ee.concurrent.service.ConcurrentServiceNames;
+import org.jboss.as.ee.concurrent.service.ManagedVirtualThreadExecutorServiceService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceBuilder;
+import org.wildfly.extension.requestcontroller.RequestController;
+import org.wildfly.extension.requestcontroller.RequestControllerExtension;
+
+/**
+ * Adds a managed executor service running each task on a virtual thread.
+ */
+public class ManagedVirtualThreadExecutorServiceAdd extends AbstractAddStepHandler {
+
+    static final ManagedVirtualThreadExecutorServiceAdd INSTANCE = new ManagedVirtualThreadExecutorServiceAdd();
+
+    private ManagedVirtualThreadExecutorServiceAdd() {
+        super(ManagedVirtualThreadExecutorServiceResourceDefinition.ATTRIBUTES);
+    }
+
+    @Override
+    protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        final String name = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.ADDRESS)).getLastElement().getValue();
+
+        final String jndiName = ManagedVirtualThreadExecutorServiceResourceDefinition.JNDI_NAME_AD.resolveModelAttribute(context, model).asString();
+
+        final ModelNode maxThreadsModel = ManagedVirtualThreadExecutorServiceResourceDefinition.MAX_THREADS_AD.resolveModelAttribute(context, model);
+        // 0 means unbounded
+        final int maxThreads = maxThreadsModel.isDefined() ? maxThreadsModel.asInt() : 0;
+
+        final ManagedVirtualThreadExecutorServiceService service = new ManagedVirtualThreadExecutorServiceService(name, jndiName, maxThreads);
+        final ServiceBuilder<ManagedExecutorService> serviceBuilder = context.getServiceTarget().addService(ConcurrentServiceNames.getManagedVirtualThreadExecutorServiceServiceName(name), service);
+
+        boolean rcPresent = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS).hasChild(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, RequestControllerExtension.SUBSYSTEM_NAME));
+        if (model.hasDefined(ManagedVirtualThreadExecutorServiceResourceDefinition.CONTEXT_SERVICE)) {
+            final String contextService = ManagedVirtualThreadExecutorServiceResourceDefinition.CONTEXT_SERVICE_AD.resolveModelAttribute(context, model).asString();
+            serviceBuilder.addDependency(ConcurrentServiceNames.getContextServiceServiceName(contextService), ContextServiceImpl.class, service.getContextServiceInjector());
+        }
+        if (rcPresent) {
+            serviceBuilder.addDependency(RequestController.SERVICE_NAME, RequestController.class, service.getRequestController());
+        }
+        serviceBuilder.install();
+    }
+}
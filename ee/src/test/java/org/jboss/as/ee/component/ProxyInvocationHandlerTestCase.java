@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+/**
+ * Tests the interceptor contexts created by {@link ProxyInvocationHandler}.
+ */
+public class ProxyInvocationHandlerTestCase {
+
+    private static final Method CALL = getCallMethod();
+
+    private final Component component = createProxy(Component.class, null);
+    private final ComponentView view = createProxy(ComponentView.class, this.component);
+
+    @Test
+    public void testInterceptorContext() throws Throwable {
+        ComponentClientInstance instance = new ComponentClientInstance();
+        instance.setViewInstanceData("key", "value");
+        instance.constructionComplete();
+        Object proxy = new Object();
+        ProxyInvocationHandler handler = new ProxyInvocationHandler(Collections.singletonMap(CALL, context -> {
+            assertSame(proxy, context.getPrivateData(Object.class));
+            assertSame(this.component, context.getPrivateData(Component.class));
+            assertSame(this.view, context.getPrivateData(ComponentView.class));
+            assertEquals("value", context.getPrivateData("key"));
+            assertEquals(CALL, context.getMethod());
+            // Context data must not leak into subsequent invocations
+            assertTrue(context.getContextData().isEmpty());
+            context.getContextData().put("invocation", context.getParameters()[0]);
+            return context.getContextData().get("invocation");
+        }), instance, this.view);
+
+        for (int i = 0; i < 3; ++i) {
+            assertEquals(i, handler.invoke(proxy, CALL, new Object[] { i }));
+        }
+    }
+
+    @Test
+    public void testInvocationDuringConstruction() throws Throwable {
+        ComponentClientInstance instance = new ComponentClientInstance();
+        ProxyInvocationHandler handler = new ProxyInvocationHandler(Collections.singletonMap(CALL, context -> context.getPrivateData("key")), instance, this.view);
+
+        assertNull(handler.invoke(null, CALL, null));
+        // Instance data set after an invocation during construction must be visible to subsequent invocations
+        instance.setViewInstanceData("key", "value");
+        instance.constructionComplete();
+        assertEquals("value", handler.invoke(null, CALL, null));
+    }
+
+    @Test
+    public void testLazyContextData() {
+        Map<String, Object> data = new LazyContextData();
+        assertTrue(data.isEmpty());
+        assertNull(data.remove("key"));
+        data.clear();
+        assertTrue(data.entrySet().isEmpty());
+        data.put("key", "value");
+        assertEquals(Collections.singletonMap("key", "value"), data);
+        assertEquals("value", data.remove("key"));
+        assertTrue(data.isEmpty());
+    }
+
+    private static Method getCallMethod() {
+        try {
+            return Callable.class.getMethod("call");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T createProxy(Class<T> targetClass, Object component) {
+        return targetClass.cast(Proxy.newProxyInstance(targetClass.getClassLoader(), new Class<?>[] { targetClass }, (proxy, method, args) -> {
+            if (method.getName().equals("getComponent")) {
+                return component;
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return targetClass.getSimpleName();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptiveThreadPoolSizer}.
+ */
+public class AdaptiveThreadPoolSizerTestCase {
+
+    @Test
+    public void growAndShrink() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 4, 10, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        try {
+            AdaptiveThreadPoolSizer sizer = new AdaptiveThreadPoolSizer(executor, 1, TimeUnit.MILLISECONDS, 20);
+
+            // Tasks slower than their arrival rate build up a queue
+            assertTrue(submitUntil(executor, sizer, 20, 5, () -> executor.getCorePoolSize() == 4));
+            assertEquals(4, executor.getMaximumPoolSize());
+
+            while (!executor.getQueue().isEmpty()) {
+                Thread.sleep(10);
+            }
+
+            // Sparse, quick tasks do not wait
+            assertTrue(submitUntil(executor, sizer, 0, 30, () -> executor.getCorePoolSize() == 1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void fixedWithoutQueueing() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 4, 10, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        try {
+            AdaptiveThreadPoolSizer sizer = new AdaptiveThreadPoolSizer(executor, 100, TimeUnit.MILLISECONDS, 20);
+            for (int i = 0; i < 20; ++i) {
+                executor.execute(sizer.wrap(() -> { }));
+                Thread.sleep(10);
+                assertEquals(2, executor.getCorePoolSize());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean submitUntil(ThreadPoolExecutor executor, AdaptiveThreadPoolSizer sizer, long taskDuration, long interval, BooleanSupplier condition) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() - end < 0) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            executor.execute(sizer.wrap(() -> {
+                try {
+                    Thread.sleep(taskDuration);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            Thread.sleep(interval);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.concurrent.ManagedTask;
+import javax.enterprise.concurrent.ManagedTaskListener;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ManagedVirtualThreadExecutorServiceImpl}.
+ */
+public class ManagedVirtualThreadExecutorServiceImplTestCase {
+
+    @Test
+    public void maxThreads() throws Exception {
+        ManagedVirtualThreadExecutorServiceImpl executor = new ManagedVirtualThreadExecutorServiceImpl("test", 2, null, null);
+        try {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; ++i) {
+                futures.add(executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(10);
+                    running.decrementAndGet();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertTrue(maxRunning.get() <= 2);
+            assertEquals(10, executor.getTaskCount());
+        } finally {
+            executor.terminate();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void lifecycle() {
+        ManagedVirtualThreadExecutorServiceImpl executor = new ManagedVirtualThreadExecutorServiceImpl("test", 1, null, null);
+        try {
+            executor.shutdown();
+        } finally {
+            executor.terminate();
+        }
+    }
+
+    @Test
+    public void listener() throws Exception {
+        ManagedVirtualThreadExecutorServiceImpl executor = new ManagedVirtualThreadExecutorServiceImpl("test", 1, null, null);
+        try {
+            List<String> events = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(1);
+            Future<String> future = executor.submit(new ListenedTask(events, done));
+            assertEquals("result", future.get(5, TimeUnit.SECONDS));
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("submitted", "starting", "done"), events);
+
+            // A queued task is aborted on termination
+            executor.submit(() -> {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                return null;
+            });
+            events.clear();
+            CountDownLatch aborted = new CountDownLatch(1);
+            Future<String> queued = executor.submit(new ListenedTask(events, aborted));
+            executor.terminate();
+            assertTrue(queued.isCancelled());
+            assertTrue(aborted.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("submitted", "aborted", "done"), events);
+        } finally {
+            executor.terminate();
+        }
+    }
+
+    private static class ListenedTask implements Callable<String>, ManagedTask, ManagedTaskListener {
+        private final List<String> events;
+        private final CountDownLatch done;
+
+        ListenedTask(List<String> events, CountDownLatch done) {
+            this.events = events;
+            this.done = done;
+        }
+
+        @Override
+        public String call() {
+            return "result";
+        }
+
+        @Override
+        public Map<String, String> getExecutionProperties() {
+            return null;
+        }
+
+        @Override
+        public ManagedTaskListener getManagedTaskListener() {
+            return this;
+        }
+
+        @Override
+        public void taskSubmitted(Future<?> future, ManagedExecutorService executor, Object task) {
+            this.events.add("submitted");
+        }
+
+        @Override
+        public void taskStarting(Future<?> future, ManagedExecutorService executor, Object task) {
+            this.events.add("starting");
+        }
+
+        @Override
+        public void taskAborted(Future<?> future, ManagedExecutorService executor, Object task, Throwable exception) {
+            this.events.add("aborted");
+        }
+
+        @Override
+        public void taskDone(Future<?> future, ManagedExecutorService executor, Object task, Throwable exception) {
+            this.events.add("done");
+            this.done.countDown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.structure;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AnnotationIndexCache}.
+ */
+public class AnnotationIndexCacheTestCase {
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("annotation-index").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void putAndGet() throws IOException {
+        AnnotationIndexCache cache = new AnnotationIndexCache(this.directory, 10);
+        assertNull(cache.get("missing"));
+
+        cache.put("fingerprint", index(AnnotationIndexCacheTestCase.class));
+        Index index = cache.get("fingerprint");
+        assertNotNull(index);
+        assertNotNull(index.getClassByName(DotName.createSimple(AnnotationIndexCacheTestCase.class.getName())));
+        // No temporary file is left behind
+        assertEquals(1, this.directory.list().length);
+    }
+
+    @Test
+    public void unreadable() throws IOException {
+        AnnotationIndexCache cache = new AnnotationIndexCache(this.directory, 10);
+        File file = new File(this.directory, "fingerprint.idx");
+        Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+        assertNull(cache.get("fingerprint"));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void evict() throws IOException {
+        AnnotationIndexCache cache = new AnnotationIndexCache(this.directory, 2);
+        Index index = index(AnnotationIndexCacheTestCase.class);
+        for (int i = 0; i < 3; ++i) {
+            cache.put(Integer.toString(i), index);
+            new File(this.directory, i + ".idx").setLastModified(1000L * (i + 1));
+        }
+        // Reading an index marks it as recently used
+        assertNotNull(cache.get("0"));
+        cache.evict();
+        assertTrue(new File(this.directory, "0.idx").exists());
+        assertFalse(new File(this.directory, "1.idx").exists());
+        assertTrue(new File(this.directory, "2.idx").exists());
+    }
+
+    private static Index index(Class<?> targetClass) throws IOException {
+        Indexer indexer = new Indexer();
+        try (InputStream input = targetClass.getResourceAsStream(targetClass.getSimpleName() + ".class")) {
+            indexer.index(input);
+        }
+        return indexer.complete();
+    }
+}
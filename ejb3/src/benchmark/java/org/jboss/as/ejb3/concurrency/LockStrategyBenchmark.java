@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the {@link LockStrategy} implementations under a read-mostly load, in which 7 threads
+ * read and 1 thread writes the state guarded by a singleton bean lock.
+ * Locks are acquired as {@link ContainerManagedConcurrencyInterceptor} does, i.e. with a timeout.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LockStrategyBenchmark {
+
+    private static final long TIMEOUT = 5L;
+
+    @Param({ "READ_WRITE", "READ_MOSTLY" })
+    public LockStrategy strategy;
+
+    private ReadWriteLock lock;
+    private long first;
+    private long second;
+
+    @Setup
+    public void setUp() {
+        this.lock = this.strategy.createLock();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(7)
+    public boolean read() throws InterruptedException {
+        Lock lock = this.acquire(this.lock.readLock());
+        try {
+            return this.first == this.second;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public long write() throws InterruptedException {
+        Lock lock = this.acquire(this.lock.writeLock());
+        try {
+            this.first += 1;
+            return this.second += 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock acquire(Lock lock) throws InterruptedException {
+        if (!lock.tryLock(TIMEOUT, TimeUnit.SECONDS)) {
+            throw new IllegalStateException();
+        }
+        return lock;
+    }
+}
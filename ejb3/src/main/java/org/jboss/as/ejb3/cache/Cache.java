@@ -94,6 +94,27 @@ public interface Cache<K, V extends Identifiable<K>> extends AffinitySupport<K>,
 
     int getTotalSize();
 
+    /**
+     * @return the number of objects that were removed from this cache because their timeout elapsed
+     */
+    default long getExpiredCount() {
+        return 0;
+    }
+
+    /**
+     * @return the average time in milliseconds between the timeout of an expired object and its actual removal
+     */
+    default long getAverageExpirationLag() {
+        return 0;
+    }
+
+    /**
+     * @return the maximum time in milliseconds between the timeout of an expired object and its actual removal
+     */
+    default long getMaxExpirationLag() {
+        return 0;
+    }
+
     /**
      * Checks whether the supplied {@link Throwable} is remotable meaning it can be safely sent to the client over the wire.
      */
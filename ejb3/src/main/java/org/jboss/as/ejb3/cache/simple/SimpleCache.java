@@ -22,13 +22,16 @@
 package org.jboss.as.ejb3.cache.simple;
 
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 import org.jboss.as.ejb3.cache.Cache;
 import org.jboss.as.ejb3.cache.Identifiable;
@@ -42,6 +45,13 @@ import org.wildfly.clustering.ejb.IdentifierFactory;
 
 /**
  * Simple {@link Cache} implementation using in-memory storage and eager expiration.
+ * <p/>
+ * Idle beans are expired via a hashed wheel of buckets, each covering a tick of a fraction of the stateful timeout,
+ * which is swept by a single periodic task. A released bean is only added to the wheel if it is not already contained
+ * in a bucket. Accessing a bean does not touch the wheel: when the bucket of a bean that was used since it was added
+ * is swept, the bean is either moved to the bucket of its new expiration time, or dropped from the wheel while it is
+ * still in use, to be added again once released. Beans are never expired before their stateful timeout elapsed,
+ * but may be expired up to a tick later.
  *
  * @author Paul Ferraro
  *
@@ -50,47 +60,83 @@ import org.wildfly.clustering.ejb.IdentifierFactory;
  */
 public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
 
-    final Map<K, Future<?>> expirationFutures = new ConcurrentHashMap<>();
+    private static final int TICKS_PER_TIMEOUT = 32;
+    private static final long MIN_TICK = 10;
+
     private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
     private final StatefulObjectFactory<V> factory;
     private final IdentifierFactory<K> identifierFactory;
-    private final StatefulTimeoutInfo timeout;
     private final ServerEnvironment environment;
     private final ScheduledExecutorService executor;
+    // Source of the current time in milliseconds
+    private final LongSupplier clock;
+    // The stateful timeout in ms, or -1 if beans never expire
+    private final long timeout;
+    private final long tick;
+    // Guarded by itself while swept
+    private final Queue<Entry<V>>[] buckets;
+    private volatile long currentTick;
+    private volatile Future<?> expirationFuture;
+
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder totalExpirationLag = new LongAdder();
+    private final AtomicLong maxExpirationLag = new AtomicLong();
 
     public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment, ScheduledExecutorService executor) {
+        this(factory, identifierFactory, timeout, environment, executor, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment, ScheduledExecutorService executor, LongSupplier clock) {
         this.factory = factory;
         this.identifierFactory = identifierFactory;
-        this.timeout = timeout;
         this.environment = environment;
         this.executor = executor;
+        this.clock = clock;
+        long value = (timeout != null) ? timeout.getValue() : -1L;
+        if (value > 0) {
+            // Round sub-millisecond timeouts up
+            this.timeout = Math.max(timeout.getTimeUnit().toMillis(value), 1L);
+        } else {
+            this.timeout = (value == 0) ? 0L : -1L;
+        }
+        if (this.timeout > 0) {
+            this.tick = Math.max(this.timeout / TICKS_PER_TIMEOUT, MIN_TICK);
+            // Enough buckets so that a bucket is not reused before the expirations it holds are due
+            this.buckets = new Queue[(int) (this.timeout / this.tick) + 3];
+            for (int i = 0; i < this.buckets.length; ++i) {
+                this.buckets[i] = new ConcurrentLinkedQueue<>();
+            }
+        } else {
+            this.tick = 0L;
+            this.buckets = new Queue[0];
+        }
     }
 
     @Override
     public void start() {
-        // Do nothing
+        if (this.timeout > 0) {
+            this.currentTick = this.clock.getAsLong() / this.tick;
+            this.expirationFuture = this.executor.scheduleWithFixedDelay(new ExpirationTask(), this.tick, this.tick, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public void stop() {
-        for (Future<?> future: this.expirationFutures.values()) {
-            future.cancel(true);
+        Future<?> future = this.expirationFuture;
+        if (future != null) {
+            future.cancel(false);
+            this.expirationFuture = null;
         }
-        for (Future<?> future: this.expirationFutures.values()) {
-            if (!future.isCancelled() && !future.isDone()) {
-                try {
-                    future.get();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                } catch (ExecutionException e) {
-                    // Ignore
-                }
+        // Wait for a running sweep to complete
+        synchronized (this.buckets) {
+            for (Queue<Entry<V>> bucket : this.buckets) {
+                bucket.clear();
             }
         }
         for(Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
             this.factory.destroyInstance(entry.getValue().getValue());
         }
-        this.expirationFutures.clear();
         this.entries.clear();
     }
 
@@ -135,13 +181,9 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
 
     @Override
     public V get(K key) {
-        Future<?> future = this.expirationFutures.get(key);
-        if (future != null) {
-            future.cancel(true);
-        }
         Entry<V> entry = this.entries.get(key);
-        if (entry == null) return null;
-        entry.use();
+        // An entry that is being expired can no longer be used
+        if ((entry == null) || !entry.use()) return null;
         return entry.getValue();
     }
 
@@ -154,25 +196,29 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
     public void release(V bean) {
         K id = bean.getId();
         Entry<V> entry = this.entries.get(id);
-        if ((entry != null) && entry.done()) {
-            if (this.timeout != null) {
-                long value = this.timeout.getValue();
-                if (value > 0) {
-                    TimeUnit unit = this.timeout.getTimeUnit();
-                    RemoveTask task = new RemoveTask(id);
-                    // Make sure the expiration future map insertion happens before map removal (during task execution).
-                    synchronized (task) {
-                        this.expirationFutures.put(id, this.executor.schedule(task, value, unit));
-                    }
-                } else if (value == 0) {
-                    // The EJB specification allows a 0 timeout, which means the bean is immediately eligible for removal.
-                    // However, removing it directly is faster than scheduling it for immediate removal.
-                    remove(id);
+        if (entry != null) {
+            if (this.timeout > 0) {
+                long expiration = this.clock.getAsLong() + this.timeout;
+                if (entry.done(expiration)) {
+                    this.schedule(entry, expiration, this.currentTick);
                 }
+            } else if (entry.done(Long.MAX_VALUE) && (this.timeout == 0)) {
+                // The EJB specification allows a 0 timeout, which means the bean is immediately eligible for removal.
+                // However, removing it directly is faster than scheduling it for immediate removal.
+                remove(id);
             }
         }
     }
 
+    /**
+     * Adds the specified entry to the bucket of its expiration time, or of the tick following the specified tick,
+     * whichever comes later.
+     */
+    private void schedule(Entry<V> entry, long expiration, long currentTick) {
+        long tick = Math.min(Math.max(expiration / this.tick, currentTick + 1), currentTick + this.buckets.length - 1);
+        this.buckets[(int) (tick % this.buckets.length)].add(entry);
+    }
+
     @Override
     public int getCacheSize() {
         return this.entries.size();
@@ -188,36 +234,126 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V> {
         return this.getCacheSize();
     }
 
-    class RemoveTask implements Runnable {
-        private final K key;
+    @Override
+    public long getExpiredCount() {
+        return this.expiredCount.sum();
+    }
 
-        RemoveTask(K key) {
-            this.key = key;
-        }
+    @Override
+    public long getAverageExpirationLag() {
+        long count = this.expiredCount.sum();
+        return (count > 0) ? this.totalExpirationLag.sum() / count : 0;
+    }
+
+    @Override
+    public long getMaxExpirationLag() {
+        return this.maxExpirationLag.get();
+    }
 
+    /**
+     * Sweeps the buckets of the ticks that elapsed since the previous sweep.
+     */
+    class ExpirationTask implements Runnable {
         @Override
-        public synchronized void run() {
-            if (!Thread.currentThread().isInterrupted()) {
-                SimpleCache.this.remove(this.key);
+        public void run() {
+            Queue<Entry<V>>[] buckets = SimpleCache.this.buckets;
+            synchronized (buckets) {
+                long now = SimpleCache.this.clock.getAsLong();
+                long target = now / SimpleCache.this.tick;
+                long first = Math.max(SimpleCache.this.currentTick + 1, target - buckets.length + 1);
+                // Releases from now on are added to the buckets of subsequent ticks
+                SimpleCache.this.currentTick = target;
+                for (long tick = first; tick <= target; ++tick) {
+                    Queue<Entry<V>> bucket = buckets[(int) (tick % buckets.length)];
+                    Entry<V> entry = bucket.poll();
+                    while (entry != null) {
+                        this.expire(entry, now, target);
+                        entry = bucket.poll();
+                    }
+                }
+            }
+        }
+
+        private void expire(Entry<V> entry, long now, long currentTick) {
+            long expiration = entry.expire(now);
+            if (expiration > now) {
+                if (expiration != Long.MAX_VALUE) {
+                    // Used since it was added, so move it to the bucket of its new expiration time
+                    SimpleCache.this.schedule(entry, expiration, currentTick);
+                }
+                return;
+            }
+            V bean = entry.getValue();
+            if (SimpleCache.this.entries.remove(bean.getId(), entry)) {
+                long lag = now - expiration;
+                SimpleCache.this.expiredCount.increment();
+                SimpleCache.this.totalExpirationLag.add(lag);
+                SimpleCache.this.maxExpirationLag.accumulateAndGet(lag, Math::max);
+                try {
+                    SimpleCache.this.factory.destroyInstance(bean);
+                } catch (Throwable e) {
+                    EjbLogger.EJB3_INVOCATION_LOGGER.failedToExpireBean(bean.getId(), e);
+                }
             }
-            SimpleCache.this.expirationFutures.remove(this.key);
         }
     }
 
+    /**
+     * A cached bean, along with its usage count and expiration time. Guarded by its monitor.
+     */
     static class Entry<V> {
         private final V value;
-        private final AtomicInteger usage = new AtomicInteger();
+        private int usage;
+        private long expiration = Long.MAX_VALUE;
+        private boolean scheduled;
+        private boolean expired;
 
         Entry(V value) {
             this.value = value;
         }
 
-        void use() {
-            this.usage.incrementAndGet();
+        synchronized boolean use() {
+            if (this.expired) {
+                return false;
+            }
+            this.usage += 1;
+            return true;
+        }
+
+        /**
+         * Decrements the usage count, and if this entry is no longer in use, sets its expiration time.
+         * @return true, if this entry is no longer in use and needs to be added to a bucket
+         */
+        synchronized boolean done(long expiration) {
+            this.usage -= 1;
+            if (this.usage != 0) {
+                return false;
+            }
+            this.expiration = expiration;
+            if (this.scheduled || this.expired) {
+                return false;
+            }
+            this.scheduled = true;
+            return true;
         }
 
-        boolean done() {
-            return this.usage.decrementAndGet() == 0;
+        /**
+         * Expires this entry, if it is not in use and its expiration time elapsed.
+         * Otherwise, if this entry is in use, it is no longer considered to be contained in a bucket.
+         * @return the expiration time of this entry, {@link Long#MAX_VALUE} if it is in use or was already expired
+         */
+        synchronized long expire(long now) {
+            if (this.expired) {
+                return Long.MAX_VALUE;
+            }
+            if (this.usage > 0) {
+                this.scheduled = false;
+                return Long.MAX_VALUE;
+            }
+            if (this.expiration <= now) {
+                this.expired = true;
+            }
+            return this.expiration;
         }
 
         V getValue() {
@@ -29,7 +29,9 @@ import org.jboss.as.ee.component.InjectionSource;
 import org.jboss.as.ee.component.ViewConfiguration;
 import org.jboss.as.ee.component.ViewConfigurator;
 import org.jboss.as.ee.component.ViewDescription;
+import org.jboss.as.ejb3.remote.LocalInvocationCloners;
 import org.jboss.as.ejb3.remote.RemoteViewInjectionSource;
+import org.jboss.as.ejb3.remote.RemoteViewMethodIndex;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.invocation.proxy.ProxyFactory;
@@ -64,6 +66,11 @@ public class EJBViewDescription extends ViewDescription {
             @Override
             public void configure(final DeploymentPhaseContext context, final ComponentConfiguration componentConfiguration, final ViewDescription description, final ViewConfiguration configuration) throws DeploymentUnitProcessingException {
                 configuration.putPrivateData(MethodIntf.class, getMethodIntf());
+                if (methodIntf == MethodIntf.REMOTE || methodIntf == MethodIntf.HOME) {
+                    // index the view methods, so that remote invocations can resolve them without a scan
+                    configuration.putPrivateData(RemoteViewMethodIndex.class, new RemoteViewMethodIndex(configuration.getProxyFactory().getCachedMethods()));
+                    configuration.putPrivateData(LocalInvocationCloners.class, new LocalInvocationCloners(componentConfiguration.getModuleClassLoader()));
+                }
             }
         });
         // add a view configurator for setting up application specific container interceptors for the EJB view
@@ -22,17 +22,22 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Invocation statistics of an EJB component.
+ * <p/>
+ * All counters are striped, so that recording an invocation neither allocates nor contends on a single location.
+ * Per method statistics are kept in a slot per {@link Method}, which is resolved on the first invocation of the method.
+ * Methods are reported by name, so the statistics of overloaded methods are combined.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
@@ -60,38 +65,93 @@ public class InvocationMetrics {
         }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
-    private final AtomicLong concurrent = new AtomicLong(0);
-    private final AtomicLong peakConcurrent = new AtomicLong(0);
+    /**
+     * Striped counters of invocations and their total wait and execution time.
+     */
+    private static class Counters {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder executionTime = new LongAdder();
+        final LongAdder waitTime = new LongAdder();
+
+        void add(final long invocationWaitTime, final long invocationExecutionTime) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionTime.add(invocationExecutionTime);
+        }
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+        Values getValues() {
+            return new Values(invocations.sum(), waitTime.sum(), executionTime.sum());
+        }
+    }
 
-    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
-        concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
+    private static class MethodCounters extends Counters {
+        final String name;
+
+        MethodCounters(final String name) {
+            this.name = name;
         }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
+    }
+
+    /**
+     * A histogram of durations, with buckets whose bounds are powers of 2.
+     * Bucket {@code i} counts the durations {@code d} with {@code 2^(i-1) <= d < 2^i} milliseconds, bucket 0 counts
+     * durations of 0 and the last bucket counts all longer durations.
+     */
+    public static class Histogram {
+        private static final int BUCKETS = 32;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(final long duration) {
+            final int bucket = 64 - Long.numberOfLeadingZeros(Math.max(duration, 0L));
+            buckets[Math.min(bucket, BUCKETS - 1)].increment();
+        }
+
+        /**
+         * @return the counts of the non-empty buckets, in ascending order, keyed by the inclusive upper bound
+         * in milliseconds of their bucket, where the last bucket is unbounded and keyed by {@link Long#MAX_VALUE}
+         */
+        public Map<Long, Long> getCounts() {
+            final Map<Long, Long> counts = new LinkedHashMap<Long, Long>();
+            for (int i = 0; i < BUCKETS; i++) {
+                final long count = buckets[i].sum();
+                if (count > 0) {
+                    counts.put((i < BUCKETS - 1) ? (1L << i) - 1 : Long.MAX_VALUE, count);
+                }
+            }
+            return counts;
         }
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
+    private final Counters counters = new Counters();
+    private final AtomicLong concurrent = new AtomicLong(0);
+    private final AtomicLong peakConcurrent = new AtomicLong(0);
+    private final Histogram executionTimeHistogram = new Histogram();
+    private final Histogram waitTimeHistogram = new Histogram();
+
+    private final ConcurrentMap<Method, MethodCounters> methods = new ConcurrentHashMap<Method, MethodCounters>();
+
+    // clones of parameters, results and exceptions of in-VM invocations of remote views
+    private final LongAdder clones = new LongAdder();
+    private final LongAdder cloneTime = new LongAdder();
+    private final LongAdder cloneBypasses = new LongAdder();
+
+    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
+        concurrent.decrementAndGet();
+        counters.add(invocationWaitTime, invocationExecutionTime);
+        executionTimeHistogram.record(invocationExecutionTime);
+        waitTimeHistogram.record(invocationWaitTime);
+        MethodCounters methodCounters = methods.get(method);
+        if (methodCounters == null) {
+            methodCounters = methods.computeIfAbsent(method, m -> new MethodCounters(m.getName()));
         }
-        return ref;
+        methodCounters.add(invocationWaitTime, invocationExecutionTime);
     }
 
     public long getConcurrent() {
@@ -99,62 +159,22 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return counters.executionTime.sum();
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return counters.invocations.sum();
     }
 
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
-            }
-        };
+        final Map<String, Values> result = new HashMap<String, Values>();
+        for (final MethodCounters methodCounters : methods.values()) {
+            final Values values = methodCounters.getValues();
+            // overloaded methods, and methods of different classes in the hierarchy, share a name
+            final Values existing = result.get(methodCounters.name);
+            result.put(methodCounters.name, (existing == null) ? values : new Values(existing.invocations + values.invocations, existing.waitTime + values.waitTime, existing.executionTime + values.executionTime));
+        }
+        return result;
     }
 
     public long getPeakConcurrent() {
@@ -162,13 +182,53 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return counters.waitTime.sum();
+    }
+
+    public Histogram getExecutionTimeHistogram() {
+        return executionTimeHistogram;
+    }
+
+    public Histogram getWaitTimeHistogram() {
+        return waitTimeHistogram;
     }
 
     void startInvocation() {
         final long v = concurrent.incrementAndGet();
         // concurrent might decrement here, but we take that missing peak for granted.
         if (peakConcurrent.get() < v)
-            peakConcurrent.incrementAndGet();
+            peakConcurrent.accumulateAndGet(v, Math::max);
+    }
+
+    /**
+     * Records the clone of a parameter, result or exception of an in-VM invocation of a remote view.
+     * @param time the time in nanoseconds it took to clone the object
+     */
+    public void finishClone(final long time) {
+        clones.increment();
+        cloneTime.add(time);
+    }
+
+    /**
+     * Records a parameter, result or exception of an in-VM invocation of a remote view that was passed without a clone,
+     * because it is immutable.
+     */
+    public void bypassClone() {
+        cloneBypasses.increment();
+    }
+
+    public long getCloneCount() {
+        return clones.sum();
+    }
+
+    /**
+     * @return the total time in milliseconds spent cloning
+     */
+    public long getCloneTime() {
+        return TimeUnit.NANOSECONDS.toMillis(cloneTime.sum());
+    }
+
+    public long getCloneBypassCount() {
+        return cloneBypasses.sum();
     }
 }
@@ -58,9 +58,13 @@ public class StrictMaxPoolConfigService implements Service<PoolConfig> {
 
 
     public StrictMaxPoolConfigService(final String poolName, int declaredMaxSize, Derive derive, long timeout, TimeUnit timeUnit) {
+        this(poolName, declaredMaxSize, derive, timeout, timeUnit, false);
+    }
+
+    public StrictMaxPoolConfigService(final String poolName, int declaredMaxSize, Derive derive, long timeout, TimeUnit timeUnit, boolean sharded) {
         this.declaredMaxSize = declaredMaxSize;
         this.derive = derive;
-        this.poolConfig = new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit);
+        this.poolConfig = new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit, sharded);
     }
 
     @Override
@@ -111,6 +115,10 @@ public class StrictMaxPoolConfigService implements Service<PoolConfig> {
         poolConfig.setTimeoutUnit(timeUnit);
     }
 
+    public void setSharded(boolean sharded) {
+        poolConfig.setSharded(sharded);
+    }
+
     @Override
     public void stop(StopContext context) {
 
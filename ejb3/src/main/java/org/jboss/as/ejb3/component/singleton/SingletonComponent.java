@@ -37,6 +37,7 @@ import org.jboss.as.ejb3.component.EJBBusinessMethod;
 import org.jboss.as.ejb3.component.allowedmethods.AllowedMethodsInformation;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.ejb3.concurrency.AccessTimeoutDetails;
+import org.jboss.as.ejb3.concurrency.LockStrategy;
 import org.jboss.as.ejb3.concurrency.LockableComponent;
 import org.jboss.as.server.CurrentServiceContainer;
 import org.jboss.invocation.Interceptor;
@@ -67,6 +68,8 @@ public class SingletonComponent extends SessionBeanComponent implements Lockable
 
     private final DefaultAccessTimeoutService defaultAccessTimeoutProvider;
 
+    private final LockStrategy lockStrategy;
+
     private Interceptor interceptor;
 
     /**
@@ -91,6 +94,7 @@ public class SingletonComponent extends SessionBeanComponent implements Lockable
         this.methodLockTypes = singletonComponentCreateService.getMethodApplicableLockTypes();
         this.methodAccessTimeouts = singletonComponentCreateService.getMethodApplicableAccessTimeouts();
         this.defaultAccessTimeoutProvider = singletonComponentCreateService.getDefaultAccessTimeoutService();
+        this.lockStrategy = singletonComponentCreateService.getLockStrategy();
     }
 
     @Override
@@ -181,6 +185,11 @@ public class SingletonComponent extends SessionBeanComponent implements Lockable
         return defaultAccessTimeoutProvider.getDefaultAccessTimeout();
     }
 
+    @Override
+    public LockStrategy getLockStrategy() {
+        return this.lockStrategy;
+    }
+
     @Override
     public void setConcurrencyManagementInterceptor(Interceptor interceptor) {
         this.interceptor = interceptor;
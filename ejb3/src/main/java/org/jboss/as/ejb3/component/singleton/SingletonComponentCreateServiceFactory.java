@@ -28,6 +28,7 @@ import org.jboss.as.ee.component.DependencyConfigurator;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.component.DefaultAccessTimeoutService;
 import org.jboss.as.ejb3.component.EJBComponentCreateServiceFactory;
+import org.jboss.as.ejb3.concurrency.LockStrategy;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceName;
@@ -40,10 +41,12 @@ import java.util.List;
 public class SingletonComponentCreateServiceFactory extends EJBComponentCreateServiceFactory {
 
     private final boolean initOnStartup;
+    private final LockStrategy lockStrategy;
     private final List<ServiceName> dependsOn;
 
-    public SingletonComponentCreateServiceFactory(final boolean initServiceOnStartup, final List<ServiceName> dependsOn) {
+    public SingletonComponentCreateServiceFactory(final boolean initServiceOnStartup, final LockStrategy lockStrategy, final List<ServiceName> dependsOn) {
         this.initOnStartup = initServiceOnStartup;
+        this.lockStrategy = lockStrategy;
         this.dependsOn = dependsOn;
     }
 
@@ -60,6 +63,6 @@ public class SingletonComponentCreateServiceFactory extends EJBComponentCreateSe
                 serviceBuilder.addDependency(DefaultAccessTimeoutService.SINGLETON_SERVICE_NAME, DefaultAccessTimeoutService.class, componentCreateService.getDefaultAccessTimeoutInjector());
             }
         });
-        return new SingletonComponentCreateService(configuration, this.ejbJarConfiguration, this.initOnStartup, dependsOn);
+        return new SingletonComponentCreateService(configuration, this.ejbJarConfiguration, this.initOnStartup, this.lockStrategy, dependsOn);
     }
 }
@@ -64,6 +64,13 @@ public interface LockableComponent {
      */
     AccessTimeoutDetails getDefaultAccessTimeout();
 
+    /**
+     * Returns the {@link LockStrategy} used to create the lock guarding the component for container managed concurrency.
+     *
+     * @return
+     */
+    LockStrategy getLockStrategy();
+
     /**
      *
      * @return The name of this component
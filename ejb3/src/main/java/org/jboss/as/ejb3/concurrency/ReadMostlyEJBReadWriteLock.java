@@ -0,0 +1,360 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A {@link ReadWriteLock} for singleton beans whose methods are predominantly {@link javax.ejb.LockType#READ}.
+ * <p/>
+ * Like {@link EJBReadWriteLock}, both locks are reentrant, a thread holding the write lock may also obtain the read lock,
+ * and a thread holding a read lock that tries to obtain the write lock gets an {@link javax.ejb.IllegalLoopbackException}.
+ * <p/>
+ * While no writer is present, the lock is biased towards readers: a reader only increments a counter of a stripe
+ * selected by its thread, so readers on different cores do not contend on a shared cache line. A writer first
+ * acquires the write lock of a {@link StampedLock}, which excludes other writers, then revokes the bias and waits for
+ * the counters to drain. Readers that arrive while the bias is revoked fall back to the read lock of the
+ * {@link StampedLock}. The bias is restored by the writer on release, i.e. a write is considerably more expensive
+ * than with {@link EJBReadWriteLock}.
+ * <p/>
+ * The read and write holds of a thread are tracked by a mutable per-thread record, so that acquiring and releasing
+ * either lock does not allocate once a thread has used the lock.
+ */
+public class ReadMostlyEJBReadWriteLock implements ReadWriteLock {
+
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+    // Spreads the counters of the stripes over distinct cache lines
+    private static final int PADDING = 16;
+    private static final int SPINS = 64;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final StampedLock delegate = new StampedLock();
+    private final AtomicLongArray readers = new AtomicLongArray(STRIPES * PADDING);
+    // Only ever changed by the holder of the write lock of the delegate
+    private volatile boolean biased = true;
+    private final ThreadLocal<Holds> holds = ThreadLocal.withInitial(Holds::new);
+
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    private static int stripes(int processors) {
+        int stripes = 1;
+        while (stripes < processors) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    @Override
+    public Lock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLock;
+    }
+
+    /**
+     * The locks held by a thread.
+     */
+    private static class Holds {
+        final int index = ((int) Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+        int reads;
+        int writes;
+        // Indicates whether the outermost read hold was obtained via the reader counter
+        boolean biasedRead;
+        // The stamp of the outermost read hold, if it was obtained via the delegate
+        long readStamp;
+        long writeStamp;
+    }
+
+    private class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            Holds holds = ReadMostlyEJBReadWriteLock.this.holds.get();
+            if (!enterRead(holds)) {
+                holds.readStamp = ReadMostlyEJBReadWriteLock.this.delegate.readLock();
+                holds.reads = 1;
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            Holds holds = ReadMostlyEJBReadWriteLock.this.holds.get();
+            if (!enterRead(holds)) {
+                holds.readStamp = ReadMostlyEJBReadWriteLock.this.delegate.readLockInterruptibly();
+                holds.reads = 1;
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            Holds holds = ReadMostlyEJBReadWriteLock.this.holds.get();
+            if (enterRead(holds)) {
+                return true;
+            }
+            long stamp = ReadMostlyEJBReadWriteLock.this.delegate.tryReadLock();
+            if (stamp == 0L) {
+                return false;
+            }
+            holds.readStamp = stamp;
+            holds.reads = 1;
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            Holds holds = ReadMostlyEJBReadWriteLock.this.holds.get();
+            if (enterRead(holds)) {
+                return true;
+            }
+            long stamp = ReadMostlyEJBReadWriteLock.this.delegate.tryReadLock(time, unit);
+            if (stamp == 0L) {
+                return false;
+            }
+            holds.readStamp = stamp;
+            holds.reads = 1;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            Holds holds = ReadMostlyEJBReadWriteLock.this.holds.get();
+            if (holds.reads == 0) {
+                throw new IllegalMonitorStateException();
+            }
+            holds.reads -= 1;
+            if (holds.reads == 0) {
+                if (holds.biasedRead) {
+                    holds.biasedRead = false;
+                    ReadMostlyEJBReadWriteLock.this.readers.decrementAndGet(holds.index);
+                } else if (holds.readStamp != 0L) {
+                    ReadMostlyEJBReadWriteLock.this.delegate.unlockRead(holds.readStamp);
+                    holds.readStamp = 0L;
+                }
+            }
+        }
+
+        /**
+         * No implementation provided
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    if (this.tryLock(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                        break;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            while (!this.tryLock(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                // Retry
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            Holds holds = ReadMostlyEJBReadWriteLock.this.holds.get();
+            if (enterWrite(holds)) {
+                return true;
+            }
+            StampedLock delegate = ReadMostlyEJBReadWriteLock.this.delegate;
+            long stamp = delegate.tryWriteLock();
+            if (stamp == 0L) {
+                return false;
+            }
+            ReadMostlyEJBReadWriteLock.this.biased = false;
+            if (!drained()) {
+                ReadMostlyEJBReadWriteLock.this.biased = true;
+                delegate.unlockWrite(stamp);
+                return false;
+            }
+            holds.writeStamp = stamp;
+            holds.writes = 1;
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            Holds holds = ReadMostlyEJBReadWriteLock.this.holds.get();
+            if (enterWrite(holds)) {
+                return true;
+            }
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            StampedLock delegate = ReadMostlyEJBReadWriteLock.this.delegate;
+            long stamp = delegate.tryWriteLock(time, unit);
+            if (stamp == 0L) {
+                return false;
+            }
+            boolean revoked = false;
+            try {
+                revoked = revokeBias(deadline);
+            } finally {
+                if (!revoked) {
+                    ReadMostlyEJBReadWriteLock.this.biased = true;
+                    delegate.unlockWrite(stamp);
+                }
+            }
+            if (revoked) {
+                holds.writeStamp = stamp;
+                holds.writes = 1;
+            }
+            return revoked;
+        }
+
+        @Override
+        public void unlock() {
+            Holds holds = ReadMostlyEJBReadWriteLock.this.holds.get();
+            if (holds.writes == 0) {
+                throw new IllegalMonitorStateException();
+            }
+            holds.writes -= 1;
+            if (holds.writes == 0) {
+                // Restore the bias while still excluding other writers, since only the holder of the write lock may change it
+                ReadMostlyEJBReadWriteLock.this.biased = true;
+                if (holds.reads > 0) {
+                    // Downgrade to a read hold
+                    holds.readStamp = ReadMostlyEJBReadWriteLock.this.delegate.tryConvertToReadLock(holds.writeStamp);
+                } else {
+                    ReadMostlyEJBReadWriteLock.this.delegate.unlockWrite(holds.writeStamp);
+                }
+                holds.writeStamp = 0L;
+            }
+        }
+
+        /**
+         * No implementation provided
+         *
+         * @throws UnsupportedOperationException
+         */
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Obtains a reentrant read hold, or a read hold via the reader counter of the current thread if the lock is biased.
+     * @return true, if a read hold was obtained, false if the read lock of the delegate is required
+     */
+    private boolean enterRead(Holds holds) {
+        if ((holds.reads > 0) || (holds.writes > 0)) {
+            holds.reads += 1;
+            return true;
+        }
+        if (this.biased) {
+            this.readers.incrementAndGet(holds.index);
+            // Re-check, since a writer revoking the bias concurrently may not have seen our counter
+            if (this.biased) {
+                holds.biasedRead = true;
+                holds.reads = 1;
+                return true;
+            }
+            this.readers.decrementAndGet(holds.index);
+        }
+        return false;
+    }
+
+    /**
+     * Obtains a reentrant write hold.
+     * @return true, if the current thread already holds the write lock, false otherwise
+     * @throws javax.ejb.IllegalLoopbackException if the current thread holds a read lock
+     */
+    private static boolean enterWrite(Holds holds) {
+        if (holds.reads > 0) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+        if (holds.writes > 0) {
+            holds.writes += 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revokes the bias towards readers and waits for the reader counters to drain. Called while holding the write lock of the delegate.
+     * @return true, if the counters drained before the specified deadline, false otherwise
+     */
+    private boolean revokeBias(long deadline) throws InterruptedException {
+        this.biased = false;
+        int spins = 0;
+        for (int i = 0; i < this.readers.length(); i += PADDING) {
+            while (this.readers.get(i) != 0L) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (deadline - System.nanoTime() <= 0L) {
+                    return false;
+                }
+                if (spins < SPINS) {
+                    spins += 1;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true, if no reader holds the lock via its reader counter
+     */
+    private boolean drained() {
+        for (int i = 0; i < this.readers.length(); i += PADDING) {
+            if (this.readers.get(i) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
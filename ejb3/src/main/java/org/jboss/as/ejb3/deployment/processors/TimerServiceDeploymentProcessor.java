@@ -24,7 +24,6 @@ package org.jboss.as.ejb3.deployment.processors;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
 import java.util.concurrent.ExecutorService;
 
 import org.jboss.as.ee.component.Attachments;
@@ -45,6 +44,7 @@ import org.jboss.as.ejb3.timerservice.TimedObjectInvokerImpl;
 import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
 import org.jboss.as.ejb3.timerservice.TimerServiceMetaData;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelScheduler;
 import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
@@ -67,12 +67,20 @@ public class TimerServiceDeploymentProcessor implements DeploymentUnitProcessor
 
     public static final ServiceName TIMER_SERVICE_NAME = ServiceName.JBOSS.append("ejb3", "timer");
 
+    public static final ServiceName TIMER_SCHEDULER_SERVICE_NAME = TIMER_SERVICE_NAME.append("scheduler");
+
     private final ServiceName timerServiceThreadPool;
     private final String defaultTimerDataStore;
+    private final long lookAheadWindow;
 
-    public TimerServiceDeploymentProcessor(final ServiceName timerServiceThreadPool, final String defaultTimerDataStore) {
+    /**
+     * @param lookAheadWindow if greater than 0, the time in milliseconds within which persistent timers must be due
+     *                        to be loaded when a timer service starts, see {@link TimerServiceImpl}
+     */
+    public TimerServiceDeploymentProcessor(final ServiceName timerServiceThreadPool, final String defaultTimerDataStore, final long lookAheadWindow) {
         this.timerServiceThreadPool = timerServiceThreadPool;
         this.defaultTimerDataStore = defaultTimerDataStore;
+        this.lookAheadWindow = lookAheadWindow;
     }
 
     @Override
@@ -131,9 +139,9 @@ public class TimerServiceDeploymentProcessor implements DeploymentUnitProcessor
 
                             //install the timer create service
                             final ServiceName serviceName = componentDescription.getServiceName().append(TimerServiceImpl.SERVICE_NAME);
-                            final TimerServiceImpl service = new TimerServiceImpl(ejbComponentDescription.getScheduleMethods(), serviceName, timerServiceRegistry);
+                            final TimerServiceImpl service = new TimerServiceImpl(ejbComponentDescription.getScheduleMethods(), serviceName, timerServiceRegistry, lookAheadWindow);
                             final ServiceBuilder<javax.ejb.TimerService> createBuilder = context.getServiceTarget().addService(serviceName, service);
-                            createBuilder.addDependency(TIMER_SERVICE_NAME, Timer.class, service.getTimerInjectedValue());
+                            createBuilder.addDependency(TIMER_SCHEDULER_SERVICE_NAME, TimingWheelScheduler.class, service.getSchedulerInjectedValue());
                             createBuilder.addDependency(componentDescription.getCreateServiceName(), EJBComponent.class, service.getEjbComponentInjectedValue());
                             createBuilder.addDependency(timerServiceThreadPool, ExecutorService.class, service.getExecutorServiceInjectedValue());
                             if (timerPersistenceServices.containsKey(ejbComponentDescription.getEJBName())) {
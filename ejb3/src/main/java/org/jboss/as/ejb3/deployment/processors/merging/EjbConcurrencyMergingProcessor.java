@@ -35,25 +35,34 @@ import org.jboss.as.ee.metadata.MethodAnnotationAggregator;
 import org.jboss.as.ee.metadata.RuntimeAnnotationInformation;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentDescription;
+import org.jboss.as.ejb3.component.singleton.SingletonComponentDescription;
 import org.jboss.as.ejb3.concurrency.AccessTimeoutDetails;
+import org.jboss.as.ejb3.concurrency.EJBBoundLockMetaData;
+import org.jboss.as.ejb3.concurrency.LockStrategy;
+import org.jboss.as.ejb3.deployment.EjbDeploymentAttachmentKeys;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.reflect.ClassReflectionIndex;
 import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.invocation.proxy.MethodIdentifier;
+import org.jboss.metadata.ejb.spec.AssemblyDescriptorMetaData;
 import org.jboss.metadata.ejb.spec.ConcurrentMethodMetaData;
 import org.jboss.metadata.ejb.spec.ConcurrentMethodsMetaData;
+import org.jboss.metadata.ejb.spec.EjbJarMetaData;
 import org.jboss.metadata.ejb.spec.NamedMethodMetaData;
 import org.jboss.metadata.ejb.spec.SessionBean31MetaData;
 import org.jboss.metadata.ejb.spec.SessionBeanMetaData;
 
 /**
- * Class that can merge {@link javax.ejb.Lock} and {@link javax.ejb.AccessTimeout} metadata
+ * Class that can merge {@link javax.ejb.Lock} and {@link javax.ejb.AccessTimeout} metadata, as well as the
+ * {@link LockStrategy} of singleton beans
  *
  * @author Stuart Douglas
  */
 public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<SessionBeanComponentDescription> {
 
+    private volatile LockStrategy defaultLockStrategy = LockStrategy.READ_WRITE;
+
     public EjbConcurrencyMergingProcessor() {
         super(SessionBeanComponentDescription.class);
     }
@@ -90,6 +99,10 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
 
     protected void handleDeploymentDescriptor(final DeploymentUnit deploymentUnit, final DeploymentReflectionIndex deploymentReflectionIndex, final Class<?> componentClass, final SessionBeanComponentDescription componentConfiguration) throws DeploymentUnitProcessingException {
 
+        if (componentConfiguration instanceof SingletonComponentDescription) {
+            this.handleLockStrategy(deploymentUnit, (SingletonComponentDescription) componentConfiguration);
+        }
+
         if (componentConfiguration.getDescriptorData() == null) {
             return;
         }
@@ -126,6 +139,36 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
         }
     }
 
+    private void handleLockStrategy(final DeploymentUnit deploymentUnit, final SingletonComponentDescription description) {
+        LockStrategy lockStrategy = null;
+        LockStrategy lockStrategyApplicableForAllBeans = null;
+        final EjbJarMetaData ejbJarMetaData = deploymentUnit.getAttachment(EjbDeploymentAttachmentKeys.EJB_JAR_METADATA);
+        if (ejbJarMetaData != null) {
+            final AssemblyDescriptorMetaData assemblyMetadata = ejbJarMetaData.getAssemblyDescriptor();
+            if (assemblyMetadata != null) {
+                final List<EJBBoundLockMetaData> lockMetaDatas = assemblyMetadata.getAny(EJBBoundLockMetaData.class);
+                if (lockMetaDatas != null) {
+                    for (final EJBBoundLockMetaData lockMetaData : lockMetaDatas) {
+                        if (lockMetaData.getEjbName().equals(description.getComponentName())) {
+                            lockStrategy = lockMetaData.getLockStrategy();
+                            break;
+                        }
+                        // check the lock strategy that's applicable for all EJBs.
+                        if (lockMetaData.getEjbName().equals("*")) {
+                            lockStrategyApplicableForAllBeans = lockMetaData.getLockStrategy();
+                        }
+                    }
+                }
+            }
+        }
+        if (lockStrategy != null) {
+            description.setLockStrategy(lockStrategy);
+        } else if (lockStrategyApplicableForAllBeans != null) {
+            description.setLockStrategy(lockStrategyApplicableForAllBeans);
+        } else {
+            description.setLockStrategy(this.defaultLockStrategy);
+        }
+    }
 
     private Method resolveMethod(final DeploymentReflectionIndex index, final Class<?> currentClass, final Class<?> componentClass, final NamedMethodMetaData methodData) throws DeploymentUnitProcessingException {
         if (currentClass == null) {
@@ -163,4 +206,12 @@ public class EjbConcurrencyMergingProcessor extends AbstractMergingProcessor<Ses
     public void undeploy(final DeploymentUnit context) {
 
     }
+
+    public LockStrategy getDefaultLockStrategy() {
+        return this.defaultLockStrategy;
+    }
+
+    public void setDefaultLockStrategy(final LockStrategy defaultLockStrategy) {
+        this.defaultLockStrategy = defaultLockStrategy;
+    }
 }
@@ -3119,4 +3119,30 @@ public interface EjbLogger extends BasicLogger {
             "As a result the 'default-sfsb-cache' attribute has been set to '%s' and the " +
             "'default-sfsb-passivation-disabled-cache' attribute has been set to '%s'.")
     void remappingCacheAttributes(String address, ModelNode defClustered, ModelNode passivationDisabled);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 487, value = "Failed to dispatch scheduled timeout %s")
+    void failedToDispatchTimeout(Object task, @Cause Throwable cause);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 488, value = "Failed to expire stateful session bean %s")
+    void failedToExpireBean(Object id, @Cause Throwable cause);
+
+    @Message(id = 489, value = "Invalid lock strategy %s, expected one of %s")
+    XMLStreamException invalidLockStrategy(@Param Location location, String value, Set<?> expected);
+
+    @LogMessage(level = WARN)
+    @Message(id = 490, value = "Virtual threads are not supported by this JVM, asynchronous invocations will use thread pool %s")
+    void virtualThreadsNotSupported(String threadPoolName);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 491, value = "Failed to load the persistent timers of %s due before %s")
+    void failedToLoadTimers(String timedObjectId, Date until, @Cause Throwable cause);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 492, value = "Could not write %d method invocation responses to channel %s")
+    void couldNotWriteMethodInvocationResponses(int count, Object channel, @Cause Throwable cause);
+
+    @Message(id = 493, value = "Cannot persist timer %s, since the timer journal in %s is closed")
+    IOException timerJournalClosed(String timerId, File directory);
 }
@@ -0,0 +1,320 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.strictmax;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size whose permits and idle instances are split into stripes.
+ * <p/>
+ * Each calling thread is mapped onto a home stripe, so a thread that releases an instance and then
+ * acquires one again only touches its own stripe. Threads whose home stripe is exhausted steal permits
+ * and idle instances from the other stripes. Only when every stripe is exhausted does a caller block,
+ * in which case the behavior matches {@link StrictMaxPool}: at most {@code maxSize} instances are in
+ * use at any time and the caller waits up to the configured timeout for one to be released.
+ */
+public class ShardedStrictMaxPool<T> extends AbstractPool<T> {
+
+    // Spreads the permits of the stripes over distinct cache lines
+    private static final int PADDING = 16;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * The idle instances of each stripe
+     */
+    private final Deque<T>[] stripes;
+    /**
+     * The permits of each stripe, at index {@code stripe * PADDING}
+     */
+    private final AtomicIntegerArray permits;
+    private final int mask;
+    /**
+     * The maximum number of instances allowed in the pool
+     */
+    private final int maxSize;
+    /**
+     * The number of instances that were created but not yet destroyed.
+     * Only touched when an instance is created or destroyed, never on the get/release path.
+     */
+    private final AtomicInteger instances = new AtomicInteger();
+    /**
+     * The time to wait for a permit.
+     */
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition permitReleased = this.lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public ShardedStrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    ShardedStrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int concurrency) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        // Use a power of 2 number of stripes, but never more stripes than permits
+        int count = Integer.highestOneBit(Math.max(1, Math.min(concurrency, maxSize)));
+        this.stripes = new Deque[count];
+        this.permits = new AtomicIntegerArray(count * PADDING);
+        this.mask = count - 1;
+        for (int i = 0; i < count; ++i) {
+            this.stripes[i] = new ConcurrentLinkedDeque<>();
+            this.permits.set(i * PADDING, (maxSize / count) + ((i < (maxSize % count)) ? 1 : 0));
+        }
+    }
+
+    @Override
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+        this.destroyAndReleasePermit(ctx);
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return this.getCreateCount() - this.getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        int count = 0;
+        for (int i = 0; i < this.permits.length(); i += PADDING) {
+            count += this.permits.get(i);
+        }
+        return count;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    @Override
+    public T get() {
+        int home = this.homeStripe();
+        try {
+            if (!this.acquirePermit(home)) {
+                throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        }
+
+        T bean = this.pollInstance(home);
+        if (bean != null) {
+            //we found a bean instance in the pool, return it
+            return bean;
+        }
+
+        try {
+            bean = this.createInstance(home);
+        } finally {
+            if (bean == null) {
+                this.releasePermit(home);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.maxSize - this.getAvailableCount(), this.maxSize, this);
+        }
+        int home = this.homeStripe();
+        // Instance must be visible before its permit
+        this.stripes[home].offerFirst(obj);
+        this.releasePermit(home);
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+        this.destroyAndReleasePermit(ctx);
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start
+    }
+
+    @Override
+    public void stop() {
+        for (Deque<T> stripe : this.stripes) {
+            for (T obj = stripe.pollFirst(); obj != null; obj = stripe.pollFirst()) {
+                try {
+                    this.destroy(obj);
+                } finally {
+                    this.instances.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void destroyAndReleasePermit(T ctx) {
+        try {
+            super.doRemove(ctx);
+        } finally {
+            // Instance count must drop before its permit is handed to someone else
+            this.instances.decrementAndGet();
+            this.releasePermit(this.homeStripe());
+        }
+    }
+
+    /**
+     * Creates a new instance, unless this would exceed the maximum number of instances.
+     * Since the caller holds a permit, reaching the maximum implies that some other thread has released an
+     * instance into one of the stripes, which we will find eventually.
+     * Until then, the caller parks briefly between polls.
+     */
+    private T createInstance(int home) {
+        while (true) {
+            int current = this.instances.get();
+            if (current < this.maxSize) {
+                if (this.instances.compareAndSet(current, current + 1)) {
+                    T bean = null;
+                    try {
+                        bean = this.create();
+                        return bean;
+                    } finally {
+                        if (bean == null) {
+                            this.instances.decrementAndGet();
+                        }
+                    }
+                }
+            } else {
+                T bean = this.pollInstance(home);
+                if (bean != null) {
+                    return bean;
+                }
+                LockSupport.parkNanos(this, PARK_NANOS);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Polls the home stripe for an idle instance, stealing from the other stripes if necessary.
+     */
+    private T pollInstance(int home) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            Deque<T> instances = this.stripes[(home + i) & this.mask];
+            // Home stripe is used as a stack, to favor the most recently released (i.e. cache-hot) instance
+            T bean = (i == 0) ? instances.pollFirst() : instances.pollLast();
+            if (bean != null) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    private boolean tryAcquirePermit(int home) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            int index = ((home + i) & this.mask) * PADDING;
+            int current = this.permits.get(index);
+            while (current > 0) {
+                if (this.permits.compareAndSet(index, current, current - 1)) {
+                    return true;
+                }
+                current = this.permits.get(index);
+            }
+        }
+        return false;
+    }
+
+    private boolean acquirePermit(int home) throws InterruptedException {
+        if (this.tryAcquirePermit(home)) {
+            return true;
+        }
+        long remaining = this.timeUnit.toNanos(this.timeout);
+        long deadline = System.nanoTime() + remaining;
+        this.lock.lockInterruptibly();
+        try {
+            // Publish ourselves as a waiter before re-checking, so that a concurrent release either
+            // makes its permit visible to our re-check, or sees us waiting and signals us.
+            this.waiters.incrementAndGet();
+            try {
+                while (!this.tryAcquirePermit(home)) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    this.permitReleased.awaitNanos(remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+                return true;
+            } finally {
+                this.waiters.decrementAndGet();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void releasePermit(int home) {
+        this.permits.incrementAndGet(home * PADDING);
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.permitReleased.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private int homeStripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+}
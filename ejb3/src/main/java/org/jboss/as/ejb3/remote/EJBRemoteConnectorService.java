@@ -26,8 +26,11 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 import javax.transaction.TransactionManager;
@@ -88,6 +91,8 @@ public class EJBRemoteConnectorService implements Service<EJBRemoteConnectorServ
     private final byte serverProtocolVersion;
     private final String[] supportedMarshallingStrategies;
     private final OptionMap channelCreationOptions;
+    private final int maxInvocationsPerChannel;
+    private final Set<ChannelAssociation> channelAssociations = ConcurrentHashMap.newKeySet();
 
     public EJBRemoteConnectorService(final byte serverProtocolVersion, final String[] supportedMarshallingStrategies) {
         this(serverProtocolVersion, supportedMarshallingStrategies, OptionMap.EMPTY);
@@ -95,9 +100,19 @@ public class EJBRemoteConnectorService implements Service<EJBRemoteConnectorServ
 
     public EJBRemoteConnectorService(final byte serverProtocolVersion, final String[] supportedMarshallingStrategies,
                                      final OptionMap channelCreationOptions) {
+        this(serverProtocolVersion, supportedMarshallingStrategies, channelCreationOptions, 0);
+    }
+
+    /**
+     * @param maxInvocationsPerChannel if greater than 0, the maximum number of invocations of a channel processed
+     *                                 concurrently, beyond which reading from the channel is eventually suspended
+     */
+    public EJBRemoteConnectorService(final byte serverProtocolVersion, final String[] supportedMarshallingStrategies,
+                                     final OptionMap channelCreationOptions, final int maxInvocationsPerChannel) {
         this.serverProtocolVersion = serverProtocolVersion;
         this.supportedMarshallingStrategies = supportedMarshallingStrategies;
         this.channelCreationOptions = channelCreationOptions;
+        this.maxInvocationsPerChannel = maxInvocationsPerChannel;
     }
 
     @Override
@@ -145,6 +160,13 @@ public class EJBRemoteConnectorService implements Service<EJBRemoteConnectorServ
         return this.txSyncRegistry;
     }
 
+    /**
+     * Returns the associations of the currently open EJB channels.
+     */
+    public Collection<ChannelAssociation> getChannelAssociations() {
+        return Collections.unmodifiableSet(this.channelAssociations);
+    }
+
     public List<EjbListenerAddress> getListeningAddresses() {
         final RemotingConnectorBindingInfoService.RemotingConnectorInfo info = remotingConnectorInfoInjectedValue.getValue();
         return Collections.singletonList(new EjbListenerAddress(info.getSocketBinding().getSocketAddress(), info.getProtocol()));
@@ -178,14 +200,15 @@ public class EJBRemoteConnectorService implements Service<EJBRemoteConnectorServ
 
         @Override
         public void channelOpened(Channel channel) {
-            final ChannelAssociation channelAssociation = new ChannelAssociation(channel);
+            final ChannelAssociation channelAssociation = new ChannelAssociation(channel, EJBRemoteConnectorService.this.maxInvocationsPerChannel);
+            EJBRemoteConnectorService.this.channelAssociations.add(channelAssociation);
 
             EjbLogger.REMOTE_LOGGER.tracef("Welcome %s to the %s channel", channel, EJB_CHANNEL_NAME);
             channel.addCloseHandler(new CloseHandler<Channel>() {
                 @Override
                 public void handleClose(Channel closed, IOException exception) {
-                    // do nothing
                     EjbLogger.REMOTE_LOGGER.tracef("channel %s closed", closed);
+                    EJBRemoteConnectorService.this.channelAssociations.remove(channelAssociation);
                 }
             });
             // send the server version and supported marshalling types to the client
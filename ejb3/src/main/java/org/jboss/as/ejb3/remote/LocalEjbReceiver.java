@@ -50,6 +50,7 @@ import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.interceptors.AsyncInvocationTask;
 import org.jboss.as.ejb3.component.interceptors.CancellationFlag;
+import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.deployment.DeploymentModuleIdentifier;
@@ -74,7 +75,6 @@ import org.jboss.ejb.client.StatefulEJBLocator;
 import org.jboss.ejb.client.TransactionID;
 import org.jboss.ejb.client.remoting.NetworkUtil;
 import org.jboss.invocation.InterceptorContext;
-import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
 import org.jboss.marshalling.cloner.ClonerConfiguration;
 import org.jboss.marshalling.cloner.ObjectCloner;
 import org.jboss.marshalling.cloner.ObjectCloners;
@@ -149,9 +149,12 @@ public class LocalEjbReceiver extends EJBReceiver implements Service<LocalEjbRec
         if (!ejb.isRemoteView(viewClass.getName())) {
             throw EjbLogger.ROOT_LOGGER.viewNotFound(viewClass.getName(), ejb.getEjbName());
         }
-        final ClonerConfiguration paramConfig = new ClonerConfiguration();
-        paramConfig.setClassCloner(new ClassLoaderClassCloner(ejb.getDeploymentClassLoader()));
-        final ObjectCloner parameterCloner = createCloner(paramConfig);
+        LocalInvocationCloners cloners = view.getPrivateData(LocalInvocationCloners.class);
+        if (cloners == null) {
+            cloners = new LocalInvocationCloners(ejb.getDeploymentClassLoader());
+        }
+        final InvocationMetrics metrics = ejbComponent.getInvocationMetrics();
+        final ClonerConfiguration paramConfig = cloners.getParameterConfiguration();
         //TODO: this is not very efficient
         final Method method = view.getMethod(invocation.getInvokedMethod().getName(), DescriptorUtils.methodDescriptor(invocation.getInvokedMethod()));
 
@@ -163,7 +166,7 @@ public class LocalEjbReceiver extends EJBReceiver implements Service<LocalEjbRec
         } else {
             parameters = new Object[invocation.getParameters().length];
             for (int i = 0; i < parameters.length; ++i) {
-                parameters[i] = clone(method.getParameterTypes()[i], parameterCloner, invocation.getParameters()[i], allowPassByReference);
+                parameters[i] = clone(method.getParameterTypes()[i], paramConfig, invocation.getParameters()[i], allowPassByReference, metrics);
             }
         }
 
@@ -209,9 +212,7 @@ public class LocalEjbReceiver extends EJBReceiver implements Service<LocalEjbRec
             throw EjbLogger.ROOT_LOGGER.ejbNotFoundInDeployment(locator.getBeanName(), locator.getAppName(), locator.getModuleName(), locator.getDistinctName());
         }
 
-        final ClonerConfiguration config = new ClonerConfiguration();
-        config.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(invocation.getInvokedProxy().getClass())));
-        final ObjectCloner resultCloner = createCloner(config);
+        final ClonerConfiguration resultConfig = cloners.getResultConfiguration(invocation.getInvokedProxy().getClass());
         if (async) {
             if (ejbComponent instanceof SessionBeanComponent) {
                 final SessionBeanComponent component = (SessionBeanComponent) ejbComponent;
@@ -242,12 +243,13 @@ public class LocalEjbReceiver extends EJBReceiver implements Service<LocalEjbRec
                                 if(asyncValue == null) {
                                     return asyncValue;
                                 }
-                                return new AsyncResult(LocalEjbReceiver.clone(asyncValue.getClass(), resultCloner, asyncValue, allowPassByReference));
+                                // The type argument of the Future is erased, so the caller may only rely on Object
+                                return new AsyncResult(LocalEjbReceiver.clone(Object.class, resultConfig, asyncValue, allowPassByReference, metrics));
                             }
-                            return LocalEjbReceiver.clone(result.getClass(), resultCloner, result, allowPassByReference);
+                            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultConfig, result, allowPassByReference, metrics);
                         } catch(ExecutionException e) {
                             // WFLY-4331 - clone the exception of an async task
-                            throw ((Exception) LocalEjbReceiver.clone(e.getClass(), resultCloner, e, allowPassByReference));
+                            throw ((Exception) LocalEjbReceiver.clone(e.getClass(), resultConfig, e, allowPassByReference, metrics));
                         } finally {
                             StartupCountdown.restore(null);
                             clearSecurityContextOnAssociation();
@@ -267,17 +269,17 @@ public class LocalEjbReceiver extends EJBReceiver implements Service<LocalEjbRec
             } catch (Exception e) {
                 //we even have to clone the exception type
                 //to make sure it matches
-                throw (Exception) clone(Exception.class, resultCloner, e, allowPassByReference);
+                throw (Exception) clone(Exception.class, resultConfig, e, allowPassByReference, metrics);
             }
             //we do not marshal the return type unless we have to, the spec only says we have to
             //pass parameters by reference
             //TODO: investigate the implications of this further
-            final Object clonedResult = clone(invocation.getInvokedMethod().getReturnType(), resultCloner, result, allowPassByReference);
+            final Object clonedResult = clone(invocation.getInvokedMethod().getReturnType(), resultConfig, result, allowPassByReference, metrics);
             receiverContext.resultReady(new ImmediateResultProducer(clonedResult));
         }
     }
 
-    private ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
+    private static ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
         ObjectCloner parameterCloner;
         if(WildFlySecurityManager.isChecking()) {
             parameterCloner = WildFlySecurityManager.doUnchecked(new PrivilegedAction<ObjectCloner>() {
@@ -304,7 +306,7 @@ public class LocalEjbReceiver extends EJBReceiver implements Service<LocalEjbRec
         return new StatefulEJBLocator<T>(viewType, appName, moduleName, beanName, distinctName, sessionID, statefulComponent.getCache().getStrictAffinity(), this.getNodeName());
     }
 
-    private static Object clone(final Class<?> target, final ObjectCloner cloner, final Object object, final boolean allowPassByReference) {
+    private static Object clone(final Class<?> target, final ClonerConfiguration config, final Object object, final boolean allowPassByReference, final InvocationMetrics metrics) {
         if (object == null) {
             return null;
         }
@@ -315,14 +317,20 @@ public class LocalEjbReceiver extends EJBReceiver implements Service<LocalEjbRec
         if (allowPassByReference && target.isAssignableFrom(object.getClass())) {
             return object;
         }
-        return clone(cloner, object);
+        // immutable objects of shared classes are the same after a round trip through serialization
+        if (LocalInvocationCloners.isImmutable(target, object)) {
+            metrics.bypassClone();
+            return object;
+        }
+        final long start = System.nanoTime();
+        try {
+            return clone(createCloner(config), object);
+        } finally {
+            metrics.finishClone(System.nanoTime() - start);
+        }
     }
 
     private static Object clone(final ObjectCloner cloner, final Object object) {
-        if (object == null) {
-            return null;
-        }
-
         try {
             if(WildFlySecurityManager.isChecking()) {
                 return WildFlySecurityManager.doUnchecked(new PrivilegedExceptionAction<Object>() {
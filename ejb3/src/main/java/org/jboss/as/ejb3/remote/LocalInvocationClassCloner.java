@@ -23,6 +23,7 @@
 package org.jboss.as.ejb3.remote;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Proxy;
 
 import org.jboss.marshalling.cloner.ClassCloner;
@@ -30,20 +31,22 @@ import org.jboss.marshalling.cloner.ClassCloner;
 /**
  * {@link ClassCloner} that clones classes between class loaders, falling back
  * to original class if it cannot be found in the destination class loader.
+ * The destination class loader is only weakly referenced, so that cloners may be cached per class loader.
  *
  * @author Stuart Douglas
  */
 public class LocalInvocationClassCloner implements ClassCloner {
 
-    private final ClassLoader destClassLoader;
+    private final WeakReference<ClassLoader> destClassLoaderRef;
 
     public LocalInvocationClassCloner(final ClassLoader destClassLoader) {
-        this.destClassLoader = destClassLoader;
+        this.destClassLoaderRef = new WeakReference<>(destClassLoader);
     }
 
     public Class<?> clone(final Class<?> original) throws IOException, ClassNotFoundException {
         final String name = original.getName();
-        if (name.startsWith("java.")) {
+        final ClassLoader destClassLoader = destClassLoaderRef.get();
+        if (name.startsWith("java.") || destClassLoader == null) {
             return original;
         } else if (original.getClassLoader() == destClassLoader) {
             return original;
@@ -62,6 +65,7 @@ public class LocalInvocationClassCloner implements ClassCloner {
         for (int i = 0, origInterfacesLength = origInterfaces.length; i < origInterfacesLength; i++) {
             interfaces[i] = clone(origInterfaces[i]);
         }
-        return Proxy.getProxyClass(destClassLoader, interfaces);
+        final ClassLoader destClassLoader = destClassLoaderRef.get();
+        return Proxy.getProxyClass(destClassLoader != null ? destClassLoader : proxyClass.getClassLoader(), interfaces);
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
+import org.jboss.marshalling.cloner.ClonerConfiguration;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Cloner configurations of a remote view, used by the {@link LocalEjbReceiver} to copy the parameters, results and
+ * exceptions of in-VM invocations between the class loader of the caller and that of the view.
+ * <p/>
+ * The configuration for parameters targets the class loader of the view, and is created once. The configurations
+ * for results are created once per caller proxy class, and are dropped along with that class.
+ */
+public class LocalInvocationCloners {
+
+    // Immutable classes visible to every deployment, whose instances can be shared rather than copied
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Collections.unmodifiableSet(new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class,
+            Duration.class, Instant.class, LocalDate.class, LocalDateTime.class, LocalTime.class, MonthDay.class, OffsetDateTime.class,
+            OffsetTime.class, Period.class, Year.class, YearMonth.class, ZoneOffset.class, ZonedDateTime.class)));
+
+    private final ClonerConfiguration parameterConfiguration;
+    // Lock-free on the invocation path, and does not prevent the caller classes from being unloaded
+    private final ClassValue<ClonerConfiguration> resultConfigurations = new ClassValue<ClonerConfiguration>() {
+        @Override
+        protected ClonerConfiguration computeValue(final Class<?> proxyClass) {
+            final ClonerConfiguration configuration = new ClonerConfiguration();
+            // The class cloner only weakly references the caller class loader
+            configuration.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(proxyClass)));
+            return configuration;
+        }
+    };
+
+    public LocalInvocationCloners(final ClassLoader classLoader) {
+        this.parameterConfiguration = new ClonerConfiguration();
+        this.parameterConfiguration.setClassCloner(new ClassLoaderClassCloner(classLoader));
+    }
+
+    /**
+     * @return the configuration for cloning parameters into the class loader of the view
+     */
+    public ClonerConfiguration getParameterConfiguration() {
+        return this.parameterConfiguration;
+    }
+
+    /**
+     * @param proxyClass the class of the invoked proxy
+     * @return the configuration for cloning results and exceptions into the class loader of the specified proxy class
+     */
+    public ClonerConfiguration getResultConfiguration(final Class<?> proxyClass) {
+        return this.resultConfigurations.get(proxyClass);
+    }
+
+    /**
+     * Indicates whether the specified object can be shared between caller and view without breaking pass-by-value
+     * semantics, i.e. whether it is immutable and its class is the same on both sides.
+     * @param target the type expected by the receiving side
+     * @param object a non-null object
+     */
+    public static boolean isImmutable(final Class<?> target, final Object object) {
+        final Class<?> type = object.getClass();
+        if (IMMUTABLE_TYPES.contains(type)) {
+            return true;
+        }
+        if (type.isEnum()) {
+            // Serialization would resolve the same constant, provided the enum class is shared
+            return (type.getClassLoader() == null) || (type == target);
+        }
+        return false;
+    }
+}
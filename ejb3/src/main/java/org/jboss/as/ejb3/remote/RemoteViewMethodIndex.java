@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the methods of a remote view, keyed by method name and signature as they are sent by a remote client,
+ * i.e. the names of the parameter types separated by {@link #PARAM_TYPE_SEPARATOR}.
+ * Built once per view, so that resolving the invoked method of an incoming invocation does not need to scan the
+ * methods of the view, nor to split the signature.
+ */
+public class RemoteViewMethodIndex {
+
+    public static final char PARAM_TYPE_SEPARATOR = ',';
+
+    private final Map<String, Map<String, Method>> methods;
+
+    public RemoteViewMethodIndex(Iterable<Method> methods) {
+        Map<String, Map<String, Method>> index = new HashMap<>();
+        for (Method method : methods) {
+            Map<String, Method> signatures = index.get(method.getName());
+            if (signatures == null) {
+                signatures = new HashMap<>();
+                index.put(method.getName(), signatures);
+            }
+            signatures.put(signature(method), method);
+        }
+        this.methods = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * @param name a method name
+     * @param signature the names of the parameter types, separated by {@link #PARAM_TYPE_SEPARATOR}
+     * @return the matching method, or null if the view has no such method
+     */
+    public Method getMethod(String name, String signature) {
+        Map<String, Method> signatures = this.methods.get(name);
+        return (signatures != null) ? signatures.get(signature) : null;
+    }
+
+    /**
+     * @return the signature of the specified method, in the form sent by a remote client
+     */
+    public static String signature(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        if (types.length == 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(types[0].getName());
+        for (int i = 1; i < types.length; ++i) {
+            builder.append(PARAM_TYPE_SEPARATOR).append(types[i].getName());
+        }
+        return builder.toString();
+    }
+}
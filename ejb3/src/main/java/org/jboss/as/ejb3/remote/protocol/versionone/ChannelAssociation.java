@@ -27,7 +27,10 @@ import org.jboss.remoting3.MessageOutputStream;
 import org.jboss.remoting3.RemotingOptions;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
 /**
  * @author Jaikiran Pai
@@ -42,8 +45,22 @@ public class ChannelAssociation {
     // to make sure that only a limited number of simultaneous writes are allowed
     private final Semaphore channelWriteSemaphore;
 
+    // Bounds the number of invocations of this channel processed concurrently, if enabled
+    private final ChannelInvocationQueue invocationQueue;
+
     public ChannelAssociation(final Channel channel) {
+        this(channel, 0);
+    }
+
+    /**
+     * Creates a {@link ChannelAssociation} which bounds the number of invocations of the channel processed concurrently.
+     *
+     * @param channel the channel
+     * @param maxInvocations the maximum number of invocations of the channel processed concurrently, or 0 if not bounded
+     */
+    public ChannelAssociation(final Channel channel, final int maxInvocations) {
         this.channel = channel;
+        this.invocationQueue = new ChannelInvocationQueue(maxInvocations);
 
         // write semaphore
         Integer maxOutboundWrites = this.channel.getOption(RemotingOptions.MAX_OUTBOUND_MESSAGES);
@@ -88,6 +105,63 @@ public class ChannelAssociation {
         }
     }
 
+    /**
+     * Submits an invocation received on the channel to the executor. If the number of invocations of the channel
+     * processed concurrently is bounded, the invocation may first wait for one of them to complete.
+     *
+     * @param executor the executor running invocations, or null to run the invocation on the calling thread
+     * @param invocation the invocation
+     * @param rejectionHandler handles the rejection of the invocation by the executor
+     */
+    public void submitInvocation(final ExecutorService executor, final Runnable invocation, final Consumer<RejectedExecutionException> rejectionHandler) {
+        this.invocationQueue.submit(executor, invocation, rejectionHandler);
+    }
+
+    /**
+     * Enrolls for the next message of the channel. If too many invocations of the channel wait to be processed,
+     * enrolling is deferred until one of them was submitted to the executor, so that the client is not read from.
+     *
+     * @param receive enrolls for the next message of the channel
+     */
+    public void receiveWhenReady(final Runnable receive) {
+        this.invocationQueue.receiveWhenReady(receive);
+    }
+
+    /**
+     * Returns the number of invocations received on this channel which wait for a thread to process them.
+     */
+    public int getQueuedInvocationCount() {
+        return this.invocationQueue.getQueuedCount();
+    }
+
+    /**
+     * Returns the number of invocations which wait for other invocations of this channel to complete.
+     */
+    public int getWaitingInvocationCount() {
+        return this.invocationQueue.getWaitingCount();
+    }
+
+    /**
+     * Returns the number of invocations of this channel submitted to the executor, and not yet completed.
+     */
+    public int getActiveInvocationCount() {
+        return this.invocationQueue.getActiveCount();
+    }
+
+    /**
+     * Returns the number of invocations of this channel rejected by the executor.
+     */
+    public long getRejectedInvocationCount() {
+        return this.invocationQueue.getRejectionCount();
+    }
+
+    /**
+     * Returns the number of times reading from this channel was suspended, since too many invocations were waiting.
+     */
+    public long getReceiveSuspensionCount() {
+        return this.invocationQueue.getReceiveSuspensionCount();
+    }
+
     public Channel getChannel() {
         return this.channel;
     }
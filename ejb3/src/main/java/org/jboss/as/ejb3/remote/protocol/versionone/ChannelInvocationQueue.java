@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote.protocol.versionone;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Queues the invocations received on a channel, dispatching at most a given number of them concurrently to the shared
+ * executor, so that a single channel cannot occupy all of its threads. Once as many invocations wait in this queue as
+ * may be dispatched concurrently, reading from the channel is suspended until one of them is dispatched.
+ */
+class ChannelInvocationQueue {
+
+    private final int maxInvocations;
+    private final Queue<Dispatch> waitingInvocations = new ConcurrentLinkedQueue<>();
+    // The number of invocations in this queue
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    // The number of invocations dispatched to the executor, and not yet completed
+    private final AtomicInteger activeCount = new AtomicInteger();
+    // The number of invocations not yet started, either waiting in this queue or in the queue of the executor
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder receiveSuspensions = new LongAdder();
+    // Guarded by this
+    private Runnable suspendedReceive;
+
+    /**
+     * @param maxInvocations the maximum number of invocations dispatched concurrently, or 0 if not bounded
+     */
+    ChannelInvocationQueue(int maxInvocations) {
+        this.maxInvocations = maxInvocations;
+    }
+
+    /**
+     * Submits an invocation received on the channel.
+     *
+     * @param executor the executor running invocations, or null to run the invocation on the calling thread
+     * @param invocation the invocation
+     * @param rejectionHandler handles the rejection of the invocation by the executor
+     */
+    void submit(ExecutorService executor, Runnable invocation, Consumer<RejectedExecutionException> rejectionHandler) {
+        this.queuedCount.incrementAndGet();
+        final Dispatch dispatch = new Dispatch(executor, invocation, rejectionHandler);
+        if ((executor == null) || (this.maxInvocations <= 0)) {
+            this.activeCount.incrementAndGet();
+            dispatch.execute();
+            return;
+        }
+        this.waitingInvocations.add(dispatch);
+        this.waitingCount.incrementAndGet();
+        this.dispatch();
+    }
+
+    /**
+     * Dispatches waiting invocations for as long as fewer than the maximum number of invocations are active.
+     */
+    private void dispatch() {
+        while (true) {
+            final int active = this.activeCount.get();
+            if ((active >= this.maxInvocations) || this.waitingInvocations.isEmpty()) {
+                return;
+            }
+            if (!this.activeCount.compareAndSet(active, active + 1)) {
+                continue;
+            }
+            final Dispatch dispatch = this.waitingInvocations.poll();
+            if (dispatch == null) {
+                // Another thread dispatched the invocation we made room for
+                this.activeCount.decrementAndGet();
+                continue;
+            }
+            this.waitingCount.decrementAndGet();
+            this.resumeReceiving();
+            dispatch.execute();
+        }
+    }
+
+    /**
+     * Enrolls for the next message of the channel, unless this queue is full, in which case enrolling is deferred until
+     * a waiting invocation was dispatched.
+     *
+     * @param receive enrolls for the next message of the channel
+     */
+    void receiveWhenReady(Runnable receive) {
+        if (this.maxInvocations > 0) {
+            synchronized (this) {
+                if (this.waitingCount.get() >= this.maxInvocations) {
+                    this.suspendedReceive = receive;
+                    this.receiveSuspensions.increment();
+                    return;
+                }
+            }
+        }
+        receive.run();
+    }
+
+    private void resumeReceiving() {
+        final Runnable receive;
+        synchronized (this) {
+            if ((this.suspendedReceive == null) || (this.waitingCount.get() >= this.maxInvocations)) {
+                return;
+            }
+            receive = this.suspendedReceive;
+            this.suspendedReceive = null;
+        }
+        receive.run();
+    }
+
+    int getQueuedCount() {
+        return this.queuedCount.get();
+    }
+
+    int getWaitingCount() {
+        return this.waitingCount.get();
+    }
+
+    int getActiveCount() {
+        return this.activeCount.get();
+    }
+
+    long getRejectionCount() {
+        return this.rejections.sum();
+    }
+
+    long getReceiveSuspensionCount() {
+        return this.receiveSuspensions.sum();
+    }
+
+    /**
+     * An invocation, which releases its slot once completed.
+     */
+    private class Dispatch implements Runnable {
+        private final ExecutorService executor;
+        private final Runnable invocation;
+        private final Consumer<RejectedExecutionException> rejectionHandler;
+
+        Dispatch(ExecutorService executor, Runnable invocation, Consumer<RejectedExecutionException> rejectionHandler) {
+            this.executor = executor;
+            this.invocation = invocation;
+            this.rejectionHandler = rejectionHandler;
+        }
+
+        void execute() {
+            if (this.executor == null) {
+                this.run();
+                return;
+            }
+            try {
+                this.executor.submit(this);
+            } catch (RejectedExecutionException e) {
+                ChannelInvocationQueue.this.rejections.increment();
+                ChannelInvocationQueue.this.queuedCount.decrementAndGet();
+                ChannelInvocationQueue.this.activeCount.decrementAndGet();
+                this.rejectionHandler.accept(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            ChannelInvocationQueue.this.queuedCount.decrementAndGet();
+            try {
+                this.invocation.run();
+            } finally {
+                ChannelInvocationQueue.this.activeCount.decrementAndGet();
+                if (ChannelInvocationQueue.this.maxInvocations > 0) {
+                    ChannelInvocationQueue.this.dispatch();
+                }
+            }
+        }
+    }
+}
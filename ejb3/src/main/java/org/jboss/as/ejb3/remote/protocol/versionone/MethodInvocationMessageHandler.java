@@ -34,6 +34,7 @@ import org.jboss.as.ejb3.component.stateless.StatelessSessionComponent;
 import org.jboss.as.ejb3.deployment.DeploymentRepository;
 import org.jboss.as.ejb3.deployment.EjbDeploymentInformation;
 import org.jboss.as.ejb3.remote.RemoteAsyncInvocationCancelStatusService;
+import org.jboss.as.ejb3.remote.RemoteViewMethodIndex;
 import org.jboss.ejb.client.Affinity;
 import org.jboss.ejb.client.EJBClientInvocationContext;
 import org.jboss.ejb.client.EJBLocator;
@@ -93,13 +94,7 @@ public class MethodInvocationMessageHandler extends EJBIdentifierBasedMessageHan
         // read the method name
         final String methodName = input.readUTF();
         // method signature
-        String[] methodParamTypes = null;
         final String signature = input.readUTF();
-        if (signature.isEmpty()) {
-            methodParamTypes = new String[0];
-        } else {
-            methodParamTypes = signature.split(String.valueOf(METHOD_PARAM_TYPE_SEPARATOR));
-        }
 
         // read the Locator
         // we use a mutable ClassResolver, so that we can switch to a different (and correct deployment CL)
@@ -147,16 +142,17 @@ public class MethodInvocationMessageHandler extends EJBIdentifierBasedMessageHan
                 return;
             }
             final ComponentView componentView = ejbDeploymentInformation.getView(viewClassName);
-            final Method invokedMethod = this.findMethod(componentView, methodName, methodParamTypes);
+            final Method invokedMethod = this.findMethod(componentView, methodName, signature);
             if (invokedMethod == null) {
-                this.writeNoSuchEJBMethodFailureMessage(channelAssociation, invocationId, appName, moduleName, distinctName, beanName, viewClassName, methodName, methodParamTypes);
+                this.writeNoSuchEJBMethodFailureMessage(channelAssociation, invocationId, appName, moduleName, distinctName, beanName, viewClassName, methodName, splitSignature(signature));
                 return;
             }
 
-            final Object[] methodParams = new Object[methodParamTypes.length];
+            final int paramCount = invokedMethod.getParameterCount();
+            final Object[] methodParams = new Object[paramCount];
             // un-marshall the method arguments
-            if (methodParamTypes.length > 0) {
-                for (int i = 0; i < methodParamTypes.length; i++) {
+            if (paramCount > 0) {
+                for (int i = 0; i < paramCount; i++) {
                     try {
                         methodParams[i] = unmarshaller.readObject();
                     } catch (Throwable e) {
@@ -257,11 +253,14 @@ public class MethodInvocationMessageHandler extends EJBIdentifierBasedMessageHan
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(tccl);
         }
         // invoke the method and write out the response on a separate thread
-        if(executorService != null) {
-            executorService.submit( runnable );
-        } else {
-            runnable.run();
-        }
+        channelAssociation.submitInvocation(executorService, runnable, rejection -> {
+            try {
+                // let the client know that the invocation was not processed
+                MethodInvocationMessageHandler.this.writeException(channelAssociation, MethodInvocationMessageHandler.this.marshallerFactory, invocationId, rejection, null);
+            } catch (Throwable t) {
+                EjbLogger.REMOTE_LOGGER.couldNotWriteMethodInvocationResponses(1, channelAssociation.getChannel(), t);
+            }
+        });
     }
 
     private Affinity getWeakAffinity(final StatefulSessionComponent statefulSessionComponent, final StatefulEJBLocator<?> statefulEJBLocator) {
@@ -329,7 +328,12 @@ public class MethodInvocationMessageHandler extends EJBIdentifierBasedMessageHan
         }
     }
 
-    private Method findMethod(final ComponentView componentView, final String methodName, final String[] paramTypes) {
+    private Method findMethod(final ComponentView componentView, final String methodName, final String signature) {
+        final RemoteViewMethodIndex index = componentView.getPrivateData(RemoteViewMethodIndex.class);
+        if (index != null) {
+            return index.getMethod(methodName, signature);
+        }
+        final String[] paramTypes = splitSignature(signature);
         final Set<Method> viewMethods = componentView.getViewMethods();
         for (final Method method : viewMethods) {
             if (method.getName().equals(methodName)) {
@@ -352,6 +356,13 @@ public class MethodInvocationMessageHandler extends EJBIdentifierBasedMessageHan
         return null;
     }
 
+    private static String[] splitSignature(final String signature) {
+        if (signature.isEmpty()) {
+            return new String[0];
+        }
+        return signature.split(String.valueOf(METHOD_PARAM_TYPE_SEPARATOR));
+    }
+
     private void writeMethodInvocationResponse(final ChannelAssociation channelAssociation, final short invocationId, final Object result, final Map<String, Object> attachments, Method invokedMethod, ComponentView componentView) throws IOException {
         final DataOutputStream outputStream;
         final MessageOutputStream messageOutputStream;
@@ -154,8 +154,8 @@ public class VersionOneProtocolChannelReceiver implements Channel.Receiver, Depl
     @Override
     public void handleMessage(Channel channel, MessageInputStream messageInputStream) {
         try {
-            // enroll for next message (whenever it's available)
-            channel.receiveMessage(this);
+            // enroll for next message (whenever it's available), unless too many invocations of this channel wait
+            this.channelAssociation.receiveWhenReady(() -> channel.receiveMessage(this));
             this.processMessage(channel, messageInputStream);
 
         } catch (Throwable e) {
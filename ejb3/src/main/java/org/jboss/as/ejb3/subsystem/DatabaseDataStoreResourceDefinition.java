@@ -26,12 +26,17 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
@@ -40,8 +45,10 @@ import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.persistence.database.DatabaseTimerPersistence;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * {@link org.jboss.as.controller.ResourceDefinition} for the databse data store resource.
@@ -49,8 +56,6 @@ import org.jboss.dmr.ModelType;
  */
 public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinition {
 
-    public static final DatabaseDataStoreResourceDefinition INSTANCE = new DatabaseDataStoreResourceDefinition();
-
     public static final SimpleAttributeDefinition DATASOURCE_JNDI_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.DATASOURCE_JNDI_NAME, ModelType.STRING, false)
                     .setAllowExpression(true)
@@ -88,6 +93,30 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
                     .setDefaultValue(new ModelNode(true))
                     .build();
 
+    static final SimpleAttributeDefinition REFRESHES =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESHES, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition REFRESH_ADDED_TIMERS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESH_ADDED_TIMERS, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition REFRESH_REMOVED_TIMERS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESH_REMOVED_TIMERS, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition BATCHED_TIMER_UPDATES =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.BATCHED_TIMER_UPDATES, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
     public static final Map<String, AttributeDefinition> ATTRIBUTES ;
 
     static {
@@ -101,11 +130,14 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
         ATTRIBUTES = Collections.unmodifiableMap(map);
     }
 
-    private DatabaseDataStoreResourceDefinition() {
+    private final boolean registerRuntimeOnly;
+
+    DatabaseDataStoreResourceDefinition(final boolean registerRuntimeOnly) {
         super(EJB3SubsystemModel.DATABASE_DATA_STORE_PATH,
                 EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.DATABASE_DATA_STORE),
                 DatabaseDataStoreAdd.INSTANCE,
                 new ServiceRemoveStepHandler(TimerPersistence.SERVICE_NAME, DatabaseDataStoreAdd.INSTANCE));
+        this.registerRuntimeOnly = registerRuntimeOnly;
     }
 
     @Override
@@ -113,6 +145,32 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
         for (AttributeDefinition attr : ATTRIBUTES.values()) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        if (this.registerRuntimeOnly) {
+            resourceRegistration.registerMetric(REFRESHES, new DatabaseTimerPersistenceMetricsHandler() {
+                @Override
+                protected long readMetric(DatabaseTimerPersistence persistence) {
+                    return persistence.getRefreshCount();
+                }
+            });
+            resourceRegistration.registerMetric(REFRESH_ADDED_TIMERS, new DatabaseTimerPersistenceMetricsHandler() {
+                @Override
+                protected long readMetric(DatabaseTimerPersistence persistence) {
+                    return persistence.getRefreshAddedTimers();
+                }
+            });
+            resourceRegistration.registerMetric(REFRESH_REMOVED_TIMERS, new DatabaseTimerPersistenceMetricsHandler() {
+                @Override
+                protected long readMetric(DatabaseTimerPersistence persistence) {
+                    return persistence.getRefreshRemovedTimers();
+                }
+            });
+            resourceRegistration.registerMetric(BATCHED_TIMER_UPDATES, new DatabaseTimerPersistenceMetricsHandler() {
+                @Override
+                protected long readMetric(DatabaseTimerPersistence persistence) {
+                    return persistence.getBatchedTimerUpdates();
+                }
+            });
+        }
     }
 
     static void registerTransformers1_3_0(ResourceTransformationDescriptionBuilder parent) {
@@ -122,4 +180,23 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
                 .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(true)), ALLOW_EXECUTION)
                 .addRejectCheck(RejectAttributeChecker.DEFINED, REFRESH_INTERVAL, ALLOW_EXECUTION);
     }
+
+    /**
+     * Reads a metric of the {@link DatabaseTimerPersistence} installed for this data store.
+     */
+    private abstract static class DatabaseTimerPersistenceMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String name = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(TimerPersistence.SERVICE_NAME.append(name));
+            DatabaseTimerPersistence persistence = (controller != null) ? (DatabaseTimerPersistence) controller.getValue() : null;
+            if (persistence != null) {
+                context.getResult().set(this.readMetric(persistence));
+            }
+            context.stepCompleted();
+        }
+
+        protected abstract long readMetric(DatabaseTimerPersistence persistence);
+    }
 }
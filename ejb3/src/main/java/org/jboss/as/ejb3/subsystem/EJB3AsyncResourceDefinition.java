@@ -34,6 +34,10 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -52,11 +56,19 @@ public class EJB3AsyncResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
                     .build();
 
+    static final SimpleAttributeDefinition VIRTUAL_THREADS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.VIRTUAL_THREADS, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setDefaultValue(new ModelNode(false))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
     private static final Map<String, AttributeDefinition> ATTRIBUTES;
 
     static {
         Map<String, AttributeDefinition> map = new LinkedHashMap<String, AttributeDefinition>();
         map.put(THREAD_POOL_NAME.getName(), THREAD_POOL_NAME);
+        map.put(VIRTUAL_THREADS.getName(), VIRTUAL_THREADS);
 
         ATTRIBUTES = Collections.unmodifiableMap(map);
     }
@@ -75,4 +87,12 @@ public class EJB3AsyncResourceDefinition extends SimpleResourceDefinition {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
     }
+
+    static void registerTransformers(ResourceTransformationDescriptionBuilder parent) {
+        // Legacy versions always use the thread pool
+        parent.addChildResource(EJB3SubsystemModel.ASYNC_SERVICE_PATH).getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(false)), VIRTUAL_THREADS)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, VIRTUAL_THREADS)
+                .end();
+    }
 }
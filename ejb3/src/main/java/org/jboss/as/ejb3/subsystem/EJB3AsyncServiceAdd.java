@@ -29,6 +29,7 @@ import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.ServiceVerificationHandler;
+import org.jboss.as.ee.concurrent.VirtualThreads;
 import org.jboss.as.ejb3.deployment.processors.merging.AsynchronousMergingProcessor;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
@@ -55,7 +56,17 @@ public class EJB3AsyncServiceAdd extends AbstractBoottimeAddStepHandler {
     protected void performBoottime(final OperationContext context, final ModelNode operation, final ModelNode model, final ServiceVerificationHandler verificationHandler, final List<ServiceController<?>> newControllers) throws OperationFailedException {
 
         final String threadPoolName = EJB3AsyncResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asString();
-        final ServiceName threadPoolServiceName = EJB3SubsystemModel.BASE_THREAD_POOL_SERVICE_NAME.append(threadPoolName);
+        final boolean virtualThreads = EJB3AsyncResourceDefinition.VIRTUAL_THREADS.resolveModelAttribute(context, model).asBoolean();
+        final ServiceName threadPoolServiceName;
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            threadPoolServiceName = EJB3SubsystemModel.ASYNC_VIRTUAL_THREAD_EXECUTOR_SERVICE_NAME;
+            newControllers.add(context.getServiceTarget().addService(threadPoolServiceName, new EJB3AsyncVirtualThreadExecutorService()).install());
+        } else {
+            if (virtualThreads) {
+                ROOT_LOGGER.virtualThreadsNotSupported(threadPoolName);
+            }
+            threadPoolServiceName = EJB3SubsystemModel.BASE_THREAD_POOL_SERVICE_NAME.append(threadPoolName);
+        }
         context.addStep(new AbstractDeploymentChainStep() {
             protected void execute(DeploymentProcessorTarget processorTarget) {
                 ROOT_LOGGER.debug("Adding EJB @Asynchronous support");
@@ -67,5 +78,6 @@ public class EJB3AsyncServiceAdd extends AbstractBoottimeAddStepHandler {
     @Override
     protected void populateModel(ModelNode operation, ModelNode model) throws OperationFailedException {
         EJB3AsyncResourceDefinition.THREAD_POOL_NAME.validateAndSet(operation, model);
+        EJB3AsyncResourceDefinition.VIRTUAL_THREADS.validateAndSet(operation, model);
     }
 }
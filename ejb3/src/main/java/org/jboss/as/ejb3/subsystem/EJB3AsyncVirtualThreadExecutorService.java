@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import java.util.concurrent.ExecutorService;
+
+import org.jboss.as.ee.concurrent.ManagedVirtualThreadExecutorServiceImpl;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+
+/**
+ * Service providing the executor of asynchronous invocations, which runs each invocation on a virtual thread.
+ * Context propagation and request control are handled by the invocation interceptors, not by the executor.
+ */
+public class EJB3AsyncVirtualThreadExecutorService implements Service<ExecutorService> {
+
+    private volatile ManagedVirtualThreadExecutorServiceImpl executor;
+
+    @Override
+    public void start(StartContext context) throws StartException {
+        this.executor = new ManagedVirtualThreadExecutorServiceImpl("ejb3-async", 0, null, null);
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        this.executor.terminate();
+        this.executor = null;
+    }
+
+    @Override
+    public ExecutorService getValue() {
+        return this.executor;
+    }
+}
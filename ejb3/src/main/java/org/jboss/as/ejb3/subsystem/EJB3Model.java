@@ -12,10 +12,16 @@ public enum EJB3Model {
     VERSION_1_2_0(1, 2, 0),
     VERSION_1_2_1(1, 2, 1),
     VERSION_1_3_0(1, 3, 0),
-    VERSION_4_0_0(4, 0, 0)
+    VERSION_4_0_0(4, 0, 0),
+    VERSION_4_1_0(4, 1, 0),
+    VERSION_4_2_0(4, 2, 0),
+    VERSION_4_3_0(4, 3, 0),
+    VERSION_4_4_0(4, 4, 0),
+    VERSION_4_5_0(4, 5, 0),
+    VERSION_4_6_0(4, 6, 0)
     ;
 
-    static final EJB3Model CURRENT = VERSION_4_0_0;
+    static final EJB3Model CURRENT = VERSION_4_6_0;
 
     private final ModelVersion version;
 
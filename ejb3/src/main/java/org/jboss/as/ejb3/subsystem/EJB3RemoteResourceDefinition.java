@@ -26,19 +26,29 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.ejb3.remote.EJBRemoteConnectorService;
+import org.jboss.as.ejb3.remote.protocol.versionone.ChannelAssociation;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 import org.wildfly.clustering.ejb.BeanManagerFactoryBuilderConfiguration;
 
 /**
@@ -48,8 +58,6 @@ import org.wildfly.clustering.ejb.BeanManagerFactoryBuilderConfiguration;
  */
 public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
 
-    public static final EJB3RemoteResourceDefinition INSTANCE = new EJB3RemoteResourceDefinition();
-
     static final SimpleAttributeDefinition CLIENT_MAPPINGS_CLUSTER_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.CLIENT_MAPPINGS_CLUSTER_NAME, ModelType.STRING, true)
                     .setAllowExpression(true)
@@ -76,6 +84,50 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
                     .build();
 
+    static final SimpleAttributeDefinition MAX_INVOCATIONS_PER_CHANNEL =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_INVOCATIONS_PER_CHANNEL, ModelType.INT, true)
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    private static final SimpleAttributeDefinition CHANNEL =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.CHANNEL, ModelType.STRING)
+                    .setStorageRuntime()
+                    .build();
+
+    private static final SimpleAttributeDefinition QUEUED_INVOCATIONS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.QUEUED_INVOCATIONS, ModelType.INT)
+                    .setStorageRuntime()
+                    .build();
+
+    private static final SimpleAttributeDefinition WAITING_INVOCATIONS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.WAITING_INVOCATIONS, ModelType.INT)
+                    .setStorageRuntime()
+                    .build();
+
+    private static final SimpleAttributeDefinition ACTIVE_INVOCATIONS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.ACTIVE_INVOCATIONS, ModelType.INT)
+                    .setStorageRuntime()
+                    .build();
+
+    private static final SimpleAttributeDefinition REJECTED_INVOCATIONS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REJECTED_INVOCATIONS, ModelType.LONG)
+                    .setStorageRuntime()
+                    .build();
+
+    private static final SimpleAttributeDefinition RECEIVE_SUSPENSIONS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.RECEIVE_SUSPENSIONS, ModelType.LONG)
+                    .setStorageRuntime()
+                    .build();
+
+    static final ObjectListAttributeDefinition CHANNELS = ObjectListAttributeDefinition.Builder.of(
+            EJB3SubsystemModel.CHANNELS,
+            ObjectTypeAttributeDefinition.Builder.of(EJB3SubsystemModel.CHANNELS, CHANNEL, QUEUED_INVOCATIONS, WAITING_INVOCATIONS,
+                    ACTIVE_INVOCATIONS, REJECTED_INVOCATIONS, RECEIVE_SUSPENSIONS).build())
+            .setStorageRuntime()
+            .build();
+
     private static final Map<String, AttributeDefinition> ATTRIBUTES;
 
     static {
@@ -84,17 +136,20 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
         map.put(CONNECTOR_REF.getName(), CONNECTOR_REF);
         map.put(THREAD_POOL_NAME.getName(), THREAD_POOL_NAME);
         map.put(EXECUTE_IN_WORKER.getName(), EXECUTE_IN_WORKER);
+        map.put(MAX_INVOCATIONS_PER_CHANNEL.getName(), MAX_INVOCATIONS_PER_CHANNEL);
 
         ATTRIBUTES = Collections.unmodifiableMap(map);
     }
 
+    private final boolean registerRuntimeOnly;
 
-    private EJB3RemoteResourceDefinition() {
+    EJB3RemoteResourceDefinition(final boolean registerRuntimeOnly) {
         super(EJB3SubsystemModel.REMOTE_SERVICE_PATH,
                 EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.REMOTE),
                 EJB3RemoteServiceAdd.INSTANCE, EJB3RemoteServiceRemove.INSTANCE,
                 // WFLY-3438
                 OperationEntry.Flag.RESTART_ALL_SERVICES, OperationEntry.Flag.RESTART_ALL_SERVICES);
+        this.registerRuntimeOnly = registerRuntimeOnly;
     }
 
     @Override
@@ -103,6 +158,9 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
             // TODO: Make this read-write attribute
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        if (this.registerRuntimeOnly) {
+            resourceRegistration.registerMetric(CHANNELS, new ChannelsMetricsHandler());
+        }
     }
 
     @Override
@@ -122,6 +180,8 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
                 .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(BeanManagerFactoryBuilderConfiguration.DEFAULT_CONTAINER_NAME)),CLIENT_MAPPINGS_CLUSTER_NAME)
                 .addRejectCheck(RejectAttributeChecker.DEFINED, CLIENT_MAPPINGS_CLUSTER_NAME)
                 .setDiscard(DiscardAttributeChecker.ALWAYS, EXECUTE_IN_WORKER) //as this does not affect functionality we just discard
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, MAX_INVOCATIONS_PER_CHANNEL)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, MAX_INVOCATIONS_PER_CHANNEL)
                 .end();
     }
 
@@ -131,7 +191,43 @@ public class EJB3RemoteResourceDefinition extends SimpleResourceDefinition {
                 .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(BeanManagerFactoryBuilderConfiguration.DEFAULT_CONTAINER_NAME)),CLIENT_MAPPINGS_CLUSTER_NAME)
                 .addRejectCheck(RejectAttributeChecker.DEFINED, CLIENT_MAPPINGS_CLUSTER_NAME)
                 .setDiscard(DiscardAttributeChecker.ALWAYS, EXECUTE_IN_WORKER) //as this does not affect functionality we just discard
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, MAX_INVOCATIONS_PER_CHANNEL)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, MAX_INVOCATIONS_PER_CHANNEL)
                 .end();
     }
 
+    static void registerTransformers_4_x(ResourceTransformationDescriptionBuilder parent, ModelVersion version) {
+        if (EJB3Model.VERSION_4_6_0.requiresTransformation(version)) {
+            ResourceTransformationDescriptionBuilder remoteService = parent.addChildResource(EJB3SubsystemModel.REMOTE_SERVICE_PATH);
+            remoteService.getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.UNDEFINED, MAX_INVOCATIONS_PER_CHANNEL)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, MAX_INVOCATIONS_PER_CHANNEL)
+                    .end();
+        }
+    }
+
+    /**
+     * Reads the statistics of the channels currently open to the EJB remote service.
+     */
+    private static class ChannelsMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(EJBRemoteConnectorService.SERVICE_NAME);
+            EJBRemoteConnectorService service = (controller != null) ? (EJBRemoteConnectorService) controller.getValue() : null;
+            ModelNode result = context.getResult().setEmptyList();
+            if (service != null) {
+                for (ChannelAssociation association : service.getChannelAssociations()) {
+                    ModelNode channel = result.add();
+                    channel.get(CHANNEL.getName()).set(association.getChannel().toString());
+                    channel.get(QUEUED_INVOCATIONS.getName()).set(association.getQueuedInvocationCount());
+                    channel.get(WAITING_INVOCATIONS.getName()).set(association.getWaitingInvocationCount());
+                    channel.get(ACTIVE_INVOCATIONS.getName()).set(association.getActiveInvocationCount());
+                    channel.get(REJECTED_INVOCATIONS.getName()).set(association.getRejectedInvocationCount());
+                    channel.get(RECEIVE_SUSPENSIONS.getName()).set(association.getReceiveSuspensionCount());
+                }
+            }
+            context.stepCompleted();
+        }
+    }
 }
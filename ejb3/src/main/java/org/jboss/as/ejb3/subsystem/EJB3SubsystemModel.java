@@ -60,11 +60,32 @@ public interface EJB3SubsystemModel {
     String ENABLE_STATISTICS = "enable-statistics";
 
     String FILE_DATA_STORE = "file-data-store";
+    String JOURNAL = "journal";
+    String JOURNAL_SYNC = "journal-sync";
 
     String MAX_POOL_SIZE = "max-pool-size";
     String DERIVE_SIZE = "derive-size";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
+    String SHARDED = "sharded";
+
+    String DISPATCHED_TIMEOUTS = "dispatched-timeouts";
+    String AVERAGE_DISPATCH_LAG = "average-dispatch-lag";
+    String MAX_DISPATCH_LAG = "max-dispatch-lag";
+
+    String REFRESHES = "refreshes";
+    String REFRESH_ADDED_TIMERS = "refresh-added-timers";
+    String REFRESH_REMOVED_TIMERS = "refresh-removed-timers";
+    String BATCHED_TIMER_UPDATES = "batched-timer-updates";
+
+    String MAX_INVOCATIONS_PER_CHANNEL = "max-invocations-per-channel";
+    String CHANNELS = "channels";
+    String CHANNEL = "channel";
+    String QUEUED_INVOCATIONS = "queued-invocations";
+    String WAITING_INVOCATIONS = "waiting-invocations";
+    String ACTIVE_INVOCATIONS = "active-invocations";
+    String REJECTED_INVOCATIONS = "rejected-invocations";
+    String RECEIVE_SUSPENSIONS = "receive-suspensions";
 
     String MAX_THREADS = "max-threads";
     String KEEPALIVE_TIME = "keepalive-time";
@@ -73,8 +94,10 @@ public interface EJB3SubsystemModel {
     String PATH = "path";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
+    String DEFAULT_SINGLETON_BEAN_LOCK_STRATEGY = "default-singleton-bean-lock-strategy";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
     String DEFAULT_DATA_STORE = "default-data-store";
+    String LOOK_AHEAD_WINDOW = "look-ahead-window";
 
     String REMOTE = "remote";
     String SERVICE = "service";
@@ -91,6 +114,7 @@ public interface EJB3SubsystemModel {
     String TIMER_SERVICE = "timer-service";
     String THREAD_POOL = "thread-pool";
     String THREAD_POOL_NAME = "thread-pool-name";
+    String VIRTUAL_THREADS = "virtual-threads";
     String DEFAULT = "default";
 
     String USE_QUALIFIED_NAME = "use-qualified-name";
@@ -136,5 +160,6 @@ public interface EJB3SubsystemModel {
     PathElement DATABASE_DATA_STORE_PATH = PathElement.pathElement(DATABASE_DATA_STORE);
 
     ServiceName BASE_THREAD_POOL_SERVICE_NAME = ThreadsServices.EXECUTOR.append("ejb3");
+    ServiceName ASYNC_VIRTUAL_THREAD_EXECUTOR_SERVICE_NAME = BASE_THREAD_POOL_SERVICE_NAME.append("async", "virtual");
     String EXECUTE_IN_WORKER = "execute-in-worker";
 }
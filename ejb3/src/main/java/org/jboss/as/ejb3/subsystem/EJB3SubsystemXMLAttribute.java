@@ -47,6 +47,7 @@ public enum EJB3SubsystemXMLAttribute {
 
     DEFAULT_ACCESS_TIMEOUT("default-access-timeout"),
     DEFAULT_DATA_STORE("default-data-store"),
+    DEFAULT_LOCK_STRATEGY("default-lock-strategy"),
     DATABASE("database"),
     DATASOURCE_JNDI_NAME("datasource-jndi-name"),
 
@@ -61,10 +62,15 @@ public enum EJB3SubsystemXMLAttribute {
     INSTANCE_ACQUISITION_TIMEOUT("instance-acquisition-timeout"),
     INSTANCE_ACQUISITION_TIMEOUT_UNIT("instance-acquisition-timeout-unit"),
 
+    JOURNAL("journal"),
+    JOURNAL_SYNC("journal-sync"),
+
     KEEPALIVE_TIME("keepalive-time"),
 
     LOCAL_RECEIVER_PASS_BY_VALUE("local-receiver-pass-by-value"),
+    LOOK_AHEAD_WINDOW("look-ahead-window"),
 
+    MAX_INVOCATIONS_PER_CHANNEL("max-invocations-per-channel"),
     MAX_POOL_SIZE("max-pool-size"),
     MAX_SIZE("max-size"),
     DERIVE_SIZE("derive-size"),
@@ -87,6 +93,7 @@ public enum EJB3SubsystemXMLAttribute {
     RESOURCE_ADAPTER_NAME("resource-adapter-name"),
 
     @Deprecated SESSIONS_PATH("sessions-path"),
+    SHARDED("sharded"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
 
     THREAD_POOL_NAME("thread-pool-name"),
@@ -95,6 +102,7 @@ public enum EJB3SubsystemXMLAttribute {
     USE_QUALIFIED_NAME("use-qualified-name"),
 
     VALUE("value"),
+    VIRTUAL_THREADS("virtual-threads"),
 
     ACTIVE("active"),
 
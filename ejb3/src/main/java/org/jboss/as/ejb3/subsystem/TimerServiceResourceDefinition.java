@@ -26,7 +26,10 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -35,7 +38,9 @@ import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
@@ -49,10 +54,14 @@ import org.jboss.as.controller.transform.ResourceTransformationContext;
 import org.jboss.as.controller.transform.TransformationContext;
 import org.jboss.as.controller.transform.TransformationTarget;
 import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelScheduler;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * {@link org.jboss.as.controller.ResourceDefinition} for the timer-service resource.
@@ -73,24 +82,55 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                     //.setDefaultValue(new ModelNode("default-file-store")) //for backward compatibility!
                     .build();
 
+    static final SimpleAttributeDefinition LOOK_AHEAD_WINDOW =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.LOOK_AHEAD_WINDOW, ModelType.LONG, true)
+                    .setAllowExpression(true)
+                    .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    static final SimpleAttributeDefinition DISPATCHED_TIMEOUTS =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.DISPATCHED_TIMEOUTS, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition AVERAGE_DISPATCH_LAG =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.AVERAGE_DISPATCH_LAG, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
+    static final SimpleAttributeDefinition MAX_DISPATCH_LAG =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_DISPATCH_LAG, ModelType.LONG)
+                    .setUndefinedMetricValue(new ModelNode(0L))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                    .build();
+
     public static final Map<String, AttributeDefinition> ATTRIBUTES ;
 
     private final PathManager pathManager;
+    private final boolean registerRuntimeOnly;
 
     static {
         Map<String, AttributeDefinition> map = new LinkedHashMap<String, AttributeDefinition>();
         map.put(THREAD_POOL_NAME.getName(), THREAD_POOL_NAME);
         map.put(DEFAULT_DATA_STORE.getName(), DEFAULT_DATA_STORE);
+        map.put(LOOK_AHEAD_WINDOW.getName(), LOOK_AHEAD_WINDOW);
 
         ATTRIBUTES = Collections.unmodifiableMap(map);
     }
 
-    public TimerServiceResourceDefinition(final PathManager pathManager) {
+    public TimerServiceResourceDefinition(final PathManager pathManager, final boolean registerRuntimeOnly) {
         super(EJB3SubsystemModel.TIMER_SERVICE_PATH,
                 EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.TIMER_SERVICE),
                 TimerServiceAdd.INSTANCE, ReloadRequiredRemoveStepHandler.INSTANCE,
                 OperationEntry.Flag.RESTART_ALL_SERVICES, OperationEntry.Flag.RESTART_ALL_SERVICES);
         this.pathManager = pathManager;
+        this.registerRuntimeOnly = registerRuntimeOnly;
     }
 
 
@@ -99,20 +139,48 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTES.values()) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        if (this.registerRuntimeOnly) {
+            resourceRegistration.registerMetric(DISPATCHED_TIMEOUTS, new TimerSchedulerMetricsHandler() {
+                @Override
+                protected long readMetric(TimingWheelScheduler scheduler) {
+                    return scheduler.getDispatchedCount();
+                }
+            });
+            resourceRegistration.registerMetric(AVERAGE_DISPATCH_LAG, new TimerSchedulerMetricsHandler() {
+                @Override
+                protected long readMetric(TimingWheelScheduler scheduler) {
+                    return scheduler.getAverageDispatchLag();
+                }
+            });
+            resourceRegistration.registerMetric(MAX_DISPATCH_LAG, new TimerSchedulerMetricsHandler() {
+                @Override
+                protected long readMetric(TimingWheelScheduler scheduler) {
+                    return scheduler.getMaxDispatchLag();
+                }
+            });
+        }
     }
 
     @Override
     public void registerChildren(final ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerSubModel(new FileDataStoreResourceDefinition(pathManager));
 
-        resourceRegistration.registerSubModel(DatabaseDataStoreResourceDefinition.INSTANCE);
+        resourceRegistration.registerSubModel(new DatabaseDataStoreResourceDefinition(this.registerRuntimeOnly));
     }
 
     static void registerTransformers_1_2_0(ResourceTransformationDescriptionBuilder parent) {
         ResourceTransformationDescriptionBuilder timerService = parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        registerLookAheadWindowTransformers(timerService);
         registerDataStoreTransformers(timerService);
     }
 
+    private static void registerLookAheadWindowTransformers(ResourceTransformationDescriptionBuilder timerService) {
+        timerService.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, LOOK_AHEAD_WINDOW)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, LOOK_AHEAD_WINDOW)
+                .end();
+    }
+
     private static void registerDataStoreTransformers(ResourceTransformationDescriptionBuilder timerService) {
 
         DataStoreTransformer dataStoreTransformer = new DataStoreTransformer();
@@ -129,6 +197,10 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
             }
         });
 
+        fileDataStore.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(new ModelNode(false)), FileDataStoreResourceDefinition.JOURNAL, FileDataStoreResourceDefinition.JOURNAL_SYNC)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileDataStoreResourceDefinition.JOURNAL, FileDataStoreResourceDefinition.JOURNAL_SYNC)
+                .end();
         fileDataStore.addOperationTransformationOverride(ModelDescriptionConstants.ADD)
             .inheritResourceAttributeDefinitions()
             .setCustomOperationTransformer(dataStoreTransformer)
@@ -138,7 +210,25 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
 
     public static void registerTransformers_1_3_0(ResourceTransformationDescriptionBuilder parent) {
         ResourceTransformationDescriptionBuilder timerService = parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        registerLookAheadWindowTransformers(timerService);
         DatabaseDataStoreResourceDefinition.registerTransformers1_3_0(timerService);
+        FileDataStoreResourceDefinition.registerTransformers_1_3_0_to_4_1_0(timerService);
+    }
+
+    static void registerTransformers_3_0_0(ResourceTransformationDescriptionBuilder parent) {
+        ResourceTransformationDescriptionBuilder timerService = parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        registerLookAheadWindowTransformers(timerService);
+        FileDataStoreResourceDefinition.registerTransformers_1_3_0_to_4_1_0(timerService);
+    }
+
+    static void registerTransformers_4_x(ResourceTransformationDescriptionBuilder parent, ModelVersion version) {
+        ResourceTransformationDescriptionBuilder timerService = parent.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        if (EJB3Model.VERSION_4_5_0.requiresTransformation(version)) {
+            registerLookAheadWindowTransformers(timerService);
+        }
+        if (EJB3Model.VERSION_4_2_0.requiresTransformation(version)) {
+            FileDataStoreResourceDefinition.registerTransformers_1_3_0_to_4_1_0(timerService);
+        }
     }
 
     private static class DataStoreTransformer implements CombinedTransformer {
@@ -184,6 +274,8 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                             && untransformedModel.get(EJB3SubsystemModel.DATABASE_DATA_STORE).keys().size() > 0)
                         || untransformedModel.get(EJB3SubsystemModel.FILE_DATA_STORE).keys().size() > 1) {
                 rejectIncompatibleDataStores(context, address);
+            } else if (fileStore.get(EJB3SubsystemModel.JOURNAL).asBoolean(false)) {
+                rejectIncompatibleDataStores(context, address);
             }
 
             ModelNode path = fileStore.get(EJB3SubsystemModel.PATH);
@@ -201,4 +293,22 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
 
     }
 
+
+    /**
+     * Reads a metric of the {@link TimingWheelScheduler} used to dispatch EJB timeouts.
+     */
+    private abstract static class TimerSchedulerMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(TimerServiceDeploymentProcessor.TIMER_SCHEDULER_SERVICE_NAME);
+            TimingWheelScheduler scheduler = (controller != null) ? (TimingWheelScheduler) controller.getValue() : null;
+            if (scheduler != null) {
+                context.getResult().set(this.readMetric(scheduler));
+            }
+            context.stepCompleted();
+        }
+
+        protected abstract long readMetric(TimingWheelScheduler scheduler);
+    }
 }
@@ -36,7 +36,9 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.ejb.EJBException;
 import javax.ejb.ScheduleExpression;
@@ -62,6 +64,7 @@ import org.jboss.as.ejb3.component.stateful.CurrentSynchronizationCallback;
 import org.jboss.as.ejb3.context.CurrentInvocationContext;
 import org.jboss.as.ejb3.subsystem.deployment.TimerServiceResource;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelScheduler;
 import org.jboss.as.ejb3.timerservice.spi.ScheduleTimer;
 import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
 import org.jboss.invocation.InterceptorContext;
@@ -100,7 +103,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
     private final InjectedValue<ExecutorService> executorServiceInjectedValue = new InjectedValue<ExecutorService>();
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimingWheelScheduler> schedulerInjectedValue = new InjectedValue<TimingWheelScheduler>();
 
     private final InjectedValue<TimedObjectInvoker> timedObjectInvoker = new InjectedValue<TimedObjectInvoker>();
 
@@ -117,12 +120,12 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     /**
      * All timers which were created by this {@link TimerService}
      */
-    private final Map<String, TimerImpl> timers = Collections.synchronizedMap(new HashMap<String, TimerImpl>());
+    private final Map<String, TimerImpl> timers = new ConcurrentHashMap<String, TimerImpl>();
 
     /**
-     * Holds the {@link java.util.concurrent.Future} of each of the timer tasks that have been scheduled
+     * Holds each of the timer tasks that have been scheduled
      */
-    private final Map<String, java.util.TimerTask> scheduledTimerFutures = new HashMap<String, java.util.TimerTask>();
+    private final Map<String, Task> scheduledTimerFutures = new ConcurrentHashMap<String, Task>();
 
     /**
      * Key that is used to store timers that are waiting on transaction completion in the transaction local
@@ -142,6 +145,20 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
     private volatile boolean started = false;
 
+    /**
+     * If greater than 0, the time in milliseconds within which a persistent timer must be due to be loaded
+     * when this timer service is activated. Later timers are loaded as the window advances.
+     */
+    private final long lookAheadWindow;
+
+    /**
+     * The upper bound of the window within which persistent timers have been loaded,
+     * or null if all persistent timers have been loaded
+     */
+    private volatile Date loadedUntil;
+
+    private TimingWheelScheduler.Timeout timerLoadingTimeout;
+
     static {
         final Set<TimerState> states = new HashSet<TimerState>();
         states.add(TimerState.CANCELED);
@@ -171,9 +188,25 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      *                  timer service belongs.
      */
     public TimerServiceImpl(final Map<Method, List<AutoTimer>> autoTimers, final ServiceName serviceName, final TimerServiceRegistry registry) {
+        this(autoTimers, serviceName, registry, 0L);
+    }
+
+    /**
+     * Creates a {@link TimerServiceImpl}
+     *
+     * @param autoTimers The auto timers associated with this timer service
+     * @param serviceName The service name of this timer service
+     * @param registry The {@link TimerServiceRegistry} which has the knowledge of other timer services belonging to the EJB module to which this
+     *                  timer service belongs.
+     * @param lookAheadWindow If greater than 0, the time in milliseconds within which a persistent timer must be due to be loaded on activation.
+     *                        Auto timers are always loaded. The remaining timers are loaded as the window advances, or all at once
+     *                        when the timers of this timer service are listed.
+     */
+    public TimerServiceImpl(final Map<Method, List<AutoTimer>> autoTimers, final ServiceName serviceName, final TimerServiceRegistry registry, final long lookAheadWindow) {
         this.autoTimers = autoTimers;
         this.serviceName = serviceName;
         this.timerServiceRegistry = registry;
+        this.lookAheadWindow = lookAheadWindow;
     }
 
     @Override
@@ -210,7 +243,13 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         this.transactionManager = null;
         IoUtils.safeClose(listenerHandle);
         listenerHandle = null;
-        timerInjectedValue.getValue().purge(); //WFLY-3823
+        this.cancelTimerLoading();
+        this.loadedUntil = null;
+        // Cancel all outstanding timeouts in bulk, so the scheduler does not retain references to undeployed classes - WFLY-3823
+        for (Task task : this.scheduledTimerFutures.values()) {
+            task.cancel();
+        }
+        this.scheduledTimerFutures.clear();
     }
 
 
@@ -223,9 +262,11 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
         // restore the timers
         restoreTimers(timers);
+        this.scheduleTimerLoading();
     }
 
     public synchronized void deactivate() {
+        this.cancelTimerLoading();
         suspendTimers();
     }
 
@@ -396,15 +437,21 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     @Override
     public Collection<Timer> getTimers() throws IllegalStateException, EJBException {
         assertTimerServiceState();
+        if (this.loadedUntil != null) {
+            // Timers that are not due yet must be listed as well
+            this.loadPersistentTimers(null);
+        }
+        return this.getActiveTimers();
+    }
+
+    private Collection<Timer> getActiveTimers() {
         Object pk = currentPrimaryKey();
         final Set<Timer> activeTimers = new HashSet<Timer>();
         // get all active timers for this timerservice
-        synchronized (this.timers) {
-            for (final TimerImpl timer : this.timers.values()) {
-                if (timer.isActive()) {
-                    if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
-                        activeTimers.add(timer);
-                    }
+        for (final TimerImpl timer : this.timers.values()) {
+            if (timer.isActive()) {
+                if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
+                    activeTimers.add(timer);
                 }
             }
         }
@@ -568,7 +615,13 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         if (timer != null) {
             return timer;
         }
-        return getWaitingOnTxCompletionTimers().get(timerHandle.getId());
+        timer = getWaitingOnTxCompletionTimers().get(timerHandle.getId());
+        if (timer == null && this.loadedUntil != null) {
+            // The timer may not be due yet
+            this.loadPersistentTimers(null);
+            timer = timers.get(timerHandle.getId());
+        }
+        return timer;
     }
 
     /**
@@ -661,8 +714,8 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * </p>
      */
     public void suspendTimers() {
-        // get all active timers (persistent/non-persistent inclusive)
-        Collection<Timer> timers = this.getTimers();
+        // get all active timers (persistent/non-persistent inclusive), without loading timers that are not due yet
+        Collection<Timer> timers = this.getActiveTimers();
         for (Timer timer : timers) {
             if (!(timer instanceof TimerImpl)) {
                 continue;
@@ -759,19 +812,64 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         // if there's no transaction, then trigger a schedule immediately.
         // Else, the timer will be scheduled on tx synchronization callback
         if (!transactionActive()) {
-            this.timers.put(timer.getId(), timer);
-            // set active if the timer is started if it was read
-            // from persistence as current running to ensure correct schedule here
-            timer.setTimerState(TimerState.ACTIVE);
-            // create and schedule a timer task
-            this.registerTimerResource(timer.getId());
-            timer.scheduleTimeout(true);
+            this.scheduleTimer(timer);
         } else {
             addWaitingOnTxCompletionTimer(timer);
             registerSynchronization(new TimerCreationTransactionSynchronization(timer));
         }
     }
 
+    private void scheduleTimer(TimerImpl timer) {
+        this.timers.put(timer.getId(), timer);
+        // set active if the timer is started if it was read
+        // from persistence as current running to ensure correct schedule here
+        timer.setTimerState(TimerState.ACTIVE);
+        // create and schedule a timer task
+        this.registerTimerResource(timer.getId());
+        timer.scheduleTimeout(true);
+    }
+
+    /**
+     * Loads and starts the persistent timers that were left out so far, because they were not due within the look-ahead window.
+     * Timers are started regardless of any transaction in progress, as they already exist.
+     *
+     * @param until The new upper bound of the window, or null to load all remaining persistent timers
+     */
+    private synchronized void loadPersistentTimers(final Date until) {
+        final Date from = this.loadedUntil;
+        if (from == null || !this.started || (until != null && !until.after(from))) {
+            return;
+        }
+        final List<TimerImpl> persistedTimers = timerPersistence.getValue().loadActiveTimers(this.getInvoker().getTimedObjectId(), from, until, this);
+        this.loadedUntil = until;
+        if (until == null) {
+            this.cancelTimerLoading();
+        }
+        for (TimerImpl timer : persistedTimers) {
+            // Skip timers that have been loaded before, but whose next expiration has since moved into the window
+            if (!ineligibleTimerStates.contains(timer.getState()) && !this.timers.containsKey(timer.getId())) {
+                this.scheduleTimer(timer);
+                EJB3_TIMER_LOGGER.debugv("Started timer: {0}", timer);
+            }
+        }
+    }
+
+    private synchronized void scheduleTimerLoading() {
+        this.cancelTimerLoading();
+        if (this.loadedUntil != null) {
+            // Advancing by half a window ensures that timers are loaded at least half a window before they are due
+            final long period = Math.max(this.lookAheadWindow / 2, 1L);
+            this.timerLoadingTimeout = this.schedulerInjectedValue.getValue().scheduleAtFixedRate(new TimerLoadingTask(), period, period);
+        }
+    }
+
+    private synchronized void cancelTimerLoading() {
+        if (this.timerLoadingTimeout != null) {
+            this.timerLoadingTimeout.cancel();
+            this.timerLoadingTimeout = null;
+        }
+    }
+
     private void registerSynchronization(Synchronization synchronization) {
         try {
             final Transaction tx = this.getTransaction();
@@ -855,63 +953,60 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * Creates and schedules a {@link TimerTask} for the next timeout of the passed <code>timer</code>
      */
     protected void scheduleTimeout(TimerImpl timer, boolean newTimer) {
-        synchronized (scheduledTimerFutures) {
-            if (!newTimer && !scheduledTimerFutures.containsKey(timer.getId())) {
-                //this timer has been cancelled by another thread. We just return
-                return;
-            }
-
-            Date nextExpiration = timer.getNextExpiration();
-            if (nextExpiration == null) {
-                EJB3_TIMER_LOGGER.nextExpirationIsNull(timer);
-                return;
-            }
-            // create the timer task
-            final TimerTask<?> timerTask = timer.getTimerTask();
-            // find out how long is it away from now
-            long delay = nextExpiration.getTime() - System.currentTimeMillis();
-            // if in past, then trigger immediately
-            if (delay < 0) {
-                delay = 0;
-            }
-            long intervalDuration = timer.getInterval();
-            final Task task = new Task(timerTask, ejbComponentInjectedValue.getValue().getControlPoint());
-            if (intervalDuration > 0) {
-                EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
-                        timer, delay, intervalDuration);
-                // schedule the task
-                this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
-            } else {
-                EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
-                // schedule the task
-                this.timerInjectedValue.getValue().schedule(task, delay);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
+        if (!newTimer && !scheduledTimerFutures.containsKey(timer.getId())) {
+            //this timer has been cancelled by another thread. We just return
+            return;
+        }
 
-            }
+        Date nextExpiration = timer.getNextExpiration();
+        if (nextExpiration == null) {
+            EJB3_TIMER_LOGGER.nextExpirationIsNull(timer);
+            return;
+        }
+        // create the timer task
+        final TimerTask<?> timerTask = timer.getTimerTask();
+        // find out how long is it away from now
+        long delay = nextExpiration.getTime() - System.currentTimeMillis();
+        // if in past, then trigger immediately
+        if (delay < 0) {
+            delay = 0;
+        }
+        long intervalDuration = timer.getInterval();
+        final Task task = new Task(timerTask, ejbComponentInjectedValue.getValue().getControlPoint());
+        // maintain it in timerservice for future use (like cancellation)
+        if (newTimer) {
+            this.scheduledTimerFutures.put(timer.getId(), task);
+        } else if (this.scheduledTimerFutures.replace(timer.getId(), task) == null) {
+            //this timer has been cancelled by another thread. We just return
+            return;
+        }
+        final TimingWheelScheduler scheduler = this.schedulerInjectedValue.getValue();
+        if (intervalDuration > 0) {
+            EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
+                    timer, delay, intervalDuration);
+            // schedule the task
+            task.setTimeout(scheduler.scheduleAtFixedRate(task, delay, intervalDuration));
+        } else {
+            EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
+            // schedule the task
+            task.setTimeout(scheduler.schedule(task, delay));
         }
     }
 
     /**
-     * Cancels any scheduled {@link java.util.concurrent.Future} corresponding to the passed <code>timer</code>
+     * Cancels any scheduled {@link TimingWheelScheduler.Timeout} corresponding to the passed <code>timer</code>
      *
      * @param timer
      */
     protected void cancelTimeout(final TimerImpl timer) {
-        synchronized (this.scheduledTimerFutures) {
-            java.util.TimerTask timerTask = this.scheduledTimerFutures.remove(timer.getId());
-            if (timerTask != null) {
-                timerTask.cancel();
-            }
+        Task task = this.scheduledTimerFutures.remove(timer.getId());
+        if (task != null) {
+            task.cancel();
         }
     }
 
     public boolean isScheduled(final String tid){
-        synchronized (this.scheduledTimerFutures) {
-            return this.scheduledTimerFutures.containsKey(tid);
-        }
+        return this.scheduledTimerFutures.containsKey(tid);
     }
 
     /**
@@ -949,7 +1044,15 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             return Collections.emptyList();
         }
 
-        final List<TimerImpl> persistedTimers = timerPersistence.getValue().loadActiveTimers(timedObjectId, this);
+        final List<TimerImpl> persistedTimers;
+        if (this.lookAheadWindow > 0) {
+            // Only load the timers due within the look-ahead window, the remaining ones are loaded as the window advances
+            final Date until = new Date(System.currentTimeMillis() + this.lookAheadWindow);
+            persistedTimers = timerPersistence.getValue().loadActiveTimers(timedObjectId, null, until, this);
+            this.loadedUntil = until;
+        } else {
+            persistedTimers = timerPersistence.getValue().loadActiveTimers(timedObjectId, this);
+        }
         final List<TimerImpl> activeTimers = new ArrayList<TimerImpl>();
         for (final TimerImpl persistedTimer : persistedTimers) {
             if (ineligibleTimerStates.contains(persistedTimer.getState())) {
@@ -1066,8 +1169,8 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         return executorServiceInjectedValue;
     }
 
-    public InjectedValue<java.util.Timer> getTimerInjectedValue() {
-        return timerInjectedValue;
+    public InjectedValue<TimingWheelScheduler> getSchedulerInjectedValue() {
+        return schedulerInjectedValue;
     }
 
     public InjectedValue<TimerPersistence> getTimerPersistence() {
@@ -1185,7 +1288,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class Task extends java.util.TimerTask {
+    private class Task implements Runnable {
 
         private final TimerTask<?> delegate;
         private final ControlPoint controlPoint;
@@ -1194,6 +1297,8 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
          * used to stop timer tasks banking up when the container is suspended.
          */
         private volatile boolean queued = false;
+        private volatile boolean cancelled = false;
+        private volatile TimingWheelScheduler.Timeout timeout;
 
         public Task(final TimerTask<?> delegate, ControlPoint controlPoint) {
             this.delegate = delegate;
@@ -1203,7 +1308,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         @Override
         public void run() {
             final ExecutorService executor = executorServiceInjectedValue.getOptionalValue();
-            if (executor != null) {
+            if (executor != null && !cancelled) {
                 if(controlPoint == null) {
                     executor.submit(delegate);
                 } else if(!queued) {
@@ -1221,10 +1326,50 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             }
         }
 
-        @Override
-        public boolean cancel() {
+        void setTimeout(TimingWheelScheduler.Timeout timeout) {
+            this.timeout = timeout;
+            // Handle cancellation that raced with scheduling
+            if (this.cancelled) {
+                timeout.cancel();
+            }
+        }
+
+        void cancel() {
+            this.cancelled = true;
             delegate.cancel();
-            return super.cancel();
+            TimingWheelScheduler.Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * Advances the look-ahead window of persistent timers, loading them on the timer thread pool rather than on the scheduler thread.
+     */
+    private class TimerLoadingTask implements Runnable {
+
+        private final AtomicBoolean queued = new AtomicBoolean();
+
+        @Override
+        public void run() {
+            final ExecutorService executor = executorServiceInjectedValue.getOptionalValue();
+            if (executor != null && queued.compareAndSet(false, true)) {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        final Date until = new Date(System.currentTimeMillis() + lookAheadWindow);
+                        try {
+                            loadPersistentTimers(until);
+                        } catch (RuntimeException e) {
+                            // Retried with the next advance of the window
+                            EJB3_TIMER_LOGGER.failedToLoadTimers(getInvoker().getTimedObjectId(), until, e);
+                        } finally {
+                            queued.set(false);
+                        }
+                    }
+                });
+            }
         }
     }
 
@@ -1232,7 +1377,15 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
         @Override
         public void timerAdded(TimerImpl timer) {
-            TimerServiceImpl.this.startTimer(timer);
+            // Synchronized with the loading of persistent timers, so that the timer is either loaded by the next advance of the window or started here
+            synchronized (TimerServiceImpl.this) {
+                final Date loadedUntil = TimerServiceImpl.this.loadedUntil;
+                final Date nextExpiration = timer.getNextExpiration();
+                if (loadedUntil != null && nextExpiration != null && nextExpiration.after(loadedUntil)) {
+                    return;
+                }
+                TimerServiceImpl.this.startTimer(timer);
+            }
         }
 
         @Override
@@ -22,6 +22,8 @@
 package org.jboss.as.ejb3.timerservice.persistence;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import javax.transaction.TransactionManager;
@@ -75,6 +77,30 @@ public interface TimerPersistence {
      */
     List<TimerImpl> loadActiveTimers(String timedObjectId, final TimerServiceImpl timerService);
 
+    /**
+     * Load the active timers for the given object that are due within the given window.
+     * <p/>
+     * If <code>from</code> is null, this loads the timers whose next expiration is not after <code>until</code>,
+     * as well as all auto timers and all timers without a next expiration.
+     * Otherwise this loads the timers whose next expiration is after <code>from</code> and not after <code>until</code>.
+     * <p/>
+     * The default implementation filters the result of {@link #loadActiveTimers(String, TimerServiceImpl)}.
+     *
+     * @param timedObjectId The timed object id to load timers for
+     * @param from The exclusive lower bound of the window, or null when the timer service starts
+     * @param until The inclusive upper bound of the window, or null if the window is unbounded
+     * @return A list of the active timers due within the window
+     */
+    default List<TimerImpl> loadActiveTimers(String timedObjectId, Date from, Date until, final TimerServiceImpl timerService) {
+        final List<TimerImpl> timers = new ArrayList<TimerImpl>();
+        for (TimerImpl timer : this.loadActiveTimers(timedObjectId, timerService)) {
+            if (isDue(timer.getNextExpiration(), timer.isAutoTimer(), from, until)) {
+                timers.add(timer);
+            }
+        }
+        return timers;
+    }
+
     /**
      *
      * Registers a listener to listed for new timers that are added to the database.
@@ -85,6 +111,22 @@ public interface TimerPersistence {
      */
     Closeable registerChangeListener(String timedObjectId, final TimerChangeListener listener);
 
+    /**
+     * Tells whether a timer is due within the given window, see {@link #loadActiveTimers(String, Date, Date, TimerServiceImpl)}.
+     *
+     * @param nextExpiration The next expiration of the timer, or null if it has none
+     * @param autoTimer True if the timer is an auto timer
+     * @param from The exclusive lower bound of the window, or null when the timer service starts
+     * @param until The inclusive upper bound of the window, or null if the window is unbounded
+     * @return true if the timer should be loaded
+     */
+    static boolean isDue(Date nextExpiration, boolean autoTimer, Date from, Date until) {
+        if (from == null) {
+            return autoTimer || nextExpiration == null || until == null || !nextExpiration.after(until);
+        }
+        return nextExpiration != null && nextExpiration.after(from) && (until == null || !nextExpiration.after(until));
+    }
+
     /**
      * Listener that gets invoked when a new timer is added to the underlying store.
      */
@@ -50,6 +50,7 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.sql.DataSource;
 import javax.transaction.HeuristicMixedException;
@@ -99,7 +100,8 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
 
     private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
 
-    private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
+    /** The next expirations, as persisted, of the timers known to this node, by timed object */
+    private final Map<String, Map<String, Date>> knownTimers = new HashMap<>();
 
     /** Identifier for the database dialect to be used for the timer-sql.properties */
     private String database;
@@ -120,6 +122,12 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private MarshallingConfiguration configuration;
     private RefreshTask refreshTask;
 
+    /** Statistics of the refresh task and of batched timer updates*/
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshAddedTimers = new AtomicLong();
+    private final AtomicLong refreshRemovedTimers = new AtomicLong();
+    private final AtomicLong batchedTimerUpdates = new AtomicLong();
+
     /** Names for the different SQL commands stored in the properties*/
     private static final String CREATE_TABLE = "create-table";
     private static final String CREATE_TIMER = "create-timer";
@@ -128,6 +136,10 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private static final String LOAD_TIMER = "load-timer";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
+    private static final String LOAD_TIMER_NEXT_DATES = "load-timer-next-dates";
+    private static final String REFRESH_TIMER = "refresh-timer";
+    private static final String LOAD_DUE_TIMERS = "load-due-timers";
+    private static final String LOAD_TIMERS_DUE_BETWEEN = "load-timers-due-between";
 
     public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
         this.database = database;
@@ -169,7 +181,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         if (refreshTask != null) {
             refreshTask.cancel();
         }
-        knownTimerIds.clear();
+        knownTimers.clear();
         managedReference.release();
         managedReference = null;
         dataSource = null;
@@ -320,7 +332,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         ResultSet resultSet = null;
         try {
             synchronized (this) {
-                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+                knownTimers.get(timerEntity.getTimedObjectId()).put(timerEntity.getId(), timestamp(timerEntity.getNextExpiration()));
             }
             connection = dataSource.getConnection();
             statement = connection.prepareStatement(createTimer);
@@ -339,46 +351,97 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     public void persistTimer(final TimerImpl timerEntity) {
         Connection connection = null;
         PreparedStatement statement = null;
-        ResultSet resultSet = null;
         try {
             connection = dataSource.getConnection();
-            if (timerEntity.getState() == TimerState.CANCELED ||
-                    timerEntity.getState() == TimerState.EXPIRED) {
-                String deleteTimer = sql(DELETE_TIMER);
-                statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
+            if (isRemoved(timerEntity)) {
+                statement = connection.prepareStatement(sql(DELETE_TIMER));
+                deleteStatementParameters(timerEntity, statement);
                 statement.execute();
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
-                }
             } else {
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-                }
-                String updateTimer = sql(UPDATE_TIMER);
-                statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
+                statement = connection.prepareStatement(sql(UPDATE_TIMER));
+                updateStatementParameters(timerEntity, statement);
                 statement.execute();
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
-            safeClose(resultSet);
             safeClose(statement);
             safeClose(connection);
         }
     }
 
+    /**
+     * Persists the state transitions of multiple timers using a single connection and JDBC batches,
+     * instead of a round trip per timer.
+     */
+    private void persistTimers(final List<TimerImpl> timers) {
+        if (timers.isEmpty()) {
+            return;
+        }
+        Connection connection = null;
+        PreparedStatement deleteStatement = null;
+        PreparedStatement updateStatement = null;
+        try {
+            connection = dataSource.getConnection();
+            for (TimerImpl timerEntity : timers) {
+                if (isRemoved(timerEntity)) {
+                    if (deleteStatement == null) {
+                        deleteStatement = connection.prepareStatement(sql(DELETE_TIMER));
+                    }
+                    deleteStatementParameters(timerEntity, deleteStatement);
+                    deleteStatement.addBatch();
+                } else {
+                    if (updateStatement == null) {
+                        updateStatement = connection.prepareStatement(sql(UPDATE_TIMER));
+                    }
+                    updateStatementParameters(timerEntity, updateStatement);
+                    updateStatement.addBatch();
+                }
+            }
+            if (deleteStatement != null) {
+                deleteStatement.executeBatch();
+            }
+            if (updateStatement != null) {
+                updateStatement.executeBatch();
+            }
+            batchedTimerUpdates.addAndGet(timers.size());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            safeClose(deleteStatement);
+            safeClose(updateStatement);
+            safeClose(connection);
+        }
+    }
+
+    private static boolean isRemoved(final TimerImpl timerEntity) {
+        return timerEntity.getState() == TimerState.CANCELED || timerEntity.getState() == TimerState.EXPIRED;
+    }
+
+    private void deleteStatementParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
+        statement.setString(1, timerEntity.getTimedObjectId());
+        statement.setString(2, timerEntity.getId());
+        statement.setString(3, partition);
+        synchronized (this) {
+            knownTimers.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+        }
+    }
+
+    private void updateStatementParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
+        synchronized (this) {
+            knownTimers.get(timerEntity.getTimedObjectId()).put(timerEntity.getId(), timestamp(timerEntity.getNextExpiration()));
+        }
+        statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
+        statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
+        statement.setString(3, timerEntity.getState().name());
+        setNodeName(timerEntity.getState(), statement, 4);
+        // WHERE CLAUSE
+        statement.setString(5, timerEntity.getTimedObjectId());
+        statement.setString(6, timerEntity.getId());
+        statement.setString(7, partition);
+        statement.setString(8, nodeName);   // only persist if this node or empty
+    }
+
     @Override
     public boolean shouldRun(TimerImpl timer, TransactionManager tm) {
         if (!allowExecution) {
@@ -437,51 +500,109 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
 
     @Override
     public synchronized void timerUndeployed(final String timedObjectId) {
-        knownTimerIds.remove(timedObjectId);
+        knownTimers.remove(timedObjectId);
     }
 
     @Override
     public List<TimerImpl> loadActiveTimers(final String timedObjectId, final TimerServiceImpl timerService) {
-        String loadTimer = sql(LOAD_ALL_TIMERS);
+        return loadTimers(timedObjectId, null, null, timerService);
+    }
+
+    /**
+     * Only the timers due within the window are read from the database. When the timer service starts, the ids of all timers
+     * of the timed object become known, so that the refresh task does not load the timers that were left out.
+     */
+    @Override
+    public List<TimerImpl> loadActiveTimers(final String timedObjectId, final Date from, final Date until, final TimerServiceImpl timerService) {
+        return loadTimers(timedObjectId, from, until, timerService);
+    }
+
+    private List<TimerImpl> loadTimers(final String timedObjectId, final Date from, final Date until, final TimerServiceImpl timerService) {
+        // Timers are only reset if loaded when the timer service starts, as they may be running on this node afterwards
+        final boolean starting = (from == null);
         Connection connection = null;
         PreparedStatement statement = null;
         ResultSet resultSet = null;
         try {
             connection = dataSource.getConnection();
-            statement = connection.prepareStatement(loadTimer);
-            statement.setString(1, timedObjectId);
-            statement.setString(2, partition);
+            if (until == null) {
+                statement = connection.prepareStatement(sql(LOAD_ALL_TIMERS));
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+            } else if (starting) {
+                // Also load the timers left in timeout by this node, so that they are reset
+                statement = connection.prepareStatement(sql(LOAD_DUE_TIMERS));
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                statement.setBoolean(3, true);
+                statement.setTimestamp(4, timestamp(until));
+                statement.setString(5, nodeName);
+                statement.setString(6, TimerState.IN_TIMEOUT.name());
+                statement.setString(7, TimerState.RETRY_TIMEOUT.name());
+            } else {
+                statement = connection.prepareStatement(sql(LOAD_TIMERS_DUE_BETWEEN));
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                statement.setTimestamp(3, timestamp(from));
+                statement.setTimestamp(4, timestamp(until));
+            }
             resultSet = statement.executeQuery();
             final List<Holder> timers = new ArrayList<>();
             while (resultSet.next()) {
                 try {
                     final Holder timerImpl = timerFromResult(resultSet, timerService);
-                    if (timerImpl != null) {
+                    // The lower bound of an unbounded window is applied here rather than by the database
+                    if (timerImpl != null && (until != null || TimerPersistence.isDue(timerImpl.timer.getNextExpiration(), timerImpl.timer.isAutoTimer(), from, null))) {
                         timers.add(timerImpl);
                     }
                 } catch (Exception e) {
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
                 }
             }
+            safeClose(resultSet);
+            resultSet = null;
+            safeClose(statement);
+            statement = null;
+
+            final Map<String, Date> nextDates = new HashMap<>();
+            for (Holder timer : timers) {
+                nextDates.put(timer.timer.getId(), timestamp(timer.timer.getNextExpiration()));
+            }
+            if (starting && until != null) {
+                // Timers that are not due yet are known as well
+                statement = connection.prepareStatement(sql(LOAD_TIMER_NEXT_DATES));
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    if (!nextDates.containsKey(resultSet.getString(1))) {
+                        nextDates.put(resultSet.getString(1), resultSet.getTimestamp(2));
+                    }
+                }
+            }
             synchronized (this) {
-                Set<String> ids = new HashSet<>();
-                for (Holder timer : timers) {
-                    ids.add(timer.timer.getId());
+                if (starting) {
+                    knownTimers.put(timedObjectId, nextDates);
+                } else {
+                    final Map<String, Date> known = knownTimers.get(timedObjectId);
+                    if (known != null) {
+                        known.putAll(nextDates);
+                    }
                 }
-                knownTimerIds.put(timedObjectId, ids);
+                final List<TimerImpl> resetTimers = new ArrayList<>();
                 for(Holder timer : timers) {
-                    if(timer.requiresReset) {
+                    if(starting && timer.requiresReset) {
                         TimerImpl ret = timer.timer;
                         EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
                         if(ret.getNextExpiration() == null) {
                             ret.setTimerState(TimerState.CANCELED);
-                            persistTimer(ret);
                         } else {
                             ret.setTimerState(TimerState.ACTIVE);
-                            persistTimer(ret);
                         }
+                        resetTimers.add(ret);
                     }
                 }
+                persistTimers(resetTimers);
             }
             List<TimerImpl> ret = new ArrayList<>();
             for(Holder timer : timers) {
@@ -710,6 +831,34 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return timerInjectedValue;
     }
 
+    /**
+     * @return the number of completed refreshes of the timers from the database
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * @return the number of timers added by other nodes, as detected by refreshes
+     */
+    public long getRefreshAddedTimers() {
+        return refreshAddedTimers.get();
+    }
+
+    /**
+     * @return the number of timers removed by other nodes, as detected by refreshes
+     */
+    public long getRefreshRemovedTimers() {
+        return refreshRemovedTimers.get();
+    }
+
+    /**
+     * @return the number of timer state transitions that were persisted via JDBC batches
+     */
+    public long getBatchedTimerUpdates() {
+        return batchedTimerUpdates.get();
+    }
+
     private static void safeClose(final Closeable resource) {
         try {
             if (resource != null) {
@@ -750,6 +899,13 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Reconciles the timers known to this node with the timers in the database.
+     * For each timed object with a change listener, a single query reads the ids and next expirations of its timers.
+     * Only timers that were added, or whose next expiration was changed, by other nodes are then loaded in full, reusing one
+     * prepared statement. The monitor of the persistence store is only held while taking a snapshot of, and applying changes
+     * to, the known timers.
+     */
     private class RefreshTask extends TimerTask {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
@@ -758,69 +914,173 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
+                    final Map<String, Map<String, Date>> existing = new HashMap<>();
                     synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
-                    }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
-                        if (listener == null) {
-                            continue;
-                        }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                        for (Map.Entry<String, Map<String, Date>> entry : knownTimers.entrySet()) {
+                            if (changeListeners.containsKey(entry.getKey())) {
+                                existing.put(entry.getKey(), new HashMap<>(entry.getValue()));
+                            }
                         }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
+                    }
+                    if (existing.isEmpty()) {
+                        return;
+                    }
+                    Connection connection = null;
+                    PreparedStatement statement = null;
+                    PreparedStatement refreshStatement = null;
+                    ResultSet resultSet = null;
+                    try {
+                        connection = dataSource.getConnection();
+                        statement = connection.prepareStatement(sql(LOAD_TIMER_NEXT_DATES));
+                        for (Map.Entry<String, Map<String, Date>> entry : existing.entrySet()) {
+                            final String timedObjectId = entry.getKey();
+                            final TimerChangeListener listener = changeListeners.get(timedObjectId);
+                            if (listener == null) {
+                                continue;
+                            }
+                            final Map<String, Date> current = new HashMap<>();
                             statement.setString(1, timedObjectId);
                             statement.setString(2, partition);
                             resultSet = statement.executeQuery();
                             while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        synchronized (DatabaseTimerPersistence.this) {
-                                            knownTimerIds.get(timedObjectId).add(id);
-                                        }
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if(holder != null) {
-                                            listener.timerAdded(holder.timer);
-                                        }
+                                current.put(resultSet.getString(1), resultSet.getTimestamp(2));
+                            }
+                            safeClose(resultSet);
+                            resultSet = null;
+
+                            final Changes changes = new Changes(entry.getValue(), current);
+                            for (String id : changes.getRemoved()) {
+                                synchronized (DatabaseTimerPersistence.this) {
+                                    final Map<String, Date> known = knownTimers.get(timedObjectId);
+                                    if (known == null || !known.containsKey(id)) {
+                                        continue;
                                     }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
+                                    known.remove(id);
                                 }
+                                listener.timerRemoved(id);
+                                refreshRemovedTimers.incrementAndGet();
                             }
-
-                            synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    timers.remove(timer);
-                                    listener.timerRemoved(timer);
+                            if (changes.getAdded().isEmpty() && changes.getChanged().isEmpty()) {
+                                continue;
+                            }
+                            if (refreshStatement == null) {
+                                refreshStatement = connection.prepareStatement(sql(REFRESH_TIMER));
+                            }
+                            for (String id : changes.getAdded()) {
+                                final Holder holder = refreshTimer(refreshStatement, listener, timedObjectId, id, entry.getValue());
+                                if (holder != null) {
+                                    listener.timerAdded(holder.timer);
+                                    refreshAddedTimers.incrementAndGet();
+                                }
+                            }
+                            for (String id : changes.getChanged()) {
+                                final Holder holder = refreshTimer(refreshStatement, listener, timedObjectId, id, entry.getValue());
+                                if (holder != null) {
+                                    // Reschedules the timer
+                                    listener.timerRemoved(id);
+                                    listener.timerAdded(holder.timer);
                                 }
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
                         }
+                    } catch (SQLException e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition);
+                        return;
+                    } finally {
+                        safeClose(resultSet);
+                        safeClose(statement);
+                        safeClose(refreshStatement);
+                        safeClose(connection);
                     }
+                    refreshCount.incrementAndGet();
                 } finally {
                     running.set(false);
                 }
             }
 
         }
+
+        /**
+         * Loads a timer added or changed by another node and makes its next expiration known.
+         *
+         * @param snapshot The next expirations of the timers of the timed object known when the refresh started
+         * @return the timer, or null if it was removed, or added or changed by this node, in the meantime
+         */
+        private Holder refreshTimer(final PreparedStatement statement, final TimerChangeListener listener, final String timedObjectId, final String id, final Map<String, Date> snapshot) throws SQLException {
+            statement.setString(1, timedObjectId);
+            statement.setString(2, id);
+            statement.setString(3, partition);
+            final ResultSet resultSet = statement.executeQuery();
+            try {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                final Date nextDate = resultSet.getTimestamp(5);
+                synchronized (DatabaseTimerPersistence.this) {
+                    final Map<String, Date> known = knownTimers.get(timedObjectId);
+                    if (known == null) {
+                        // Undeployed in the meantime
+                        return null;
+                    }
+                    final boolean unchanged = snapshot.containsKey(id) ? known.containsKey(id) && Changes.isSameTime(snapshot.get(id), known.get(id)) : !known.containsKey(id);
+                    if (!unchanged) {
+                        // Added, changed or removed locally in the meantime
+                        return null;
+                    }
+                    known.put(id, nextDate);
+                }
+                return timerFromResult(resultSet, listener.getTimerService());
+            } catch (Exception e) {
+                EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                return null;
+            } finally {
+                safeClose(resultSet);
+            }
+        }
     }
 
+    /**
+     * The differences between the next expirations of the timers of a timed object known to this node and those in the database.
+     */
+    static final class Changes {
+        private final Set<String> added = new HashSet<>();
+        private final Set<String> changed = new HashSet<>();
+        private final Set<String> removed = new HashSet<>();
+
+        Changes(final Map<String, Date> known, final Map<String, Date> current) {
+            for (Map.Entry<String, Date> entry : current.entrySet()) {
+                final String id = entry.getKey();
+                if (!known.containsKey(id)) {
+                    added.add(id);
+                } else if (!isSameTime(known.get(id), entry.getValue())) {
+                    changed.add(id);
+                }
+            }
+            for (String id : known.keySet()) {
+                if (!current.containsKey(id)) {
+                    removed.add(id);
+                }
+            }
+        }
+
+        /**
+         * Compares by time only, as a {@link Timestamp} never equals a {@link Date}.
+         */
+        static boolean isSameTime(final Date date1, final Date date2) {
+            return (date1 == null) ? (date2 == null) : (date2 != null && date1.getTime() == date2.getTime());
+        }
+
+        Set<String> getAdded() {
+            return added;
+        }
+
+        Set<String> getChanged() {
+            return changed;
+        }
+
+        Set<String> getRemoved() {
+            return removed;
+        }
+    }
 
     static final class Holder {
         final TimerImpl timer;
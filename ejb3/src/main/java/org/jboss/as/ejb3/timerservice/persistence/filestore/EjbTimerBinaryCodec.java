@@ -0,0 +1,260 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Binary form of a persistent timer, as stored in a {@link TimerJournal}.
+ * Holds the same state as the XML form written by {@link EjbTimerXmlPersister}.
+ */
+class EjbTimerBinaryCodec {
+
+    private static final byte VERSION = 1;
+    private static final byte TIMER = 1;
+    private static final byte CALENDAR_TIMER = 2;
+
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    EjbTimerBinaryCodec(MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    byte[] encode(TimerImpl timer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(VERSION);
+        output.writeByte((timer instanceof CalendarTimer) ? CALENDAR_TIMER : TIMER);
+        output.writeUTF(timer.getTimedObjectId());
+        output.writeUTF(timer.getId());
+        writeDate(output, timer.getInitialExpiration());
+        writeDate(output, timer.getNextExpiration());
+        writeDate(output, timer.getPreviousRun());
+        output.writeUTF(timer.getState().name());
+        this.writeObject(output, timer.getTimerInfo());
+        this.writeObject(output, timer.getPrimaryKey());
+        if (timer instanceof CalendarTimer) {
+            CalendarTimer calendarTimer = (CalendarTimer) timer;
+            ScheduleExpression schedule = calendarTimer.getScheduleExpression();
+            output.writeUTF(schedule.getSecond());
+            output.writeUTF(schedule.getMinute());
+            output.writeUTF(schedule.getHour());
+            output.writeUTF(schedule.getDayOfWeek());
+            output.writeUTF(schedule.getDayOfMonth());
+            output.writeUTF(schedule.getMonth());
+            output.writeUTF(schedule.getYear());
+            writeDate(output, schedule.getStart());
+            writeDate(output, schedule.getEnd());
+            writeString(output, schedule.getTimezone());
+            output.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                Method method = calendarTimer.getTimeoutMethod();
+                output.writeUTF(method.getDeclaringClass().getName());
+                output.writeUTF(method.getName());
+                Class<?>[] parameters = method.getParameterTypes();
+                output.writeInt(parameters.length);
+                for (Class<?> parameter : parameters) {
+                    output.writeUTF(parameter.getName());
+                }
+            }
+        } else {
+            output.writeLong(timer.getInterval());
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the decoded timer, or null if the timeout method of an auto timer no longer exists
+     */
+    TimerImpl decode(byte[] record, TimerServiceImpl timerService, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException(Byte.toString(version));
+        }
+        boolean calendar = input.readByte() == CALENDAR_TIMER;
+        TimerImpl.Builder builder = calendar ? CalendarTimer.builder() : TimerImpl.builder();
+        builder.setPersistent(true);
+        builder.setTimedObjectId(input.readUTF());
+        builder.setId(input.readUTF());
+        builder.setInitialDate(readDate(input));
+        builder.setNextDate(readDate(input));
+        builder.setPreviousRun(readDate(input));
+        builder.setTimerState(TimerState.valueOf(input.readUTF()));
+        builder.setInfo((Serializable) this.readObject(input));
+        builder.setPrimaryKey(this.readObject(input));
+        if (calendar) {
+            CalendarTimer.Builder calendarBuilder = (CalendarTimer.Builder) builder;
+            calendarBuilder.setScheduleExprSecond(input.readUTF());
+            calendarBuilder.setScheduleExprMinute(input.readUTF());
+            calendarBuilder.setScheduleExprHour(input.readUTF());
+            calendarBuilder.setScheduleExprDayOfWeek(input.readUTF());
+            calendarBuilder.setScheduleExprDayOfMonth(input.readUTF());
+            calendarBuilder.setScheduleExprMonth(input.readUTF());
+            calendarBuilder.setScheduleExprYear(input.readUTF());
+            calendarBuilder.setScheduleExprStartDate(readDate(input));
+            calendarBuilder.setScheduleExprEndDate(readDate(input));
+            calendarBuilder.setScheduleExprTimezone(readString(input));
+            boolean autoTimer = input.readBoolean();
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                String className = input.readUTF();
+                String methodName = input.readUTF();
+                String[] parameters = new String[input.readInt()];
+                for (int i = 0; i < parameters.length; ++i) {
+                    parameters[i] = input.readUTF();
+                }
+                Method timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(className, methodName, parameters), classLoader);
+                if (timeoutMethod == null) {
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(timeoutMethod);
+            }
+        } else {
+            builder.setRepeatInterval(input.readLong());
+        }
+        return builder.build(timerService);
+    }
+
+    /**
+     * Tells whether the timer of the given record is due within the given window, without decoding the timer.
+     * Only reads past the next expiration if the record may hold an auto timer outside the window.
+     *
+     * @see TimerPersistence#isDue(Date, boolean, Date, Date)
+     */
+    boolean isDue(byte[] record, Date from, Date until) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException(Byte.toString(version));
+        }
+        boolean calendar = input.readByte() == CALENDAR_TIMER;
+        skipUTF(input);
+        skipUTF(input);
+        readDate(input);
+        Date nextExpiration = readDate(input);
+        boolean autoTimer = false;
+        if (calendar && (from == null) && (nextExpiration != null) && (until != null) && nextExpiration.after(until)) {
+            readDate(input);
+            skipUTF(input);
+            skipObject(input);
+            skipObject(input);
+            for (int i = 0; i < 7; ++i) {
+                skipUTF(input);
+            }
+            readDate(input);
+            readDate(input);
+            readString(input);
+            autoTimer = input.readBoolean();
+        }
+        return TimerPersistence.isDue(nextExpiration, autoTimer, from, until);
+    }
+
+    private void writeObject(DataOutputStream output, Object object) throws IOException {
+        if (object == null) {
+            output.writeInt(-1);
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Marshaller marshaller = this.factory.createMarshaller(this.configuration);
+        marshaller.start(new OutputStreamByteOutput(bytes));
+        marshaller.writeObject(object);
+        marshaller.finish();
+        output.writeInt(bytes.size());
+        bytes.writeTo(output);
+    }
+
+    private Object readObject(DataInputStream input) throws IOException, ClassNotFoundException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] data = new byte[length];
+        input.readFully(data);
+        Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration);
+        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(data)));
+        try {
+            return unmarshaller.readObject();
+        } finally {
+            unmarshaller.close();
+        }
+    }
+
+    private static void skipObject(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length > 0) {
+            input.skipBytes(length);
+        }
+    }
+
+    private static void skipUTF(DataInputStream input) throws IOException {
+        input.skipBytes(input.readUnsignedShort());
+    }
+
+    private static void writeDate(DataOutputStream output, Date date) throws IOException {
+        output.writeBoolean(date != null);
+        if (date != null) {
+            output.writeLong(date.getTime());
+        }
+    }
+
+    private static Date readDate(DataInputStream input) throws IOException {
+        return input.readBoolean() ? new Date(input.readLong()) : null;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
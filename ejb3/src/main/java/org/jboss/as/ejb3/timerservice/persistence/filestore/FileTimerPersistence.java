@@ -60,6 +60,7 @@ import java.lang.reflect.Constructor;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +75,10 @@ import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 /**
  * File based persistent timer store.
  * <p/>
+ * By default every timer is stored in its own XML file, which is rewritten on every change of the timer.
+ * In journal mode, changes are instead appended to a {@link TimerJournal}, and timers stored in XML files by a
+ * previous run are migrated into the journal when their timed object is deployed.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -98,7 +103,20 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
 
+    private final boolean journalEnabled;
+    private final boolean journalSync;
+    private TimerJournal journal;
+    private EjbTimerBinaryCodec codec;
+    /**
+     * In journal mode, the timers of each deployed timed object. Each map is guarded by the lock of its timed object.
+     */
+    private final ConcurrentMap<String, Map<String, TimerImpl>> journalTimers = new ConcurrentHashMap<String, Map<String, TimerImpl>>();
+
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, path, pathRelativeTo, false, false);
+    }
+
+    public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo, final boolean journal, final boolean journalSync) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(FILE_PERMISSION);
@@ -106,6 +124,8 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.journalEnabled = journal;
+        this.journalSync = journalSync;
     }
 
     @Override
@@ -145,12 +165,29 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         if (!baseDir.isDirectory()) {
             throw EJB3_TIMER_LOGGER.invalidTimerFileStoreDir(baseDir);
         }
+        if (journalEnabled) {
+            codec = new EjbTimerBinaryCodec(factory, configuration);
+            journal = new TimerJournal(baseDir, journalSync);
+            try {
+                journal.open();
+            } catch (IOException e) {
+                journal.close();
+                journal = null;
+                throw new IllegalStateException(e);
+            }
+        }
     }
 
     @Override
     public void stop(final StopContext context) {
         locks.clear();
         directories.clear();
+        journalTimers.clear();
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        codec = null;
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
@@ -252,6 +289,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            journalTimers.remove(timedObjectId);
         } finally {
             lock.unlock();
         }
@@ -271,7 +309,8 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         final Lock lock = getLock(timedObjectId);
         try {
             lock.lock();
-            final Map<String, TimerImpl> timers = getTimers(timedObjectId, timerService);
+            // In journal mode, also decode the timers left out by previous loads within a window
+            final Map<String, TimerImpl> timers = (journal != null) ? getJournalTimers(timedObjectId, timerService, null, null) : getTimers(timedObjectId, timerService);
 
             final List<TimerImpl> entities = new ArrayList<TimerImpl>();
             for (Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
@@ -283,6 +322,32 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         }
     }
 
+    /**
+     * In journal mode, only the records of timers due within the window are decoded. Otherwise all timers are loaded
+     * and then filtered.
+     */
+    @Override
+    public List<TimerImpl> loadActiveTimers(final String timedObjectId, final Date from, final Date until, final TimerServiceImpl timerService) {
+        if (journal == null) {
+            return TimerPersistence.super.loadActiveTimers(timedObjectId, from, until, timerService);
+        }
+        final Lock lock = getLock(timedObjectId);
+        try {
+            lock.lock();
+            final Map<String, TimerImpl> timers = getJournalTimers(timedObjectId, timerService, from, until);
+
+            final List<TimerImpl> entities = new ArrayList<TimerImpl>();
+            for (TimerImpl timer : timers.values()) {
+                if (TimerPersistence.isDue(timer.getNextExpiration(), timer.isAutoTimer(), from, until)) {
+                    entities.add(mostRecentEntityVersion(timer));
+                }
+            }
+            return entities;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public Closeable registerChangeListener(String timedObjectId, TimerChangeListener listener) {
         return new Closeable() {
@@ -330,10 +395,83 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
-        return loadTimersFromFile(timedObjectId, timerService);
+        if (journal != null) {
+            final Map<String, TimerImpl> timers = journalTimers.get(timedObjectId);
+            return (timers != null) ? timers : getJournalTimers(timedObjectId, timerService, null, null);
+        }
+        return loadTimersFromFile(timedObjectId, timerService, null);
     }
 
-    private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
+    /**
+     * Gets the timer map in journal mode, decoding the records of the timers due within the given window that were not
+     * decoded yet, see {@link TimerPersistence#isDue(Date, boolean, Date, Date)}. Should be called under lock
+     */
+    private Map<String, TimerImpl> getJournalTimers(final String timedObjectId, final TimerServiceImpl timerService, final Date from, final Date until) {
+        Map<String, TimerImpl> timers = journalTimers.get(timedObjectId);
+        if (timers == null) {
+            timers = loadTimersFromJournal(timedObjectId, timerService, from, until);
+            journalTimers.put(timedObjectId, timers);
+        } else {
+            decodeTimersFromJournal(timedObjectId, timerService, from, until, timers);
+        }
+        return timers;
+    }
+
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService, Date from, Date until) {
+        final Map<String, TimerImpl> timers = new HashMap<>();
+        decodeTimersFromJournal(timedObjectId, timerService, from, until, timers);
+        // Migrate any timers persisted as XML files, so that they are only read once
+        final File directory = new File(baseDir, timedObjectId.replace(File.separator, "-"));
+        if (directory.isDirectory()) {
+            final Map<String, byte[]> records = journal.getRecords(timedObjectId);
+            final Map<String, File> timerFiles = new HashMap<>();
+            for (TimerImpl timer : loadTimersFromFile(timedObjectId, timerService, timerFiles).values()) {
+                if (!records.containsKey(timer.getId())) {
+                    writeFile(timer);
+                    if (TimerPersistence.isDue(timer.getNextExpiration(), timer.isAutoTimer(), from, until)) {
+                        timers.put(timer.getId(), timer);
+                    }
+                }
+            }
+            // Every timer read from these files is now in the journal
+            // Files that could not be read are left in place, so that they are retried on the next restart
+            for (File file : timerFiles.values()) {
+                file.delete();
+            }
+            // Only succeeds if no legacy timers remain
+            if (directory.delete()) {
+                directories.remove(timedObjectId);
+            }
+        }
+        return timers;
+    }
+
+    private void decodeTimersFromJournal(String timedObjectId, TimerServiceImpl timerService, Date from, Date until, Map<String, TimerImpl> timers) {
+        final ClassLoader classLoader = timerService.getTimedObjectInvoker().getValue().getClassLoader();
+        for (Map.Entry<String, byte[]> entry : journal.getRecords(timedObjectId).entrySet()) {
+            if (timers.containsKey(entry.getKey())) {
+                continue;
+            }
+            try {
+                if ((from == null && until == null) || codec.isDue(entry.getValue(), from, until)) {
+                    TimerImpl timer = codec.decode(entry.getValue(), timerService, classLoader);
+                    if (timer != null) {
+                        timers.put(timer.getId(), timer);
+                    } else {
+                        EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), null);
+                    }
+                }
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Loads the timers persisted as XML files.
+     * @param timerFiles if not null, receives the file from which each timer was read, by timer id
+     */
+    private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService, Map<String, File> timerFiles) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
 
@@ -370,6 +508,9 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                     mapper.parseDocument(timerList, streamReader);
                     for (TimerImpl timer : timerList) {
                         timers.put(timer.getId(), timer);
+                        if (timerFiles != null) {
+                            timerFiles.put(timer.getId(), timerFile);
+                        }
                     }
                 } finally {
                     safeClose(in);
@@ -479,6 +620,15 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     }
 
     private void writeFile(TimerImpl timer) {
+        if (journal != null) {
+            try {
+                final boolean removed = timer.getState() == TimerState.CANCELED || timer.getState() == TimerState.EXPIRED;
+                journal.append(timer.getTimedObjectId(), timer.getId(), removed ? null : codec.encode(timer));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return;
+        }
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
         //if the timer is expired or cancelled delete the file
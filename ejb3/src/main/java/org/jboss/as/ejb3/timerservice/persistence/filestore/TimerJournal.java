@@ -0,0 +1,318 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of the persistent timer records of all timed objects of a file data store.
+ * <p/>
+ * Every change to a timer appends a single framed record (or a removal marker) to the end of the log, rather
+ * than rewriting a file per timer. The latest record of every timer is kept in memory, so that the timers of a
+ * timed object can be restored without reading the log again. Once the log holds enough superseded records, the
+ * live records are written to a snapshot, which is atomically moved into place before the log is truncated.
+ * Opening the journal replays the snapshot followed by the log. Since every record holds the complete state of a
+ * timer, replaying a log whose records were already folded into the snapshot yields the same state.
+ * <p/>
+ * Each frame is protected by a checksum, so a frame that was torn by a crash while being appended terminates the
+ * replay, and is then cut off the log.
+ * <p/>
+ * If enabled, appends are forced to disk before returning. Concurrent appenders share a single force of the log,
+ * as whoever forces the log first covers every frame appended before it.
+ */
+class TimerJournal {
+
+    static final String LOG = "timers.journal";
+    static final String SNAPSHOT = "timers.snapshot";
+
+    private static final int MAGIC = 0x454a4254;
+    private static final int HEADER_SIZE = 8;
+    private static final int MIN_COMPACTION_THRESHOLD = 1024;
+
+    private final File directory;
+    private final boolean sync;
+    // Guarded by this
+    private final Map<String, Map<String, byte[]>> records = new HashMap<>();
+    private FileChannel log;
+    // The number of bytes ever appended, which unlike the size of the log is not reset by a compaction
+    private long appended;
+    private int liveCount;
+    private int appendedCount;
+    // Serializes forcing of the log
+    private final Object syncLock = new Object();
+    private final AtomicLong synced = new AtomicLong();
+
+    TimerJournal(File directory, boolean sync) {
+        this.directory = directory;
+        this.sync = sync;
+    }
+
+    /**
+     * Replays the snapshot and the log, then opens the log for appending.
+     */
+    synchronized void open() throws IOException {
+        File snapshot = new File(this.directory, SNAPSHOT);
+        if (snapshot.exists()) {
+            try (FileChannel channel = FileChannel.open(snapshot.toPath(), StandardOpenOption.READ)) {
+                this.replay(channel, snapshot);
+            }
+        }
+        File logFile = new File(this.directory, LOG);
+        this.log = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long valid = this.replay(this.log, logFile);
+        if (valid < this.log.size()) {
+            // Cut off a frame that was torn by a crash
+            this.log.truncate(valid);
+        }
+        this.log.position(valid);
+        int count = 0;
+        for (Map<String, byte[]> timers : this.records.values()) {
+            count += timers.size();
+        }
+        this.liveCount = count;
+    }
+
+    synchronized void close() {
+        if (this.log != null) {
+            try {
+                this.log.force(false);
+                this.log.close();
+            } catch (IOException e) {
+                EJB3_TIMER_LOGGER.failToCloseFile(e);
+            }
+            this.log = null;
+        }
+        this.records.clear();
+    }
+
+    /**
+     * @return a copy of the latest records of the timers of the specified timed object, keyed by timer id
+     */
+    synchronized Map<String, byte[]> getRecords(String timedObjectId) {
+        Map<String, byte[]> timers = this.records.get(timedObjectId);
+        return (timers != null) ? new HashMap<>(timers) : Collections.<String, byte[]>emptyMap();
+    }
+
+    /**
+     * Appends the latest record of a timer to the log.
+     * @param timedObjectId the timed object of the timer
+     * @param id the timer id
+     * @param record the record of the timer, or null if the timer was removed
+     * @throws IOException if the record could not be appended, or if the journal is closed
+     */
+    void append(String timedObjectId, String id, byte[] record) throws IOException {
+        long end;
+        synchronized (this) {
+            if (this.log == null) {
+                // e.g. a timer persisted concurrently with the shutdown of the data store
+                throw EJB3_TIMER_LOGGER.timerJournalClosed(id, this.directory);
+            }
+            Map<String, byte[]> timers = this.records.get(timedObjectId);
+            if (record == null) {
+                if ((timers == null) || (timers.remove(id) == null)) {
+                    // Nothing to remove
+                    return;
+                }
+                this.liveCount -= 1;
+            } else {
+                if (timers == null) {
+                    timers = new HashMap<>();
+                    this.records.put(timedObjectId, timers);
+                }
+                if (timers.put(id, record) == null) {
+                    this.liveCount += 1;
+                }
+            }
+            ByteBuffer frame = frame(timedObjectId, id, record);
+            while (frame.hasRemaining()) {
+                this.appended += this.log.write(frame);
+            }
+            this.appendedCount += 1;
+            end = this.appended;
+            if (this.appendedCount > Math.max(MIN_COMPACTION_THRESHOLD, 2 * this.liveCount)) {
+                this.compact();
+                return;
+            }
+        }
+        if (this.sync) {
+            this.force(end);
+        }
+    }
+
+    /**
+     * Forces the log up to the specified number of appended bytes to disk, unless a concurrent appender already did.
+     */
+    private void force(long end) throws IOException {
+        if (this.synced.get() >= end) {
+            return;
+        }
+        synchronized (this.syncLock) {
+            if (this.synced.get() >= end) {
+                return;
+            }
+            FileChannel channel;
+            long appended;
+            synchronized (this) {
+                channel = this.log;
+                appended = this.appended;
+            }
+            if (channel == null) {
+                return;
+            }
+            channel.force(false);
+            this.synced.accumulateAndGet(appended, Math::max);
+        }
+    }
+
+    /**
+     * Writes the live records to a new snapshot and truncates the log. Called while holding the monitor.
+     */
+    private void compact() throws IOException {
+        File snapshot = new File(this.directory, SNAPSHOT);
+        File temp = new File(this.directory, SNAPSHOT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, Map<String, byte[]>> timers : this.records.entrySet()) {
+                for (Map.Entry<String, byte[]> timer : timers.getValue().entrySet()) {
+                    ByteBuffer frame = frame(timers.getKey(), timer.getKey(), timer.getValue());
+                    while (frame.hasRemaining()) {
+                        channel.write(frame);
+                    }
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // The snapshot now covers everything in the log
+        this.log.truncate(0);
+        this.log.position(0);
+        this.log.force(false);
+        this.appendedCount = 0;
+        this.synced.accumulateAndGet(this.appended, Math::max);
+    }
+
+    /**
+     * Applies the frames of the specified channel to the in-memory records.
+     * @return the position following the last valid frame
+     */
+    private long replay(FileChannel channel, File file) throws IOException {
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (true) {
+            header.clear();
+            if (!readFully(channel, header, position)) {
+                return position;
+            }
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if ((length <= 0) || (position + HEADER_SIZE + length > channel.size())) {
+                if (position + HEADER_SIZE < channel.size()) {
+                    EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(file, new EOFException(Long.toString(position)));
+                }
+                return position;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(channel, body, position + HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != checksum) {
+                EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(file, new IOException(Long.toString(position)));
+                return position;
+            }
+            body.flip();
+            if (body.getInt() != MAGIC) {
+                EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(file, new IOException(Long.toString(position)));
+                return position;
+            }
+            String timedObjectId = readString(body);
+            String id = readString(body);
+            Map<String, byte[]> timers = this.records.get(timedObjectId);
+            if (body.get() == 0) {
+                if (timers != null) {
+                    timers.remove(id);
+                }
+            } else {
+                byte[] record = new byte[body.remaining()];
+                body.get(record);
+                if (timers == null) {
+                    timers = new HashMap<>();
+                    this.records.put(timedObjectId, timers);
+                }
+                timers.put(id, record);
+            }
+            position += HEADER_SIZE + length;
+        }
+    }
+
+    private static ByteBuffer frame(String timedObjectId, String id, byte[] record) {
+        byte[] timedObjectIdBytes = timedObjectId.getBytes(StandardCharsets.UTF_8);
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int length = 4 + 4 + timedObjectIdBytes.length + 4 + idBytes.length + 1 + ((record != null) ? record.length : 0);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + length);
+        frame.position(HEADER_SIZE);
+        frame.putInt(MAGIC);
+        frame.putInt(timedObjectIdBytes.length).put(timedObjectIdBytes);
+        frame.putInt(idBytes.length).put(idBytes);
+        if (record != null) {
+            frame.put((byte) 1).put(record);
+        } else {
+            frame.put((byte) 0);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), HEADER_SIZE, length);
+        frame.putInt(0, length);
+        frame.putInt(4, (int) crc.getValue());
+        frame.flip();
+        return frame;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
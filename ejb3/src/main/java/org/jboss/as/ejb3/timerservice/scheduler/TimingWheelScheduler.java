@@ -0,0 +1,371 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A scheduler based on a hierarchy of hashed timing wheels, used in place of {@link java.util.Timer} to dispatch EJB timeouts.
+ * <p/>
+ * Scheduling and cancelling a timeout are O(1) operations that only lock a single bucket, instead of the single
+ * heap shared by all timeouts of a {@link java.util.Timer}. The finest wheel has a tick of 1ms; each coarser wheel
+ * ticks once per rotation of the wheel below it and is only created once a timeout needs it.
+ * Only buckets that contain timeouts are queued for expiration, so the dispatching thread sleeps until the next
+ * non-empty bucket expires. When a coarse bucket expires, its timeouts cascade into the finer wheels.
+ * <p/>
+ * Tasks are run by the dispatching thread, so they are expected to hand off any real work to an executor.
+ *
+ * @see <a href="http://www.cs.columbia.edu/~nahum/w6998/papers/sosp87-timing-wheels.pdf">Hashed and Hierarchical Timing Wheels</a>
+ */
+public class TimingWheelScheduler implements Runnable {
+
+    private static final long TICK = 1;
+    private static final int WHEEL_SIZE = 512;
+    private static final long POLL_TIMEOUT = 200;
+
+    private final DelayQueue<Bucket> queue = new DelayQueue<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TimingWheel wheel;
+    // Holds timeouts that were already due when scheduled
+    private final Bucket immediate = new Bucket();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder totalDispatchLag = new LongAdder();
+    private final AtomicLong maxDispatchLag = new AtomicLong();
+
+    public TimingWheelScheduler(String name) {
+        this.wheel = new TimingWheel(TICK, System.currentTimeMillis());
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Schedules the specified task for a single execution after the specified delay.
+     * @param task a task
+     * @param delay a delay in milliseconds
+     * @return a handle with which the task can be cancelled
+     */
+    public Timeout schedule(Runnable task, long delay) {
+        return this.schedule(task, delay, 0);
+    }
+
+    /**
+     * Schedules the specified task for repeated fixed-rate execution, beginning after the specified delay.
+     * As with {@link java.util.Timer#scheduleAtFixedRate(java.util.TimerTask, long, long)}, late executions are caught up.
+     * @param task a task
+     * @param delay a delay in milliseconds
+     * @param period the time in milliseconds between successive executions
+     * @return a handle with which the task can be cancelled
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        return this.schedule(task, delay, period);
+    }
+
+    private Timeout schedule(Runnable task, long delay, long period) {
+        Timeout timeout = new Timeout(task, System.currentTimeMillis() + Math.max(delay, 0), period);
+        this.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops dispatching. Any outstanding timeouts are abandoned.
+     */
+    public void stop() {
+        this.running = false;
+        this.thread.interrupt();
+    }
+
+    /**
+     * @return the number of dispatched timeouts
+     */
+    public long getDispatchedCount() {
+        return this.dispatched.sum();
+    }
+
+    /**
+     * @return the average time in milliseconds between the scheduled and actual dispatch time of a timeout
+     */
+    public long getAverageDispatchLag() {
+        long count = this.dispatched.sum();
+        return (count > 0) ? this.totalDispatchLag.sum() / count : 0;
+    }
+
+    /**
+     * @return the maximum time in milliseconds between the scheduled and actual dispatch time of a timeout
+     */
+    public long getMaxDispatchLag() {
+        return this.maxDispatchLag.get();
+    }
+
+    @Override
+    public void run() {
+        Lock writeLock = this.lock.writeLock();
+        while (this.running) {
+            try {
+                Bucket bucket = this.queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (bucket != null) {
+                    writeLock.lock();
+                    try {
+                        while (bucket != null) {
+                            this.wheel.advanceClock(bucket.getExpiration());
+                            for (Timeout timeout = bucket.flush(); timeout != null; ) {
+                                Timeout next = timeout.next;
+                                timeout.next = null;
+                                this.expire(timeout);
+                                timeout = next;
+                            }
+                            bucket = this.queue.poll();
+                        }
+                    } finally {
+                        writeLock.unlock();
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Re-check running flag
+            }
+        }
+    }
+
+    private void add(Timeout timeout) {
+        boolean added;
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            added = this.wheel.add(timeout);
+        } finally {
+            readLock.unlock();
+        }
+        if (!added && !timeout.isCancelled()) {
+            this.immediate.add(timeout);
+            if (this.immediate.setExpiration(0)) {
+                this.queue.offer(this.immediate);
+            }
+        }
+    }
+
+    // Only called by the dispatching thread
+    private void expire(Timeout timeout) {
+        if (timeout.isCancelled() || this.wheel.add(timeout)) {
+            return;
+        }
+        long lag = Math.max(System.currentTimeMillis() - timeout.expiration, 0);
+        this.dispatched.increment();
+        this.totalDispatchLag.add(lag);
+        this.maxDispatchLag.accumulateAndGet(lag, Math::max);
+        try {
+            timeout.task.run();
+        } catch (Throwable e) {
+            EjbLogger.EJB3_TIMER_LOGGER.failedToDispatchTimeout(timeout.task, e);
+        }
+        if ((timeout.period > 0) && !timeout.isCancelled()) {
+            timeout.expiration += timeout.period;
+            this.add(timeout);
+        }
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public static class Timeout {
+        final Runnable task;
+        final long period;
+        // Only modified while not contained in a bucket
+        long expiration;
+        private volatile boolean cancelled = false;
+        // Guarded by the monitor of the bucket
+        volatile Bucket bucket;
+        Timeout previous;
+        Timeout next;
+
+        Timeout(Runnable task, long expiration, long period) {
+            this.task = task;
+            this.expiration = expiration;
+            this.period = period;
+        }
+
+        /**
+         * Cancels this timeout. A task that is currently running is not interrupted.
+         */
+        public void cancel() {
+            this.cancelled = true;
+            Bucket bucket = this.bucket;
+            if (bucket != null) {
+                bucket.remove(this);
+            }
+        }
+
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts that expire within the same tick of a wheel.
+     */
+    static class Bucket implements Delayed {
+        private final Timeout root = new Timeout(null, 0, 0);
+        private final AtomicLong expiration = new AtomicLong(-1L);
+
+        Bucket() {
+            this.root.previous = this.root;
+            this.root.next = this.root;
+        }
+
+        synchronized void add(Timeout timeout) {
+            Timeout tail = this.root.previous;
+            timeout.next = this.root;
+            timeout.previous = tail;
+            timeout.bucket = this;
+            tail.next = timeout;
+            this.root.previous = timeout;
+        }
+
+        synchronized void remove(Timeout timeout) {
+            if (timeout.bucket == this) {
+                timeout.next.previous = timeout.previous;
+                timeout.previous.next = timeout.next;
+                timeout.next = null;
+                timeout.previous = null;
+                timeout.bucket = null;
+            }
+        }
+
+        /**
+         * Detaches all timeouts from this bucket.
+         * @return the first of a singly linked list of the removed timeouts, or null if this bucket was empty
+         */
+        synchronized Timeout flush() {
+            Timeout first = null;
+            if (this.root.next != this.root) {
+                first = this.root.next;
+                this.root.previous.next = null;
+                for (Timeout timeout = first; timeout != null; timeout = timeout.next) {
+                    timeout.previous = null;
+                    timeout.bucket = null;
+                }
+                this.root.next = this.root;
+                this.root.previous = this.root;
+            }
+            this.expiration.set(-1L);
+            return first;
+        }
+
+        /**
+         * @return true, if the expiration changed, in which case this bucket needs to be (re)queued.
+         */
+        boolean setExpiration(long expiration) {
+            return this.expiration.getAndSet(expiration) != expiration;
+        }
+
+        long getExpiration() {
+            return this.expiration.get();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(this.getExpiration() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed delayed) {
+            return Long.compare(this.getExpiration(), ((Bucket) delayed).getExpiration());
+        }
+    }
+
+    /**
+     * A single level of the wheel hierarchy.
+     * The current time is only advanced by the dispatching thread while holding the write lock.
+     */
+    class TimingWheel {
+        private final long tick;
+        private final long interval;
+        private final Bucket[] buckets = new Bucket[WHEEL_SIZE];
+        private long currentTime;
+        private volatile TimingWheel overflow;
+
+        TimingWheel(long tick, long startTime) {
+            this.tick = tick;
+            this.interval = tick * WHEEL_SIZE;
+            this.currentTime = startTime - (startTime % tick);
+            for (int i = 0; i < WHEEL_SIZE; ++i) {
+                this.buckets[i] = new Bucket();
+            }
+        }
+
+        /**
+         * Adds the specified timeout to this wheel, or one of its overflow wheels.
+         * @return false, if the timeout was cancelled or is already due
+         */
+        boolean add(Timeout timeout) {
+            long expiration = timeout.expiration;
+            if (timeout.isCancelled() || (expiration < this.currentTime + this.tick)) {
+                return false;
+            }
+            if (expiration < this.currentTime + this.interval) {
+                long id = expiration / this.tick;
+                Bucket bucket = this.buckets[(int) (id % WHEEL_SIZE)];
+                bucket.add(timeout);
+                if (bucket.setExpiration(id * this.tick)) {
+                    TimingWheelScheduler.this.queue.offer(bucket);
+                }
+                return true;
+            }
+            return this.getOverflow().add(timeout);
+        }
+
+        void advanceClock(long time) {
+            if (time >= this.currentTime + this.tick) {
+                this.currentTime = time - (time % this.tick);
+                TimingWheel overflow = this.overflow;
+                if (overflow != null) {
+                    overflow.advanceClock(this.currentTime);
+                }
+            }
+        }
+
+        private TimingWheel getOverflow() {
+            TimingWheel overflow = this.overflow;
+            if (overflow == null) {
+                synchronized (this) {
+                    overflow = this.overflow;
+                    if (overflow == null) {
+                        overflow = new TimingWheel(this.interval, this.currentTime);
+                        this.overflow = overflow;
+                    }
+                }
+            }
+            return overflow;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.server.ServerEnvironment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+
+/**
+ * Unit test for the expiration of idle beans by {@link SimpleCache}.
+ * The expiration task is run directly against a controlled clock.
+ */
+public class SimpleCacheTestCase {
+
+    interface Bean extends Identifiable<UUID> {
+    }
+
+    // Aligned with a tick, so that tick boundaries fall on multiples of 10ms
+    private static final long START = 1_000_000L;
+
+    private final StatefulObjectFactory<Bean> factory = mock(StatefulObjectFactory.class);
+    private final IdentifierFactory<UUID> identifierFactory = mock(IdentifierFactory.class);
+    private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+    private final AtomicLong clock = new AtomicLong(START);
+    private SimpleCache<UUID, Bean> cache;
+
+    @Before
+    public void setUp() {
+        this.cache = new SimpleCache<>(this.factory, this.identifierFactory, new StatefulTimeoutInfo(200, TimeUnit.MILLISECONDS), mock(ServerEnvironment.class), this.executor, this.clock::get);
+        this.cache.start();
+        verify(this.executor).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @After
+    public void tearDown() {
+        this.cache.stop();
+    }
+
+    private Bean createBean() {
+        Bean bean = mock(Bean.class);
+        when(bean.getId()).thenReturn(UUID.randomUUID());
+        when(this.factory.createInstance()).thenReturn(bean);
+        return this.cache.create();
+    }
+
+    private void sweep(long time) {
+        this.clock.set(time);
+        this.cache.new ExpirationTask().run();
+    }
+
+    @Test
+    public void expire() {
+        Bean bean = this.createBean();
+        assertNotNull(this.cache.get(bean.getId()));
+        this.cache.release(bean);
+        assertTrue(this.cache.contains(bean.getId()));
+
+        this.sweep(START + 199);
+        assertTrue(this.cache.contains(bean.getId()));
+        verify(this.factory, never()).destroyInstance(bean);
+
+        this.sweep(START + 205);
+        assertFalse(this.cache.contains(bean.getId()));
+        verify(this.factory).destroyInstance(bean);
+        assertEquals(1, this.cache.getExpiredCount());
+        assertEquals(5, this.cache.getAverageExpirationLag());
+        assertEquals(5, this.cache.getMaxExpirationLag());
+    }
+
+    @Test
+    public void accessPostponesExpiration() {
+        Bean bean = this.createBean();
+        assertNotNull(this.cache.get(bean.getId()));
+        this.cache.release(bean);
+
+        // Used again before it expires, so it is moved to the bucket of its new expiration time
+        this.clock.set(START + 100);
+        assertNotNull(this.cache.get(bean.getId()));
+        this.cache.release(bean);
+
+        this.sweep(START + 250);
+        assertTrue(this.cache.contains(bean.getId()));
+
+        // A bean in use never expires
+        assertNotNull(this.cache.get(bean.getId()));
+        this.sweep(START + 1000);
+        assertTrue(this.cache.contains(bean.getId()));
+
+        this.cache.release(bean);
+        this.sweep(START + 1199);
+        assertTrue(this.cache.contains(bean.getId()));
+
+        this.sweep(START + 1200);
+        assertFalse(this.cache.contains(bean.getId()));
+        verify(this.factory).destroyInstance(bean);
+        assertEquals(1, this.cache.getExpiredCount());
+        assertEquals(0, this.cache.getMaxExpirationLag());
+    }
+
+    @Test
+    public void missedTicks() {
+        Bean first = this.createBean();
+        assertNotNull(this.cache.get(first.getId()));
+        this.cache.release(first);
+        this.clock.set(START + 50);
+        Bean second = this.createBean();
+        assertNotNull(this.cache.get(second.getId()));
+        this.cache.release(second);
+
+        // A single late sweep expires everything that came due in the ticks it missed
+        this.sweep(START + 400);
+        assertFalse(this.cache.contains(first.getId()));
+        assertFalse(this.cache.contains(second.getId()));
+        assertEquals(2, this.cache.getExpiredCount());
+        assertEquals(175, this.cache.getAverageExpirationLag());
+        assertEquals(200, this.cache.getMaxExpirationLag());
+    }
+}
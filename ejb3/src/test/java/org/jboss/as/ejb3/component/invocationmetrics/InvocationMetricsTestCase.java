@@ -0,0 +1,185 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests the counters and histograms of {@link InvocationMetrics}.
+ */
+public class InvocationMetricsTestCase {
+
+    interface Bean {
+        void foo();
+        void foo(String value);
+        void bar();
+    }
+
+    @Test
+    public void methods() throws NoSuchMethodException {
+        final InvocationMetrics metrics = new InvocationMetrics();
+        invoke(metrics, Bean.class.getMethod("foo"), 1, 10);
+        invoke(metrics, Bean.class.getMethod("foo", String.class), 2, 20);
+        invoke(metrics, Bean.class.getMethod("bar"), 3, 30);
+        invoke(metrics, Bean.class.getMethod("bar"), 4, 40);
+
+        assertEquals(4, metrics.getInvocations());
+        assertEquals(10, metrics.getWaitTime());
+        assertEquals(100, metrics.getExecutionTime());
+        assertEquals(0, metrics.getConcurrent());
+        assertEquals(1, metrics.getPeakConcurrent());
+
+        // Methods are keyed by name, so overloads are combined
+        final Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(2, methods.size());
+        final InvocationMetrics.Values foo = methods.get("foo");
+        assertEquals(2, foo.getInvocations());
+        assertEquals(3, foo.getWaitTime());
+        assertEquals(30, foo.getExecutionTime());
+        final InvocationMetrics.Values bar = methods.get("bar");
+        assertEquals(2, bar.getInvocations());
+        assertEquals(7, bar.getWaitTime());
+        assertEquals(70, bar.getExecutionTime());
+    }
+
+    @Test
+    public void peakConcurrent() throws NoSuchMethodException {
+        final InvocationMetrics metrics = new InvocationMetrics();
+        final Method method = Bean.class.getMethod("foo");
+        metrics.startInvocation();
+        metrics.startInvocation();
+        metrics.startInvocation();
+        assertEquals(3, metrics.getConcurrent());
+        metrics.finishInvocation(method, 0, 0);
+        metrics.finishInvocation(method, 0, 0);
+        metrics.startInvocation();
+        assertEquals(2, metrics.getConcurrent());
+        metrics.finishInvocation(method, 0, 0);
+        metrics.finishInvocation(method, 0, 0);
+        assertEquals(0, metrics.getConcurrent());
+        assertEquals(3, metrics.getPeakConcurrent());
+    }
+
+    @Test
+    public void concurrentInvocations() throws Exception {
+        final InvocationMetrics metrics = new InvocationMetrics();
+        final Method[] methods = new Method[] { Bean.class.getMethod("foo"), Bean.class.getMethod("foo", String.class), Bean.class.getMethod("bar") };
+        final int threads = 8;
+        final int invocations = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                final Method method = methods[i % methods.length];
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < invocations; j++) {
+                        invoke(metrics, method, 1, 2);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        final long total = (long) threads * invocations;
+        assertEquals(total, metrics.getInvocations());
+        assertEquals(total, metrics.getWaitTime());
+        assertEquals(2 * total, metrics.getExecutionTime());
+        assertEquals(0, metrics.getConcurrent());
+        assertTrue(metrics.getPeakConcurrent() >= 1 && metrics.getPeakConcurrent() <= threads);
+
+        long methodInvocations = 0;
+        for (InvocationMetrics.Values values : metrics.getMethods().values()) {
+            methodInvocations += values.getInvocations();
+        }
+        assertEquals(total, methodInvocations);
+        assertEquals((long) invocations * 6, metrics.getMethods().get("foo").getInvocations());
+        assertEquals((long) invocations * 2, metrics.getMethods().get("bar").getInvocations());
+        assertEquals(total, metrics.getExecutionTimeHistogram().getCounts().get(3L).longValue());
+        assertEquals(total, metrics.getWaitTimeHistogram().getCounts().get(1L).longValue());
+    }
+
+    @Test
+    public void histogramBuckets() {
+        final InvocationMetrics.Histogram histogram = new InvocationMetrics.Histogram();
+        assertTrue(histogram.getCounts().isEmpty());
+
+        // Negative durations, e.g. due to clock adjustments, count as 0
+        histogram.record(-1L);
+        histogram.record(0L);
+        histogram.record(1L);
+        histogram.record(2L);
+        histogram.record(3L);
+        histogram.record(4L);
+        histogram.record(7L);
+        histogram.record(8L);
+        histogram.record(1000L);
+        histogram.record(1023L);
+        histogram.record(1024L);
+        histogram.record(1L << 29);
+        // Durations beyond the last bounded bucket
+        histogram.record(1L << 30);
+        histogram.record(1L << 31);
+        histogram.record(Long.MAX_VALUE);
+
+        final Map<Long, Long> counts = histogram.getCounts();
+        final Iterator<Map.Entry<Long, Long>> entries = counts.entrySet().iterator();
+        assertBucket(entries.next(), 0L, 2L);
+        assertBucket(entries.next(), 1L, 1L);
+        assertBucket(entries.next(), 3L, 2L);
+        assertBucket(entries.next(), 7L, 2L);
+        assertBucket(entries.next(), 15L, 1L);
+        assertBucket(entries.next(), 1023L, 2L);
+        assertBucket(entries.next(), 2047L, 1L);
+        assertBucket(entries.next(), (1L << 30) - 1, 1L);
+        assertBucket(entries.next(), Long.MAX_VALUE, 3L);
+        assertTrue(!entries.hasNext());
+    }
+
+    private static void assertBucket(Map.Entry<Long, Long> entry, long upperBound, long count) {
+        assertEquals(upperBound, entry.getKey().longValue());
+        assertEquals(count, entry.getValue().longValue());
+    }
+
+    private static void invoke(InvocationMetrics metrics, Method method, long waitTime, long executionTime) {
+        metrics.startInvocation();
+        metrics.finishInvocation(method, waitTime, executionTime);
+    }
+}
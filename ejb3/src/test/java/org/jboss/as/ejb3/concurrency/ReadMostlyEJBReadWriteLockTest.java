@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import javax.ejb.IllegalLoopbackException;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link ReadMostlyEJBReadWriteLock}
+ */
+public class ReadMostlyEJBReadWriteLockTest {
+
+    @Test
+    public void testIllegalLoopBack() throws Exception {
+        ReadWriteLock lock = new ReadMostlyEJBReadWriteLock();
+        lock.readLock().lock();
+        try {
+            lock.writeLock().tryLock(1, TimeUnit.SECONDS);
+            fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException expected) {
+            // expected
+        } finally {
+            lock.readLock().unlock();
+        }
+        // The read lock was released, so the write lock is available again
+        assertTrue(lock.writeLock().tryLock(1, TimeUnit.SECONDS));
+        lock.writeLock().unlock();
+    }
+
+    @Test
+    public void testReentrancy() throws Exception {
+        ReadWriteLock lock = new ReadMostlyEJBReadWriteLock();
+        assertTrue(lock.writeLock().tryLock(1, TimeUnit.SECONDS));
+        assertTrue(lock.writeLock().tryLock(1, TimeUnit.SECONDS));
+        // A writer may read
+        assertTrue(lock.readLock().tryLock(1, TimeUnit.SECONDS));
+        assertTrue(lock.readLock().tryLock(1, TimeUnit.SECONDS));
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        lock.writeLock().unlock();
+        assertFalse(this.tryLockFromOtherThread(lock.readLock()));
+        lock.writeLock().unlock();
+        assertTrue(this.tryLockFromOtherThread(lock.readLock()));
+        assertTrue(this.tryLockFromOtherThread(lock.writeLock()));
+    }
+
+    @Test
+    public void testDowngrade() throws Exception {
+        ReadWriteLock lock = new ReadMostlyEJBReadWriteLock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        lock.writeLock().unlock();
+        // Still holding a read lock
+        assertTrue(this.tryLockFromOtherThread(lock.readLock()));
+        assertFalse(this.tryLockFromOtherThread(lock.writeLock()));
+        lock.readLock().unlock();
+        assertTrue(this.tryLockFromOtherThread(lock.writeLock()));
+    }
+
+    @Test
+    public void testWriterWaitsForReaders() throws Exception {
+        ReadWriteLock lock = new ReadMostlyEJBReadWriteLock();
+        lock.readLock().lock();
+        // Readers are not blocked by other readers
+        assertTrue(this.tryLockFromOtherThread(lock.readLock()));
+        // A writer times out while a reader holds the lock
+        assertFalse(this.tryLockFromOtherThread(lock.writeLock()));
+        // Timed out writer must have restored the lock for readers
+        assertTrue(this.tryLockFromOtherThread(lock.readLock()));
+        lock.readLock().unlock();
+        assertTrue(this.tryLockFromOtherThread(lock.writeLock()));
+    }
+
+    @Test
+    public void testReaderWaitsForWriter() throws Exception {
+        final ReadWriteLock lock = new ReadMostlyEJBReadWriteLock();
+        lock.writeLock().lock();
+        final CountDownLatch acquired = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            try {
+                if (lock.readLock().tryLock(5, TimeUnit.SECONDS)) {
+                    acquired.countDown();
+                    lock.readLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        reader.start();
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        lock.writeLock().unlock();
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        reader.join();
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void testUnlockWithoutLock() {
+        new ReadMostlyEJBReadWriteLock().readLock().unlock();
+    }
+
+    private boolean tryLockFromOtherThread(final Lock lock) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                if (lock.tryLock(100, TimeUnit.MILLISECONDS)) {
+                    lock.unlock();
+                    return true;
+                }
+                return false;
+            }).get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
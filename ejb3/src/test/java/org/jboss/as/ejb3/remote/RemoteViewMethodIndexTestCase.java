@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Tests the resolution of the invoked methods of a remote view by {@link RemoteViewMethodIndex}.
+ */
+public class RemoteViewMethodIndexTestCase {
+
+    interface View {
+        void echo();
+        String echo(String message);
+        String echo(String message, int times);
+        String echo(int times, String message);
+        String[] echo(String[] messages);
+        long echo(long value);
+        void other(Object value);
+    }
+
+    private final RemoteViewMethodIndex index = new RemoteViewMethodIndex(Arrays.asList(View.class.getMethods()));
+
+    @Test
+    public void overloads() throws NoSuchMethodException {
+        assertEquals(View.class.getMethod("echo"), this.index.getMethod("echo", ""));
+        assertEquals(View.class.getMethod("echo", String.class), this.index.getMethod("echo", "java.lang.String"));
+        assertEquals(View.class.getMethod("echo", String.class, int.class), this.index.getMethod("echo", "java.lang.String,int"));
+        assertEquals(View.class.getMethod("echo", int.class, String.class), this.index.getMethod("echo", "int,java.lang.String"));
+        assertEquals(View.class.getMethod("echo", String[].class), this.index.getMethod("echo", "[Ljava.lang.String;"));
+        assertEquals(View.class.getMethod("echo", long.class), this.index.getMethod("echo", "long"));
+        assertEquals(View.class.getMethod("other", Object.class), this.index.getMethod("other", "java.lang.Object"));
+    }
+
+    @Test
+    public void unknown() {
+        // Unknown method name
+        assertNull(this.index.getMethod("missing", ""));
+        assertNull(this.index.getMethod("missing", "java.lang.String"));
+        // Known method name with an unknown signature
+        assertNull(this.index.getMethod("echo", "java.lang.Object"));
+        assertNull(this.index.getMethod("echo", "java.lang.String,java.lang.String"));
+        assertNull(this.index.getMethod("echo", "java.lang.Long"));
+        assertNull(this.index.getMethod("other", ""));
+        // Signatures are matched exactly
+        assertNull(this.index.getMethod("echo", "java.lang.String, int"));
+        assertNull(this.index.getMethod("echo", "String"));
+    }
+
+    @Test
+    public void signature() throws NoSuchMethodException {
+        assertEquals("", RemoteViewMethodIndex.signature(View.class.getMethod("echo")));
+        assertEquals("java.lang.String,int", RemoteViewMethodIndex.signature(View.class.getMethod("echo", String.class, int.class)));
+        assertEquals("[Ljava.lang.String;", RemoteViewMethodIndex.signature(View.class.getMethod("echo", String[].class)));
+    }
+}
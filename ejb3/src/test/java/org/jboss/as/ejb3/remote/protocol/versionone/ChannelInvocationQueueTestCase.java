@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote.protocol.versionone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ChannelInvocationQueue}
+ */
+public class ChannelInvocationQueueTestCase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        this.executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testBounded() throws InterruptedException {
+        ChannelInvocationQueue queue = new ChannelInvocationQueue(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch completed = new CountDownLatch(5);
+        for (int i = 0; i < 5; ++i) {
+            queue.submit(this.executor, () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                completed.countDown();
+            }, e -> { throw e; });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // Only 2 invocations are dispatched, even though the executor has more threads
+        assertEquals(2, queue.getActiveCount());
+        assertEquals(3, queue.getWaitingCount());
+        assertEquals(3, queue.getQueuedCount());
+
+        // The queue is full, so reading from the channel is suspended
+        CountDownLatch received = new CountDownLatch(1);
+        queue.receiveWhenReady(received::countDown);
+        assertEquals(1, received.getCount());
+        assertEquals(1L, queue.getReceiveSuspensionCount());
+
+        release.countDown();
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        this.executor.shutdown();
+        assertTrue(this.executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.getActiveCount());
+        assertEquals(0, queue.getWaitingCount());
+        assertEquals(0, queue.getQueuedCount());
+        assertEquals(0L, queue.getRejectionCount());
+    }
+
+    @Test
+    public void testUnbounded() throws InterruptedException {
+        ChannelInvocationQueue queue = new ChannelInvocationQueue(0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(4);
+        for (int i = 0; i < 4; ++i) {
+            queue.submit(this.executor, () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, e -> { throw e; });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(4, queue.getActiveCount());
+        assertEquals(0, queue.getWaitingCount());
+
+        CountDownLatch received = new CountDownLatch(1);
+        queue.receiveWhenReady(received::countDown);
+        assertEquals(0, received.getCount());
+        assertEquals(0L, queue.getReceiveSuspensionCount());
+        release.countDown();
+    }
+
+    @Test
+    public void testRejection() {
+        ChannelInvocationQueue queue = new ChannelInvocationQueue(2);
+        AtomicReference<RejectedExecutionException> rejection = new AtomicReference<>();
+        this.executor.shutdown();
+        queue.submit(this.executor, () -> { }, rejection::set);
+        assertNotNull(rejection.get());
+        assertEquals(1L, queue.getRejectionCount());
+        assertEquals(0, queue.getActiveCount());
+        assertEquals(0, queue.getWaitingCount());
+        assertEquals(0, queue.getQueuedCount());
+    }
+
+    @Test
+    public void testCallingThread() {
+        ChannelInvocationQueue queue = new ChannelInvocationQueue(2);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        queue.submit(null, () -> thread.set(Thread.currentThread()), e -> { throw e; });
+        assertSame(Thread.currentThread(), thread.get());
+        assertEquals(0, queue.getActiveCount());
+        assertEquals(0, queue.getQueuedCount());
+        assertFalse(queue.getRejectionCount() > 0);
+    }
+}
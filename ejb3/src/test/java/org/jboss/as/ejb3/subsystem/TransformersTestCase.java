@@ -57,7 +57,7 @@ public class TransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_4_0.xsd";
+        return "schema/wildfly-ejb3_4_1.xsd";
     }
 
     @Override
@@ -175,13 +175,17 @@ public class TransformersTestCase extends AbstractSubsystemBaseTest {
             FailedOperationTransformationConfig.ChainedConfig chainedConfig = FailedOperationTransformationConfig.ChainedConfig.createBuilder(
                     /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS)
                     .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(
-                            /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.LOG_EJB_EXCEPTIONS))
+                            /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.LOG_EJB_EXCEPTIONS, EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_LOCK_STRATEGY))
                     .addConfig(new CorrectFalseToTrue(EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS))
                     .build();
 
-            // discard new attributes default-sfsb-passivation-disabled-cache, disable-default-ejb-permissions
+            // discard new attributes default-sfsb-passivation-disabled-cache, disable-default-ejb-permissions, default-singleton-bean-lock-strategy
             config.addFailedAttribute(subsystemAddress, chainedConfig);
 
+            // reject the new attributes of the strict-max pool and the async service
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "slsb-strict-max-pool")), new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.SHARDED));
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.ASYNC_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(EJB3AsyncResourceDefinition.VIRTUAL_THREADS));
+
             // make sure that we have a file-data-store matching the custom-data-store attribute value
             final PathAddress timerServiceAddr = subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH);
             final PathAddress badFileStoreAddr = timerServiceAddr.append(PathElement.pathElement(EJB3SubsystemModel.FILE_DATA_STORE, "file-data-store-rename-to-default"));
@@ -207,8 +211,8 @@ public class TransformersTestCase extends AbstractSubsystemBaseTest {
             config.addFailedAttribute(ejbReceiverAddress, FailedOperationTransformationConfig.REJECTED_RESOURCE);
             config.addFailedAttribute(channelCreationOptionsAddress, FailedOperationTransformationConfig.REJECTED_RESOURCE);
 
-            // reject the attribute 'cluster' from resource /subsystem=ejb3/service=remote
-            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.REMOTE_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(EJB3RemoteResourceDefinition.CLIENT_MAPPINGS_CLUSTER_NAME));
+            // reject the attributes 'cluster' and 'max-invocations-per-channel' from resource /subsystem=ejb3/service=remote
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.REMOTE_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(EJB3RemoteResourceDefinition.CLIENT_MAPPINGS_CLUSTER_NAME, EJB3RemoteResourceDefinition.MAX_INVOCATIONS_PER_CHANNEL));
         }
 
         if (EJB3Model.VERSION_1_3_0.matches(version)) {
@@ -217,18 +221,30 @@ public class TransformersTestCase extends AbstractSubsystemBaseTest {
             FailedOperationTransformationConfig.ChainedConfig chainedConfig = FailedOperationTransformationConfig.ChainedConfig.createBuilder(
                     /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS)
                     .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(
-                            /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.LOG_EJB_EXCEPTIONS))
+                            /*EJB3SubsystemRootResourceDefinition.DEFAULT_SFSB_PASSIVATION_DISABLED_CACHE,*/ EJB3SubsystemRootResourceDefinition.LOG_EJB_EXCEPTIONS, EJB3SubsystemRootResourceDefinition.DEFAULT_SINGLETON_BEAN_LOCK_STRATEGY))
                     .addConfig(new CorrectFalseToTrue(EJB3SubsystemRootResourceDefinition.DISABLE_DEFAULT_EJB_PERMISSIONS))
                     .build();
 
-            // discard new attributes default-sfsb-passivation-disabled-cache, disable-default-ejb-permissions
+            // discard new attributes default-sfsb-passivation-disabled-cache, disable-default-ejb-permissions, default-singleton-bean-lock-strategy
             config.addFailedAttribute(subsystemAddress, chainedConfig);
 
+            // reject the new attributes of the strict-max pool and the async service
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "slsb-strict-max-pool")), new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.SHARDED));
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.ASYNC_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(EJB3AsyncResourceDefinition.VIRTUAL_THREADS));
+
             // reject the attributes allow execution, refresh interval from resource /subsystem=ejb3/service=timer-service/database-data-store=*
             PathAddress databaseDataStore = subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH);
             // config.addFailedAttribute(databaseDataStore, new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.ALLOW_EXECUTION, DatabaseDataStoreResourceDefinition.REFRESH_INTERVAL));
             config.addFailedAttribute(databaseDataStore, FailedOperationTransformationConfig.REJECTED_RESOURCE);
 
+            // reject the attribute 'look-ahead-window' from resource /subsystem=ejb3/service=timer-service
+            // N.B. 1.2.1 discards the add operation of the timer service itself
+            PathAddress timerServiceAddress = subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+            config.addFailedAttribute(timerServiceAddress, new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.LOOK_AHEAD_WINDOW));
+
+            // reject the attributes 'journal', 'journal-sync' from resource /subsystem=ejb3/service=timer-service/file-data-store=file-data-store-rejected
+            config.addFailedAttribute(timerServiceAddress.append(PathElement.pathElement(EJB3SubsystemModel.FILE_DATA_STORE, "file-data-store-rejected")), new FailedOperationTransformationConfig.NewAttributesConfig(FileDataStoreResourceDefinition.JOURNAL, FileDataStoreResourceDefinition.JOURNAL_SYNC));
+
             // reject the resource /subsystem=ejb3/mdb-delivery-group=delivery-group-name
             config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.MDB_DELIVERY_GROUP, "delivery-group-name")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
 
@@ -240,8 +256,8 @@ public class TransformersTestCase extends AbstractSubsystemBaseTest {
             config.addFailedAttribute(ejbReceiverAddress, FailedOperationTransformationConfig.REJECTED_RESOURCE);
             config.addFailedAttribute(channelCreationOptionsAddress, FailedOperationTransformationConfig.REJECTED_RESOURCE);
 
-            // reject the attribute 'cluster' from resource /subsystem=ejb3/service=remote
-            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.REMOTE_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(EJB3RemoteResourceDefinition.CLIENT_MAPPINGS_CLUSTER_NAME));
+            // reject the attributes 'cluster' and 'max-invocations-per-channel' from resource /subsystem=ejb3/service=remote
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.REMOTE_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(EJB3RemoteResourceDefinition.CLIENT_MAPPINGS_CLUSTER_NAME, EJB3RemoteResourceDefinition.MAX_INVOCATIONS_PER_CHANNEL));
         }
 
         return config;
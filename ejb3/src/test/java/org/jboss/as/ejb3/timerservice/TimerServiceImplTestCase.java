@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.ejb.Timer;
+import javax.transaction.TransactionManager;
+
+import org.jboss.as.ejb3.component.EJBComponent;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelScheduler;
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.jboss.msc.service.ServiceName;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Tests the look-ahead window of persistent timers of {@link TimerServiceImpl}.
+ */
+public class TimerServiceImplTestCase {
+
+    private static final String TIMED_OBJECT_ID = "timed-object";
+    private static final long LOOK_AHEAD_WINDOW = TimeUnit.HOURS.toMillis(1);
+
+    private final TimerPersistence persistence = mock(TimerPersistence.class);
+    private final TimingWheelScheduler scheduler = mock(TimingWheelScheduler.class);
+    private final TimingWheelScheduler.Timeout loadingTimeout = mock(TimingWheelScheduler.Timeout.class);
+    private TimerServiceImpl service;
+
+    @Before
+    public void setUp() throws Exception {
+        EJBComponent component = mock(EJBComponent.class);
+        when(component.getTransactionManager()).thenReturn(mock(TransactionManager.class));
+        TimedObjectInvoker invoker = mock(TimedObjectInvoker.class);
+        when(invoker.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        ExecutorService executor = mock(ExecutorService.class);
+        // Runs the loading of timers on the calling thread
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                ((Runnable) invocation.getArguments()[0]).run();
+                return null;
+            }
+        }).when(executor).execute(any(Runnable.class));
+        when(this.scheduler.scheduleAtFixedRate(any(Runnable.class), eq(LOOK_AHEAD_WINDOW / 2), eq(LOOK_AHEAD_WINDOW / 2))).thenReturn(this.loadingTimeout);
+
+        this.service = new TimerServiceImpl(Collections.<Method, List<AutoTimer>>emptyMap(), ServiceName.of("timer-service"), null, LOOK_AHEAD_WINDOW);
+        this.service.getEjbComponentInjectedValue().inject(component);
+        this.service.getTimedObjectInvoker().inject(invoker);
+        this.service.getTimerPersistence().inject(this.persistence);
+        this.service.getSchedulerInjectedValue().inject(this.scheduler);
+        this.service.getExecutorServiceInjectedValue().inject(executor);
+        this.service.start(null);
+    }
+
+    @After
+    public void tearDown() {
+        this.service.stop(null);
+    }
+
+    @Test
+    public void advancingWindow() throws Exception {
+        TimerImpl dueTimer = this.createTimer("due", TimeUnit.MINUTES.toMillis(10));
+        TimerImpl laterTimer = this.createTimer("later", TimeUnit.MINUTES.toMillis(80));
+        when(this.persistence.loadActiveTimers(eq(TIMED_OBJECT_ID), any(Date.class), any(Date.class), same(this.service)))
+                .thenReturn(Collections.singletonList(dueTimer), Collections.singletonList(laterTimer));
+
+        this.service.activate();
+
+        // Only the timers due within the window are loaded
+        ArgumentCaptor<Date> from = ArgumentCaptor.forClass(Date.class);
+        ArgumentCaptor<Date> until = ArgumentCaptor.forClass(Date.class);
+        verify(this.persistence).loadActiveTimers(eq(TIMED_OBJECT_ID), from.capture(), until.capture(), same(this.service));
+        assertNull(from.getValue());
+        Date loadedUntil = until.getValue();
+        assertTrue(this.service.isScheduled(dueTimer.getId()));
+        assertFalse(this.service.isScheduled(laterTimer.getId()));
+
+        // The window advances every half window
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(this.scheduler).scheduleAtFixedRate(task.capture(), eq(LOOK_AHEAD_WINDOW / 2), eq(LOOK_AHEAD_WINDOW / 2));
+        // Ensures that the upper bound of the window moves
+        Thread.sleep(10L);
+        task.getValue().run();
+
+        // Only the timers due since the previous window are loaded
+        verify(this.persistence, times(2)).loadActiveTimers(eq(TIMED_OBJECT_ID), from.capture(), until.capture(), same(this.service));
+        assertEquals(loadedUntil, from.getAllValues().get(from.getAllValues().size() - 1));
+        assertTrue(until.getValue().after(loadedUntil));
+        assertTrue(this.service.isScheduled(dueTimer.getId()));
+        assertTrue(this.service.isScheduled(laterTimer.getId()));
+    }
+
+    @Test
+    public void getTimersLoadsRemainingTimers() throws Exception {
+        TimerImpl dueTimer = this.createTimer("due", TimeUnit.MINUTES.toMillis(10));
+        TimerImpl laterTimer = this.createTimer("later", TimeUnit.MINUTES.toMillis(80));
+        when(this.persistence.loadActiveTimers(eq(TIMED_OBJECT_ID), any(Date.class), any(Date.class), same(this.service)))
+                .thenReturn(Collections.singletonList(dueTimer), Collections.singletonList(laterTimer));
+
+        this.service.activate();
+
+        ArgumentCaptor<Date> until = ArgumentCaptor.forClass(Date.class);
+        verify(this.persistence).loadActiveTimers(eq(TIMED_OBJECT_ID), any(Date.class), until.capture(), same(this.service));
+        Date loadedUntil = until.getValue();
+
+        // Timers that are not due yet are listed as well
+        Collection<Timer> timers = this.service.getTimers();
+        assertEquals(2, timers.size());
+        assertTrue(timers.containsAll(Arrays.asList(dueTimer, laterTimer)));
+
+        // All remaining timers were loaded, so the window no longer advances
+        verify(this.persistence).loadActiveTimers(eq(TIMED_OBJECT_ID), eq(loadedUntil), (Date) isNull(), same(this.service));
+        verify(this.loadingTimeout).cancel();
+
+        // Timers are not loaded again
+        assertEquals(2, this.service.getTimers().size());
+        verify(this.persistence, times(2)).loadActiveTimers(eq(TIMED_OBJECT_ID), any(Date.class), any(Date.class), same(this.service));
+        verify(this.persistence, times(0)).loadActiveTimers(eq(TIMED_OBJECT_ID), same(this.service));
+    }
+
+    private TimerImpl createTimer(String id, long delay) {
+        Date expiration = new Date(System.currentTimeMillis() + delay);
+        return TimerImpl.builder()
+                .setId(id)
+                .setTimedObjectId(TIMED_OBJECT_ID)
+                .setInitialDate(expiration)
+                .setNextDate(expiration)
+                .setTimerState(TimerState.ACTIVE)
+                .setPersistent(true)
+                .build(this.service);
+    }
+}
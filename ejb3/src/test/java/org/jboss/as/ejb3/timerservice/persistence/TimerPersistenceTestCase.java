@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+/**
+ * Tests the look-ahead window of {@link TimerPersistence#isDue(Date, boolean, Date, Date)}.
+ */
+public class TimerPersistenceTestCase {
+
+    private static final Date FROM = new Date(1000L);
+    private static final Date UNTIL = new Date(2000L);
+
+    @Test
+    public void starting() {
+        // Overdue and due timers
+        assertTrue(TimerPersistence.isDue(new Date(500L), false, null, UNTIL));
+        assertTrue(TimerPersistence.isDue(UNTIL, false, null, UNTIL));
+        // Timers beyond the window, unless they are auto timers
+        assertFalse(TimerPersistence.isDue(new Date(2001L), false, null, UNTIL));
+        assertTrue(TimerPersistence.isDue(new Date(2001L), true, null, UNTIL));
+        // Timers without a next expiration
+        assertTrue(TimerPersistence.isDue(null, false, null, UNTIL));
+        // Unbounded window
+        assertTrue(TimerPersistence.isDue(new Date(Long.MAX_VALUE), false, null, null));
+    }
+
+    @Test
+    public void advancing() {
+        // Timers loaded by a previous window
+        assertFalse(TimerPersistence.isDue(new Date(500L), false, FROM, UNTIL));
+        assertFalse(TimerPersistence.isDue(FROM, true, FROM, UNTIL));
+        assertFalse(TimerPersistence.isDue(null, false, FROM, UNTIL));
+        // Timers within the window
+        assertTrue(TimerPersistence.isDue(new Date(1001L), false, FROM, UNTIL));
+        assertTrue(TimerPersistence.isDue(UNTIL, false, FROM, UNTIL));
+        // Timers beyond the window
+        assertFalse(TimerPersistence.isDue(new Date(2001L), true, FROM, UNTIL));
+        // Unbounded window
+        assertTrue(TimerPersistence.isDue(new Date(Long.MAX_VALUE), false, FROM, null));
+    }
+}
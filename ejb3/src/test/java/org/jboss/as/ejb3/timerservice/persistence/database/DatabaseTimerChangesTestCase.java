@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests how the refresh of the {@link DatabaseTimerPersistence} tells the timers added, changed and removed by other nodes.
+ */
+public class DatabaseTimerChangesTestCase {
+
+    @Test
+    public void unchanged() {
+        Map<String, Date> known = new HashMap<>();
+        known.put("a", new Date(1000L));
+        known.put("b", null);
+        Map<String, Date> current = new HashMap<>();
+        // Timestamps read from the database are compared by time with the dates of persisted timers
+        current.put("a", new Timestamp(1000L));
+        current.put("b", null);
+
+        DatabaseTimerPersistence.Changes changes = new DatabaseTimerPersistence.Changes(known, current);
+        assertTrue(changes.getAdded().isEmpty());
+        assertTrue(changes.getChanged().isEmpty());
+        assertTrue(changes.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void added() {
+        Map<String, Date> current = new HashMap<>();
+        current.put("a", new Timestamp(1000L));
+        current.put("b", null);
+
+        DatabaseTimerPersistence.Changes changes = new DatabaseTimerPersistence.Changes(Collections.<String, Date>emptyMap(), current);
+        assertEquals(current.keySet(), changes.getAdded());
+        assertTrue(changes.getChanged().isEmpty());
+        assertTrue(changes.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void removed() {
+        Map<String, Date> known = new HashMap<>();
+        known.put("a", new Date(1000L));
+        known.put("b", null);
+
+        DatabaseTimerPersistence.Changes changes = new DatabaseTimerPersistence.Changes(known, Collections.<String, Date>emptyMap());
+        assertTrue(changes.getAdded().isEmpty());
+        assertTrue(changes.getChanged().isEmpty());
+        assertEquals(known.keySet(), changes.getRemoved());
+    }
+
+    @Test
+    public void changed() {
+        Map<String, Date> known = new HashMap<>();
+        known.put("later", new Date(1000L));
+        known.put("expired", new Date(1000L));
+        known.put("rescheduled", null);
+        Map<String, Date> current = new HashMap<>();
+        current.put("later", new Timestamp(2000L));
+        current.put("expired", null);
+        current.put("rescheduled", new Timestamp(1000L));
+
+        DatabaseTimerPersistence.Changes changes = new DatabaseTimerPersistence.Changes(known, current);
+        assertTrue(changes.getAdded().isEmpty());
+        assertEquals(known.keySet(), changes.getChanged());
+        assertTrue(changes.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void mixed() {
+        Map<String, Date> known = new HashMap<>();
+        known.put("unchanged", new Date(1000L));
+        known.put("changed", new Date(1000L));
+        known.put("removed", new Date(1000L));
+        Map<String, Date> current = new HashMap<>();
+        current.put("unchanged", new Timestamp(1000L));
+        current.put("changed", new Timestamp(3000L));
+        current.put("added", new Timestamp(1000L));
+
+        DatabaseTimerPersistence.Changes changes = new DatabaseTimerPersistence.Changes(known, current);
+        assertEquals(Collections.singleton("added"), changes.getAdded());
+        assertEquals(Collections.singleton("changed"), changes.getChanged());
+        assertEquals(Collections.singleton("removed"), changes.getRemoved());
+    }
+
+    @Test
+    public void sameTime() {
+        assertTrue(DatabaseTimerPersistence.Changes.isSameTime(null, null));
+        assertTrue(DatabaseTimerPersistence.Changes.isSameTime(new Date(1000L), new Timestamp(1000L)));
+        assertTrue(DatabaseTimerPersistence.Changes.isSameTime(new Timestamp(1000L), new Date(1000L)));
+        assertFalse(DatabaseTimerPersistence.Changes.isSameTime(new Date(1000L), null));
+        assertFalse(DatabaseTimerPersistence.Changes.isSameTime(null, new Date(1000L)));
+        assertFalse(DatabaseTimerPersistence.Changes.isSameTime(new Date(1000L), new Date(1001L)));
+    }
+}
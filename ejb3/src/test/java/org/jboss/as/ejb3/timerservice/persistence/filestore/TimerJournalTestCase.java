@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("timer-journal").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void replay() throws IOException {
+        TimerJournal journal = new TimerJournal(this.directory, true);
+        journal.open();
+        journal.append("object", "a", new byte[] { 1 });
+        journal.append("object", "b", new byte[] { 2 });
+        journal.append("object", "a", new byte[] { 3 });
+        journal.append("object", "b", null);
+        journal.append("other", "c", new byte[] { 4 });
+        journal.close();
+
+        journal = new TimerJournal(this.directory, false);
+        journal.open();
+        Map<String, byte[]> records = journal.getRecords("object");
+        assertEquals(1, records.size());
+        assertArrayEquals(new byte[] { 3 }, records.get("a"));
+        assertArrayEquals(new byte[] { 4 }, journal.getRecords("other").get("c"));
+        assertTrue(journal.getRecords("missing").isEmpty());
+        journal.close();
+    }
+
+    @Test
+    public void tornFrame() throws IOException {
+        TimerJournal journal = new TimerJournal(this.directory, false);
+        journal.open();
+        journal.append("object", "a", new byte[] { 1 });
+        journal.append("object", "b", new byte[] { 2, 2, 2, 2 });
+        journal.close();
+
+        // Simulate a crash while appending the last frame
+        File log = new File(this.directory, TimerJournal.LOG);
+        long length = log.length();
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.setLength(length - 2);
+        }
+
+        journal = new TimerJournal(this.directory, false);
+        journal.open();
+        Map<String, byte[]> records = journal.getRecords("object");
+        assertEquals(1, records.size());
+        assertArrayEquals(new byte[] { 1 }, records.get("a"));
+        // Appending after the cut must yield a readable log
+        journal.append("object", "c", new byte[] { 3 });
+        journal.close();
+
+        journal = new TimerJournal(this.directory, false);
+        journal.open();
+        assertEquals(2, journal.getRecords("object").size());
+        journal.close();
+    }
+
+    @Test
+    public void compaction() throws IOException {
+        TimerJournal journal = new TimerJournal(this.directory, false);
+        journal.open();
+        for (int i = 0; i < 5000; ++i) {
+            journal.append("object", Integer.toString(i % 10), new byte[] { (byte) i });
+        }
+        journal.close();
+
+        assertTrue(new File(this.directory, TimerJournal.SNAPSHOT).exists());
+
+        journal = new TimerJournal(this.directory, false);
+        journal.open();
+        Map<String, byte[]> records = journal.getRecords("object");
+        assertEquals(10, records.size());
+        for (int i = 4990; i < 5000; ++i) {
+            assertArrayEquals(new byte[] { (byte) i }, records.get(Integer.toString(i % 10)));
+        }
+        journal.close();
+    }
+
+    @Test
+    public void closed() throws IOException {
+        TimerJournal journal = new TimerJournal(this.directory, false);
+        journal.open();
+        journal.append("object", "a", new byte[] { 1 });
+        journal.close();
+
+        try {
+            journal.append("object", "b", new byte[] { 2 });
+            fail("Append to a closed journal should fail");
+        } catch (IOException e) {
+            // Expected
+        }
+
+        journal = new TimerJournal(this.directory, false);
+        journal.open();
+        Map<String, byte[]> records = journal.getRecords("object");
+        assertEquals(1, records.size());
+        assertArrayEquals(new byte[] { 1 }, records.get("a"));
+        journal.close();
+    }
+}
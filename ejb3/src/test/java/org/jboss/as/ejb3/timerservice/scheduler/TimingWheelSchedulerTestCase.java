@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelScheduler}.
+ */
+public class TimingWheelSchedulerTestCase {
+
+    private TimingWheelScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        this.scheduler = new TimingWheelScheduler("test");
+    }
+
+    @After
+    public void tearDown() {
+        this.scheduler.stop();
+    }
+
+    @Test
+    public void schedule() throws InterruptedException {
+        final int count = 1000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        final AtomicInteger early = new AtomicInteger();
+        for (int i = 0; i < count; ++i) {
+            final long delay = i % 700;
+            final long due = System.currentTimeMillis() + delay;
+            this.scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (System.currentTimeMillis() < due) {
+                        early.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            }, delay);
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+        assertEquals(count, this.scheduler.getDispatchedCount());
+    }
+
+    @Test
+    public void scheduleBeyondFinestWheel() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        this.scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 1200);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start >= 1200);
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        TimingWheelScheduler.Timeout timeout = this.scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 100);
+        timeout.cancel();
+        assertTrue(timeout.isCancelled());
+        assertFalse(latch.await(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void scheduleAtFixedRate() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(5);
+        TimingWheelScheduler.Timeout timeout = this.scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 0, 50);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        timeout.cancel();
+        long dispatched = this.scheduler.getDispatchedCount();
+        Thread.sleep(200);
+        assertEquals(dispatched, this.scheduler.getDispatchedCount());
+    }
+}
@@ -30,7 +30,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -58,6 +62,14 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  * @author Eduardo Martins
  */
 public class ServiceBasedNamingStore implements NamingStore {
+    /**
+     * The maximum number of lookup results cached per store.
+     */
+    private static final int MAX_CACHED_LOOKUPS = 1024;
+    private static final Object NOT_FOUND = new Object();
+    private static final LongAdder LOOKUP_CACHE_HITS = new LongAdder();
+    private static final LongAdder LOOKUP_CACHE_MISSES = new LongAdder();
+
     private final Name EMPTY_NAME = new CompositeName();
     private Name baseName;
     private final ServiceRegistry serviceRegistry;
@@ -65,6 +77,11 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
 
+    // Caches the bound object, or NOT_FOUND, of names looked up. Any change to the bound services clears the cache,
+    // and bumps the generation, so that a lookup racing with the change does not cache a stale result.
+    private final ConcurrentMap<ServiceName, Object> lookupCache = new ConcurrentHashMap<ServiceName, Object>();
+    private final AtomicLong generation = new AtomicLong();
+
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
         this.serviceNameBase = serviceNameBase;
@@ -80,7 +97,18 @@ public class ServiceBasedNamingStore implements NamingStore {
             return new NamingContext(EMPTY_NAME, this, null);
         }
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
+        final Object cached = lookupCache.get(lookupName);
+        if (cached != null) {
+            LOOKUP_CACHE_HITS.increment();
+            if (cached == NOT_FOUND) {
+                throw new NameNotFoundException(name.toString() + " -- " + lookupName);
+            }
+            return dereference(name.toString(), cached, dereference);
+        }
+        LOOKUP_CACHE_MISSES.increment();
+        final long generation = this.generation.get();
+        final Object binding = lookupBinding(name.toString(), lookupName);
+        Object obj = dereference(name.toString(), binding, dereference);
         if (obj == null) {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
@@ -103,12 +131,47 @@ public class ServiceBasedNamingStore implements NamingStore {
                 }
                 return new NamingContext((Name) name.clone(), this, null);
             }
+            cacheLookup(generation, lookupName, NOT_FOUND);
             throw new NameNotFoundException(name.toString() + " -- " + lookupName);
         }
-
+        if (boundServices.contains(lookupName)) {
+            cacheLookup(generation, lookupName, binding);
+        }
         return obj;
     }
 
+    private void cacheLookup(final long generation, final ServiceName lookupName, final Object result) {
+        if (lookupCache.size() < MAX_CACHED_LOOKUPS) {
+            lookupCache.put(lookupName, result);
+            if (this.generation.get() != generation) {
+                // The bound services changed meanwhile
+                lookupCache.remove(lookupName, result);
+            }
+        }
+    }
+
+    /**
+     * Discards the cached lookup results of this store. Must be called whenever the object bound to a name changes.
+     */
+    protected void invalidateLookupCache() {
+        generation.incrementAndGet();
+        lookupCache.clear();
+    }
+
+    /**
+     * @return the number of lookups, across all stores, that were resolved from the lookup cache of a store
+     */
+    public static long getLookupCacheHitCount() {
+        return LOOKUP_CACHE_HITS.sum();
+    }
+
+    /**
+     * @return the number of lookups, across all stores, that were not resolved from the lookup cache of a store
+     */
+    public static long getLookupCacheMissCount() {
+        return LOOKUP_CACHE_MISSES.sum();
+    }
+
     private void checkReferenceForContinuation(final Name name, final Object object) throws CannotProceedException {
         if (object instanceof Reference) {
             if (((Reference) object).get("nns") != null) {
@@ -125,29 +188,41 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        return dereference(name, lookupBinding(name, lookupName), dereference);
+    }
+
+    private Object lookupBinding(final String name, final ServiceName lookupName) throws NamingException {
         try {
             final ServiceController<?> controller = serviceRegistry.getService(lookupName);
-            if (controller != null) {
-                final Object object = controller.getValue();
-                if (dereference && object instanceof ManagedReferenceFactory) {
-                    if(WildFlySecurityManager.isChecking()) {
-                        //WFLY-3487 JNDI lookups should be executed in a clean access control context
-                        return AccessController.doPrivileged(new PrivilegedAction<Object>() {
-                            @Override
-                            public Object run() {
-                                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
-                                return managedReference != null ? managedReference.getInstance() : null;
-                            }
-                        });
-                    } else {
+            return (controller != null) ? controller.getValue() : null;
+        } catch (IllegalStateException e) {
+            NameNotFoundException n = new NameNotFoundException(name);
+            n.initCause(e);
+            throw n;
+        } catch (SecurityException ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw NamingLogger.ROOT_LOGGER.lookupError(t, name);
+        }
+    }
+
+    private static Object dereference(final String name, final Object object, boolean dereference) throws NamingException {
+        if (!dereference || !(object instanceof ManagedReferenceFactory)) {
+            return object;
+        }
+        try {
+            if(WildFlySecurityManager.isChecking()) {
+                //WFLY-3487 JNDI lookups should be executed in a clean access control context
+                return AccessController.doPrivileged(new PrivilegedAction<Object>() {
+                    @Override
+                    public Object run() {
                         final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
                         return managedReference != null ? managedReference.getInstance() : null;
                     }
-                } else {
-                    return object;
-                }
+                });
             } else {
-                return null;
+                final ManagedReference managedReference = ManagedReferenceFactory.class.cast(object).getReference();
+                return managedReference != null ? managedReference.getInstance() : null;
             }
         } catch (IllegalStateException e) {
             NameNotFoundException n = new NameNotFoundException(name);
@@ -257,6 +332,7 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        invalidateLookupCache();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -271,10 +347,12 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        invalidateLookupCache();
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        invalidateLookupCache();
     }
 
     protected ServiceName buildServiceName(final Name name) {
@@ -22,13 +22,20 @@
 
 package org.jboss.as.naming.subsystem;
 
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.naming.ServiceBasedNamingStore;
 import org.jboss.as.naming.management.JndiViewOperation;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -47,11 +54,37 @@ public class NamingSubsystemRootResourceDefinition extends SimpleResourceDefinit
             .setReplyValueType(ModelType.STRING)
             .build();
 
+    static final SimpleAttributeDefinition LOOKUP_CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder(NamingSubsystemModel.LOOKUP_CACHE_HIT_COUNT, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition LOOKUP_CACHE_MISS_COUNT = new SimpleAttributeDefinitionBuilder(NamingSubsystemModel.LOOKUP_CACHE_MISS_COUNT, ModelType.LONG)
+            .setUndefinedMetricValue(new ModelNode(0))
+            .setStorageRuntime()
+            .build();
+
     private NamingSubsystemRootResourceDefinition() {
         super(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, NamingExtension.SUBSYSTEM_NAME),
                 NamingExtension.getResourceDescriptionResolver(NamingExtension.SUBSYSTEM_NAME),
                 NamingSubsystemAdd.INSTANCE, NamingSubsystemRemove.INSTANCE);
     }
 
+    /**
+     * Reads the statistics of the lookup caches of the service based naming stores.
+     */
+    static final class LookupCacheMetricsHandler implements OperationStepHandler {
+        static final LookupCacheMetricsHandler INSTANCE = new LookupCacheMetricsHandler();
 
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (NamingSubsystemModel.LOOKUP_CACHE_HIT_COUNT.equals(name)) {
+                context.getResult().set(ServiceBasedNamingStore.getLookupCacheHitCount());
+            } else if (NamingSubsystemModel.LOOKUP_CACHE_MISS_COUNT.equals(name)) {
+                context.getResult().set(ServiceBasedNamingStore.getLookupCacheMissCount());
+            }
+            context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
+        }
+    }
 }
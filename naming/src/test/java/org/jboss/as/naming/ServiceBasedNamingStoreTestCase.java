@@ -31,6 +31,7 @@ import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.Name;
 import javax.naming.NameClassPair;
+import javax.naming.NameNotFoundException;
 import javax.naming.NameParser;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
@@ -398,6 +399,35 @@ public class ServiceBasedNamingStoreTestCase {
         fail("Child [" + name + "] not found in [" + list + "]");
     }
 
+    @Test
+    public void testLookupCache() throws Exception {
+        final Name name = new CompositeName("cached");
+        try {
+            store.lookup(name);
+            fail("Should have thrown NameNotFoundException");
+        } catch (NameNotFoundException expected) {
+        }
+        final long hits = ServiceBasedNamingStore.getLookupCacheHitCount();
+        try {
+            store.lookup(name);
+            fail("Should have thrown NameNotFoundException");
+        } catch (NameNotFoundException expected) {
+        }
+        assertEquals(hits + 1, ServiceBasedNamingStore.getLookupCacheHitCount());
+
+        // Binding the name must discard the cached negative result
+        final Object value = new Object();
+        bindObject(ServiceName.JBOSS.append("cached"), value);
+        assertEquals(value, store.lookup(name));
+        assertEquals(value, store.lookup(name));
+        assertEquals(hits + 2, ServiceBasedNamingStore.getLookupCacheHitCount());
+
+        final Object other = new Object();
+        bindObject(ServiceName.JBOSS.append("cached", "child"), other);
+        assertEquals(other, store.lookup(new CompositeName("cached/child")));
+        assertEquals(value, store.lookup(name));
+    }
+
     private void bindObject(final ServiceName serviceName, final Object value) throws Exception {
         final CountDownLatch latch = new CountDownLatch(1);
         container.addService(serviceName, new Service<ManagedReferenceFactory>() {
@@ -116,5 +116,8 @@ public interface Constants {
     String VAULT_OPTIONS = "vault-options";
     String LIST_CACHED_PRINCIPALS = "list-cached-principals";
     String FLUSH_CACHE = "flush-cache";
+    String CACHE_HIT_COUNT = "cache-hit-count";
+    String CACHE_MISS_COUNT = "cache-miss-count";
+    String CACHE_EVICTION_COUNT = "cache-eviction-count";
     String PRINCIPAL_ARGUMENT = "principal";
 }
@@ -850,4 +850,15 @@ public interface SecurityLogger extends BasicLogger {
     @Message(id = NONE, value = "Action not specified")
     String actionNotSpecified();
 
+    /**
+     * Logs a warning indicating that a system property has an invalid value, so that a default value is used instead.
+     *
+     * @param value the invalid value
+     * @param property the name of the system property
+     * @param defaultValue the value used instead
+     */
+    @LogMessage(level = Level.WARN)
+    @Message(id = 85, value = "Invalid value '%s' of system property %s, using %s instead")
+    void invalidPropertyValue(String value, String property, Object defaultValue);
+
 }
@@ -0,0 +1,672 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jboss.as.security.lru;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache where entries are indexed by a key, using a W-TinyLFU admission policy.
+ * <p/>
+ * <p>Lookups never take a lock. Instead, accesses are recorded into a set of lossy ring buffers, striped by thread,
+ * which are replayed against the eviction policy by whichever thread manages to acquire the eviction lock once a buffer
+ * fills up. Accesses offered to a full buffer are dropped, so the policy works from a sample of the accesses under
+ * heavy load. Insertions and removals are queued and replayed the same way, but are never dropped.</p>
+ * <p/>
+ * <p>New entries enter a small LRU admission window. An entry leaving the window is only admitted to the main LRU
+ * region if a frequency sketch of the recent accesses to its key ranks it above the least recently used entry of the
+ * main region, which is otherwise evicted instead. Thus a burst of keys that are accessed only once cannot flush
+ * the frequently used entries out of the cache.</p>
+ * <p/>
+ * <p>Entries optionally expire a fixed time after they were last written. Expired entries are no longer returned,
+ * and are removed when accessed or when they reach the end of their LRU region.</p>
+ */
+public class TinyLFUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int MAX_READ_BUFFERS = 16;
+    private static final int WINDOW_PERCENTAGE = 1;
+
+    private final ConcurrentHashMap<K, Node<K, V>> cache = new ConcurrentHashMap<>();
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final RemoveCallback<K, V> removeCallback;
+    private final long lifespan;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Guarded by evictionLock
+    private final FrequencySketch sketch;
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> main = new AccessOrder<>();
+    private final int maxWindow;
+    private final int maxMain;
+    private final List<Node<K, V>> removed = new ArrayList<>();
+
+    public TinyLFUCache(int maxEntries) {
+        this(maxEntries, 0, TimeUnit.MILLISECONDS, null);
+    }
+
+    /**
+     * @param maxEntries the maximum number of entries held by the cache
+     * @param lifespan the time after which an entry expires, once written, or 0 if entries never expire
+     * @param unit the unit of the lifespan
+     * @param removeCallback notified of entries that are removed, evicted or expired, may be null
+     */
+    @SuppressWarnings("unchecked")
+    public TinyLFUCache(int maxEntries, long lifespan, TimeUnit unit, RemoveCallback<K, V> removeCallback) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException(Integer.toString(maxEntries));
+        }
+        this.maxWindow = Math.max(1, maxEntries * WINDOW_PERCENTAGE / 100);
+        this.maxMain = Math.max(0, maxEntries - this.maxWindow);
+        this.sketch = new FrequencySketch(maxEntries);
+        this.lifespan = unit.toNanos(lifespan);
+        this.removeCallback = removeCallback;
+        int stripes = Integer.highestOneBit(Math.min(MAX_READ_BUFFERS, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; ++i) {
+            this.readBuffers[i] = new ReadBuffer<>();
+        }
+    }
+
+    /**
+     * @return the number of lookups that found an entry
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that did not find an entry, or only an expired one
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed to make room for others, or because they expired
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = this.get0(key);
+        return (node != null) ? node.value : null;
+    }
+
+    private Node<K, V> get0(Object key) {
+        @SuppressWarnings("SuspiciousMethodCalls")
+        Node<K, V> node = this.cache.get(key);
+        if (node == null) {
+            this.misses.increment();
+            return null;
+        }
+        if (this.isExpired(node, System.nanoTime())) {
+            this.misses.increment();
+            this.expire(node);
+            return null;
+        }
+        this.hits.increment();
+        this.recordRead(node);
+        return node;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return this.put(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return this.put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean ifAbsent) {
+        Objects.requireNonNull(value);
+        long now = System.nanoTime();
+        for (;;) {
+            Node<K, V> node = this.cache.get(key);
+            if (node == null) {
+                Node<K, V> newNode = new Node<>(key, value, this.expiration(now));
+                if (this.cache.putIfAbsent(key, newNode) == null) {
+                    this.afterWrite(() -> this.onAdd(newNode));
+                    return null;
+                }
+            } else if (this.isExpired(node, now)) {
+                this.expire(node);
+            } else {
+                V old = node.value;
+                if (!ifAbsent) {
+                    node.value = value;
+                    node.expiration = this.expiration(now);
+                }
+                this.recordRead(node);
+                return old;
+            }
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        Node<K, V> node = this.cache.get(key);
+        if ((node == null) || this.isExpired(node, System.nanoTime())) {
+            return null;
+        }
+        V old;
+        synchronized (node) {
+            old = node.value;
+            node.value = value;
+            node.expiration = this.expiration(System.nanoTime());
+        }
+        this.recordRead(node);
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(key, old);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue);
+        Node<K, V> node = this.cache.get(key);
+        if ((node == null) || this.isExpired(node, System.nanoTime())) {
+            return false;
+        }
+        synchronized (node) {
+            if (!node.value.equals(oldValue)) {
+                return false;
+            }
+            node.value = newValue;
+            node.expiration = this.expiration(System.nanoTime());
+        }
+        this.recordRead(node);
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(key, oldValue);
+        }
+        return true;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node = this.cache.remove(key);
+        if (node == null) {
+            return null;
+        }
+        this.afterWrite(() -> this.onRemove(node));
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(node.key, node.value);
+        }
+        return node.value;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Node<K, V> node = this.cache.get(key);
+        if ((node == null) || !node.value.equals(value) || !this.cache.remove(key, node)) {
+            return false;
+        }
+        this.afterWrite(() -> this.onRemove(node));
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (K key : this.cache.keySet()) {
+            this.remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.cache.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private long expiration(long now) {
+        return (this.lifespan > 0) ? now + this.lifespan : 0;
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        long expiration = node.expiration;
+        return (expiration != 0) && (now - expiration >= 0);
+    }
+
+    private void expire(Node<K, V> node) {
+        if (this.cache.remove(node.key, node)) {
+            this.evictions.increment();
+            this.afterWrite(() -> this.onRemove(node));
+            if (this.removeCallback != null) {
+                this.removeCallback.afterRemove(node.key, node.value);
+            }
+        }
+    }
+
+    private void recordRead(Node<K, V> node) {
+        ReadBuffer<K, V> buffer = this.readBuffers[(int) Thread.currentThread().getId() & (this.readBuffers.length - 1)];
+        if (!buffer.offer(node)) {
+            this.drainBuffers();
+        }
+    }
+
+    private void afterWrite(Runnable task) {
+        this.writeBuffer.add(task);
+        this.drainBuffers();
+    }
+
+    /**
+     * Replays the buffered accesses and writes against the eviction policy, unless another thread is already doing so.
+     * Since the owner of the lock checks the write buffer again after releasing the lock, no write is left behind.
+     */
+    private void drainBuffers() {
+        do {
+            if (!this.evictionLock.tryLock()) {
+                return;
+            }
+            List<Node<K, V>> evicted = null;
+            try {
+                for (ReadBuffer<K, V> buffer : this.readBuffers) {
+                    buffer.drain(this);
+                }
+                Runnable task = this.writeBuffer.poll();
+                while (task != null) {
+                    task.run();
+                    task = this.writeBuffer.poll();
+                }
+                this.evict();
+                if (!this.removed.isEmpty()) {
+                    evicted = new ArrayList<>(this.removed);
+                    this.removed.clear();
+                }
+            } finally {
+                this.evictionLock.unlock();
+            }
+            // Notify outside of the lock
+            if ((evicted != null) && (this.removeCallback != null)) {
+                for (Node<K, V> node : evicted) {
+                    this.removeCallback.afterRemove(node.key, node.value);
+                }
+            }
+        } while (!this.writeBuffer.isEmpty());
+    }
+
+    // The following methods are called while holding the eviction lock
+
+    void onAccess(Node<K, V> node) {
+        if (node.region != null) {
+            this.sketch.increment(node.key.hashCode());
+            node.region.moveToTail(node);
+        }
+    }
+
+    private void onAdd(Node<K, V> node) {
+        this.sketch.increment(node.key.hashCode());
+        // Skip nodes that were already removed again
+        if (this.cache.get(node.key) == node) {
+            this.window.add(node);
+        }
+    }
+
+    private void onRemove(Node<K, V> node) {
+        if (node.region != null) {
+            node.region.remove(node);
+        }
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        this.expire(this.window, now);
+        this.expire(this.main, now);
+        while (this.window.size > this.maxWindow) {
+            Node<K, V> candidate = this.window.head;
+            this.window.remove(candidate);
+            if (this.main.size < this.maxMain) {
+                this.main.add(candidate);
+            } else {
+                Node<K, V> victim = this.main.head;
+                if ((victim != null) && (this.sketch.frequency(candidate.key.hashCode()) > this.sketch.frequency(victim.key.hashCode()))) {
+                    this.main.remove(victim);
+                    this.main.add(candidate);
+                    this.evict(victim);
+                } else {
+                    this.evict(candidate);
+                }
+            }
+        }
+    }
+
+    private void expire(AccessOrder<K, V> region, long now) {
+        Node<K, V> node = region.head;
+        while ((node != null) && this.isExpired(node, now)) {
+            Node<K, V> next = node.next;
+            region.remove(node);
+            this.evict(node);
+            node = next;
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        if (this.cache.remove(node.key, node)) {
+            this.evictions.increment();
+            this.removed.add(node);
+        }
+    }
+
+    static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long expiration;
+
+        // Guarded by the eviction lock
+        AccessOrder<K, V> region;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long expiration) {
+            this.key = key;
+            this.value = value;
+            this.expiration = expiration;
+        }
+
+        @Override
+        public String toString() {
+            return this.key.toString();
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes, from least to most recently used.
+     */
+    static final class AccessOrder<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        int size;
+
+        void add(Node<K, V> node) {
+            node.region = this;
+            node.prev = this.tail;
+            node.next = null;
+            if (this.tail == null) {
+                this.head = node;
+            } else {
+                this.tail.next = node;
+            }
+            this.tail = node;
+            this.size += 1;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                this.head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                this.tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.region = null;
+            this.size -= 1;
+        }
+
+        void moveToTail(Node<K, V> node) {
+            if (node != this.tail) {
+                this.remove(node);
+                this.add(node);
+            }
+        }
+    }
+
+    /**
+     * A lossy ring buffer of accessed nodes, written by many threads and drained by the owner of the eviction lock.
+     */
+    static final class ReadBuffer<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> buffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicLong writeCount = new AtomicLong();
+        private volatile long readCount;
+
+        /**
+         * @return false, if the buffer is full and should be drained
+         */
+        boolean offer(Node<K, V> node) {
+            long head = this.readCount;
+            long tail = this.writeCount.get();
+            if (tail - head >= READ_BUFFER_SIZE) {
+                // Drop the access
+                return false;
+            }
+            if (this.writeCount.compareAndSet(tail, tail + 1)) {
+                this.buffer.lazySet((int) tail & READ_BUFFER_MASK, node);
+                return tail + 1 - head < READ_BUFFER_SIZE;
+            }
+            // Lost a race with another reader, so drop the access
+            return true;
+        }
+
+        void drain(TinyLFUCache<K, V> cache) {
+            long head = this.readCount;
+            long tail = this.writeCount.get();
+            while (head < tail) {
+                int index = (int) head & READ_BUFFER_MASK;
+                Node<K, V> node = this.buffer.get(index);
+                if (node == null) {
+                    // Not yet published by its writer
+                    break;
+                }
+                this.buffer.lazySet(index, null);
+                cache.onAccess(node);
+                head += 1;
+            }
+            this.readCount = head;
+        }
+    }
+
+    /**
+     * A count-min sketch of 4-bit counters estimating how often a key was accessed recently.
+     * All counters are halved once the number of increments reaches a multiple of the capacity of the cache,
+     * so that keys that used to be popular age out.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAX_COUNT = 15;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(int maxEntries) {
+            int length = (maxEntries <= 1) ? 1 : Integer.highestOneBit(Math.min(maxEntries, 1 << 30) - 1) << 1;
+            this.table = new long[length];
+            this.sampleSize = 10 * Math.min(maxEntries, Integer.MAX_VALUE / 10);
+        }
+
+        int frequency(int hash) {
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                long spread = spread(hash, i);
+                int shift = this.shift(spread);
+                frequency = Math.min(frequency, (int) ((this.table[this.index(spread)] >>> shift) & MAX_COUNT));
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean incremented = false;
+            for (int i = 0; i < SEEDS.length; ++i) {
+                long spread = spread(hash, i);
+                int index = this.index(spread);
+                int shift = this.shift(spread);
+                if (((this.table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                    this.table[index] += 1L << shift;
+                    incremented = true;
+                }
+            }
+            if (incremented && (++this.size == this.sampleSize)) {
+                this.reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < this.table.length; ++i) {
+                this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+            }
+            this.size /= 2;
+        }
+
+        private int index(long spread) {
+            return (int) spread & (this.table.length - 1);
+        }
+
+        private int shift(long spread) {
+            // Selects one of the 16 counters of a slot from the high bits
+            return (int) (spread >>> 60) << 2;
+        }
+
+        private static long spread(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            return h ^ (h >>> 32);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator(TinyLFUCache.this.cache.values().iterator());
+        }
+
+        @Override
+        public int size() {
+            return TinyLFUCache.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            Node<K, V> node = TinyLFUCache.this.cache.get(e.getKey());
+            return (node != null) && !TinyLFUCache.this.isExpired(node, System.nanoTime()) && node.value.equals(e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return TinyLFUCache.this.remove(e.getKey()) != null;
+        }
+
+        @Override
+        public void clear() {
+            TinyLFUCache.this.clear();
+        }
+    }
+
+    /**
+     * Iterates over the entries that have not expired.
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        private final Iterator<Node<K, V>> iterator;
+        private final long now = System.nanoTime();
+        private Node<K, V> next;
+        private Node<K, V> last;
+
+        EntryIterator(Iterator<Node<K, V>> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while ((this.next == null) && this.iterator.hasNext()) {
+                Node<K, V> node = this.iterator.next();
+                if (!TinyLFUCache.this.isExpired(node, this.now)) {
+                    this.next = node;
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Node<K, V> node = this.next;
+            this.next = null;
+            this.last = node;
+            return new SimpleImmutableEntry<K, V>(node.key, node.value) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public V setValue(V value) {
+                    Objects.requireNonNull(value);
+                    V old = node.value;
+                    node.value = value;
+                    return old;
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException("next() not called");
+            }
+            TinyLFUCache.this.remove(this.last.key);
+            this.last = null;
+        }
+    }
+
+    /**
+     * Replays all buffered accesses and writes, unless another thread is already doing so.
+     */
+    void cleanUp() {
+        this.drainBuffers();
+    }
+}
@@ -24,10 +24,13 @@ package org.jboss.as.security.plugins;
 
 import java.security.Principal;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
-import org.jboss.as.security.lru.LRUCache;
+import org.jboss.as.security.logging.SecurityLogger;
 import org.jboss.as.security.lru.RemoveCallback;
+import org.jboss.as.security.lru.TinyLFUCache;
 import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Factory that creates default {@code ConcurrentMap}s for authentication cache.
@@ -36,13 +39,22 @@ import org.jboss.security.authentication.JBossCachedAuthenticationManager.Domain
  */
 public class DefaultAuthenticationCacheFactory implements AuthenticationCacheFactory {
 
+    static final String MAX_ENTRIES = "org.jboss.as.security.authentication-cache.max-entries";
+    static final String LIFESPAN = "org.jboss.as.security.authentication-cache.lifespan";
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_LIFESPAN = 0L;
+
     /**
-     * Returns a default cache implementation
+     * Returns a default cache implementation, bounded by the {@value #MAX_ENTRIES} system property, whose entries expire
+     * after the number of seconds given by the {@value #LIFESPAN} system property, if set.
      *
      * @return cache implementation
      */
     public ConcurrentMap<Principal, DomainInfo> getCache() {
-        ConcurrentMap<Principal, DomainInfo> map = new LRUCache<>(1000,  new RemoveCallback<Principal, DomainInfo>() {
+        int maxEntries = (int) getProperty(MAX_ENTRIES, 1L, Integer.MAX_VALUE, DEFAULT_MAX_ENTRIES);
+        long lifespan = getProperty(LIFESPAN, 0L, Long.MAX_VALUE, DEFAULT_LIFESPAN);
+        ConcurrentMap<Principal, DomainInfo> map = new TinyLFUCache<>(maxEntries, lifespan, TimeUnit.SECONDS, new RemoveCallback<Principal, DomainInfo>() {
             @Override
             public void afterRemove(Principal key, DomainInfo value) {
                 if (value != null) {
@@ -52,4 +64,25 @@ public class DefaultAuthenticationCacheFactory implements AuthenticationCacheFac
         });
         return map;
     }
+
+    /**
+     * Returns the value of the specified system property, or the specified default value if the property is not set,
+     * or is not a number within the specified range.
+     */
+    private static long getProperty(String name, long min, long max, long defaultValue) {
+        String value = WildFlySecurityManager.getPropertyPrivileged(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long result = Long.parseLong(value.trim());
+            if ((result >= min) && (result <= max)) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through
+        }
+        SecurityLogger.ROOT_LOGGER.invalidPropertyValue(value, name, defaultValue);
+        return defaultValue;
+    }
 }
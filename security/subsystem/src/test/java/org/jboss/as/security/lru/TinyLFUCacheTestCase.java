@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.jboss.as.security.lru;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TinyLFUCache}.
+ */
+public class TinyLFUCacheTestCase {
+
+    @Test
+    public void bounded() {
+        List<Integer> removed = new ArrayList<>();
+        TinyLFUCache<Integer, String> cache = new TinyLFUCache<>(100, 0, TimeUnit.SECONDS, (key, value) -> removed.add(key));
+        for (int i = 0; i < 1000; ++i) {
+            cache.put(i, Integer.toString(i));
+        }
+        cache.cleanUp();
+        assertEquals(100, cache.size());
+        assertEquals(900, removed.size());
+        assertEquals(900, cache.getEvictionCount());
+    }
+
+    @Test
+    public void frequentEntriesSurviveScan() {
+        TinyLFUCache<Integer, String> cache = new TinyLFUCache<>(100);
+        for (int i = 0; i < 50; ++i) {
+            cache.put(i, Integer.toString(i));
+        }
+        for (int round = 0; round < 10; ++round) {
+            for (int i = 0; i < 50; ++i) {
+                cache.get(i);
+            }
+            cache.cleanUp();
+        }
+        // Flood the cache with keys that are used only once
+        for (int i = 1000; i < 1500; ++i) {
+            cache.put(i, Integer.toString(i));
+        }
+        cache.cleanUp();
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.toString(i), cache.get(i));
+        }
+    }
+
+    @Test
+    public void statistics() {
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(10);
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void expiration() throws InterruptedException {
+        List<String> removed = new ArrayList<>();
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(10, 50, TimeUnit.MILLISECONDS, (key, value) -> removed.add(key));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertEquals("1", cache.get("a"));
+        Thread.sleep(100);
+        assertNull(cache.get("a"));
+        assertTrue(removed.contains("a"));
+        assertTrue(cache.keySet().isEmpty());
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertTrue(removed.contains("b"));
+    }
+
+    @Test
+    public void remove() {
+        List<String> removed = new ArrayList<>();
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(10, 0, TimeUnit.SECONDS, (key, value) -> removed.add(value));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertEquals("1", cache.remove("a"));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(2, removed.size());
+        assertEquals(0, cache.getEvictionCount());
+    }
+}
@@ -40,13 +40,16 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.web.common.WebInjectionContainer;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.wildfly.extension.undertow.session.DistributableSessionStatistics;
 
 /**
  * @author Tomaz Cerar
@@ -72,6 +75,26 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         for (SessionStat stat : SessionStat.values()) {
             resourceRegistration.registerMetric(stat.definition, SessionManagerStatsHandler.getInstance());
         }
+        for (InstanceStat stat : InstanceStat.values()) {
+            resourceRegistration.registerMetric(stat.definition, InjectionContainerStatsHandler.INSTANCE);
+        }
+    }
+
+    static UndertowDeploymentService getDeploymentService(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
+
+        final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
+        final ModelNode subModel = web.getModel();
+
+        final String host = VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
+        final String path = CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
+        final String server = SERVER.resolveModelAttribute(context, subModel).asString();
+
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
+        if (controller.getState() != ServiceController.State.UP){//check if deployment is active at all
+            return null;
+        }
+        return (UndertowDeploymentService) controller.getService();
     }
 
     static class SessionManagerStatsHandler extends AbstractRuntimeOnlyHandler {
@@ -88,21 +111,10 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         @Override
         protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
 
-            final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
-
-            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size()), false);
-            final ModelNode subModel = web.getModel();
-
-            final String host = VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
-            final String path = CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
-            final String server = SERVER.resolveModelAttribute(context, subModel).asString();
-
-            final ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
-            if (controller.getState() != ServiceController.State.UP){//check if deployment is active at all
+            final UndertowDeploymentService deploymentService = getDeploymentService(context, operation);
+            if (deploymentService == null) {
                 return;
             }
-
-            final UndertowDeploymentService deploymentService = (UndertowDeploymentService) controller.getService();
             SessionStat stat = SessionStat.getStat(operation.require(ModelDescriptionConstants.NAME).asString());
 
             if (stat == null) {
@@ -162,6 +174,62 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
                             result.set((int)sms.getRejectedSessions());
                         }
                         break;
+                    case EXPIRATION_BACKLOG:
+                        if(sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getExpirationBacklog());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case REPLICATED_ATTRIBUTE_DELTAS:
+                        if(sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getReplicatedAttributeDeltaCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case REPLICATED_ATTRIBUTE_DELTA_BYTES:
+                        if(sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getReplicatedAttributeDeltaBytes());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case NEAR_CACHE_HITS:
+                        if(sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getNearCacheHitCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case NEAR_CACHE_MISSES:
+                        if(sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getNearCacheMissCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case NEAR_CACHE_HIT_RATIO:
+                        if(sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getNearCacheHitRatio());
+                        } else {
+                            result.set(0d);
+                        }
+                        break;
+                    case PENDING_ATTRIBUTE_WRITES:
+                        if(sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getPendingAttributeWriteCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
+                    case FAILED_ATTRIBUTE_WRITES:
+                        if(sms instanceof DistributableSessionStatistics) {
+                            result.set(((DistributableSessionStatistics) sms).getFailedAttributeWriteCount());
+                        } else {
+                            result.set(0L);
+                        }
+                        break;
                     default:
                         throw new IllegalStateException(UndertowLogger.ROOT_LOGGER.unknownMetric(stat));
                 }
@@ -170,6 +238,86 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         }
     }
 
+    static class InjectionContainerStatsHandler extends AbstractRuntimeOnlyHandler {
+
+        static final InjectionContainerStatsHandler INSTANCE = new InjectionContainerStatsHandler();
+
+        private InjectionContainerStatsHandler() {
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final UndertowDeploymentService deploymentService = getDeploymentService(context, operation);
+            if (deploymentService == null) {
+                return;
+            }
+            final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+            final InstanceStat stat = InstanceStat.getStat(name);
+            if (stat == null) {
+                context.getFailureDescription().set(UndertowLogger.ROOT_LOGGER.unknownMetric(name));
+                return;
+            }
+            final WebInjectionContainer container = deploymentService.getWebInjectionContainer();
+            final ModelNode result = new ModelNode();
+            switch (stat) {
+                case CREATED_INSTANCES:
+                    result.set(container.getCreatedInstanceCount());
+                    break;
+                case INJECTED_INSTANCES:
+                    result.set(container.getInjectedInstanceCount());
+                    break;
+                case UNTRACKED_INSTANCES:
+                    result.set(container.getUntrackedInstanceCount());
+                    break;
+                case TRACKED_INSTANCES:
+                    result.set(container.getTrackedInstanceCount());
+                    break;
+                case CACHED_INSTANCE_FACTORIES:
+                    result.set(container.getCachedFactoryCount());
+                    break;
+                default:
+                    throw new IllegalStateException(UndertowLogger.ROOT_LOGGER.unknownMetric(stat));
+            }
+            context.getResult().set(result);
+        }
+    }
+
+    public enum InstanceStat {
+        CREATED_INSTANCES(new SimpleAttributeDefinitionBuilder("created-instances", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build()),
+        INJECTED_INSTANCES(new SimpleAttributeDefinitionBuilder("injected-instances", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build()),
+        UNTRACKED_INSTANCES(new SimpleAttributeDefinitionBuilder("untracked-instances", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build()),
+        TRACKED_INSTANCES(new SimpleAttributeDefinitionBuilder("tracked-instances", ModelType.INT)
+                .setUndefinedMetricValue(new ModelNode(0)).setStorageRuntime().build()),
+        CACHED_INSTANCE_FACTORIES(new SimpleAttributeDefinitionBuilder("cached-instance-factories", ModelType.INT)
+                .setUndefinedMetricValue(new ModelNode(0)).setStorageRuntime().build());
+
+        private static final Map<String, InstanceStat> MAP = new HashMap<>();
+
+        static {
+            for (InstanceStat stat : EnumSet.allOf(InstanceStat.class)) {
+                MAP.put(stat.toString(), stat);
+            }
+        }
+
+        final AttributeDefinition definition;
+
+        InstanceStat(final AttributeDefinition definition) {
+            this.definition = definition;
+        }
+
+        @Override
+        public final String toString() {
+            return definition.getName();
+        }
+
+        public static InstanceStat getStat(final String stringForm) {
+            return MAP.get(stringForm);
+        }
+    }
+
     public enum SessionStat {
         ACTIVE_SESSIONS(new SimpleAttributeDefinitionBuilder("active-sessions", ModelType.INT)
                 .setUndefinedMetricValue(new ModelNode(0)).setStorageRuntime().build()),
@@ -185,7 +333,23 @@ public class DeploymentDefinition extends SimpleResourceDefinition {
         REJECTED_SESSIONS(new SimpleAttributeDefinitionBuilder("rejected-sessions", ModelType.INT)
                 .setUndefinedMetricValue(new ModelNode(0)).setStorageRuntime().build()),
         MAX_ACTIVE_SESSIONS(new SimpleAttributeDefinitionBuilder("max-active-sessions", ModelType.INT)
-                .setUndefinedMetricValue(new ModelNode(0)).setStorageRuntime().build());
+                .setUndefinedMetricValue(new ModelNode(0)).setStorageRuntime().build()),
+        EXPIRATION_BACKLOG(new SimpleAttributeDefinitionBuilder("expiration-backlog", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build()),
+        REPLICATED_ATTRIBUTE_DELTAS(new SimpleAttributeDefinitionBuilder("replicated-attribute-deltas", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build()),
+        REPLICATED_ATTRIBUTE_DELTA_BYTES(new SimpleAttributeDefinitionBuilder("replicated-attribute-delta-bytes", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setMeasurementUnit(MeasurementUnit.BYTES).setStorageRuntime().build()),
+        NEAR_CACHE_HITS(new SimpleAttributeDefinitionBuilder("near-cache-hits", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build()),
+        NEAR_CACHE_MISSES(new SimpleAttributeDefinitionBuilder("near-cache-misses", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build()),
+        NEAR_CACHE_HIT_RATIO(new SimpleAttributeDefinitionBuilder("near-cache-hit-ratio", ModelType.DOUBLE)
+                .setUndefinedMetricValue(new ModelNode(0d)).setStorageRuntime().build()),
+        PENDING_ATTRIBUTE_WRITES(new SimpleAttributeDefinitionBuilder("pending-attribute-writes", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build()),
+        FAILED_ATTRIBUTE_WRITES(new SimpleAttributeDefinitionBuilder("failed-attribute-writes", ModelType.LONG)
+                .setUndefinedMetricValue(new ModelNode(0L)).setStorageRuntime().build());
 
         private static final Map<String, SessionStat> MAP = new HashMap<>();
 
@@ -56,6 +56,7 @@ import org.jboss.as.web.session.SessionIdentifierCodec;
 import org.jboss.dmr.ModelNode;
 import org.jboss.metadata.ear.jboss.JBossAppMetaData;
 import org.jboss.metadata.ear.spec.EarMetaData;
+import org.jboss.metadata.javaee.spec.ParamValueMetaData;
 import org.jboss.metadata.web.jboss.JBossServletMetaData;
 import org.jboss.metadata.web.jboss.JBossWebMetaData;
 import org.jboss.metadata.web.spec.TldMetaData;
@@ -82,6 +83,7 @@ import org.wildfly.extension.undertow.UndertowService;
 import org.wildfly.extension.undertow.security.jacc.WarJACCDeployer;
 import org.wildfly.extension.undertow.session.DistributableSessionIdentifierCodecBuilder;
 import org.wildfly.extension.undertow.session.DistributableSessionIdentifierCodecBuilderValue;
+import org.wildfly.extension.undertow.session.DistributableSessionManagerConfiguration;
 import org.wildfly.extension.undertow.session.DistributableSessionManagerFactoryBuilder;
 import org.wildfly.extension.undertow.session.DistributableSessionManagerFactoryBuilderValue;
 import org.wildfly.extension.undertow.session.SharedSessionManagerConfig;
@@ -284,6 +286,7 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
                 .setWebSocketDeploymentInfo(deploymentUnit.getAttachment(UndertowAttachments.WEB_SOCKET_DEPLOYMENT_INFO))
                 .setTempDir(warMetaData.getTempDir())
                 .setExternalResources(deploymentUnit.getAttachmentList(UndertowAttachments.EXTERNAL_RESOURCES))
+                .setInjectionContainer(injectionContainer)
                 .createUndertowDeploymentInfoService();
 
         final ServiceName deploymentInfoServiceName = deploymentServiceName.append(UndertowDeploymentInfoService.SERVICE_NAME);
@@ -398,7 +401,7 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
         processManagement(deploymentUnit, metaData);
     }
 
-    private static ServiceName installSessionManagerFactory(ServiceTarget target, ServiceName deploymentServiceName, String deploymentName, Module module, JBossWebMetaData metaData, ServletContainerService servletContainerService) {
+    private static ServiceName installSessionManagerFactory(ServiceTarget target, ServiceName deploymentServiceName, String deploymentName, Module module, JBossWebMetaData metaData, ServletContainerService servletContainerService) throws DeploymentUnitProcessingException {
 
         Integer maxActiveSessions = metaData.getMaxActiveSessions();
         if(maxActiveSessions == null && servletContainerService != null) {
@@ -408,7 +411,9 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
         if (metaData.getDistributable() != null) {
             DistributableSessionManagerFactoryBuilder sessionManagerFactoryBuilder = new DistributableSessionManagerFactoryBuilderValue().getValue();
             if (sessionManagerFactoryBuilder != null) {
-                sessionManagerFactoryBuilder.build(target, name, new SimpleDistributableSessionManagerConfiguration(maxActiveSessions, metaData.getReplicationConfig(), deploymentName, module))
+                int nearCacheSize = getNonNegativeIntegerContextParameter(metaData, DistributableSessionManagerConfiguration.NEAR_CACHE_SIZE_PARAMETER, deploymentName);
+                int attributeWriteBehindThreads = getNonNegativeIntegerContextParameter(metaData, DistributableSessionManagerConfiguration.ATTRIBUTE_WRITE_BEHIND_THREADS_PARAMETER, deploymentName);
+                sessionManagerFactoryBuilder.build(target, name, new SimpleDistributableSessionManagerConfiguration(maxActiveSessions, metaData.getReplicationConfig(), deploymentName, module, nearCacheSize, attributeWriteBehindThreads))
                         .setInitialMode(Mode.ON_DEMAND)
                         .install()
                 ;
@@ -422,6 +427,26 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor {
         return name;
     }
 
+    private static int getNonNegativeIntegerContextParameter(JBossWebMetaData metaData, String name, String deploymentName) throws DeploymentUnitProcessingException {
+        if (metaData.getContextParams() != null) {
+            for (ParamValueMetaData param : metaData.getContextParams()) {
+                if (name.equals(param.getParamName())) {
+                    String value = (param.getParamValue() != null) ? param.getParamValue().trim() : null;
+                    try {
+                        int result = Integer.parseInt(value);
+                        if (result >= 0) {
+                            return result;
+                        }
+                    } catch (NumberFormatException e) {
+                        // Reported below
+                    }
+                    throw UndertowLogger.ROOT_LOGGER.invalidNonNegativeIntegerContextParameter(value, name, deploymentName);
+                }
+            }
+        }
+        return 0;
+    }
+
     private static ServiceName installSessionIdentifierCodec(ServiceTarget target, ServiceName deploymentServiceName, String deploymentName, JBossWebMetaData metaData) {
         ServiceName name = deploymentServiceName.append("codec");
         if (metaData.getDistributable() != null) {
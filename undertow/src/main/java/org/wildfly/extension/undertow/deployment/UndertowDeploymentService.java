@@ -146,6 +146,7 @@ public class UndertowDeploymentService implements Service<UndertowDeploymentServ
                 container.getValue().getServletContainer().removeDeployment(deploymentInfoInjectedValue.getValue());
             }
             recursiveDelete(deploymentInfoInjectedValue.getValue().getTempDir());
+            webInjectionContainer.clear();
         } finally {
             Thread.currentThread().setContextClassLoader(old);
         }
@@ -168,6 +169,10 @@ public class UndertowDeploymentService implements Service<UndertowDeploymentServ
         return deploymentInfoInjectedValue;
     }
 
+    public WebInjectionContainer getWebInjectionContainer() {
+        return webInjectionContainer;
+    }
+
     public Deployment getDeployment(){
         return deploymentManager.getDeployment();
     }
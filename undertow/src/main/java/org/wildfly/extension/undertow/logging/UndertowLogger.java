@@ -349,4 +349,7 @@ public interface UndertowLogger extends BasicLogger {
 
     @Message(id = 82, value = "Could not start '%s' listener.")
     StartException couldNotStartListener(String name, @Cause IOException e);
+
+    @Message(id = 83, value = "Invalid value '%s' of context parameter %s of deployment %s. A non-negative integer is expected.")
+    DeploymentUnitProcessingException invalidNonNegativeIntegerContextParameter(String value, String name, String deploymentName);
 }
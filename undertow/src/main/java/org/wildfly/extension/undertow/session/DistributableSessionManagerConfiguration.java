@@ -25,6 +25,15 @@ import org.jboss.metadata.web.jboss.ReplicationGranularity;
 import org.jboss.modules.Module;
 
 public interface DistributableSessionManagerConfiguration {
+    /**
+     * Name of the context parameter of a deployment that specifies its near cache size.
+     */
+    String NEAR_CACHE_SIZE_PARAMETER = "org.wildfly.clustering.web.session.near-cache.size";
+    /**
+     * Name of the context parameter of a deployment that specifies its number of attribute write-behind threads.
+     */
+    String ATTRIBUTE_WRITE_BEHIND_THREADS_PARAMETER = "org.wildfly.clustering.web.session.attribute-write-behind.threads";
+
     int getMaxActiveSessions();
 
     ReplicationGranularity getGranularity();
@@ -34,4 +43,14 @@ public interface DistributableSessionManagerConfiguration {
     Module getModule();
 
     String getCacheName();
+
+    /**
+     * @return the maximum number of sessions owned by other nodes to cache locally, or 0 if such sessions are not cached
+     */
+    int getNearCacheSize();
+
+    /**
+     * @return the number of threads writing the attributes of sessions with ATTRIBUTE replication granularity asynchronously, or 0 if such attributes are written synchronously
+     */
+    int getAttributeWriteBehindThreads();
 }
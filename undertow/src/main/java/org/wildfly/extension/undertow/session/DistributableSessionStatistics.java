@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.session;
+
+import io.undertow.server.session.SessionManagerStatistics;
+
+/**
+ * Statistics of a distributable session manager, beyond those defined by Undertow.
+ */
+public interface DistributableSessionStatistics extends SessionManagerStatistics {
+
+    /**
+     * @return the number of sessions that are eligible for expiration, but were not yet expired
+     */
+    long getExpirationBacklog();
+
+    /**
+     * @return the number of session attribute deltas replicated by the session manager
+     */
+    long getReplicatedAttributeDeltaCount();
+
+    /**
+     * @return the total size, in bytes, of the session attribute deltas replicated by the session manager
+     */
+    long getReplicatedAttributeDeltaBytes();
+
+    /**
+     * @return the number of session reads served by the near cache of the session manager
+     */
+    long getNearCacheHitCount();
+
+    /**
+     * @return the number of session reads that missed the near cache of the session manager
+     */
+    long getNearCacheMissCount();
+
+    /**
+     * @return the fraction of session reads served by the near cache of the session manager, or 0 if there were none
+     */
+    double getNearCacheHitRatio();
+
+    /**
+     * @return the number of session attribute writes of the session manager not yet written to the cache
+     */
+    long getPendingAttributeWriteCount();
+
+    /**
+     * @return the number of asynchronous session attribute writes of the session manager that failed
+     */
+    long getFailedAttributeWriteCount();
+}
@@ -36,6 +36,8 @@ public class SimpleDistributableSessionManagerConfiguration implements Distribut
     private final ReplicationConfig replicationConfig;
     private final String deploymentName;
     private final Module module;
+    private final int nearCacheSize;
+    private final int attributeWriteBehindThreads;
 
     public SimpleDistributableSessionManagerConfiguration(JBossWebMetaData metaData, String deploymentName, Module module) {
         this(metaData.getMaxActiveSessions(), metaData.getReplicationConfig(), deploymentName, module);
@@ -46,10 +48,16 @@ public class SimpleDistributableSessionManagerConfiguration implements Distribut
     }
 
     public SimpleDistributableSessionManagerConfiguration(Integer maxActiveSessions, ReplicationConfig replicationConfig, String deploymentName, Module module) {
+        this(maxActiveSessions, replicationConfig, deploymentName, module, 0, 0);
+    }
+
+    public SimpleDistributableSessionManagerConfiguration(Integer maxActiveSessions, ReplicationConfig replicationConfig, String deploymentName, Module module, int nearCacheSize, int attributeWriteBehindThreads) {
         this.maxActiveSessions = maxActiveSessions;
         this.replicationConfig = replicationConfig;
         this.deploymentName = deploymentName;
         this.module = module;
+        this.nearCacheSize = nearCacheSize;
+        this.attributeWriteBehindThreads = attributeWriteBehindThreads;
     }
 
     @Override
@@ -76,4 +84,14 @@ public class SimpleDistributableSessionManagerConfiguration implements Distribut
     public String getCacheName() {
         return (this.replicationConfig != null) ? this.replicationConfig.getCacheName() : null;
     }
+
+    @Override
+    public int getNearCacheSize() {
+        return this.nearCacheSize;
+    }
+
+    @Override
+    public int getAttributeWriteBehindThreads() {
+        return this.attributeWriteBehindThreads;
+    }
 }
@@ -24,6 +24,8 @@ package org.jboss.as.web.common;
 import java.lang.reflect.InvocationTargetException;
 import java.util.EnumSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.naming.NamingException;
 
@@ -33,6 +35,10 @@ import org.jboss.as.naming.ManagedReferenceFactory;
 
 /**
  * The web injection container.
+ * <p/>
+ * Instance factories and the need to release instances are resolved once per class and cached for the lifetime of the
+ * deployment, as classes such as JSP tag handlers are instantiated on every request. Instances whose class declares
+ * neither pre-destroy callbacks nor injection are not tracked for destruction.
  *
  * @author Emanuel Muckenhuber
  */
@@ -41,6 +47,11 @@ public class WebInjectionContainer {
     private final ClassLoader classloader;
     private final ComponentRegistry componentRegistry;
     private final Map<Object, ManagedReference> instanceMap;
+    private final Map<Class<?>, ManagedReferenceFactory> factories = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Boolean> releaseRequirements = new ConcurrentHashMap<>();
+    private final LongAdder createdInstances = new LongAdder();
+    private final LongAdder injectedInstances = new LongAdder();
+    private final LongAdder untrackedInstances = new LongAdder();
 
     public WebInjectionContainer(ClassLoader classloader, final ComponentRegistry componentRegistry) {
         this.classloader = classloader;
@@ -64,10 +75,11 @@ public class WebInjectionContainer {
     }
 
     public Object newInstance(Class<?> clazz) throws IllegalAccessException, InvocationTargetException, NamingException, InstantiationException {
-        final ManagedReferenceFactory factory = componentRegistry.createInstanceFactory(clazz);
+        final ManagedReferenceFactory factory = factories.computeIfAbsent(clazz, componentRegistry::createInstanceFactory);
         ManagedReference reference = factory.getReference();
+        createdInstances.increment();
         if (reference != null) {
-            instanceMap.put(reference.getInstance(), reference);
+            track(clazz, reference.getInstance(), reference);
             return reference.getInstance();
         }
         return clazz.newInstance();
@@ -75,8 +87,9 @@ public class WebInjectionContainer {
 
     public void newInstance(Object arg0) throws IllegalAccessException, InvocationTargetException, NamingException {
         final ManagedReference reference = componentRegistry.createInstance(arg0);
+        injectedInstances.increment();
         if (reference != null) {
-            instanceMap.put(arg0, reference);
+            track(arg0.getClass(), arg0, reference);
         }
     }
 
@@ -84,7 +97,58 @@ public class WebInjectionContainer {
         return newInstance(cl.loadClass(className));
     }
 
+    private void track(Class<?> clazz, Object instance, ManagedReference reference) {
+        if (releaseRequirements.computeIfAbsent(clazz, componentRegistry::requiresRelease)) {
+            instanceMap.put(instance, reference);
+        } else {
+            untrackedInstances.increment();
+        }
+    }
+
+    /**
+     * Discards the cached instance factories, e.g. when the deployment stops.
+     */
+    public void clear() {
+        factories.clear();
+        releaseRequirements.clear();
+    }
+
     public ComponentRegistry getComponentRegistry() {
         return componentRegistry;
     }
+
+    /**
+     * @return the number of instances created by this container
+     */
+    public long getCreatedInstanceCount() {
+        return createdInstances.sum();
+    }
+
+    /**
+     * @return the number of externally created instances injected by this container
+     */
+    public long getInjectedInstanceCount() {
+        return injectedInstances.sum();
+    }
+
+    /**
+     * @return the number of instances that were not tracked for destruction, as their class requires no release
+     */
+    public long getUntrackedInstanceCount() {
+        return untrackedInstances.sum();
+    }
+
+    /**
+     * @return the number of instances currently tracked for destruction
+     */
+    public int getTrackedInstanceCount() {
+        return instanceMap.size();
+    }
+
+    /**
+     * @return the number of classes with a cached instance factory
+     */
+    public int getCachedFactoryCount() {
+        return factories.size();
+    }
 }
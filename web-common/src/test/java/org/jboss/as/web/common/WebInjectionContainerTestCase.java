@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.web.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ee.component.ComponentRegistry;
+import org.jboss.as.ee.component.EEClassIntrospector;
+import org.jboss.as.naming.ManagedReference;
+import org.jboss.as.naming.ManagedReferenceFactory;
+import org.jboss.msc.value.ImmediateValue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the instance factory cache and the instance tracking of {@link WebInjectionContainer}.
+ */
+public class WebInjectionContainerTestCase {
+
+    private final TestClassIntrospector introspector = new TestClassIntrospector();
+    private WebInjectionContainer container;
+
+    @Before
+    public void init() {
+        ComponentRegistry registry = new ComponentRegistry(null);
+        registry.getClassIntrospectorInjectedValue().setValue(new ImmediateValue<EEClassIntrospector>(this.introspector));
+        this.container = new WebInjectionContainer(this.getClass().getClassLoader(), registry);
+    }
+
+    @Test
+    public void testFactoryCache() throws Exception {
+        for (int i = 0; i < 10; ++i) {
+            this.container.newInstance(SimpleTag.class.getName());
+        }
+        assertEquals(1, this.introspector.getFactoryCount(SimpleTag.class));
+        assertEquals(1, this.container.getCachedFactoryCount());
+        assertEquals(10, this.container.getCreatedInstanceCount());
+
+        this.container.clear();
+        assertEquals(0, this.container.getCachedFactoryCount());
+        this.container.newInstance(SimpleTag.class);
+        assertEquals(2, this.introspector.getFactoryCount(SimpleTag.class));
+    }
+
+    @Test
+    public void testUntrackedInstances() throws Exception {
+        Object instance = this.container.newInstance(SimpleTag.class);
+        this.container.newInstance(new SimpleTag());
+        assertEquals(2, this.container.getUntrackedInstanceCount());
+        assertEquals(0, this.container.getTrackedInstanceCount());
+        assertEquals(1, this.container.getInjectedInstanceCount());
+        // Destroying an untracked instance is a no-op
+        this.container.destroyInstance(instance);
+    }
+
+    @Test
+    public void testTrackedInstances() throws Exception {
+        Object created = this.container.newInstance(DestroyableTag.class);
+        DestroyableTag injected = new DestroyableTag();
+        this.container.newInstance(injected);
+        assertEquals(0, this.container.getUntrackedInstanceCount());
+        assertEquals(2, this.container.getTrackedInstanceCount());
+
+        this.container.destroyInstance(created);
+        assertTrue(((DestroyableTag) created).destroyed.get());
+        assertFalse(injected.destroyed.get());
+        this.container.destroyInstance(injected);
+        assertTrue(injected.destroyed.get());
+        assertEquals(0, this.container.getTrackedInstanceCount());
+    }
+
+    public static class SimpleTag {
+    }
+
+    public static class DestroyableTag {
+        final AtomicBoolean destroyed = new AtomicBoolean();
+    }
+
+    private static class TestClassIntrospector implements EEClassIntrospector {
+        private final Map<Class<?>, AtomicInteger> factories = new ConcurrentHashMap<>();
+
+        int getFactoryCount(Class<?> clazz) {
+            AtomicInteger count = this.factories.get(clazz);
+            return (count != null) ? count.get() : 0;
+        }
+
+        @Override
+        public ManagedReferenceFactory createFactory(final Class<?> clazz) {
+            this.factories.computeIfAbsent(clazz, key -> new AtomicInteger()).incrementAndGet();
+            return () -> {
+                try {
+                    return this.createInstance(clazz.newInstance());
+                } catch (InstantiationException | IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+        @Override
+        public ManagedReference createInstance(final Object instance) {
+            return new ManagedReference() {
+                @Override
+                public void release() {
+                    if (instance instanceof DestroyableTag) {
+                        ((DestroyableTag) instance).destroyed.set(true);
+                    }
+                }
+
+                @Override
+                public Object getInstance() {
+                    return instance;
+                }
+            };
+        }
+
+        @Override
+        public boolean requiresRelease(Class<?> clazz) {
+            return clazz == DestroyableTag.class;
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package org.jboss.as.weld.deployment;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.InjectionTarget;
+import javax.interceptor.Interceptors;
 
 import org.jboss.as.ee.component.EEClassIntrospector;
 import org.jboss.as.naming.ManagedReference;
@@ -106,6 +111,35 @@ public class WeldClassIntrospector implements EEClassIntrospector, Service<EECla
         return new WeldManagedReference(injectionTarget, context, instance);
     }
 
+    @Override
+    public boolean requiresRelease(Class<?> clazz) {
+        final BeanManager beanManager = this.beanManager.getValue();
+        if (!getInjectionTarget(clazz).getInjectionPoints().isEmpty() || !beanManager.getBeans(clazz, AnyLiteral.INSTANCE).isEmpty()) {
+            return true;
+        }
+        // Without pre-destroy callbacks or interceptors, releasing the creational context would be a no-op
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            if (isIntercepted(c, beanManager)) {
+                return true;
+            }
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(PreDestroy.class) || isIntercepted(method, beanManager)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIntercepted(AnnotatedElement element, BeanManager beanManager) {
+        for (Annotation annotation : element.getAnnotations()) {
+            if (annotation instanceof Interceptors || beanManager.isInterceptorBinding(annotation.annotationType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public InjectedValue<BeanManager> getBeanManager() {
         return beanManager;
     }